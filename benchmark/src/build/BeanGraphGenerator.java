@@ -0,0 +1,171 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 生成压测用的Bean依赖图以及对应的配置文件，在generate-sources阶段以源文件方式运行（需要JDK 11+）
+ * <p>
+ * 每10个Bean组成一组，组内通过@Autowired属性首尾相连形成环（循环依赖，走三级缓存）；
+ * 每组的第一个Bean通过构造方法依赖上一组的第一个Bean，最多连续100组（深依赖链）；
+ * 其余Bean还通过属性依赖第一组中的一个Bean（多个Bean共同依赖同一个Bean）
+ * <ul>
+ *     <li>graph.g{size}：10、1000、10000个Bean，另有一个原型Bean用于测试实例化和属性注入</li>
+ *     <li>graph.a1000：和g1000相同，但组内不成环，用于对比循环依赖的开销</li>
+ *     <li>graph.s5000：5000个类，每10个中只有一个是Bean，其他类带有静态初始化块，用于对比解析.class文件和反射扫描</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/18 14:30
+ */
+public class BeanGraphGenerator {
+
+    private static final String BASE_PACKAGE = "com.suave.benchmark.graph";
+
+    private static final int[] SIZES = {10, 1000, 10000};
+
+    private static final int GROUP_SIZE = 10;
+
+    private static final int MAX_CHAIN_GROUPS = 100;
+
+    private static final int PROTOTYPE_DEPENDENCIES = 8;
+
+    private static final int SCAN_CLASS_COUNT = 5000;
+
+    private static final int SCAN_BEAN_INTERVAL = 10;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("用法：BeanGraphGenerator <源码输出目录> <配置文件输出目录>");
+            System.exit(1);
+        }
+        Path sourceDir = Paths.get(args[0]);
+        Path resourceDir = Paths.get(args[1]);
+        Files.createDirectories(resourceDir);
+
+        for (int size : SIZES) {
+            String packageName = BASE_PACKAGE + ".g" + size;
+            generateGraph(sourceDir, packageName, size, true);
+            writeConfig(resourceDir, "graph-" + size + "-index", packageName, "");
+            writeConfig(resourceDir, "graph-" + size + "-scan", packageName, "componentIndex.ignore=true\n");
+            writeConfig(resourceDir, "graph-" + size + "-parallel", packageName, "preInstantiation.parallel=true\n");
+        }
+        generateGraph(sourceDir, BASE_PACKAGE + ".a1000", 1000, false);
+        writeConfig(resourceDir, "graph-1000-acyclic", BASE_PACKAGE + ".a1000", "");
+        writeConfig(resourceDir, "graph-1000-circular", BASE_PACKAGE + ".g1000", "");
+        generateScanClasses(sourceDir, BASE_PACKAGE + ".s" + SCAN_CLASS_COUNT);
+        // AOT快照只有一份，只为g1000生成；快照中记录了配置文件，其他配置启动时会自动忽略快照
+        writeConfig(resourceDir, "graph-1000-aot", BASE_PACKAGE + ".g1000", "");
+    }
+
+    private static void generateGraph(Path sourceDir, String packageName, int size, boolean circular) throws IOException {
+        Path dir = sourceDir.resolve(packageName.replace('.', '/'));
+        Files.createDirectories(dir);
+        for (int i = 0; i < size; i++) {
+            try (Writer writer = Files.newBufferedWriter(dir.resolve("Bean" + i + ".java"), StandardCharsets.UTF_8)) {
+                writer.write(beanSource(packageName, i, size, circular));
+            }
+        }
+        try (Writer writer = Files.newBufferedWriter(dir.resolve("PrototypeBean.java"), StandardCharsets.UTF_8)) {
+            writer.write(prototypeSource(packageName, size));
+        }
+    }
+
+    /**
+     * 少量没有依赖的Bean和大量普通类，普通类被加载并初始化时会执行静态初始化块
+     */
+    private static void generateScanClasses(Path sourceDir, String packageName) throws IOException {
+        Path dir = sourceDir.resolve(packageName.replace('.', '/'));
+        Files.createDirectories(dir);
+        for (int i = 0; i < SCAN_CLASS_COUNT; i++) {
+            boolean bean = i % SCAN_BEAN_INTERVAL == 0;
+            String className = (bean ? "Bean" : "Plain") + i;
+            StringBuilder sb = new StringBuilder();
+            sb.append("package ").append(packageName).append(";\n\n");
+            if (bean) {
+                sb.append("import com.suave.spring.annotation.Service;\n\n")
+                        .append("@Service\n")
+                        .append("public class ").append(className).append(" {\n");
+            } else {
+                sb.append("import java.util.HashMap;\n")
+                        .append("import java.util.Map;\n\n")
+                        .append("public class ").append(className).append(" {\n\n")
+                        .append("    private static final Map<String, Integer> TABLE = new HashMap<>();\n\n")
+                        .append("    static {\n")
+                        .append("        for (int i = 0; i < 32; i++) {\n")
+                        .append("            TABLE.put(\"").append(className).append("-\" + i, i);\n")
+                        .append("        }\n")
+                        .append("    }\n\n")
+                        .append("    public int lookup(String key) {\n")
+                        .append("        return TABLE.getOrDefault(key, -1);\n")
+                        .append("    }\n");
+            }
+            try (Writer writer = Files.newBufferedWriter(dir.resolve(className + ".java"), StandardCharsets.UTF_8)) {
+                writer.write(sb.append("}\n").toString());
+            }
+        }
+    }
+
+    private static String beanSource(String packageName, int i, int size, boolean circular) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(packageName).append(";\n\n")
+                .append("import com.suave.spring.annotation.Autowired;\n")
+                .append("import com.suave.spring.annotation.Service;\n\n")
+                .append("@Service\n")
+                .append("public class Bean").append(i).append(" {\n");
+
+        // 组内的环：i -> i + 1 -> ... -> 组内最后一个 -> 组内第一个
+        int groupStart = i - i % GROUP_SIZE;
+        int groupEnd = Math.min(groupStart + GROUP_SIZE, size) - 1;
+        if (i < groupEnd) {
+            appendField(sb, "next", i + 1);
+        } else if (circular && groupEnd > groupStart) {
+            appendField(sb, "next", groupStart);
+        }
+        // 共同依赖第一组中的Bean
+        if (i >= GROUP_SIZE) {
+            appendField(sb, "shared", i % GROUP_SIZE);
+        }
+        // 组的第一个Bean通过构造方法依赖上一组的第一个Bean
+        int group = i / GROUP_SIZE;
+        if (i == groupStart && group % MAX_CHAIN_GROUPS != 0) {
+            int previous = i - GROUP_SIZE;
+            sb.append("\n    private final Bean").append(previous).append(" previous;\n\n")
+                    .append("    @Autowired\n")
+                    .append("    public Bean").append(i).append("(Bean").append(previous).append(" previous) {\n")
+                    .append("        this.previous = previous;\n")
+                    .append("    }\n");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    private static String prototypeSource(String packageName, int size) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(packageName).append(";\n\n")
+                .append("import com.suave.spring.annotation.Autowired;\n")
+                .append("import com.suave.spring.annotation.Component;\n")
+                .append("import com.suave.spring.annotation.Scope;\n\n")
+                .append("@Component\n")
+                .append("@Scope(\"prototype\")\n")
+                .append("public class PrototypeBean {\n");
+        for (int i = 0; i < Math.min(PROTOTYPE_DEPENDENCIES, size); i++) {
+            appendField(sb, "bean" + i, i);
+        }
+        return sb.append("}\n").toString();
+    }
+
+    private static void appendField(StringBuilder sb, String name, int dependency) {
+        sb.append("\n    @Autowired\n")
+                .append("    private Bean").append(dependency).append(' ').append(name).append(";\n");
+    }
+
+    /**
+     * @param extra 额外的配置
+     */
+    private static void writeConfig(Path resourceDir, String name, String packageName, String extra) throws IOException {
+        String content = "scanPackage=" + packageName + "\n" + extra;
+        Files.write(resourceDir.resolve(name + ".properties"), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
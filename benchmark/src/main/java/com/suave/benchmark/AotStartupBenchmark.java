@@ -0,0 +1,40 @@
+package com.suave.benchmark;
+
+import com.suave.spring.context.ApplicationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 同一个1000个Bean的依赖图，对比扫描、索引和AOT快照三种启动方式
+ * <p>
+ * 快照在process-classes阶段生成，只对应graph-1000-aot.properties。加上-prof gc可以对比内存分配
+ *
+ * @author Suave
+ * @since 2026/10/18 14:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class AotStartupBenchmark {
+
+    @Param({"scan", "index", "aot"})
+    public String mode;
+
+    @Benchmark
+    public ApplicationContext startup() {
+        return new ApplicationContext("classpath:graph-1000-" + mode + ".properties");
+    }
+}
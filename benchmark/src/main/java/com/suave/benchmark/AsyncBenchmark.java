@@ -0,0 +1,61 @@
+package com.suave.benchmark;
+
+import com.suave.benchmark.task.ReportService;
+import com.suave.spring.context.ApplicationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Async方法从调用到拿到结果的耗时，包括提交、排队、线程切换和统计的开销；JDK 21以下virtual退化为普通线程
+ *
+ * @author Suave
+ * @since 2026/10/18 22:00
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncBenchmark {
+
+    private ApplicationContext context;
+
+    private ReportService reportService;
+
+    private int id;
+
+    @Setup
+    public void setup() {
+        this.context = new ApplicationContext("classpath:task.properties");
+        this.reportService = this.context.getBean(ReportService.class);
+    }
+
+    @Benchmark
+    public Integer forkJoinRoundTrip() {
+        return reportService.renderOnForkJoin(id++).join();
+    }
+
+    @Benchmark
+    public Integer virtualRoundTrip() {
+        return reportService.renderOnVirtual(id++).join();
+    }
+
+    @TearDown
+    public void close() {
+        System.out.println();
+        System.out.println(this.context.getExecutorStats());
+        this.context.close();
+    }
+}
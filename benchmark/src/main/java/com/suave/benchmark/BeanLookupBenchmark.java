@@ -0,0 +1,93 @@
+package com.suave.benchmark;
+
+import com.suave.spring.beans.factory.ObjectProvider;
+import com.suave.spring.context.ApplicationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 容器启动后的查找：
+ * <ul>
+ *     <li>getBeanByName：按名称获取单例，一级缓存命中</li>
+ *     <li>getBeanByType：按类型获取单例，先查类型索引</li>
+ *     <li>getPrototype：每次实例化一个原型Bean，并通过populateBean注入8个单例属性</li>
+ *     <li>frozenGetBeanByName、frozenGetBeanByType：冻结后的容器中按名称、类型获取单例</li>
+ *     <li>providerGetObject：冻结后通过预先获取的ObjectProvider获取单例</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/18 14:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanLookupBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int size;
+
+    private ApplicationContext context;
+
+    private String beanName;
+
+    private Class<?> beanType;
+
+    private ApplicationContext frozenContext;
+
+    private ObjectProvider<Object> provider;
+
+    @Setup
+    public void setup() throws ClassNotFoundException {
+        this.context = new ApplicationContext("classpath:graph-" + size + "-index.properties");
+        // 最后一个Bean，BeanName和其他Bean的哈希分布没有区别
+        this.beanName = "bean" + (size - 1);
+        this.beanType = Class.forName("com.suave.benchmark.graph.g" + size + ".Bean" + (size - 1));
+        this.frozenContext = new ApplicationContext("classpath:graph-" + size + "-index.properties");
+        this.frozenContext.freeze();
+        this.provider = this.frozenContext.getBeanProvider(beanName);
+    }
+
+    @Benchmark
+    public Object getBeanByName() {
+        return context.getBean(beanName);
+    }
+
+    @Benchmark
+    public Object getBeanByType() {
+        return context.getBean(beanType);
+    }
+
+    @Benchmark
+    public Object getPrototype() {
+        return context.getBean("prototypeBean");
+    }
+
+    @Benchmark
+    public Object frozenGetBeanByName() {
+        return frozenContext.getBean(beanName);
+    }
+
+    @Benchmark
+    public Object frozenGetBeanByType() {
+        return frozenContext.getBean(beanType);
+    }
+
+    @Benchmark
+    public Object providerGetObject() {
+        return provider.getObject();
+    }
+}
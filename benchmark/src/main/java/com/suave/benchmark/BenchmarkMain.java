@@ -0,0 +1,40 @@
+package com.suave.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 压测入口，参数和JMH命令行一致
+ * <p>
+ * 没有指定-rf时结果以JSON格式写入jmh-result.json（可以用-rff修改），方便对比不同版本的结果
+ *
+ * @author Suave
+ * @since 2026/10/18 14:30
+ */
+public class BenchmarkMain {
+
+    public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+            return;
+        }
+        if (commandLineOptions.shouldList()) {
+            new Runner(commandLineOptions).list();
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+            if (!commandLineOptions.getResult().hasValue()) {
+                options.result(DEFAULT_RESULT_FILE);
+            }
+        }
+        new Runner(options.build()).run();
+    }
+}
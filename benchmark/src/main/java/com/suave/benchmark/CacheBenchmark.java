@@ -0,0 +1,84 @@
+package com.suave.benchmark;
+
+import com.suave.benchmark.cache.PriceService;
+import com.suave.spring.cache.Cache;
+import com.suave.spring.cache.ConcurrentLruCache;
+import com.suave.spring.context.ApplicationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存的读取耗时，4个线程并发
+ * <ul>
+ *     <li>cacheableHit：通过代理调用@Cacheable方法并命中，单个int参数直接作为Key</li>
+ *     <li>cacheableCompositeKey：两个参数，每次调用生成一个SimpleKey</li>
+ *     <li>lruGetPut：直接读写缓存，Key的范围是容量的4倍，约四分之三的读取未命中并写入、淘汰</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/18 21:00
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class CacheBenchmark {
+
+    private static final int KEY_RANGE = 256;
+
+    private ApplicationContext context;
+
+    private PriceService priceService;
+
+    private final Cache lruCache = new ConcurrentLruCache("lru", 1024, null);
+
+    @Setup
+    public void setup() {
+        this.context = new ApplicationContext("classpath:cache.properties");
+        this.priceService = this.context.getBean(PriceService.class);
+    }
+
+    @Benchmark
+    public Long cacheableHit() {
+        return priceService.price(ThreadLocalRandom.current().nextInt(KEY_RANGE));
+    }
+
+    @Benchmark
+    public Long cacheableCompositeKey() {
+        return priceService.price("cn", ThreadLocalRandom.current().nextInt(KEY_RANGE));
+    }
+
+    @Benchmark
+    public Object lruGetPut() {
+        Integer key = ThreadLocalRandom.current().nextInt(4096);
+        Object value = lruCache.get(key);
+        if (value == null) {
+            lruCache.put(key, key);
+            return key;
+        }
+        return value;
+    }
+
+    @TearDown
+    public void report() {
+        System.out.println();
+        System.out.println(this.context.getCacheManager().getStats());
+        System.out.println("lru=" + this.lruCache.getStats());
+    }
+}
@@ -0,0 +1,39 @@
+package com.suave.benchmark;
+
+import com.suave.spring.context.ApplicationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 三级缓存：两个依赖图的Bean和依赖数量相同，circular中每10个Bean组成一个环，
+ * 创建时需要提前暴露早期引用；acyclic中去掉了闭合环的那条依赖
+ *
+ * @author Suave
+ * @since 2026/10/18 14:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class CircularReferenceBenchmark {
+
+    @Param({"acyclic", "circular"})
+    public String shape;
+
+    @Benchmark
+    public ApplicationContext startup() {
+        return new ApplicationContext("classpath:graph-1000-" + shape + ".properties");
+    }
+}
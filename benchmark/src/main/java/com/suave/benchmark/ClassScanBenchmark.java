@@ -0,0 +1,161 @@
+package com.suave.benchmark;
+
+import com.suave.spring.beans.factory.support.BeanDefinitionReader;
+import com.suave.spring.core.type.ClassMetadata;
+import com.suave.spring.core.type.classreading.ClassMetadataReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * 扫描5000个类（其中500个是Bean，其他类带有静态初始化块），找出Bean并加载
+ * <ul>
+ *     <li>metadata：解析.class文件判断注解，只加载是Bean的类，不执行静态初始化</li>
+ *     <li>reflection：和之前一样通过Class.forName加载并初始化每个类，再通过反射判断注解</li>
+ * </ul>
+ * 类只会被加载一次，每次调用使用一个新的类加载器重新定义这些类，两种方式都包含读取.class文件的开销。
+ * 加上-prof gc可以看到每次扫描的内存分配
+ *
+ * @author Suave
+ * @since 2026/10/19 13:00
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class ClassScanBenchmark {
+
+    private static final String SCAN_PACKAGE = "com.suave.benchmark.graph.s5000";
+
+    @Param({"metadata", "reflection"})
+    public String mode;
+
+    private final List<String> classNames = new ArrayList<>();
+
+    private final List<Class<? extends Annotation>> stereotypes = new ArrayList<>();
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void listClasses() throws Exception {
+        File jar = new File(ClassScanBenchmark.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        String prefix = SCAN_PACKAGE.replace('.', '/') + "/";
+        try (JarFile jarFile = new JarFile(jar)) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (name.startsWith(prefix) && name.endsWith(".class")) {
+                    this.classNames.add(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+                }
+            }
+        }
+        if (this.classNames.isEmpty()) {
+            throw new IllegalStateException("没有找到" + SCAN_PACKAGE + "下的类，需要通过mvn package生成");
+        }
+        for (String annotationName : BeanDefinitionReader.STEREOTYPE_ANNOTATION_NAMES) {
+            this.stereotypes.add((Class<? extends Annotation>) Class.forName(annotationName));
+        }
+    }
+
+    @Benchmark
+    public List<Class<?>> scan() throws Exception {
+        IsolatedClassLoader classLoader = new IsolatedClassLoader(ClassScanBenchmark.class.getClassLoader());
+        List<Class<?>> beanClasses = new ArrayList<>();
+        if ("metadata".equals(this.mode)) {
+            ClassMetadataReader reader = new ClassMetadataReader(classLoader);
+            for (String className : this.classNames) {
+                ClassMetadata metadata = reader.getClassMetadata(className);
+                if (isStereotype(metadata)) {
+                    beanClasses.add(Class.forName(className, false, classLoader));
+                }
+            }
+        } else {
+            for (String className : this.classNames) {
+                Class<?> clazz = Class.forName(className, true, classLoader);
+                for (Class<? extends Annotation> stereotype : this.stereotypes) {
+                    if (clazz.isAnnotationPresent(stereotype)) {
+                        beanClasses.add(clazz);
+                        break;
+                    }
+                }
+            }
+        }
+        return beanClasses;
+    }
+
+    private static boolean isStereotype(ClassMetadata metadata) {
+        for (String annotationName : BeanDefinitionReader.STEREOTYPE_ANNOTATION_NAMES) {
+            if (metadata.hasAnnotation(annotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 扫描包下的类由自己重新定义，其他类（注解等）委托给父加载器
+     */
+    private static class IsolatedClassLoader extends ClassLoader {
+
+        IsolatedClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(SCAN_PACKAGE + ".")) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> clazz = findLoadedClass(name);
+                if (clazz == null) {
+                    clazz = findClass(name);
+                }
+                if (resolve) {
+                    resolveClass(clazz);
+                }
+                return clazz;
+            }
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            try (InputStream is = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                if (is == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+                byte[] buffer = new byte[4096];
+                int n;
+                while ((n = is.read(buffer)) > 0) {
+                    out.write(buffer, 0, n);
+                }
+                byte[] bytes = out.toByteArray();
+                return defineClass(name, bytes, 0, bytes.length);
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+}
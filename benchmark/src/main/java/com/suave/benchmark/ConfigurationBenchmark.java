@@ -0,0 +1,61 @@
+package com.suave.benchmark;
+
+import com.suave.benchmark.config.ClientConfig;
+import com.suave.spring.context.ApplicationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 配置类和@Bean方法：
+ * <ul>
+ *     <li>interBeanCall：在配置类外部调用@Bean方法，子类中重写的方法直接按写入常量池的BeanName获取单例</li>
+ *     <li>getBeanByName：按名称获取同一个单例，作为对比</li>
+ *     <li>getPrototype：每次通过MethodHandle调用一次原型@Bean方法，方法中再调用一次单例@Bean方法</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/19 05:00
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigurationBenchmark {
+
+    private ApplicationContext context;
+
+    private ClientConfig config;
+
+    @Setup
+    public void setup() {
+        this.context = new ApplicationContext("classpath:config.properties");
+        this.config = this.context.getBean(ClientConfig.class);
+    }
+
+    @Benchmark
+    public Object interBeanCall() {
+        return config.sequence();
+    }
+
+    @Benchmark
+    public Object getBeanByName() {
+        return context.getBean("sequence");
+    }
+
+    @Benchmark
+    public Object getPrototype() {
+        return context.getBean("request");
+    }
+}
@@ -0,0 +1,47 @@
+package com.suave.benchmark;
+
+import com.suave.spring.context.ApplicationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 容器启动：读取配置、扫描或读取索引、注册BeanDefinition、创建所有单例
+ * <ul>
+ *     <li>index：使用编译期生成的索引</li>
+ *     <li>scan：忽略索引，扫描ClassPath并解析.class文件</li>
+ *     <li>parallel：使用索引，并行创建单例</li>
+ * </ul>
+ * 依赖图中包含深依赖链和循环依赖，见BeanGraphGenerator。加上-prof gc可以看到每次启动的内存分配
+ *
+ * @author Suave
+ * @since 2026/10/18 14:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class ContainerStartupBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int size;
+
+    @Param({"index", "scan", "parallel"})
+    public String mode;
+
+    @Benchmark
+    public ApplicationContext startup() {
+        return new ApplicationContext("classpath:graph-" + size + "-" + mode + ".properties");
+    }
+}
@@ -0,0 +1,58 @@
+package com.suave.benchmark;
+
+import com.suave.spring.context.ApplicationContext;
+import com.suave.spring.web.DispatcherHandler;
+import com.suave.spring.web.HttpRequest;
+import com.suave.spring.web.HttpResponse;
+import com.suave.spring.web.RequestMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 不经过网络的请求分发，包括路由查找、参数解析和MethodHandle调用
+ * <ul>
+ *     <li>staticRoute：/users/ping，没有参数</li>
+ *     <li>variableRoute：/users/{id}/orders/{orderId}?expand=items，两个路径变量和一个查询参数</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/18 18:00
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatcherBenchmark {
+
+    private DispatcherHandler dispatcher;
+
+    @Setup
+    public void setup() {
+        this.dispatcher = new DispatcherHandler(new ApplicationContext("classpath:web.properties"));
+    }
+
+    @Benchmark
+    public HttpResponse staticRoute() {
+        return dispatcher.dispatch(new HttpRequest(RequestMethod.GET, "/users/ping", null,
+                Collections.<String, String>emptyMap(), new byte[0], true));
+    }
+
+    @Benchmark
+    public HttpResponse variableRoute() {
+        return dispatcher.dispatch(new HttpRequest(RequestMethod.GET, "/users/42/orders/7", "expand=items",
+                Collections.<String, String>emptyMap(), new byte[0], true));
+    }
+}
@@ -0,0 +1,73 @@
+package com.suave.benchmark;
+
+import com.suave.benchmark.event.OrderListeners;
+import com.suave.benchmark.event.OrderPlacedEvent;
+import com.suave.spring.context.ApplicationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每秒发布的事件数，每个事件分发给两个监听器
+ * <ul>
+ *     <li>sync：发布线程直接调用监听器</li>
+ *     <li>async：放入有界队列后由工作线程批量分发，队列满时发布线程自己分发；每轮结束时等待队列清空</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/18 20:00
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBenchmark {
+
+    @Param({"sync", "async"})
+    public String delivery;
+
+    private ApplicationContext context;
+
+    private OrderListeners listeners;
+
+    private long orderId;
+
+    @Setup
+    public void setup() {
+        this.context = new ApplicationContext("classpath:event-" + delivery + ".properties");
+        this.listeners = this.context.getBean(OrderListeners.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void awaitDelivery() throws InterruptedException {
+        while (this.context.getEventMulticaster().getPendingEventCount() > 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Benchmark
+    public void publish() {
+        context.publishEvent(new OrderPlacedEvent(this, orderId++));
+    }
+
+    @TearDown
+    public void verify() {
+        if (this.listeners.getDelivered() == 0) {
+            throw new IllegalStateException("没有分发任何事件");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.suave.benchmark;
+
+import com.suave.spring.beans.factory.support.InjectionMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 属性注入：直接赋值、Field.set反射赋值，以及InjectionMetadata中基于MethodHandle的赋值
+ *
+ * @author Suave
+ * @since 2026/10/18 14:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldInjectionBenchmark {
+
+    private final Target target = new Target();
+
+    private final Object value = new Object();
+
+    private Field field;
+
+    private InjectionMetadata.InjectedElement element;
+
+    @Setup
+    public void setup() throws NoSuchFieldException {
+        this.field = Target.class.getDeclaredField("dependency");
+        this.field.setAccessible(true);
+        this.element = new InjectionMetadata.InjectedElement(this.field, "dependency", false, true);
+    }
+
+    @Benchmark
+    public Object direct() {
+        target.dependency = value;
+        return target;
+    }
+
+    @Benchmark
+    public Object reflection() throws IllegalAccessException {
+        field.set(target, value);
+        return target;
+    }
+
+    @Benchmark
+    public Object methodHandle() {
+        element.inject(target, value);
+        return target;
+    }
+
+    public static class Target {
+
+        private Object dependency;
+    }
+}
@@ -0,0 +1,154 @@
+package com.suave.benchmark;
+
+import com.suave.spring.context.ApplicationContext;
+import com.suave.spring.web.DispatcherHandler;
+import com.suave.spring.web.server.HttpServer;
+import com.suave.spring.web.server.NioHttpServer;
+import com.suave.spring.web.server.VirtualThreadHttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本机回环地址上的HTTP压测，每个压测线程一个保持连接的客户端，发送请求后读完整个响应
+ * <ul>
+ *     <li>server：nio为单线程事件循环，virtual为每个连接一个虚拟线程（JDK 21以下退回到普通线程）</li>
+ *     <li>staticRoute、variableRoute与{@link DispatcherBenchmark}相同，差值即为网络和报文解析的开销</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/18 18:00
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class HttpServerBenchmark {
+
+    @Param({"nio", "virtual"})
+    public String server;
+
+    private HttpServer httpServer;
+
+    @Setup
+    public void setup() throws IOException {
+        DispatcherHandler dispatcher = new DispatcherHandler(new ApplicationContext("classpath:web.properties"));
+        this.httpServer = "nio".equals(server) ? new NioHttpServer(dispatcher, 0) : new VirtualThreadHttpServer(dispatcher, 0);
+        this.httpServer.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.httpServer.stop();
+    }
+
+    @Benchmark
+    public int staticRoute(Client client) throws IOException {
+        return client.execute(Client.STATIC_ROUTE);
+    }
+
+    @Benchmark
+    public int variableRoute(Client client) throws IOException {
+        return client.execute(Client.VARIABLE_ROUTE);
+    }
+
+    /**
+     * 每个压测线程一个连接
+     */
+    @State(Scope.Thread)
+    public static class Client {
+
+        static final byte[] STATIC_ROUTE = request("/users/ping");
+
+        static final byte[] VARIABLE_ROUTE = request("/users/42/orders/7?expand=items");
+
+        private Socket socket;
+
+        private OutputStream out;
+
+        private InputStream in;
+
+        private final byte[] buffer = new byte[4096];
+
+        @Setup(Level.Trial)
+        public void connect(HttpServerBenchmark benchmark) throws IOException {
+            this.socket = new Socket(InetAddress.getLoopbackAddress(), benchmark.httpServer.getPort());
+            this.socket.setTcpNoDelay(true);
+            this.out = this.socket.getOutputStream();
+            this.in = this.socket.getInputStream();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws IOException {
+            this.socket.close();
+        }
+
+        private static byte[] request(String target) {
+            return ("GET " + target + " HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1);
+        }
+
+        /**
+         * 发送请求并读完响应
+         *
+         * @return 响应的总长度
+         */
+        int execute(byte[] request) throws IOException {
+            this.out.write(request);
+            this.out.flush();
+            int length = 0;
+            int headerEnd = -1;
+            int contentLength = 0;
+            while (headerEnd < 0 || length < headerEnd + contentLength) {
+                int n = this.in.read(this.buffer, length, this.buffer.length - length);
+                if (n < 0) {
+                    throw new IOException("连接已关闭");
+                }
+                length += n;
+                if (headerEnd < 0) {
+                    headerEnd = indexOfHeaderEnd(length);
+                    if (headerEnd >= 0) {
+                        contentLength = parseContentLength(headerEnd);
+                    }
+                }
+            }
+            return length;
+        }
+
+        private int indexOfHeaderEnd(int length) {
+            for (int i = 0; i + 3 < length; i++) {
+                if (buffer[i] == '\r' && buffer[i + 1] == '\n' && buffer[i + 2] == '\r' && buffer[i + 3] == '\n') {
+                    return i + 4;
+                }
+            }
+            return -1;
+        }
+
+        private int parseContentLength(int headerEnd) {
+            String head = new String(this.buffer, 0, headerEnd, StandardCharsets.ISO_8859_1);
+            int start = head.indexOf("Content-Length: ") + "Content-Length: ".length();
+            return Integer.parseInt(head.substring(start, head.indexOf('\r', start)));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.suave.benchmark;
+
+import com.suave.benchmark.jdbc.Account;
+import com.suave.benchmark.jdbc.AccountRepository;
+import com.suave.benchmark.jdbc.AccountService;
+import com.suave.spring.context.ApplicationContext;
+import com.suave.spring.jdbc.PooledConnection;
+import com.suave.spring.jdbc.PooledDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDBC的耗时，使用进程内的H2内存数据库，4个线程并发，连接池大小为4
+ * <ul>
+ *     <li>borrowRelease：只借出和归还连接</li>
+ *     <li>borrowReleaseContended：8个线程争用只有2个连接的连接池，经过归还时的交接和等待队列</li>
+ *     <li>findById：按主键查询一行并转换为Account</li>
+ *     <li>findPage：查询50行并转换为Account</li>
+ *     <li>batchInsert：一次批量写入100行</li>
+ *     <li>transfer、transferInTransaction：两次更新加一次写入，分别各自借出连接并提交，和在一个事务中共用连接只提交一次</li>
+ *     <li>transferNested：在事务中再调用一个REQUIRED的事务方法，内层加入外层事务</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/19 00:00
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class JdbcBenchmark {
+
+    private ApplicationContext context;
+
+    private PooledDataSource dataSource;
+
+    private AccountRepository repository;
+
+    private AccountService service;
+
+    private final List<Object[]> logRows = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        this.context = new ApplicationContext("classpath:jdbc.yml");
+        this.dataSource = this.context.getBean(PooledDataSource.class);
+        this.repository = this.context.getBean(AccountRepository.class);
+        this.service = this.context.getBean(AccountService.class);
+        for (int i = 0; i < 100; i++) {
+            this.logRows.add(new Object[]{i, "log " + i});
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void clearLog() {
+        this.repository.clearLog();
+    }
+
+    @Benchmark
+    public PooledConnection borrowRelease() {
+        PooledConnection connection = dataSource.borrow();
+        dataSource.release(connection);
+        return connection;
+    }
+
+    /**
+     * 线程数多于连接数的连接池，和容器中的连接池分开
+     */
+    @State(Scope.Benchmark)
+    public static class ContendedPool {
+
+        PooledDataSource dataSource;
+
+        @Setup
+        public void setup() {
+            this.dataSource = new PooledDataSource("jdbc:h2:mem:contended;DB_CLOSE_DELAY=-1", "sa", "", 2);
+        }
+
+        @TearDown
+        public void close() {
+            this.dataSource.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public PooledConnection borrowReleaseContended(ContendedPool pool) {
+        PooledConnection connection = pool.dataSource.borrow();
+        pool.dataSource.release(connection);
+        return connection;
+    }
+
+    @Benchmark
+    public Account findById() {
+        return repository.findById(ThreadLocalRandom.current().nextInt(AccountRepository.ACCOUNT_COUNT));
+    }
+
+    @Benchmark
+    public List<Account> findPage() {
+        return repository.findPage(ThreadLocalRandom.current().nextInt(AccountRepository.ACCOUNT_COUNT - 50), 50);
+    }
+
+    @Benchmark
+    public int[] batchInsert() {
+        return repository.log(logRows);
+    }
+
+    @Benchmark
+    public void transfer() {
+        int from = ThreadLocalRandom.current().nextInt(AccountRepository.ACCOUNT_COUNT);
+        service.transfer(from, (from + 1) % AccountRepository.ACCOUNT_COUNT, 1);
+    }
+
+    @Benchmark
+    public void transferInTransaction() {
+        int from = ThreadLocalRandom.current().nextInt(AccountRepository.ACCOUNT_COUNT);
+        service.transferInTransaction(from, (from + 1) % AccountRepository.ACCOUNT_COUNT, 1);
+    }
+
+    @Benchmark
+    public void transferNested() {
+        int from = ThreadLocalRandom.current().nextInt(AccountRepository.ACCOUNT_COUNT);
+        service.transferNested(from, (from + 1) % AccountRepository.ACCOUNT_COUNT, 1);
+    }
+
+    @TearDown
+    public void close() {
+        System.out.println();
+        System.out.println(this.dataSource);
+        this.context.getTransactionManager().getStats().forEach((name, stats) -> System.out.println(name + " " + stats));
+        this.context.close();
+    }
+}
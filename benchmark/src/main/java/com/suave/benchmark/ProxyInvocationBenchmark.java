@@ -0,0 +1,65 @@
+package com.suave.benchmark;
+
+import com.suave.benchmark.aop.GreetingService;
+import com.suave.spring.context.ApplicationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 代理对象每次调用的开销
+ * <ul>
+ *     <li>direct：直接调用原始对象</li>
+ *     <li>advised：经过一个直接proceed的拦截器</li>
+ *     <li>unadvised：代理对象上不需要拦截的方法，由代理类直接调用目标对象</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/18 14:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProxyInvocationBenchmark {
+
+    private final GreetingService target = new GreetingService();
+
+    private GreetingService proxy;
+
+    private String name = "mini-spring";
+
+    @Setup
+    public void setup() {
+        this.proxy = new ApplicationContext("classpath:aop.properties").getBean(GreetingService.class);
+        if (this.proxy.getClass() == GreetingService.class) {
+            throw new IllegalStateException("GreetingService没有被代理");
+        }
+    }
+
+    @Benchmark
+    public String direct() {
+        return target.greet(name);
+    }
+
+    @Benchmark
+    public String advised() {
+        return proxy.greet(name);
+    }
+
+    @Benchmark
+    public String unadvised() {
+        return proxy.plain(name);
+    }
+}
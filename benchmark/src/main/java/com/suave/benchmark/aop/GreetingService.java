@@ -0,0 +1,21 @@
+package com.suave.benchmark.aop;
+
+import com.suave.spring.annotation.Service;
+
+/**
+ * 代理的目标类，greet会被拦截，plain不会
+ *
+ * @author Suave
+ * @since 2026/10/18 14:30
+ */
+@Service
+public class GreetingService {
+
+    public String greet(String name) {
+        return name;
+    }
+
+    public String plain(String name) {
+        return name;
+    }
+}
@@ -0,0 +1,29 @@
+package com.suave.benchmark.aop;
+
+import com.suave.spring.annotation.Component;
+import com.suave.spring.aop.Advisor;
+import com.suave.spring.aop.MethodInterceptor;
+
+import java.lang.reflect.Method;
+
+/**
+ * 拦截GreetingService.greet，直接调用下一个拦截器，只包含代理本身的开销
+ *
+ * @author Suave
+ * @since 2026/10/18 14:30
+ */
+@Component
+public class PassThroughAdvisor implements Advisor {
+
+    private final MethodInterceptor interceptor = invocation -> invocation.proceed();
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        return targetClass == GreetingService.class && "greet".equals(method.getName());
+    }
+
+    @Override
+    public MethodInterceptor getInterceptor() {
+        return interceptor;
+    }
+}
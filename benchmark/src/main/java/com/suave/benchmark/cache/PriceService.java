@@ -0,0 +1,22 @@
+package com.suave.benchmark.cache;
+
+import com.suave.spring.annotation.Cacheable;
+import com.suave.spring.annotation.Service;
+
+/**
+ * @author Suave
+ * @since 2026/10/18 21:00
+ */
+@Service
+public class PriceService {
+
+    @Cacheable("prices")
+    public Long price(int productId) {
+        return (long) productId * 31;
+    }
+
+    @Cacheable("prices")
+    public Long price(String region, int productId) {
+        return (long) region.hashCode() * productId;
+    }
+}
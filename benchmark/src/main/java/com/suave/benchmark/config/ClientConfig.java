@@ -0,0 +1,28 @@
+package com.suave.benchmark.config;
+
+import com.suave.spring.annotation.Bean;
+import com.suave.spring.annotation.Configuration;
+import com.suave.spring.annotation.Scope;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 一个单例和一个依赖它的原型，原型Bean的方法中直接调用单例的@Bean方法
+ *
+ * @author Suave
+ * @since 2026/10/19 05:00
+ */
+@Configuration
+public class ClientConfig {
+
+    @Bean
+    public AtomicLong sequence() {
+        return new AtomicLong();
+    }
+
+    @Bean
+    @Scope("prototype")
+    public StringBuilder request() {
+        return new StringBuilder().append(sequence().incrementAndGet());
+    }
+}
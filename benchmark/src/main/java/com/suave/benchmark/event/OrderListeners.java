@@ -0,0 +1,33 @@
+package com.suave.benchmark.event;
+
+import com.suave.spring.annotation.Component;
+import com.suave.spring.annotation.EventListener;
+import com.suave.spring.context.event.ApplicationListener;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 一个@EventListener方法和一个ApplicationListener，每个事件分发两次
+ *
+ * @author Suave
+ * @since 2026/10/18 20:00
+ */
+@Component
+public class OrderListeners implements ApplicationListener<OrderPlacedEvent> {
+
+    private final LongAdder delivered = new LongAdder();
+
+    @EventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        delivered.add(event.getOrderId() >= 0 ? 1 : 0);
+    }
+
+    @Override
+    public void onApplicationEvent(OrderPlacedEvent event) {
+        delivered.increment();
+    }
+
+    public long getDelivered() {
+        return delivered.sum();
+    }
+}
@@ -0,0 +1,23 @@
+package com.suave.benchmark.event;
+
+import com.suave.spring.context.event.ApplicationEvent;
+
+/**
+ * 压测用的领域事件
+ *
+ * @author Suave
+ * @since 2026/10/18 20:00
+ */
+public class OrderPlacedEvent extends ApplicationEvent {
+
+    private final long orderId;
+
+    public OrderPlacedEvent(Object source, long orderId) {
+        super(source);
+        this.orderId = orderId;
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+}
@@ -0,0 +1,47 @@
+package com.suave.benchmark.jdbc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * @author Suave
+ * @since 2026/10/19 00:00
+ */
+public class Account {
+
+    private long id;
+
+    private String userName;
+
+    private String email;
+
+    private BigDecimal balance;
+
+    private boolean active;
+
+    private LocalDateTime createdAt;
+
+    public long getId() {
+        return id;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,66 @@
+package com.suave.benchmark.jdbc;
+
+import com.suave.spring.annotation.Autowired;
+import com.suave.spring.annotation.PostConstruct;
+import com.suave.spring.annotation.Repository;
+import com.suave.spring.jdbc.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Suave
+ * @since 2026/10/19 00:00
+ */
+@Repository
+public class AccountRepository {
+
+    public static final int ACCOUNT_COUNT = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS account (id BIGINT PRIMARY KEY, user_name VARCHAR(64), "
+                + "email VARCHAR(128), balance DECIMAL(18, 2), active BOOLEAN, created_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS account_log (account_id BIGINT, message VARCHAR(128))");
+        jdbcTemplate.execute("TRUNCATE TABLE account");
+        List<Object[]> rows = new ArrayList<>(ACCOUNT_COUNT);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            rows.add(new Object[]{i, "user_" + i, "user" + i + "@example.com", BigDecimal.valueOf(i * 100L, 2), i % 2 == 0, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO account VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    public Account findById(long id) {
+        return jdbcTemplate.queryForObject("SELECT * FROM account WHERE id = ?", Account.class, id);
+    }
+
+    public List<Account> findPage(long fromId, int size) {
+        return jdbcTemplate.queryForList("SELECT * FROM account WHERE id >= ? ORDER BY id LIMIT ?", Account.class, fromId, size);
+    }
+
+    public int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM account", Integer.class);
+    }
+
+    public int addBalance(long id, int amount) {
+        return jdbcTemplate.update("UPDATE account SET balance = balance + ? WHERE id = ?", amount, id);
+    }
+
+    public int log(long accountId, String message) {
+        return jdbcTemplate.update("INSERT INTO account_log VALUES (?, ?)", accountId, message);
+    }
+
+    public int[] log(List<Object[]> rows) {
+        return jdbcTemplate.batchUpdate("INSERT INTO account_log VALUES (?, ?)", rows);
+    }
+
+    public void clearLog() {
+        jdbcTemplate.execute("TRUNCATE TABLE account_log");
+    }
+}
@@ -0,0 +1,48 @@
+package com.suave.benchmark.jdbc;
+
+import com.suave.spring.annotation.Autowired;
+import com.suave.spring.annotation.Service;
+import com.suave.spring.annotation.Transactional;
+
+/**
+ * @author Suave
+ * @since 2026/10/19 01:00
+ */
+@Service
+public class AccountService {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountService self;
+
+    /**
+     * 两次更新和一次写入各自借出连接、各自提交
+     */
+    public void transfer(long from, long to, int amount) {
+        doTransfer(from, to, amount);
+    }
+
+    /**
+     * 两次更新和一次写入使用同一个事务绑定的连接，只提交一次
+     */
+    @Transactional
+    public void transferInTransaction(long from, long to, int amount) {
+        doTransfer(from, to, amount);
+    }
+
+    /**
+     * 外层事务中调用另一个REQUIRED方法，内层直接加入外层事务
+     */
+    @Transactional
+    public void transferNested(long from, long to, int amount) {
+        self.transferInTransaction(from, to, amount);
+    }
+
+    private void doTransfer(long from, long to, int amount) {
+        accountRepository.addBalance(from, -amount);
+        accountRepository.addBalance(to, amount);
+        accountRepository.log(from, "transfer " + amount + " to " + to);
+    }
+}
@@ -0,0 +1,24 @@
+package com.suave.benchmark.task;
+
+import com.suave.spring.annotation.Async;
+import com.suave.spring.annotation.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @author Suave
+ * @since 2026/10/18 22:00
+ */
+@Service
+public class ReportService {
+
+    @Async
+    public CompletableFuture<Integer> renderOnForkJoin(int id) {
+        return CompletableFuture.completedFuture(id * 31);
+    }
+
+    @Async("virtual")
+    public CompletableFuture<Integer> renderOnVirtual(int id) {
+        return CompletableFuture.completedFuture(id * 31);
+    }
+}
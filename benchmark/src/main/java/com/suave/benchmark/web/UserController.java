@@ -0,0 +1,29 @@
+package com.suave.benchmark.web;
+
+import com.suave.spring.annotation.Controller;
+import com.suave.spring.annotation.PathVariable;
+import com.suave.spring.annotation.RequestMapping;
+import com.suave.spring.annotation.RequestParam;
+import com.suave.spring.web.RequestMethod;
+
+/**
+ * 压测用的Controller，一个静态路径和一个带路径变量、查询参数的路径
+ *
+ * @author Suave
+ * @since 2026/10/18 18:00
+ */
+@Controller
+@RequestMapping("/users")
+public class UserController {
+
+    @RequestMapping(value = "/ping", method = RequestMethod.GET)
+    public String ping() {
+        return "pong";
+    }
+
+    @RequestMapping(value = "/{id}/orders/{orderId}", method = RequestMethod.GET)
+    public String order(@PathVariable("id") long id, @PathVariable("orderId") int orderId,
+                        @RequestParam(value = "expand", required = false) String expand) {
+        return id + "/" + orderId;
+    }
+}
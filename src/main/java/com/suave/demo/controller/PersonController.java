@@ -1,11 +1,21 @@
 package com.suave.demo.controller;
 
 import com.suave.spring.annotation.Controller;
+import com.suave.spring.annotation.PathVariable;
+import com.suave.spring.annotation.RequestMapping;
+import com.suave.spring.annotation.RequestParam;
+import com.suave.spring.web.RequestMethod;
 
 /**
  * @author Suave
  * @since 2023/08/19 12:51
  */
 @Controller
+@RequestMapping("/persons")
 public class PersonController {
+
+    @RequestMapping(value = "/{id}", method = RequestMethod.GET)
+    public String get(@PathVariable("id") long id, @RequestParam(value = "greeting", required = false) String greeting) {
+        return (greeting == null ? "hello" : greeting) + ", person " + id;
+    }
 }
@@ -0,0 +1,24 @@
+package com.suave.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 在线程池中异步执行方法，需要配置task.async.enabled=true
+ * 方法的返回值只能是void、Future或CompletableFuture，调用方立即得到一个CompletableFuture
+ * @author Suave
+ * @since 2026/10/18 22:00
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Async {
+    /**
+     * 线程池名称，对应task.executors.{name}
+     * @return 默认使用task.async.executor配置的线程池
+     */
+    String value() default "";
+}
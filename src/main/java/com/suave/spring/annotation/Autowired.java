@@ -7,16 +7,16 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * 标识需要自动注入的属性
+ * 标识需要自动注入的属性，标注在构造方法上时通过该构造方法注入
  * @author Suave
  * @since 2023/08/18 15:30
  */
-@Target({ElementType.FIELD})
+@Target({ElementType.FIELD, ElementType.CONSTRUCTOR})
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
 public @interface Autowired {
     /**
-     * 用于标识注入IoC中的Bean的名称
+     * 用于标识注入IoC中的Bean的名称，标注在构造方法上时按参数类型注入，忽略该值
      * @return
      */
     String value() default "";
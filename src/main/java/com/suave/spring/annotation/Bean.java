@@ -0,0 +1,44 @@
+package com.suave.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注在{@link Configuration}类的方法上，方法的返回值注册为Bean，用于注册连接池、客户端等第三方的对象
+ * <p>
+ * 方法参数按类型从容器中获取，可以标注@Lazy；方法上可以标注@Lazy、@Scope。
+ * static方法不需要先创建配置类，但其他@Bean方法调用它时不会返回容器中的Bean
+ * @author Suave
+ * @since 2026/10/19 04:00
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bean {
+
+    /**
+     * 从返回的对象上推断销毁方法：public的无参close()或shutdown()
+     */
+    String INFER_METHOD = "(inferred)";
+
+    /**
+     * Bean的名称
+     * @return 默认为方法名
+     */
+    String value() default "";
+
+    /**
+     * 依赖注入和@PostConstruct之后执行的无参方法
+     * @return 默认没有
+     */
+    String initMethod() default "";
+
+    /**
+     * 容器关闭时在@PreDestroy之后执行的无参方法，只对单例生效
+     * @return 默认推断close()或shutdown()，配置为空字符串时不执行
+     */
+    String destroyMethod() default INFER_METHOD;
+}
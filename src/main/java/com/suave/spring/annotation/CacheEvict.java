@@ -0,0 +1,29 @@
+package com.suave.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 方法正常返回后删除缓存，Key与@Cacheable相同，由所有参数组成
+ * @author Suave
+ * @since 2026/10/18 21:00
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CacheEvict {
+    /**
+     * 缓存名称
+     * @return
+     */
+    String value();
+
+    /**
+     * 是否清空整个缓存，为true时忽略参数
+     * @return 默认false
+     */
+    boolean allEntries() default false;
+}
@@ -0,0 +1,24 @@
+package com.suave.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 缓存方法的返回值，相同参数再次调用时直接返回缓存的结果，需要配置cache.enabled=true
+ * 缓存的Key由所有参数组成，返回null也会被缓存
+ * @author Suave
+ * @since 2026/10/18 21:00
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Cacheable {
+    /**
+     * 缓存名称，容量和过期时间通过cache.{name}.maximumSize、cache.{name}.ttl配置
+     * @return
+     */
+    String value();
+}
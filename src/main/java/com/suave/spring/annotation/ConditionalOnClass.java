@@ -0,0 +1,30 @@
+package com.suave.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ClassPath中存在这些类时才注册该Bean
+ * 只检查.class文件是否存在，不会加载这些类，也不会加载标注了该注解的类
+ * @author Suave
+ * @since 2026/10/19 03:00
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalOnClass {
+    /**
+     * 需要存在的类
+     * @return
+     */
+    Class<?>[] value() default {};
+
+    /**
+     * 需要存在的类的全类名，编译时不在ClassPath中的类使用这种方式
+     * @return
+     */
+    String[] name() default {};
+}
@@ -0,0 +1,24 @@
+package com.suave.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 其他候选Bean中没有这些类型时才注册该Bean，用于提供可以被覆盖的默认实现
+ * 在其他条件都判断完之后判断，多个标注了该注解的同类型Bean按扫描顺序只注册第一个
+ * @author Suave
+ * @since 2026/10/19 03:00
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalOnMissingBean {
+    /**
+     * 类型，可以是父类或接口；为空时使用标注的类本身
+     * @return
+     */
+    Class<?>[] value() default {};
+}
@@ -0,0 +1,36 @@
+package com.suave.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 配置项满足条件时才注册该Bean
+ * 扫描时从.class文件中读取，不满足条件的类不会被加载
+ * @author Suave
+ * @since 2026/10/19 03:00
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalOnProperty {
+    /**
+     * 配置项的Key
+     * @return
+     */
+    String name();
+
+    /**
+     * 期望的值，忽略大小写；为空时只要配置了且不为false就满足
+     * @return
+     */
+    String havingValue() default "";
+
+    /**
+     * 没有配置该项时是否满足
+     * @return
+     */
+    boolean matchIfMissing() default false;
+}
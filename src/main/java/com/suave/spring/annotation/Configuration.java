@@ -0,0 +1,20 @@
+package com.suave.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标识一个配置类，配置类本身也是Bean，其中的{@link Bean}方法在扫描时注册为BeanDefinition
+ * <p>
+ * 容器创建的是配置类的子类，@Bean方法之间互相调用时返回容器中的Bean，所以配置类和非static的@Bean方法不能是final的
+ * @author Suave
+ * @since 2026/10/19 04:00
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Configuration {
+}
@@ -0,0 +1,19 @@
+package com.suave.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注在Bean的方法上，监听发布的事件
+ * 方法只能有一个参数，参数类型就是监听的事件类型，可以是ApplicationEvent的子类，也可以是任意对象
+ * @author Suave
+ * @since 2026/10/18 20:00
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EventListener {
+}
@@ -0,0 +1,24 @@
+package com.suave.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注在类或@Bean方法上时该Bean延迟到第一次getBean时才创建，标注在配置类上时对其中所有@Bean方法生效；
+ * 标注在@Autowired属性或构造方法参数上时注入一个代理，第一次调用方法时才从容器中获取真正的Bean
+ * @author Suave
+ * @since 2026/10/17 22:10
+ */
+@Target({ElementType.TYPE, ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Lazy {
+    /**
+     * 是否延迟加载
+     * @return 默认true
+     */
+    boolean value() default true;
+}
@@ -0,0 +1,19 @@
+package com.suave.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 依赖注入完成后、生成代理之前调用，方法不能有参数，抛出异常时Bean创建失败
+ * 父类的方法先执行；启用preInstantiation.parallel时，互不依赖的Bean的初始化方法并行执行
+ * @author Suave
+ * @since 2026/10/18 23:00
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PostConstruct {
+}
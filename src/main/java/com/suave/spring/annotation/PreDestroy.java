@@ -0,0 +1,19 @@
+package com.suave.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 容器关闭时调用单例Bean的销毁方法，方法不能有参数，抛出异常只记录不影响其他Bean
+ * 依赖它的Bean先销毁，子类的方法先执行；原型以及其他作用域的Bean不会调用
+ * @author Suave
+ * @since 2026/10/18 23:00
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PreDestroy {
+}
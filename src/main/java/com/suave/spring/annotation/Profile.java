@@ -0,0 +1,24 @@
+package com.suave.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 只有激活了其中任意一个Profile时才注册该Bean，Profile通过profiles.active配置
+ * 扫描时从.class文件中读取，不满足条件的类不会被加载
+ * @author Suave
+ * @since 2026/10/19 03:00
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Profile {
+    /**
+     * Profile名称，以!开头表示没有激活该Profile
+     * @return
+     */
+    String[] value();
+}
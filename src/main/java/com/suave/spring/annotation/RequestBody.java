@@ -0,0 +1,18 @@
+package com.suave.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 把请求体注入到方法参数，参数类型为byte[]时注入原始内容，否则按UTF-8解码后转换
+ * @author Suave
+ * @since 2026/10/18 18:00
+ */
+@Target({ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequestBody {
+}
@@ -0,0 +1,32 @@
+package com.suave.spring.annotation;
+
+import com.suave.spring.web.RequestMethod;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 把请求映射到@Controller中的方法，标注在类上时作为该类所有方法的路径前缀
+ * 路径中的{name}匹配一段路径，值可以通过@PathVariable获取
+ * @author Suave
+ * @since 2026/10/18 18:00
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequestMapping {
+    /**
+     * 路径，如/persons/{id}
+     * @return
+     */
+    String value() default "";
+
+    /**
+     * 支持的请求方法
+     * @return 默认支持所有请求方法
+     */
+    RequestMethod[] method() default {};
+}
@@ -0,0 +1,29 @@
+package com.suave.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 把查询参数注入到方法参数，按参数类型转换
+ * @author Suave
+ * @since 2026/10/18 18:00
+ */
+@Target({ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequestParam {
+    /**
+     * 参数名，为空时使用参数名，需要编译时加上-parameters
+     * @return
+     */
+    String value() default "";
+
+    /**
+     * 是否必须，不是必须的参数不存在时注入null
+     * @return 默认true
+     */
+    boolean required() default true;
+}
@@ -0,0 +1,48 @@
+package com.suave.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 定时执行单例Bean的无参方法，需要配置task.scheduling.enabled=true
+ * cron、fixedRate、fixedDelay只能设置一个；同一个任务不会并发执行，上一次没有结束时下一次顺延
+ * @author Suave
+ * @since 2026/10/18 22:00
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Scheduled {
+    /**
+     * 6位cron表达式：秒 分 时 日 月 周，如0 0/5 * * * ?，可以使用${}占位符
+     * @return
+     */
+    String cron() default "";
+
+    /**
+     * 按固定频率执行，从上一次计划执行的时间开始计算，单位毫秒
+     * @return
+     */
+    long fixedRate() default -1;
+
+    /**
+     * 上一次执行结束后间隔固定时间再执行，单位毫秒
+     * @return
+     */
+    long fixedDelay() default -1;
+
+    /**
+     * 第一次执行前的延迟，单位毫秒，cron不支持
+     * @return
+     */
+    long initialDelay() default 0;
+
+    /**
+     * 执行任务的线程池名称
+     * @return 默认使用task.scheduling.executor配置的线程池
+     */
+    String executor() default "";
+}
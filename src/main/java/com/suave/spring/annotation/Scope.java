@@ -0,0 +1,23 @@
+package com.suave.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 指定Bean的作用域，内置singleton、prototype、thread、request，也可以通过ApplicationContext.registerScope注册自定义作用域
+ * @author Suave
+ * @since 2026/10/17 22:10
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Scope {
+    /**
+     * 作用域名称
+     * @return 默认singleton
+     */
+    String value() default "singleton";
+}
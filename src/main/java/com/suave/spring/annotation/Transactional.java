@@ -0,0 +1,40 @@
+package com.suave.spring.annotation;
+
+import com.suave.spring.transaction.Propagation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 在事务中执行方法，容器中有连接池dataSource时生效
+ * 标注在类上时对所有public方法生效，方法上的注解优先；RuntimeException和Error回滚，其他异常提交
+ * @author Suave
+ * @since 2026/10/19 01:00
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface Transactional {
+    /**
+     * 传播方式，默认已经在事务中时加入，否则开启新事务
+     * @return
+     */
+    Propagation propagation() default Propagation.REQUIRED;
+
+    /**
+     * 只读事务，连接设置为只读，数据库可以据此优化
+     * @return
+     */
+    boolean readOnly() default false;
+
+    /**
+     * 除了RuntimeException和Error之外，还需要回滚的异常
+     * @return
+     */
+    Class<? extends Throwable>[] rollbackFor() default {};
+}
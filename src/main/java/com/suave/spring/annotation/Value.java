@@ -0,0 +1,24 @@
+package com.suave.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 注入配置的值，支持${key}和${key:默认值}占位符，也可以和普通文本混用
+ * 值在解析注入计划时就完成占位符解析和类型转换，之后创建Bean时直接赋值
+ * @author Suave
+ * @since 2026/10/18 16:00
+ */
+@Target({ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Value {
+    /**
+     * 值的表达式，如${server.port:8080}
+     * @return
+     */
+    String value();
+}
@@ -0,0 +1,31 @@
+package com.suave.spring.aop;
+
+import java.lang.reflect.Method;
+
+/**
+ * 切面，决定哪些方法需要被拦截以及使用哪个拦截器
+ * <p>
+ * 实现该接口并注册为Bean即可生效，容器在创建其他单例之前先创建所有Advisor。
+ * Advisor本身以及它依赖的Bean不会被代理
+ *
+ * @author Suave
+ * @since 2026/10/17 23:10
+ */
+public interface Advisor {
+
+    /**
+     * 该方法是否需要被拦截，每个类的每个方法只会判断一次
+     *
+     * @param method      目标类上的方法
+     * @param targetClass 目标类
+     * @return 是否拦截
+     */
+    boolean matches(Method method, Class<?> targetClass);
+
+    /**
+     * 获取拦截器
+     *
+     * @return 拦截器
+     */
+    MethodInterceptor getInterceptor();
+}
@@ -0,0 +1,20 @@
+package com.suave.spring.aop;
+
+/**
+ * 方法拦截器，环绕目标方法执行，调用{@link MethodInvocation#proceed()}进入下一个拦截器或目标方法
+ *
+ * @author Suave
+ * @since 2026/10/17 23:10
+ */
+@FunctionalInterface
+public interface MethodInterceptor {
+
+    /**
+     * 拦截方法调用
+     *
+     * @param invocation 本次方法调用
+     * @return 方法返回值
+     * @throws Throwable 拦截器或目标方法抛出的异常
+     */
+    Object invoke(MethodInvocation invocation) throws Throwable;
+}
@@ -0,0 +1,41 @@
+package com.suave.spring.aop;
+
+import java.lang.reflect.Method;
+
+/**
+ * 一次被拦截的方法调用
+ *
+ * @author Suave
+ * @since 2026/10/17 23:10
+ */
+public interface MethodInvocation {
+
+    /**
+     * 被调用的方法
+     *
+     * @return 目标类上的方法
+     */
+    Method getMethod();
+
+    /**
+     * 方法参数，拦截器可以修改数组中的元素
+     *
+     * @return 方法参数
+     */
+    Object[] getArguments();
+
+    /**
+     * 目标对象，即原始的Bean
+     *
+     * @return 目标对象
+     */
+    Object getThis();
+
+    /**
+     * 执行下一个拦截器，所有拦截器执行完后调用目标方法
+     *
+     * @return 方法返回值
+     * @throws Throwable 拦截器或目标方法抛出的异常
+     */
+    Object proceed() throws Throwable;
+}
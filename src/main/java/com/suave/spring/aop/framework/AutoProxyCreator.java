@@ -0,0 +1,91 @@
+package com.suave.spring.aop.framework;
+
+import com.suave.spring.aop.Advisor;
+import com.suave.spring.aop.MethodInterceptor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 根据切面为Bean生成代理对象
+ * <ul>
+ *     <li>没有切面时直接返回原始Bean，不做任何计算</li>
+ *     <li>每个类只计算一次拦截器链并生成一次代理类，没有方法需要拦截的类同样缓存结果</li>
+ *     <li>单例的代理对象按缓存Key保存，三级缓存提前暴露的早期引用和初始化完成后返回的是同一个代理对象</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/17 23:50
+ */
+public class AutoProxyCreator {
+
+    private final List<Advisor> advisors = new CopyOnWriteArrayList<>();
+
+    /**
+     * 每个目标类的代理类，不需要代理的类保存为空
+     */
+    private final Map<Class<?>, Optional<ProxyClass>> proxyClassCache = new ConcurrentHashMap<>(64);
+
+    /**
+     * 添加切面，已经缓存的拦截器链会失效
+     *
+     * @param advisor 切面
+     */
+    public void addAdvisor(Advisor advisor) {
+        this.advisors.add(advisor);
+        this.proxyClassCache.clear();
+    }
+
+    /**
+     * 丢弃目标类的代理类，类被重新定义后调用，下次代理时重新计算拦截器链
+     *
+     * @param targetClass 目标类
+     */
+    public void removeProxyClass(Class<?> targetClass) {
+        this.proxyClassCache.remove(targetClass);
+    }
+
+    public boolean hasAdvisors() {
+        return !this.advisors.isEmpty();
+    }
+
+    /**
+     * 需要时返回代理对象，否则返回原始Bean
+     *
+     * @param singletonProxies 单例的代理对象，由调用方保存，和单例一起替换
+     * @param cacheKey         单例的缓存Key，同一个实例的多个BeanName应当使用相同的Key；非单例传null，每次生成新的代理对象
+     * @param bean             原始Bean
+     * @return 代理对象或原始Bean
+     */
+    public Object wrapIfNecessary(Map<String, Object> singletonProxies, String cacheKey, Object bean) {
+        if (this.advisors.isEmpty() || bean instanceof Advisor || bean instanceof MethodInterceptor) {
+            return bean;
+        }
+        if (cacheKey != null) {
+            Object proxy = singletonProxies.get(cacheKey);
+            if (proxy != null) {
+                return proxy;
+            }
+        }
+        ProxyClass proxyClass = getProxyClass(bean.getClass());
+        if (proxyClass == null) {
+            return bean;
+        }
+        if (cacheKey == null) {
+            return proxyClass.newProxy(bean);
+        }
+        return singletonProxies.computeIfAbsent(cacheKey, k -> proxyClass.newProxy(bean));
+    }
+
+    private ProxyClass getProxyClass(Class<?> targetClass) {
+        Optional<ProxyClass> proxyClass = this.proxyClassCache.get(targetClass);
+        if (proxyClass == null) {
+            proxyClass = this.proxyClassCache.computeIfAbsent(targetClass,
+                    k -> Optional.ofNullable(ProxyClass.forClass(k, this.advisors)));
+        }
+        return proxyClass.orElse(null);
+    }
+}
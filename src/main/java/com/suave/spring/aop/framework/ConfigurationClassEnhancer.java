@@ -0,0 +1,256 @@
+package com.suave.spring.aop.framework;
+
+import com.suave.spring.annotation.Bean;
+import com.suave.spring.beans.factory.BeanFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 生成{@link com.suave.spring.annotation.Configuration}配置类的子类，字节码的写法和{@link ProxyClassGenerator}一致
+ * <ul>
+ *     <li>{@code $$beanFactory}：创建配置类的容器，实例化后设置</li>
+ *     <li>重写每个非static的@Bean方法，直接返回{@code $$beanFactory.getBean("BeanName")}，BeanName在生成时写入常量池，
+ *     配置类内部互相调用@Bean方法时拿到的是容器中的Bean，不需要拦截器，也不需要按方法查找BeanName</li>
+ *     <li>每个非static的@Bean方法对应一个{@code $$bean$方法名}，通过invokespecial调用配置类中原本的方法，容器创建Bean时调用它</li>
+ *     <li>和配置类每个非private构造方法参数一致的构造方法，只调用父类的构造方法</li>
+ * </ul>
+ * 每个配置类只生成一次
+ *
+ * @author Suave
+ * @since 2026/10/19 04:00
+ */
+public final class ConfigurationClassEnhancer {
+
+    public static final String BEAN_FACTORY_FIELD = "$$beanFactory";
+
+    public static final String FACTORY_METHOD_PREFIX = "$$bean$";
+
+    private static final int LDC_W = 0x13;
+    private static final int INVOKESPECIAL = 0xb7;
+
+    private static final String BEAN_FACTORY = BeanFactory.class.getName().replace('.', '/');
+    private static final String GET_BEAN_DESCRIPTOR = "(Ljava/lang/String;)Ljava/lang/Object;";
+
+    private static final ClassValue<Class<?>> ENHANCED_CLASSES = new ClassValue<Class<?>>() {
+        @Override
+        protected Class<?> computeValue(Class<?> type) {
+            return doEnhance(type);
+        }
+    };
+
+    private final ProxyClassGenerator.ConstantPool pool = new ProxyClassGenerator.ConstantPool();
+
+    private ConfigurationClassEnhancer() {
+    }
+
+    /**
+     * 获取配置类的子类，第一次调用时生成
+     *
+     * @param configClass 配置类
+     * @return 子类
+     * @throws IllegalStateException 配置类是final的、没有非private的构造方法，或者@Bean方法是private、final的、返回基本类型
+     */
+    public static Class<?> enhance(Class<?> configClass) {
+        return ENHANCED_CLASSES.get(configClass);
+    }
+
+    /**
+     * 获取类中直接声明的非static的@Bean方法，也就是子类中需要重写的方法
+     *
+     * @param configClass 配置类
+     * @return @Bean方法
+     */
+    public static List<Method> getBeanMethods(Class<?> configClass) {
+        List<Method> result = new ArrayList<>();
+        for (Method method : configClass.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Bean.class) && !method.isBridge() && !Modifier.isStatic(method.getModifiers())) {
+                result.add(method);
+            }
+        }
+        return result;
+    }
+
+    private static Class<?> doEnhance(Class<?> configClass) {
+        if (Modifier.isFinal(configClass.getModifiers())) {
+            throw new IllegalStateException("配置类不能是final的：" + configClass.getName());
+        }
+        List<Constructor<?>> constructors = new ArrayList<>();
+        for (Constructor<?> constructor : configClass.getDeclaredConstructors()) {
+            if (!Modifier.isPrivate(constructor.getModifiers())) {
+                constructors.add(constructor);
+            }
+        }
+        if (constructors.isEmpty()) {
+            throw new IllegalStateException("配置类没有非private的构造方法：" + configClass.getName());
+        }
+        List<Method> beanMethods = getBeanMethods(configClass);
+        for (Method method : beanMethods) {
+            if (Modifier.isPrivate(method.getModifiers()) || Modifier.isFinal(method.getModifiers())) {
+                throw new IllegalStateException("非static的@Bean方法不能是private、final的：" + method);
+            }
+            // 重写的方法把getBean的结果CHECKCAST后返回，基本类型（包括void）无法这样返回
+            if (method.getReturnType().isPrimitive()) {
+                throw new IllegalStateException("@Bean方法必须返回对象：" + method);
+            }
+        }
+
+        String className = configClass.getName() + "$$MiniSpringConfiguration";
+        byte[] bytes = new ConfigurationClassEnhancer().generate(className, configClass, constructors, beanMethods);
+        try {
+            return ProxyClassGenerator.defineClass(configClass, className, bytes);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("生成配置类" + configClass.getName() + "的子类失败", e);
+        }
+    }
+
+    private byte[] generate(String className, Class<?> configClass, List<Constructor<?>> constructors, List<Method> beanMethods) {
+        try {
+            String thisClass = className.replace('.', '/');
+            String superClass = ProxyClassGenerator.internalName(configClass);
+            int thisClassIndex = this.pool.classRef(thisClass);
+            int superClassIndex = this.pool.classRef(superClass);
+
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(body);
+            // 属性
+            out.writeShort(1);
+            out.writeShort(ProxyClassGenerator.ACC_PUBLIC | ProxyClassGenerator.ACC_SYNTHETIC);
+            out.writeShort(this.pool.utf8(BEAN_FACTORY_FIELD));
+            out.writeShort(this.pool.utf8("L" + BEAN_FACTORY + ";"));
+            out.writeShort(0);
+            // 方法
+            out.writeShort(constructors.size() + beanMethods.size() * 2);
+            int codeAttribute = this.pool.utf8("Code");
+            for (Constructor<?> constructor : constructors) {
+                writeConstructor(out, codeAttribute, superClass, constructor);
+            }
+            for (Method method : beanMethods) {
+                writeBeanMethod(out, codeAttribute, thisClass, method);
+                writeFactoryMethod(out, codeAttribute, superClass, method);
+            }
+            // 类属性
+            out.writeShort(0);
+
+            ByteArrayOutputStream result = new ByteArrayOutputStream(body.size() + this.pool.size() + 64);
+            DataOutputStream classFile = new DataOutputStream(result);
+            classFile.writeInt(0xCAFEBABE);
+            classFile.writeShort(0);
+            classFile.writeShort(ProxyClassGenerator.JAVA_8_VERSION);
+            this.pool.writeTo(classFile);
+            // 不是final的，配置类仍然可以被AOP代理
+            classFile.writeShort(ProxyClassGenerator.ACC_PUBLIC | ProxyClassGenerator.ACC_SUPER | ProxyClassGenerator.ACC_SYNTHETIC);
+            classFile.writeShort(thisClassIndex);
+            classFile.writeShort(superClassIndex);
+            classFile.writeShort(0);
+            body.writeTo(classFile);
+            return result.toByteArray();
+        } catch (IOException e) {
+            // 内存中的流不会抛出IOException
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * super(args...)
+     */
+    private void writeConstructor(DataOutputStream out, int codeAttribute, String superClass, Constructor<?> constructor) throws IOException {
+        StringBuilder descriptor = new StringBuilder("(");
+        for (Class<?> parameterType : constructor.getParameterTypes()) {
+            descriptor.append(ProxyClassGenerator.descriptor(parameterType));
+        }
+        descriptor.append(")V");
+
+        ByteArrayOutputStream codeBuffer = new ByteArrayOutputStream();
+        DataOutputStream code = new DataOutputStream(codeBuffer);
+        code.writeByte(ProxyClassGenerator.ALOAD_0);
+        int slots = writeLoadArguments(code, constructor.getParameterTypes());
+        code.writeByte(INVOKESPECIAL);
+        code.writeShort(this.pool.methodRef(superClass, "<init>", descriptor.toString(), false));
+        code.writeByte(ProxyClassGenerator.RETURN);
+        writeMethod(out, codeAttribute, constructor.getModifiers() & (Modifier.PUBLIC | Modifier.PROTECTED),
+                "<init>", descriptor.toString(), codeBuffer.toByteArray(), 1 + slots, 1 + slots);
+    }
+
+    /**
+     * return (ReturnType) this.$$beanFactory.getBean("beanName");
+     */
+    private void writeBeanMethod(DataOutputStream out, int codeAttribute, String thisClass, Method method) throws IOException {
+        String beanName = method.getAnnotation(Bean.class).value();
+        if (beanName.isEmpty()) {
+            beanName = method.getName();
+        }
+        ByteArrayOutputStream codeBuffer = new ByteArrayOutputStream();
+        DataOutputStream code = new DataOutputStream(codeBuffer);
+        code.writeByte(ProxyClassGenerator.ALOAD_0);
+        code.writeByte(ProxyClassGenerator.GETFIELD);
+        code.writeShort(this.pool.fieldRef(thisClass, BEAN_FACTORY_FIELD, "L" + BEAN_FACTORY + ";"));
+        code.writeByte(LDC_W);
+        code.writeShort(this.pool.string(beanName));
+        code.writeByte(ProxyClassGenerator.INVOKEINTERFACE);
+        code.writeShort(this.pool.methodRef(BEAN_FACTORY, "getBean", GET_BEAN_DESCRIPTOR, true));
+        code.writeByte(2);
+        code.writeByte(0);
+        code.writeByte(ProxyClassGenerator.CHECKCAST);
+        code.writeShort(this.pool.classRef(ProxyClassGenerator.internalName(method.getReturnType())));
+        code.writeByte(ProxyClassGenerator.returnOpcode(method.getReturnType()));
+        int slots = 0;
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            slots += ProxyClassGenerator.slotSize(parameterType);
+        }
+        writeMethod(out, codeAttribute, method.getModifiers() & (Modifier.PUBLIC | Modifier.PROTECTED),
+                method.getName(), ProxyClassGenerator.methodDescriptor(method), codeBuffer.toByteArray(), 2, 1 + slots);
+    }
+
+    /**
+     * public ReturnType $$bean$method(args...) { return super.method(args...); }
+     */
+    private void writeFactoryMethod(DataOutputStream out, int codeAttribute, String superClass, Method method) throws IOException {
+        ByteArrayOutputStream codeBuffer = new ByteArrayOutputStream();
+        DataOutputStream code = new DataOutputStream(codeBuffer);
+        code.writeByte(ProxyClassGenerator.ALOAD_0);
+        int slots = writeLoadArguments(code, method.getParameterTypes());
+        code.writeByte(INVOKESPECIAL);
+        code.writeShort(this.pool.methodRef(superClass, method.getName(), ProxyClassGenerator.methodDescriptor(method), false));
+        code.writeByte(ProxyClassGenerator.returnOpcode(method.getReturnType()));
+        // 不标记为synthetic，配置类被AOP代理时代理类也会重写它，转发给原始对象
+        writeMethod(out, codeAttribute, Modifier.PUBLIC,
+                FACTORY_METHOD_PREFIX + method.getName(), ProxyClassGenerator.methodDescriptor(method),
+                codeBuffer.toByteArray(), 1 + slots, 1 + slots);
+    }
+
+    /**
+     * @return 参数占用的局部变量槽位数
+     */
+    private static int writeLoadArguments(DataOutputStream code, Class<?>[] parameterTypes) throws IOException {
+        int slot = 1;
+        for (Class<?> parameterType : parameterTypes) {
+            ProxyClassGenerator.writeLoad(code, parameterType, slot);
+            slot += ProxyClassGenerator.slotSize(parameterType);
+        }
+        return slot - 1;
+    }
+
+    private void writeMethod(DataOutputStream out, int codeAttribute, int access, String name, String descriptor,
+                             byte[] bytecode, int maxStack, int maxLocals) throws IOException {
+        out.writeShort(access);
+        out.writeShort(this.pool.utf8(name));
+        out.writeShort(this.pool.utf8(descriptor));
+        out.writeShort(1);
+        out.writeShort(codeAttribute);
+        out.writeInt(12 + bytecode.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(bytecode.length);
+        out.write(bytecode);
+        // 异常表和Code的属性
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+}
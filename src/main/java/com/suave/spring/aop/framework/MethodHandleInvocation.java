@@ -0,0 +1,65 @@
+package com.suave.spring.aop.framework;
+
+import com.suave.spring.aop.MethodInterceptor;
+import com.suave.spring.aop.MethodInvocation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+
+/**
+ * 依次执行拦截器链，最后通过MethodHandle调用目标方法
+ *
+ * @author Suave
+ * @since 2026/10/17 23:20
+ */
+class MethodHandleInvocation implements MethodInvocation {
+
+    private final Method method;
+
+    private final Object target;
+
+    private final Object[] arguments;
+
+    /**
+     * 类型已经适配为(Object, Object[])Object
+     */
+    private final MethodHandle invoker;
+
+    private final MethodInterceptor[] interceptors;
+
+    /**
+     * 下一个要执行的拦截器
+     */
+    private int currentInterceptorIndex = 0;
+
+    MethodHandleInvocation(Method method, Object target, Object[] arguments, MethodHandle invoker, MethodInterceptor[] interceptors) {
+        this.method = method;
+        this.target = target;
+        this.arguments = arguments;
+        this.invoker = invoker;
+        this.interceptors = interceptors;
+    }
+
+    @Override
+    public Method getMethod() {
+        return method;
+    }
+
+    @Override
+    public Object[] getArguments() {
+        return arguments;
+    }
+
+    @Override
+    public Object getThis() {
+        return target;
+    }
+
+    @Override
+    public Object proceed() throws Throwable {
+        if (this.currentInterceptorIndex == this.interceptors.length) {
+            return (Object) this.invoker.invokeExact(this.target, this.arguments);
+        }
+        return this.interceptors[this.currentInterceptorIndex++].invoke(this);
+    }
+}
@@ -0,0 +1,239 @@
+package com.suave.spring.aop.framework;
+
+import com.suave.spring.aop.Advisor;
+import com.suave.spring.aop.MethodInterceptor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 一个目标类的代理类以及每个方法预先计算好的拦截器链，每个类只生成一次
+ * <ul>
+ *     <li>非final类：生成子类，代理对象可以注入到目标类类型的属性中</li>
+ *     <li>final类：生成实现目标类所有接口的类</li>
+ * </ul>
+ * final方法、static方法、private方法不会被拦截
+ *
+ * @author Suave
+ * @since 2026/10/17 23:40
+ */
+final class ProxyClass {
+
+    private static final MethodInterceptor[] NO_INTERCEPTORS = new MethodInterceptor[0];
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final AtomicInteger PROXY_CLASS_COUNTER = new AtomicInteger();
+
+    /**
+     * 按方法序号排列，与生成的代理类中传给ProxyDispatcher的序号一致
+     */
+    final Method[] methods;
+
+    final MethodInterceptor[][] interceptors;
+
+    /**
+     * 需要经过ProxyDispatcher的方法的调用句柄，类型为(Object, Object[])Object，其他方法为null
+     */
+    final MethodHandle[] invokers;
+
+    private final Constructor<?> instantiator;
+
+    private final MethodHandle targetSetter;
+
+    private final MethodHandle dispatcherSetter;
+
+    private ProxyClass(Method[] methods, MethodInterceptor[][] interceptors, MethodHandle[] invokers,
+                       Constructor<?> instantiator, MethodHandle targetSetter, MethodHandle dispatcherSetter) {
+        this.methods = methods;
+        this.interceptors = interceptors;
+        this.invokers = invokers;
+        this.instantiator = instantiator;
+        this.targetSetter = targetSetter;
+        this.dispatcherSetter = dispatcherSetter;
+    }
+
+    /**
+     * 计算目标类每个方法的拦截器链并生成代理类
+     *
+     * @param targetClass 目标类
+     * @param advisors    所有切面
+     * @return 没有任何方法需要拦截时返回null
+     */
+    static ProxyClass forClass(Class<?> targetClass, List<Advisor> advisors) {
+        boolean subclass = !Modifier.isFinal(targetClass.getModifiers());
+        Method[] methods = subclass ? collectOverridableMethods(targetClass) : collectInterfaceMethods(targetClass);
+
+        MethodInterceptor[][] interceptors = new MethodInterceptor[methods.length][];
+        boolean advised = false;
+        for (int i = 0; i < methods.length; i++) {
+            List<MethodInterceptor> chain = new ArrayList<>(advisors.size());
+            // 接口代理时按目标类上的方法判断，和子类代理保持一致
+            Method targetMethod = subclass ? methods[i] : findTargetMethod(targetClass, methods[i]);
+            for (Advisor advisor : advisors) {
+                if (advisor.matches(targetMethod, targetClass)) {
+                    chain.add(advisor.getInterceptor());
+                }
+            }
+            interceptors[i] = chain.isEmpty() ? NO_INTERCEPTORS : chain.toArray(NO_INTERCEPTORS);
+            advised |= !chain.isEmpty();
+        }
+        if (!advised) {
+            return null;
+        }
+        if (!subclass && targetClass.getInterfaces().length == 0) {
+            throw new RuntimeException(targetClass.getName() + "是final类且没有实现接口，无法生成代理！");
+        }
+
+        try {
+            boolean[] dispatched = new boolean[methods.length];
+            MethodHandle[] invokers = new MethodHandle[methods.length];
+            for (int i = 0; i < methods.length; i++) {
+                // 不需要拦截的方法直接调用目标对象，只有代理类不能直接调用的方法才经过ProxyDispatcher
+                dispatched[i] = interceptors[i].length > 0 || !isDirectlyCallable(methods[i], targetClass);
+                if (dispatched[i]) {
+                    invokers[i] = createInvoker(methods[i]);
+                }
+            }
+
+            String proxyClassName = targetClass.getName() + "$$MiniSpringProxy$$" + PROXY_CLASS_COUNTER.incrementAndGet();
+            byte[] bytes = ProxyClassGenerator.generate(proxyClassName, subclass ? targetClass : Object.class,
+                    subclass ? new Class<?>[0] : targetClass.getInterfaces(), methods, dispatched);
+            Class<?> proxyClass = ProxyClassGenerator.defineClass(targetClass, proxyClassName, bytes);
+
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle targetSetter = lookup.findSetter(proxyClass, ProxyClassGenerator.TARGET_FIELD, Object.class)
+                    .asType(SETTER_TYPE);
+            MethodHandle dispatcherSetter = lookup.findSetter(proxyClass, ProxyClassGenerator.DISPATCHER_FIELD, ProxyDispatcher.class)
+                    .asType(SETTER_TYPE);
+            return new ProxyClass(methods, interceptors, invokers, ProxyClassGenerator.newInstantiator(proxyClass),
+                    targetSetter, dispatcherSetter);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("为" + targetClass.getName() + "生成代理类失败", e);
+        }
+    }
+
+    /**
+     * 创建代理对象
+     *
+     * @param target 原始的Bean对象
+     * @return 代理对象
+     */
+    Object newProxy(Object target) {
+        try {
+            Object proxy = this.instantiator.newInstance();
+            this.targetSetter.invokeExact(proxy, target);
+            this.dispatcherSetter.invokeExact(proxy, (Object) new ProxyDispatcher(this, target));
+            return proxy;
+        } catch (Throwable e) {
+            throw new RuntimeException("创建" + target.getClass().getName() + "的代理对象失败", e);
+        }
+    }
+
+    /**
+     * 收集子类可以重写的方法，子类中的方法优先
+     */
+    private static Method[] collectOverridableMethods(Class<?> targetClass) {
+        Map<String, Method> result = new LinkedHashMap<>();
+        for (Class<?> clazz = targetClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                result.putIfAbsent(signature(method), method);
+            }
+        }
+        // 接口的默认方法以及Object的equals、hashCode、toString
+        for (Method method : targetClass.getMethods()) {
+            result.putIfAbsent(signature(method), method);
+        }
+
+        List<Method> methods = new ArrayList<>(result.size());
+        for (Method method : result.values()) {
+            int modifiers = method.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isPrivate(modifiers)
+                    || method.isBridge() || method.isSynthetic()) {
+                continue;
+            }
+            // 其他包中包内可见的方法无法重写
+            if (!Modifier.isPublic(modifiers) && !Modifier.isProtected(modifiers)
+                    && !samePackage(method.getDeclaringClass(), targetClass)) {
+                continue;
+            }
+            methods.add(method);
+        }
+        return methods.toArray(new Method[0]);
+    }
+
+    /**
+     * 收集所有接口的方法，以及Object的equals、hashCode、toString
+     */
+    private static Method[] collectInterfaceMethods(Class<?> targetClass) {
+        Map<String, Method> result = new LinkedHashMap<>();
+        for (Class<?> i : targetClass.getInterfaces()) {
+            for (Method method : i.getMethods()) {
+                if (!Modifier.isStatic(method.getModifiers())) {
+                    result.putIfAbsent(signature(method), method);
+                }
+            }
+        }
+        for (Method method : Object.class.getMethods()) {
+            if (!Modifier.isFinal(method.getModifiers())) {
+                result.putIfAbsent(signature(method), method);
+            }
+        }
+        return result.values().toArray(new Method[0]);
+    }
+
+    private static Method findTargetMethod(Class<?> targetClass, Method interfaceMethod) {
+        try {
+            return targetClass.getMethod(interfaceMethod.getName(), interfaceMethod.getParameterTypes());
+        } catch (NoSuchMethodException e) {
+            return interfaceMethod;
+        }
+    }
+
+    /**
+     * 代理类和目标类在同一个包中，public方法和同一个包中声明的方法可以直接调用；
+     * 其他包中的protected方法只能通过MethodHandle调用
+     */
+    private static boolean isDirectlyCallable(Method method, Class<?> targetClass) {
+        return Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(method.getDeclaringClass().getModifiers())
+                || samePackage(method.getDeclaringClass(), targetClass);
+    }
+
+    private static boolean samePackage(Class<?> a, Class<?> b) {
+        return a.getClassLoader() == b.getClassLoader() && Objects.equals(packageName(a), packageName(b));
+    }
+
+    private static String packageName(Class<?> clazz) {
+        String name = clazz.getName();
+        int index = name.lastIndexOf('.');
+        return index < 0 ? "" : name.substring(0, index);
+    }
+
+    private static MethodHandle createInvoker(Method method) throws IllegalAccessException {
+        // 强制访问
+        method.setAccessible(true);
+        return MethodHandles.lookup().unreflect(method)
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(INVOKER_TYPE);
+    }
+
+    private static String signature(Method method) {
+        StringBuilder sb = new StringBuilder(method.getName()).append('(');
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            sb.append(parameterType.getName()).append(',');
+        }
+        return sb.append(')').toString();
+    }
+}
@@ -0,0 +1,466 @@
+package com.suave.spring.aop.framework;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 直接生成代理类的字节码，不依赖ASM、CGLIB等第三方库
+ * <p>
+ * 代理类继承目标类（或实现目标类的接口），有两个public属性：
+ * <ul>
+ *     <li>{@code $$target}：原始的Bean对象</li>
+ *     <li>{@code $$dispatcher}：{@link ProxyDispatcher}</li>
+ * </ul>
+ * 需要拦截的方法把参数装箱后调用{@code $$dispatcher.invoke(序号, 参数)}；
+ * 不需要拦截的方法直接调用{@code $$target}上的同名方法，和手写的委托类开销一致。
+ * 生成的方法体中没有跳转指令，所以不需要StackMapTable
+ *
+ * @author Suave
+ * @since 2026/10/17 23:30
+ */
+final class ProxyClassGenerator {
+
+    static final String TARGET_FIELD = "$$target";
+
+    static final String DISPATCHER_FIELD = "$$dispatcher";
+
+    static final int JAVA_8_VERSION = 52;
+
+    static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    static final int ACC_SUPER = 0x0020;
+    static final int ACC_SYNTHETIC = 0x1000;
+
+    static final int ALOAD_0 = 0x2a;
+    private static final int SIPUSH = 0x11;
+    private static final int DUP = 0x59;
+    private static final int POP = 0x57;
+    private static final int AASTORE = 0x53;
+    static final int GETFIELD = 0xb4;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESTATIC = 0xb8;
+    static final int INVOKEINTERFACE = 0xb9;
+    private static final int ANEWARRAY = 0xbd;
+    static final int CHECKCAST = 0xc0;
+    private static final int WIDE = 0xc4;
+    static final int RETURN = 0xb1;
+
+    private static final String OBJECT = "java/lang/Object";
+    private static final String DISPATCHER = ProxyDispatcher.class.getName().replace('.', '/');
+    private static final String DISPATCH_DESCRIPTOR = "(I[Ljava/lang/Object;)Ljava/lang/Object;";
+
+    private final ConstantPool pool = new ConstantPool();
+
+    private ProxyClassGenerator() {
+    }
+
+    /**
+     * 生成代理类的字节码
+     *
+     * @param className  代理类的全类名，必须和目标类在同一个包下
+     * @param superClass 父类，接口代理时为Object
+     * @param interfaces 实现的接口
+     * @param methods    需要重写的方法，数组下标即方法序号
+     * @param dispatched 对应的方法是否需要经过{@link ProxyDispatcher}
+     * @return 类文件
+     */
+    static byte[] generate(String className, Class<?> superClass, Class<?>[] interfaces, Method[] methods, boolean[] dispatched) {
+        return new ProxyClassGenerator().doGenerate(className, superClass, interfaces, methods, dispatched);
+    }
+
+    private byte[] doGenerate(String className, Class<?> superClass, Class<?>[] interfaces, Method[] methods, boolean[] dispatched) {
+        try {
+            int thisClass = this.pool.classRef(className.replace('.', '/'));
+            int superClassIndex = this.pool.classRef(internalName(superClass));
+            int[] interfaceIndexes = new int[interfaces.length];
+            for (int i = 0; i < interfaces.length; i++) {
+                interfaceIndexes[i] = this.pool.classRef(internalName(interfaces[i]));
+            }
+
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(body);
+            // 属性
+            out.writeShort(2);
+            writeField(out, TARGET_FIELD, "L" + OBJECT + ";");
+            writeField(out, DISPATCHER_FIELD, "L" + DISPATCHER + ";");
+            // 方法，没有构造方法，实例通过ReflectionFactory创建
+            out.writeShort(methods.length);
+            int codeAttribute = this.pool.utf8("Code");
+            for (int i = 0; i < methods.length; i++) {
+                writeMethod(out, codeAttribute, className, superClass, methods[i], i, dispatched[i]);
+            }
+            // 类属性
+            out.writeShort(0);
+
+            ByteArrayOutputStream result = new ByteArrayOutputStream(body.size() + this.pool.size() + 64);
+            DataOutputStream classFile = new DataOutputStream(result);
+            classFile.writeInt(0xCAFEBABE);
+            classFile.writeShort(0);
+            classFile.writeShort(JAVA_8_VERSION);
+            this.pool.writeTo(classFile);
+            classFile.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC);
+            classFile.writeShort(thisClass);
+            classFile.writeShort(superClassIndex);
+            classFile.writeShort(interfaceIndexes.length);
+            for (int index : interfaceIndexes) {
+                classFile.writeShort(index);
+            }
+            body.writeTo(classFile);
+            return result.toByteArray();
+        } catch (IOException e) {
+            // 内存中的流不会抛出IOException
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void writeField(DataOutputStream out, String name, String descriptor) throws IOException {
+        out.writeShort(ACC_PUBLIC | ACC_SYNTHETIC);
+        out.writeShort(this.pool.utf8(name));
+        out.writeShort(this.pool.utf8(descriptor));
+        out.writeShort(0);
+    }
+
+    private void writeMethod(DataOutputStream out, int codeAttribute, String className, Class<?> superClass,
+                             Method method, int methodIndex, boolean dispatched) throws IOException {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        int argumentSlots = 0;
+        for (Class<?> parameterType : parameterTypes) {
+            argumentSlots += slotSize(parameterType);
+        }
+
+        ByteArrayOutputStream codeBuffer = new ByteArrayOutputStream();
+        DataOutputStream code = new DataOutputStream(codeBuffer);
+        String thisClass = className.replace('.', '/');
+        if (dispatched) {
+            // this.$$dispatcher.invoke(methodIndex, new Object[]{args...})
+            code.writeByte(ALOAD_0);
+            code.writeByte(GETFIELD);
+            code.writeShort(this.pool.fieldRef(thisClass, DISPATCHER_FIELD, "L" + DISPATCHER + ";"));
+            writeIntConstant(code, methodIndex);
+            writeIntConstant(code, parameterTypes.length);
+            code.writeByte(ANEWARRAY);
+            code.writeShort(this.pool.classRef(OBJECT));
+            int slot = 1;
+            for (int i = 0; i < parameterTypes.length; i++) {
+                code.writeByte(DUP);
+                writeIntConstant(code, i);
+                writeLoad(code, parameterTypes[i], slot);
+                if (parameterTypes[i].isPrimitive()) {
+                    String wrapper = wrapperName(parameterTypes[i]);
+                    code.writeByte(INVOKESTATIC);
+                    code.writeShort(this.pool.methodRef(wrapper, "valueOf",
+                            "(" + descriptor(parameterTypes[i]) + ")L" + wrapper + ";", false));
+                }
+                code.writeByte(AASTORE);
+                slot += slotSize(parameterTypes[i]);
+            }
+            code.writeByte(INVOKEVIRTUAL);
+            code.writeShort(this.pool.methodRef(DISPATCHER, "invoke", DISPATCH_DESCRIPTOR, false));
+            writeDispatchReturn(code, method.getReturnType());
+        } else {
+            // ((Owner) this.$$target).method(args...)
+            Class<?> owner = superClass == Object.class ? method.getDeclaringClass() : superClass;
+            code.writeByte(ALOAD_0);
+            code.writeByte(GETFIELD);
+            code.writeShort(this.pool.fieldRef(thisClass, TARGET_FIELD, "L" + OBJECT + ";"));
+            code.writeByte(CHECKCAST);
+            code.writeShort(this.pool.classRef(internalName(owner)));
+            int slot = 1;
+            for (Class<?> parameterType : parameterTypes) {
+                writeLoad(code, parameterType, slot);
+                slot += slotSize(parameterType);
+            }
+            if (owner.isInterface()) {
+                code.writeByte(INVOKEINTERFACE);
+                code.writeShort(this.pool.methodRef(internalName(owner), method.getName(), methodDescriptor(method), true));
+                code.writeByte(1 + argumentSlots);
+                code.writeByte(0);
+            } else {
+                code.writeByte(INVOKEVIRTUAL);
+                code.writeShort(this.pool.methodRef(internalName(owner), method.getName(), methodDescriptor(method), false));
+            }
+            code.writeByte(returnOpcode(method.getReturnType()));
+        }
+
+        byte[] bytecode = codeBuffer.toByteArray();
+        // 操作数栈最多同时存放：dispatcher、序号、数组、数组、下标、一个long参数；或者目标对象加所有参数
+        int maxStack = Math.max(7, 1 + argumentSlots);
+        out.writeShort(method.getModifiers() & (Modifier.PUBLIC | Modifier.PROTECTED));
+        out.writeShort(this.pool.utf8(method.getName()));
+        out.writeShort(this.pool.utf8(methodDescriptor(method)));
+        out.writeShort(1);
+        out.writeShort(codeAttribute);
+        out.writeInt(12 + bytecode.length);
+        out.writeShort(maxStack);
+        out.writeShort(1 + argumentSlots);
+        out.writeInt(bytecode.length);
+        out.write(bytecode);
+        // 异常表和Code的属性
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+
+    private void writeDispatchReturn(DataOutputStream code, Class<?> returnType) throws IOException {
+        if (returnType == void.class) {
+            code.writeByte(POP);
+            code.writeByte(RETURN);
+            return;
+        }
+        if (returnType.isPrimitive()) {
+            String wrapper = wrapperName(returnType);
+            code.writeByte(CHECKCAST);
+            code.writeShort(this.pool.classRef(wrapper));
+            code.writeByte(INVOKEVIRTUAL);
+            code.writeShort(this.pool.methodRef(wrapper, returnType.getName() + "Value", "()" + descriptor(returnType), false));
+        } else if (returnType != Object.class) {
+            code.writeByte(CHECKCAST);
+            code.writeShort(this.pool.classRef(internalName(returnType)));
+        }
+        code.writeByte(returnOpcode(returnType));
+    }
+
+    private static void writeIntConstant(DataOutputStream code, int value) throws IOException {
+        if (value > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("方法或参数数量过多：" + value);
+        }
+        code.writeByte(SIPUSH);
+        code.writeShort(value);
+    }
+
+    static void writeLoad(DataOutputStream code, Class<?> type, int slot) throws IOException {
+        int opcode;
+        if (type == long.class) {
+            opcode = 0x16;
+        } else if (type == float.class) {
+            opcode = 0x17;
+        } else if (type == double.class) {
+            opcode = 0x18;
+        } else if (type.isPrimitive()) {
+            opcode = 0x15;
+        } else {
+            opcode = 0x19;
+        }
+        if (slot > 0xff) {
+            code.writeByte(WIDE);
+            code.writeByte(opcode);
+            code.writeShort(slot);
+        } else {
+            code.writeByte(opcode);
+            code.writeByte(slot);
+        }
+    }
+
+    static int returnOpcode(Class<?> type) {
+        if (type == void.class) {
+            return RETURN;
+        }
+        if (type == long.class) {
+            return 0xad;
+        }
+        if (type == float.class) {
+            return 0xae;
+        }
+        if (type == double.class) {
+            return 0xaf;
+        }
+        return type.isPrimitive() ? 0xac : 0xb0;
+    }
+
+    static int slotSize(Class<?> type) {
+        return type == long.class || type == double.class ? 2 : 1;
+    }
+
+    private static String wrapperName(Class<?> primitive) {
+        if (primitive == int.class) {
+            return "java/lang/Integer";
+        }
+        if (primitive == char.class) {
+            return "java/lang/Character";
+        }
+        String name = primitive.getName();
+        return "java/lang/" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    static String internalName(Class<?> type) {
+        return type.isArray() ? descriptor(type) : type.getName().replace('.', '/');
+    }
+
+    static String methodDescriptor(Method method) {
+        StringBuilder sb = new StringBuilder("(");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            sb.append(descriptor(parameterType));
+        }
+        return sb.append(')').append(descriptor(method.getReturnType())).toString();
+    }
+
+    static String descriptor(Class<?> type) {
+        if (type.isArray()) {
+            return type.getName().replace('.', '/');
+        }
+        if (!type.isPrimitive()) {
+            return "L" + type.getName().replace('.', '/') + ";";
+        }
+        if (type == void.class) {
+            return "V";
+        }
+        if (type == boolean.class) {
+            return "Z";
+        }
+        if (type == long.class) {
+            return "J";
+        }
+        // int、byte、char、short、float、double的描述符都是首字母大写
+        return String.valueOf(Character.toUpperCase(type.getName().charAt(0)));
+    }
+
+    /**
+     * 在目标类所在的类加载器和包中定义代理类，这样才能继承包内可见的类、重写包内可见的方法
+     *
+     * @param neighbor 目标类
+     * @param bytes    类文件
+     * @return 代理类
+     */
+    static Class<?> defineClass(Class<?> neighbor, String className, byte[] bytes) throws ReflectiveOperationException {
+        try {
+            // 编译目标为Java 8，通过反射调用JDK 9的MethodHandles.privateLookupIn和Lookup.defineClass
+            Method privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+            Object lookup = privateLookupIn.invoke(null, neighbor, MethodHandles.lookup());
+            return (Class<?>) MethodHandles.Lookup.class.getMethod("defineClass", byte[].class).invoke(lookup, (Object) bytes);
+        } catch (NoSuchMethodException e) {
+            // Java 8
+            Method defineClass = ClassLoader.class.getDeclaredMethod("defineClass",
+                    String.class, byte[].class, int.class, int.class, java.security.ProtectionDomain.class);
+            defineClass.setAccessible(true);
+            return (Class<?>) defineClass.invoke(neighbor.getClassLoader(), className, bytes, 0, bytes.length, neighbor.getProtectionDomain());
+        }
+    }
+
+    /**
+     * 代理类没有构造方法，通过ReflectionFactory生成只调用Object构造方法的构造器，
+     * 目标类的构造方法不会被执行，也不要求目标类有无参构造
+     *
+     * @param proxyClass 代理类
+     * @return 构造器
+     */
+    static Constructor<?> newInstantiator(Class<?> proxyClass) throws ReflectiveOperationException {
+        Class<?> reflectionFactoryClass = Class.forName("sun.reflect.ReflectionFactory");
+        Object reflectionFactory = reflectionFactoryClass.getMethod("getReflectionFactory").invoke(null);
+        return (Constructor<?>) reflectionFactoryClass.getMethod("newConstructorForSerialization", Class.class, Constructor.class)
+                .invoke(reflectionFactory, proxyClass, Object.class.getDeclaredConstructor());
+    }
+
+    /**
+     * 常量池，相同的常量只写一次
+     */
+    static class ConstantPool {
+
+        private static final int UTF8 = 1;
+        private static final int CLASS = 7;
+        private static final int STRING = 8;
+        private static final int FIELD_REF = 9;
+        private static final int METHOD_REF = 10;
+        private static final int INTERFACE_METHOD_REF = 11;
+        private static final int NAME_AND_TYPE = 12;
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        private final DataOutputStream out = new DataOutputStream(this.buffer);
+
+        /**
+         * 常量池下标从1开始
+         */
+        private int count = 1;
+
+        int utf8(String value) throws IOException {
+            Integer index = this.indexes.get("U" + value);
+            if (index != null) {
+                return index;
+            }
+            this.out.writeByte(UTF8);
+            this.out.writeUTF(value);
+            return register("U" + value);
+        }
+
+        int classRef(String internalName) throws IOException {
+            Integer index = this.indexes.get("C" + internalName);
+            if (index != null) {
+                return index;
+            }
+            int name = utf8(internalName);
+            this.out.writeByte(CLASS);
+            this.out.writeShort(name);
+            return register("C" + internalName);
+        }
+
+        int string(String value) throws IOException {
+            Integer index = this.indexes.get("S" + value);
+            if (index != null) {
+                return index;
+            }
+            int utf8 = utf8(value);
+            this.out.writeByte(STRING);
+            this.out.writeShort(utf8);
+            return register("S" + value);
+        }
+
+        int fieldRef(String owner, String name, String descriptor) throws IOException {
+            return memberRef(FIELD_REF, owner, name, descriptor);
+        }
+
+        int methodRef(String owner, String name, String descriptor, boolean isInterface) throws IOException {
+            return memberRef(isInterface ? INTERFACE_METHOD_REF : METHOD_REF, owner, name, descriptor);
+        }
+
+        private int memberRef(int tag, String owner, String name, String descriptor) throws IOException {
+            String key = tag + owner + "." + name + descriptor;
+            Integer index = this.indexes.get(key);
+            if (index != null) {
+                return index;
+            }
+            int ownerIndex = classRef(owner);
+            int nameAndType = nameAndType(name, descriptor);
+            this.out.writeByte(tag);
+            this.out.writeShort(ownerIndex);
+            this.out.writeShort(nameAndType);
+            return register(key);
+        }
+
+        private int nameAndType(String name, String descriptor) throws IOException {
+            String key = "N" + name + ":" + descriptor;
+            Integer index = this.indexes.get(key);
+            if (index != null) {
+                return index;
+            }
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            this.out.writeByte(NAME_AND_TYPE);
+            this.out.writeShort(nameIndex);
+            this.out.writeShort(descriptorIndex);
+            return register(key);
+        }
+
+        private int register(String key) {
+            int index = this.count++;
+            this.indexes.put(key, index);
+            return index;
+        }
+
+        int size() {
+            return this.buffer.size();
+        }
+
+        void writeTo(DataOutputStream classFile) throws IOException {
+            classFile.writeShort(this.count);
+            this.buffer.writeTo(classFile);
+        }
+    }
+}
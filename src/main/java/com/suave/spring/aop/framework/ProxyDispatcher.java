@@ -0,0 +1,40 @@
+package com.suave.spring.aop.framework;
+
+import com.suave.spring.aop.MethodInterceptor;
+
+/**
+ * 生成的代理类中需要拦截的方法都会调用该类，每个代理对象一个
+ * <p>
+ * 方法序号在生成代理类时确定，拦截器链按序号直接取出，不需要按Method查找
+ *
+ * @author Suave
+ * @since 2026/10/17 23:20
+ */
+public final class ProxyDispatcher {
+
+    private final ProxyClass proxyClass;
+
+    private final Object target;
+
+    ProxyDispatcher(ProxyClass proxyClass, Object target) {
+        this.proxyClass = proxyClass;
+        this.target = target;
+    }
+
+    /**
+     * 执行拦截器链和目标方法
+     *
+     * @param methodIndex 生成代理类时分配的方法序号
+     * @param arguments   方法参数，基本类型已装箱
+     * @return 方法返回值，void方法返回null
+     * @throws Throwable 拦截器或目标方法抛出的异常
+     */
+    public Object invoke(int methodIndex, Object[] arguments) throws Throwable {
+        MethodInterceptor[] interceptors = this.proxyClass.interceptors[methodIndex];
+        if (interceptors.length == 0) {
+            return (Object) this.proxyClass.invokers[methodIndex].invokeExact(this.target, arguments);
+        }
+        return new MethodHandleInvocation(this.proxyClass.methods[methodIndex], this.target, arguments,
+                this.proxyClass.invokers[methodIndex], interceptors).proceed();
+    }
+}
@@ -1,26 +1,81 @@
 package com.suave.spring.beans.factory;
 
+import com.suave.spring.beans.factory.support.BeanInstantiator;
+
 /**
  * @author Suave
  * @since 2023/08/18 15:33
  */
 public class BeanDefinition {
 
+    public static final String SCOPE_SINGLETON = "singleton";
+
+    public static final String SCOPE_PROTOTYPE = "prototype";
+
     /**
      * Bean的名称
      */
     private String factoryBeanName;
     /**
-     * 原生类的全类名
+     * 原生类的全类名，@Bean方法为返回值类型
      */
     private String beanClassName;
 
+    /**
+     * 是否懒加载，对应类上的@Lazy
+     */
+    private boolean lazyInit = false;
+
+    /**
+     * 作用域，对应类上的@Scope
+     */
+    private String scope = SCOPE_SINGLETON;
+
+    /**
+     * 声明@Bean方法的配置类全类名，通过构造方法创建的Bean为null
+     */
+    private String factoryMethodClassName;
+
+    /**
+     * 工厂方法名，即@Bean方法的名称
+     */
+    private String factoryMethodName;
+
+    /**
+     * 工厂方法的描述符，扫描时从.class文件中读取，用于确定重载的方法和参数类型
+     */
+    private String factoryMethodDescriptor;
+
+    /**
+     * 配置类的BeanName，static的@Bean方法为null
+     */
+    private String configurationBeanName;
+
+    /**
+     * 初始化方法，对应@Bean的initMethod
+     */
+    private String initMethodName;
+
+    /**
+     * 销毁方法，对应@Bean的destroyMethod，可以是{@link com.suave.spring.annotation.Bean#INFER_METHOD}
+     */
+    private String destroyMethodName;
+
+    /**
+     * 解析好的实例化方式，第一次创建时解析，之后直接复用
+     */
+    private volatile BeanInstantiator resolvedInstantiator;
+
     /**
      * 是否懒加载
      * @return 默认false
      */
     public boolean isLazyInit() {
-        return false;
+        return lazyInit;
+    }
+
+    public void setLazyInit(boolean lazyInit) {
+        this.lazyInit = lazyInit;
     }
 
     /**
@@ -28,7 +83,23 @@ public class BeanDefinition {
      * @return 默认返回true
      */
     public boolean isSingleton() {
-        return true;
+        return SCOPE_SINGLETON.equals(scope);
+    }
+
+    /**
+     * 是否原型，每次getBean都创建新的对象
+     * @return 默认返回false
+     */
+    public boolean isPrototype() {
+        return SCOPE_PROTOTYPE.equals(scope);
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public void setScope(String scope) {
+        this.scope = scope == null || scope.isEmpty() ? SCOPE_SINGLETON : scope;
     }
 
     public String getFactoryBeanName() {
@@ -46,4 +117,79 @@ public class BeanDefinition {
     public void setBeanClassName(String beanClassName) {
         this.beanClassName = beanClassName;
     }
+
+    /**
+     * 是否通过@Bean方法创建
+     *
+     * @return 是否为工厂方法
+     */
+    public boolean isFactoryMethod() {
+        return factoryMethodName != null;
+    }
+
+    /**
+     * 实例的唯一标识：同一个实现类的多个BeanName共用一个实例，以全类名标识；
+     * 每个@Bean方法各自创建实例，返回值类型相同也互不影响
+     *
+     * @return 全类名，或者配置类全类名#方法名
+     */
+    public String getInstanceKey() {
+        return factoryMethodName == null ? beanClassName : factoryMethodClassName + "#" + factoryMethodName;
+    }
+
+    public String getFactoryMethodClassName() {
+        return factoryMethodClassName;
+    }
+
+    public void setFactoryMethodClassName(String factoryMethodClassName) {
+        this.factoryMethodClassName = factoryMethodClassName;
+    }
+
+    public String getFactoryMethodName() {
+        return factoryMethodName;
+    }
+
+    public void setFactoryMethodName(String factoryMethodName) {
+        this.factoryMethodName = factoryMethodName;
+    }
+
+    public String getFactoryMethodDescriptor() {
+        return factoryMethodDescriptor;
+    }
+
+    public void setFactoryMethodDescriptor(String factoryMethodDescriptor) {
+        this.factoryMethodDescriptor = factoryMethodDescriptor;
+    }
+
+    public String getConfigurationBeanName() {
+        return configurationBeanName;
+    }
+
+    public void setConfigurationBeanName(String configurationBeanName) {
+        this.configurationBeanName = configurationBeanName;
+    }
+
+    public String getInitMethodName() {
+        return initMethodName;
+    }
+
+    public void setInitMethodName(String initMethodName) {
+        this.initMethodName = initMethodName;
+    }
+
+    public String getDestroyMethodName() {
+        return destroyMethodName;
+    }
+
+    public void setDestroyMethodName(String destroyMethodName) {
+        this.destroyMethodName = destroyMethodName;
+    }
+
+    public BeanInstantiator getResolvedInstantiator() {
+        return resolvedInstantiator;
+    }
+
+    public void setResolvedInstantiator(BeanInstantiator resolvedInstantiator) {
+        this.resolvedInstantiator = resolvedInstantiator;
+    }
 }
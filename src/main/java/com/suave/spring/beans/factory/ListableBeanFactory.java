@@ -0,0 +1,46 @@
+package com.suave.spring.beans.factory;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 可以按类型列举所有Bean的BeanFactory
+ *
+ * @author Suave
+ * @since 2026/10/17 20:10
+ */
+public interface ListableBeanFactory extends BeanFactory {
+
+    /**
+     * 获取所有可以赋值给该类型的BeanName，同一个实现类只返回一个BeanName
+     *
+     * @param type 类、父类或接口
+     * @return BeanName集合，不存在时返回空集合
+     */
+    List<String> getBeanNamesForType(Class<?> type);
+
+    /**
+     * 获取所有可以赋值给该类型的Bean
+     *
+     * @param type 类、父类或接口
+     * @return Key为BeanName，Value为Bean对象
+     */
+    <T> Map<String, T> getBeansOfType(Class<T> type);
+
+    /**
+     * 获取实现类上标注了该注解的BeanName，同一个实现类只返回一个BeanName
+     *
+     * @param annotationType 注解
+     * @return BeanName集合，不存在时返回空集合
+     */
+    List<String> getBeanNamesForAnnotation(Class<? extends Annotation> annotationType);
+
+    /**
+     * 获取Bean的实现类，不会创建Bean
+     *
+     * @param beanName Bean的名称
+     * @return 实现类
+     */
+    Class<?> getType(String beanName);
+}
@@ -0,0 +1,22 @@
+package com.suave.spring.beans.factory;
+
+/**
+ * 预先解析好的Bean句柄，通过{@code getBeanProvider}获取后保存下来，代替每次调用getBean
+ * <p>
+ * 容器冻结后，已经创建的单例直接保存在句柄中，getObject()只读取一个final字段；
+ * 懒加载的单例在第一次调用时创建并保存；原型和其他作用域每次调用都按作用域获取
+ *
+ * @author Suave
+ * @since 2026/10/19 02:00
+ */
+@FunctionalInterface
+public interface ObjectProvider<T> extends ObjectFactory<T> {
+
+    /**
+     * 获取Bean对象，可能为代理对象
+     *
+     * @return Bean对象
+     */
+    @Override
+    T getObject();
+}
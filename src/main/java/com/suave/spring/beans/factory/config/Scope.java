@@ -0,0 +1,29 @@
+package com.suave.spring.beans.factory.config;
+
+import com.suave.spring.beans.factory.ObjectFactory;
+
+/**
+ * 自定义作用域，决定Bean对象在什么范围内共享
+ *
+ * @author Suave
+ * @since 2026/10/17 22:15
+ */
+public interface Scope {
+
+    /**
+     * 从作用域中获取Bean，不存在时调用objectFactory创建并保存
+     *
+     * @param name          Bean的实例Key，同一个实现类的多个BeanName相同
+     * @param objectFactory 创建Bean对象的工厂
+     * @return Bean对象
+     */
+    Object get(String name, ObjectFactory<?> objectFactory);
+
+    /**
+     * 从作用域中移除Bean
+     *
+     * @param name Bean的实例Key
+     * @return 被移除的Bean对象，不存在时返回null
+     */
+    Object remove(String name);
+}
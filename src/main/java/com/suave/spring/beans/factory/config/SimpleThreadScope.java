@@ -0,0 +1,35 @@
+package com.suave.spring.beans.factory.config;
+
+import com.suave.spring.beans.factory.ObjectFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 线程作用域，每个线程一个实例
+ *
+ * @author Suave
+ * @since 2026/10/17 22:15
+ */
+public class SimpleThreadScope implements Scope {
+
+    public static final String SCOPE_THREAD = "thread";
+
+    private final ThreadLocal<Map<String, Object>> threadScope = ThreadLocal.withInitial(HashMap::new);
+
+    @Override
+    public Object get(String name, ObjectFactory<?> objectFactory) {
+        Map<String, Object> scope = this.threadScope.get();
+        Object scopedObject = scope.get(name);
+        if (scopedObject == null) {
+            scopedObject = objectFactory.getObject();
+            scope.put(name, scopedObject);
+        }
+        return scopedObject;
+    }
+
+    @Override
+    public Object remove(String name) {
+        return this.threadScope.get().remove(name);
+    }
+}
@@ -1,18 +1,35 @@
 package com.suave.spring.beans.factory.support;
 
+import com.suave.spring.annotation.Bean;
 import com.suave.spring.annotation.Component;
+import com.suave.spring.annotation.Configuration;
 import com.suave.spring.annotation.Controller;
+import com.suave.spring.annotation.Lazy;
 import com.suave.spring.annotation.Repository;
+import com.suave.spring.annotation.Scope;
 import com.suave.spring.annotation.Service;
 import com.suave.spring.beans.factory.BeanDefinition;
+import com.suave.spring.context.index.CandidateComponentsIndex;
+import com.suave.spring.core.env.ConfigLoader;
+import com.suave.spring.core.env.Environment;
+import com.suave.spring.core.io.ClassPathScanner;
+import com.suave.spring.core.metrics.ApplicationStartup;
+import com.suave.spring.core.metrics.StartupStep;
+import com.suave.spring.core.type.ClassMetadata;
+import com.suave.spring.core.type.MethodMetadata;
+import com.suave.spring.core.type.classreading.ClassMetadataReader;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Properties;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * @author Suave
@@ -27,64 +44,300 @@ public class BeanDefinitionReader {
     public static final String CLASS_SUFFIX = ".class";
 
     /**
-     * 保存用户配置好的配置文件
+     * 配置为true时忽略编译期生成的索引，强制扫描ClassPath
      */
-    private Properties contextConfig = new Properties();
+    public static final String INDEX_IGNORE = "componentIndex.ignore";
+
+    /**
+     * 需要被注册为Bean的注解
+     */
+    public static final List<String> STEREOTYPE_ANNOTATION_NAMES = Collections.unmodifiableList(Arrays.asList(
+            Component.class.getName(),
+            Controller.class.getName(),
+            Service.class.getName(),
+            Repository.class.getName(),
+            Configuration.class.getName()
+    ));
+
+    /**
+     * 框架自身的包名前缀
+     */
+    private static final String FRAMEWORK_PACKAGE_PREFIX = "com.suave.spring.";
+
+    /**
+     * 保存用户配置好的配置文件，包括激活的Profile对应的配置文件，增量刷新时整体替换
+     */
+    private volatile Environment environment;
+
+    /**
+     * 主配置文件的路径
+     */
+    private final String configLocation;
 
     /**
      * 缓存从包路径下扫描的全类名, 需要被注册地BeanClass们
      */
     private List<String> registerBeanClasses = new ArrayList<>();
 
+    /**
+     * 编译期生成的候选Bean索引，不存在时为null，走ClassPath扫描
+     */
+    private CandidateComponentsIndex componentsIndex;
+
+    /**
+     * 解析.class文件，判断是否为Bean时不需要加载类
+     */
+    private final ClassMetadataReader metadataReader = new ClassMetadataReader(this.getClass().getClassLoader());
+
+    /**
+     * 条件注解判断时读取的配置和检查的类，见{@link ConditionEvaluator#getInputs()}
+     */
+    private Map<String, String> conditionInputs = Collections.emptyMap();
+
+    /**
+     * 最近一次解析BeanDefinition时的候选Bean，包括被条件注解排除的类
+     */
+    private List<String> candidateClassNames = Collections.emptyList();
+
+    /**
+     * 记录读取索引、扫描ClassPath的耗时
+     */
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
     public BeanDefinitionReader(String... locations) {
         // 1、加载Properties文件
-        doLoadConfig(locations[0]);
-
-        // 2、扫描相关的类
-        doScanner(contextConfig.getProperty(SCAN_PACKAGE));
+        this.configLocation = locations[0];
+        this.environment = doLoadConfig(locations[0]);
+    }
 
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
     }
 
     public List<BeanDefinition> loadBeanDefinitions() {
-        List<BeanDefinition> result = new ArrayList<>();
+        // 2、有索引就直接用索引，索引没有覆盖的根路径（没有索引文件的目录或jar）再扫描；使用AOT快照启动时不会调用该方法，也就不会扫描
+        String scanPackage = environment.getProperty(SCAN_PACKAGE);
+        StartupStep indexStep = applicationStartup.start("context.index.load");
+        doLoadIndex(indexStep);
+        indexStep.tag("found", String.valueOf(componentsIndex != null)).end();
+        StartupStep scanStep = applicationStartup.start("context.scan")
+                .tag("package", scanPackage)
+                .tag("indexedRootsSkipped", String.valueOf(componentsIndex != null));
+        String packagePath = scanPackage.replace('.', '/');
+        doScanner(scanPackage, componentsIndex == null ? url -> true : url -> !componentsIndex.isIndexed(url, packagePath));
+        scanStep.tag("classCount", String.valueOf(registerBeanClasses.size())).end();
 
+        Map<String, ClassMetadata> candidates = new LinkedHashMap<>();
         try {
+            if (componentsIndex != null) {
+                for (CandidateComponentsIndex.Candidate candidate : componentsIndex.getCandidates(scanPackage)) {
+                    // 只读取候选Bean的.class文件，获取@Lazy、@Scope、条件注解等信息
+                    candidates.put(candidate.getClassName(), metadataReader.getClassMetadata(candidate.getClassName()));
+                }
+            }
             for (String className : registerBeanClasses) {
-                Class<?> beanClass = Class.forName(className);
+                if (candidates.containsKey(className)) {
+                    continue;
+                }
+                // 直接解析.class文件，不再通过Class.forName加载每一个类
+                ClassMetadata metadata = metadataReader.getClassMetadata(className);
 
                 // beanClass本身是接口的话，不做处理
-                if (beanClass.isInterface()) {
+                if (metadata.isInterface()) {
                     continue;
                 }
 
                 // beanClass本身没有Component、Controller、Service、Repository注解就跳过
-                if (!beanClass.isAnnotationPresent(Component.class) &&
-                        !beanClass.isAnnotationPresent(Controller.class) &&
-                        !beanClass.isAnnotationPresent(Service.class) &&
-                        !beanClass.isAnnotationPresent(Repository.class)
-                ) {
+                if (!isCandidateComponent(metadata)) {
                     continue;
                 }
 
-                // 1、默认类名首字母小写的情况
-                result.add(doCreateBeanDefinition(toLowerFirstCase(beanClass.getSimpleName()), beanClass.getName()));
-
-                // 2、如果是接口，就用实现类
-                for (Class<?> i : beanClass.getInterfaces()) {
-                    result.add(doCreateBeanDefinition(i.getName(), beanClass.getName()));
-                }
-
+                candidates.put(className, metadata);
             }
+            this.candidateClassNames = Collections.unmodifiableList(new ArrayList<>(candidates.keySet()));
+            return doCreateBeanDefinitions(new ArrayList<>(candidates.values()));
         } catch (Exception e) {
-            e.printStackTrace();
+            // 不能只注册一部分Bean，直接失败
+            throw new RuntimeException("解析BeanDefinition失败", e);
+        }
+    }
+
+    /**
+     * 是否标注了Component、Controller、Service、Repository注解
+     *
+     * @param metadata 类的元数据
+     * @return 是否为候选Bean
+     */
+    private boolean isCandidateComponent(ClassMetadata metadata) {
+        for (String annotationName : STEREOTYPE_ANNOTATION_NAMES) {
+            if (metadata.hasAnnotation(annotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 先按条件注解过滤候选Bean，不满足条件的类不会被加载，也不会创建BeanDefinition
+     *
+     * @param candidates 候选Bean的元数据
+     * @return BeanDefinition集合
+     * @throws IOException 解析父类或接口的.class文件失败
+     */
+    private List<BeanDefinition> doCreateBeanDefinitions(List<ClassMetadata> candidates) throws IOException {
+        StartupStep conditionStep = applicationStartup.start("context.condition.evaluate");
+        ConditionEvaluator conditionEvaluator = new ConditionEvaluator(environment, metadataReader, this.getClass().getClassLoader());
+        List<ClassMetadata> matched = conditionEvaluator.filter(candidates);
+        this.conditionInputs = conditionEvaluator.getInputs();
+        conditionStep.tag("candidateCount", String.valueOf(candidates.size()))
+                .tag("excludedCount", String.valueOf(candidates.size() - matched.size())).end();
+
+        List<BeanDefinition> result = new ArrayList<>();
+        for (ClassMetadata metadata : matched) {
+            doCreateBeanDefinitions(metadata, result);
         }
         return result;
     }
 
-    private BeanDefinition doCreateBeanDefinition(String factoryBeanName, String factoryClassName) {
+    /**
+     * 根据类的元数据创建BeanDefinition，类名首字母小写以及每个接口各一个；配置类中的@Bean方法各一个
+     *
+     * @param metadata 类的元数据
+     * @param result   BeanDefinition集合
+     */
+    private void doCreateBeanDefinitions(ClassMetadata metadata, List<BeanDefinition> result) {
+        // 1、默认类名首字母小写的情况
+        String beanName = toLowerFirstCase(metadata.getSimpleName());
+        result.add(doCreateBeanDefinition(beanName, metadata));
+        if (metadata.hasAnnotation(Configuration.class.getName())) {
+            doCreateFactoryMethodBeanDefinitions(beanName, metadata, result);
+        }
+
+        // 2、如果是接口，就用实现类
+        for (String interfaceName : metadata.getInterfaceNames()) {
+            // 框架的扩展接口（如Advisor）通常有多个实现，只通过类型索引查找，不作为BeanName
+            if (interfaceName.startsWith(FRAMEWORK_PACKAGE_PREFIX)) {
+                continue;
+            }
+            result.add(doCreateBeanDefinition(interfaceName, metadata));
+        }
+    }
+
+    /**
+     * 为配置类中的每个@Bean方法创建BeanDefinition，方法和参数类型都从.class文件中读取，不加载配置类
+     *
+     * @param configurationBeanName 配置类的BeanName
+     * @param metadata              配置类的元数据
+     * @param result                BeanDefinition集合
+     */
+    private void doCreateFactoryMethodBeanDefinitions(String configurationBeanName, ClassMetadata metadata, List<BeanDefinition> result) {
+        // 配置类上的@Lazy对所有@Bean方法生效
+        Map<String, Object> classLazy = metadata.getAnnotationAttributes(Lazy.class.getName());
+        Set<String> methodNames = new HashSet<>();
+        for (MethodMetadata method : metadata.getAnnotatedMethods(Bean.class.getName())) {
+            String description = metadata.getClassName() + "#" + method.getMethodName();
+            if (!methodNames.add(method.getMethodName())) {
+                throw new RuntimeException("@Bean方法不能重载：" + description);
+            }
+            if (method.isPrivate() || (!method.isStatic() && (method.isFinal() || metadata.isFinal()))) {
+                throw new RuntimeException("@Bean方法不能是private的，非static的@Bean方法和配置类不能是final的：" + description);
+            }
+            // 返回值描述符以L或[开头的才是对象
+            char returnKind = method.getDescriptor().charAt(method.getDescriptor().indexOf(')') + 1);
+            if (returnKind != 'L' && returnKind != '[') {
+                throw new RuntimeException("@Bean方法必须返回对象：" + description);
+            }
+
+            Map<String, Object> bean = method.getAnnotationAttributes(Bean.class.getName());
+            String name = (String) bean.get("value");
+            BeanDefinition beanDefinition = new BeanDefinition();
+            beanDefinition.setFactoryBeanName(name == null || name.isEmpty() ? method.getMethodName() : name);
+            beanDefinition.setBeanClassName(method.getReturnTypeName());
+            beanDefinition.setFactoryMethodClassName(metadata.getClassName());
+            beanDefinition.setFactoryMethodName(method.getMethodName());
+            beanDefinition.setFactoryMethodDescriptor(method.getDescriptor());
+            beanDefinition.setConfigurationBeanName(method.isStatic() ? null : configurationBeanName);
+            String initMethod = (String) bean.get("initMethod");
+            beanDefinition.setInitMethodName(initMethod == null || initMethod.isEmpty() ? null : initMethod);
+            String destroyMethod = bean.containsKey("destroyMethod") ? (String) bean.get("destroyMethod") : Bean.INFER_METHOD;
+            beanDefinition.setDestroyMethodName(destroyMethod.isEmpty() ? null : destroyMethod);
+
+            Map<String, Object> lazy = method.getAnnotationAttributes(Lazy.class.getName());
+            if (lazy == null) {
+                lazy = classLazy;
+            }
+            if (lazy != null) {
+                beanDefinition.setLazyInit(!Boolean.FALSE.equals(lazy.get("value")));
+            }
+            Map<String, Object> scope = method.getAnnotationAttributes(Scope.class.getName());
+            if (scope != null) {
+                beanDefinition.setScope((String) scope.get("value"));
+            }
+            result.add(beanDefinition);
+        }
+    }
+
+    /**
+     * 获取用户配置好的配置文件
+     *
+     * @return 配置信息
+     */
+    public Environment getEnvironment() {
+        return this.environment;
+    }
+
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * @return 主配置文件的路径
+     */
+    public String getConfigLocation() {
+        return this.configLocation;
+    }
+
+    /**
+     * 获取最近一次解析BeanDefinition时条件注解读取的输入，AOT快照据此判断是否和当前环境一致
+     *
+     * @return Key为前缀加名称，Value为配置的值或类是否存在
+     */
+    public Map<String, String> getConditionInputs() {
+        return this.conditionInputs;
+    }
+
+    /**
+     * 获取最近一次解析BeanDefinition时的候选Bean，AOT快照据此判断编译结果是否变化
+     *
+     * @return 候选Bean的全类名，包括被条件注解排除的类
+     */
+    public List<String> getCandidateClassNames() {
+        return this.candidateClassNames;
+    }
+
+    /**
+     * 重新读取配置文件，不会替换当前使用的配置
+     *
+     * @return 新的配置信息
+     */
+    public Environment reloadEnvironment() {
+        return doLoadConfig(this.configLocation);
+    }
+
+    private BeanDefinition doCreateBeanDefinition(String factoryBeanName, ClassMetadata metadata) {
         BeanDefinition beanDefinition = new BeanDefinition();
         beanDefinition.setFactoryBeanName(factoryBeanName);
-        beanDefinition.setBeanClassName(factoryClassName);
+        beanDefinition.setBeanClassName(metadata.getClassName());
+
+        // @Lazy、@Scope直接从.class文件中读取，不需要加载类
+        Map<String, Object> lazy = metadata.getAnnotationAttributes(Lazy.class.getName());
+        if (lazy != null) {
+            beanDefinition.setLazyInit(!Boolean.FALSE.equals(lazy.get("value")));
+        }
+        Map<String, Object> scope = metadata.getAnnotationAttributes(Scope.class.getName());
+        if (scope != null) {
+            beanDefinition.setScope((String) scope.get("value"));
+        }
         return beanDefinition;
     }
 
@@ -94,40 +347,47 @@ public class BeanDefinitionReader {
      *
      * @param contextConfigLocation
      */
-    private void doLoadConfig(String contextConfigLocation) {
-        try (InputStream is = this.getClass().getClassLoader().getResourceAsStream(contextConfigLocation.replaceAll(CLASS_PATH, ""))) {
-            contextConfig.load(is);
+    private Environment doLoadConfig(String contextConfigLocation) {
+        try {
+            // YAML按层级展开为扁平的Key，再叠加激活的Profile对应的配置文件
+            return new ConfigLoader(this.getClass().getClassLoader()).load(contextConfigLocation);
         } catch (IOException e) {
-            e.printStackTrace();
+            throw new RuntimeException("读取配置文件" + contextConfigLocation + "失败", e);
         }
     }
 
     /**
-     * 扫描ClassPath下符合包路径规则所有的Class文件
+     * 加载编译期生成的候选Bean索引
      *
-     * @param scanPackage
-     */
-    private void doScanner(String scanPackage) {
-        URL url = this.getClass().getClassLoader().getResource(scanPackage.replaceAll("\\.", "/"));
-        File classPath = new File(url.getFile());
-
-        for (File file : classPath.listFiles()) {
-            if (file.isDirectory()) {
-                doScanner(scanPackage + "." + file.getName());
-            } else {
-                // 取反，减少代码嵌套
-                if (!file.getName().endsWith(CLASS_SUFFIX)) {
-                    continue;
-                }
-
-                // 包名.类名  比如： com.suave.spring.DemoAction
-                String className = (scanPackage + "." + file.getName().replace(CLASS_SUFFIX, ""));
-                // 实例化，要用到Class.forName(className);
-                registerBeanClasses.add(className);
-            }
-
+     * @param step context.index.load步骤，读取失败时记录原因
+     */
+    private void doLoadIndex(StartupStep step) {
+        if (Boolean.parseBoolean(environment.getProperty(INDEX_IGNORE))) {
+            return;
+        }
+        try {
+            componentsIndex = CandidateComponentsIndex.loadIndex(this.getClass().getClassLoader());
+        } catch (IOException e) {
+            // 索引读取失败时退回到扫描，扫描的结果是完整的，只是更慢
+            componentsIndex = null;
+            step.tag("exception", e.toString());
+            System.err.println("读取" + CandidateComponentsIndex.COMPONENTS_RESOURCE_LOCATION + "失败，改为扫描ClassPath：" + e);
         }
+    }
 
+    /**
+     * 扫描ClassPath下符合包路径规则所有的Class文件，支持目录、jar以及fat jar中嵌套的jar
+     *
+     * @param scanPackage 包路径
+     * @param filter      返回false时跳过这个根路径，用于跳过已经被索引覆盖的根路径
+     */
+    private void doScanner(String scanPackage, Predicate<URL> filter) {
+        try {
+            // 包名.类名  比如： com.suave.spring.DemoAction
+            registerBeanClasses.addAll(new ClassPathScanner(this.getClass().getClassLoader()).scan(scanPackage, filter));
+        } catch (IOException e) {
+            throw new RuntimeException("扫描" + scanPackage + "失败", e);
+        }
     }
 
     private String toLowerFirstCase(String simpleName) {
@@ -0,0 +1,193 @@
+package com.suave.spring.beans.factory.support;
+
+import com.suave.spring.beans.factory.BeanDefinition;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 根据BeanDefinition、构造方法参数和@Autowired属性构建的Bean依赖图
+ * <p>
+ * 同一个实现类的多个BeanName（类名首字母小写、接口全类名）共用一个实例，所以以实现类为节点，@Bean方法以方法为节点；
+ * 存在循环依赖的节点会被合并为同一个{@link Group}，保证循环依赖始终在一个线程中通过三级缓存解决
+ *
+ * @author Suave
+ * @since 2026/10/17 18:10
+ */
+public class BeanDependencyGraph {
+
+    /**
+     * 按依赖顺序排列的分组，依赖的分组总是排在前面
+     */
+    private final List<Group> groups;
+
+    /**
+     * @param beanDefinitionMap 所有的BeanDefinition
+     * @param dependencyResolver 获取Bean依赖的BeanName（构造方法参数和@Autowired属性），和创建Bean使用同一份缓存
+     */
+    public BeanDependencyGraph(Map<String, BeanDefinition> beanDefinitionMap,
+                               Function<BeanDefinition, List<String>> dependencyResolver) {
+        // 1、以实现类为节点，收集每个节点对应的BeanName
+        Map<String, List<String>> beanNamesByClass = new LinkedHashMap<>();
+        Map<String, BeanDefinition> definitionByClass = new HashMap<>();
+        for (BeanDefinition beanDefinition : beanDefinitionMap.values()) {
+            beanNamesByClass.computeIfAbsent(beanDefinition.getInstanceKey(), k -> new ArrayList<>())
+                    .add(beanDefinition.getFactoryBeanName());
+            definitionByClass.putIfAbsent(beanDefinition.getInstanceKey(), beanDefinition);
+        }
+
+        // 2、根据构造方法参数和@Autowired属性确定节点之间的依赖
+        Map<String, Set<String>> edges = new HashMap<>();
+        for (String className : beanNamesByClass.keySet()) {
+            Set<String> dependencies = new LinkedHashSet<>();
+            for (String dependencyBeanName : dependencyResolver.apply(definitionByClass.get(className))) {
+                BeanDefinition dependency = beanDefinitionMap.get(dependencyBeanName);
+                if (dependency != null) {
+                    dependencies.add(dependency.getInstanceKey());
+                }
+            }
+            edges.put(className, dependencies);
+        }
+
+        this.groups = Collections.unmodifiableList(new Tarjan(beanNamesByClass, edges).run());
+    }
+
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    /**
+     * 依赖图中的一个强连通分量，没有循环依赖时只包含一个实现类
+     */
+    public static class Group {
+
+        /**
+         * 分组内所有的BeanName
+         */
+        private final List<String> beanNames = new ArrayList<>();
+
+        /**
+         * 当前分组依赖的其他分组
+         */
+        private final Set<Group> dependencies = new LinkedHashSet<>();
+
+        public List<String> getBeanNames() {
+            return beanNames;
+        }
+
+        public Set<Group> getDependencies() {
+            return dependencies;
+        }
+    }
+
+    /**
+     * Tarjan强连通分量算法，使用显式栈避免依赖链过深时栈溢出；
+     * 分量的产出顺序恰好是依赖在前、被依赖方在后
+     */
+    private static class Tarjan {
+
+        private final Map<String, List<String>> beanNamesByClass;
+
+        private final Map<String, Set<String>> edges;
+
+        private final Map<String, Integer> index = new HashMap<>();
+
+        private final Map<String, Integer> lowLink = new HashMap<>();
+
+        private final Deque<String> stack = new ArrayDeque<>();
+
+        private final Set<String> onStack = new LinkedHashSet<>();
+
+        private final Map<String, Group> groupByClass = new HashMap<>();
+
+        private final List<Group> result = new ArrayList<>();
+
+        private int counter;
+
+        Tarjan(Map<String, List<String>> beanNamesByClass, Map<String, Set<String>> edges) {
+            this.beanNamesByClass = beanNamesByClass;
+            this.edges = edges;
+        }
+
+        List<Group> run() {
+            for (String node : this.beanNamesByClass.keySet()) {
+                if (!this.index.containsKey(node)) {
+                    strongConnect(node);
+                }
+            }
+            return this.result;
+        }
+
+        private void strongConnect(String root) {
+            Deque<Object[]> callStack = new ArrayDeque<>();
+            visit(root);
+            callStack.push(new Object[]{root, this.edges.get(root).iterator()});
+            while (!callStack.isEmpty()) {
+                Object[] frame = callStack.peek();
+                String node = (String) frame[0];
+                @SuppressWarnings("unchecked")
+                Iterator<String> successors = (Iterator<String>) frame[1];
+                if (successors.hasNext()) {
+                    String successor = successors.next();
+                    if (!this.index.containsKey(successor)) {
+                        visit(successor);
+                        callStack.push(new Object[]{successor, this.edges.get(successor).iterator()});
+                    } else if (this.onStack.contains(successor)) {
+                        this.lowLink.put(node, Math.min(this.lowLink.get(node), this.index.get(successor)));
+                    }
+                    continue;
+                }
+                callStack.pop();
+                if (!callStack.isEmpty()) {
+                    String parent = (String) callStack.peek()[0];
+                    this.lowLink.put(parent, Math.min(this.lowLink.get(parent), this.lowLink.get(node)));
+                }
+                if (this.lowLink.get(node).equals(this.index.get(node))) {
+                    emitGroup(node);
+                }
+            }
+        }
+
+        private void visit(String node) {
+            this.index.put(node, this.counter);
+            this.lowLink.put(node, this.counter);
+            this.counter++;
+            this.stack.push(node);
+            this.onStack.add(node);
+        }
+
+        private void emitGroup(String root) {
+            Group group = new Group();
+            List<String> members = new ArrayList<>();
+            String member;
+            do {
+                member = this.stack.pop();
+                this.onStack.remove(member);
+                members.add(member);
+                group.beanNames.addAll(this.beanNamesByClass.get(member));
+                this.groupByClass.put(member, group);
+            } while (!member.equals(root));
+
+            // 依赖的分组一定已经产出，直接关联
+            for (String node : members) {
+                for (String dependency : this.edges.get(node)) {
+                    Group dependencyGroup = this.groupByClass.get(dependency);
+                    if (dependencyGroup != group) {
+                        group.dependencies.add(dependencyGroup);
+                    }
+                }
+            }
+            this.result.add(group);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.suave.spring.beans.factory.support;
+
+import com.suave.spring.beans.factory.BeanFactory;
+
+import java.util.List;
+
+/**
+ * 创建Bean实例的方式，由{@link InstantiationStrategy}解析后缓存在BeanDefinition中
+ *
+ * @author Suave
+ * @since 2026/10/17 21:20
+ */
+public interface BeanInstantiator {
+
+    /**
+     * 创建一个新的实例
+     *
+     * @param beanFactory 用于获取构造方法参数依赖的Bean
+     * @return Bean对象
+     */
+    Object instantiate(BeanFactory beanFactory);
+
+    /**
+     * 构造方法参数依赖的BeanName，无参构造时为空集合
+     *
+     * @return 依赖的BeanName
+     */
+    List<String> getDependencyBeanNames();
+}
@@ -0,0 +1,275 @@
+package com.suave.spring.beans.factory.support;
+
+import com.suave.spring.annotation.Bean;
+import com.suave.spring.annotation.ConditionalOnClass;
+import com.suave.spring.annotation.ConditionalOnMissingBean;
+import com.suave.spring.annotation.ConditionalOnProperty;
+import com.suave.spring.annotation.Configuration;
+import com.suave.spring.annotation.Profile;
+import com.suave.spring.core.env.Environment;
+import com.suave.spring.core.type.ClassMetadata;
+import com.suave.spring.core.type.MethodMetadata;
+import com.suave.spring.core.type.classreading.ClassMetadataReader;
+import com.suave.spring.jdbc.JdbcTemplate;
+import com.suave.spring.jdbc.PooledDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 根据.class文件中的条件注解和配置过滤候选Bean，判断过程中不会加载候选类，也不会加载条件中引用的类
+ * <ul>
+ *     <li>{@link Profile}、{@link ConditionalOnProperty}、{@link ConditionalOnClass}只依赖配置和ClassPath，逐个判断</li>
+ *     <li>{@link ConditionalOnMissingBean}依赖其他Bean，在前面的条件都判断完之后按扫描顺序判断，类型沿父类和接口从.class文件中解析；
+ *     参与判断的依次是：无条件的候选Bean和它们的@Bean方法返回值、容器内置的dataSource和jdbcTemplate（配置了datasource.url时）、
+ *     前面已经通过判断的有条件的候选Bean</li>
+ * </ul>
+ * 判断时读取的配置和检查的类都会记录下来，AOT快照保存这些输入，启动时不一致就不使用快照
+ *
+ * @author Suave
+ * @since 2026/10/19 03:00
+ */
+public class ConditionEvaluator {
+
+    /**
+     * JDK中的类型不再向上解析，Bean类型不会只通过它们区分
+     */
+    private static final String JAVA_PACKAGE_PREFIX = "java.";
+
+    public static final String PROPERTY_INPUT_PREFIX = "property:";
+
+    public static final String CLASS_INPUT_PREFIX = "class:";
+
+    private final Environment environment;
+
+    private final ClassMetadataReader metadataReader;
+
+    private final ClassLoader classLoader;
+
+    /**
+     * 每个类的所有父类和接口，包括自身
+     */
+    private final Map<String, Set<String>> typeClosures = new HashMap<>(256);
+
+    /**
+     * 判断时读取的输入，Key为{@link #PROPERTY_INPUT_PREFIX}或{@link #CLASS_INPUT_PREFIX}加名称，
+     * Value为配置的值或类是否存在，配置不存在时为null
+     */
+    private final Map<String, String> inputs = new LinkedHashMap<>();
+
+    public ConditionEvaluator(Environment environment, ClassMetadataReader metadataReader, ClassLoader classLoader) {
+        this.environment = environment;
+        this.metadataReader = metadataReader;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * 过滤候选Bean
+     *
+     * @param candidates 候选Bean的元数据，按扫描顺序
+     * @return 满足条件的候选Bean，保持原有顺序
+     * @throws IOException 解析父类或接口的.class文件失败
+     */
+    public List<ClassMetadata> filter(List<ClassMetadata> candidates) throws IOException {
+        List<ClassMetadata> matched = new ArrayList<>(candidates.size());
+        for (ClassMetadata metadata : candidates) {
+            if (matchesProfile(metadata) && matchesProperty(metadata) && matchesClass(metadata)) {
+                matched.add(metadata);
+            }
+        }
+
+        // 没有@ConditionalOnMissingBean时不需要解析类型
+        boolean hasMissingBeanCondition = false;
+        for (ClassMetadata metadata : matched) {
+            if (metadata.hasAnnotation(ConditionalOnMissingBean.class.getName())) {
+                hasMissingBeanCondition = true;
+                break;
+            }
+        }
+        if (!hasMissingBeanCondition) {
+            return matched;
+        }
+
+        // 先放入无条件的Bean和容器内置的Bean，有条件的按顺序判断，通过后也参与后面的判断
+        Set<String> registeredTypes = new HashSet<>();
+        for (ClassMetadata metadata : matched) {
+            if (!metadata.hasAnnotation(ConditionalOnMissingBean.class.getName())) {
+                addRegisteredTypes(registeredTypes, metadata);
+            }
+        }
+        addDefaultBeanTypes(registeredTypes);
+        List<ClassMetadata> result = new ArrayList<>(matched.size());
+        for (ClassMetadata metadata : matched) {
+            Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnMissingBean.class.getName());
+            if (attributes != null) {
+                Object[] types = (Object[]) attributes.get("value");
+                if (types == null || types.length == 0) {
+                    types = new Object[]{metadata.getClassName()};
+                }
+                if (containsAny(registeredTypes, types)) {
+                    continue;
+                }
+                addRegisteredTypes(registeredTypes, metadata);
+            }
+            result.add(metadata);
+        }
+        return result;
+    }
+
+    /**
+     * 候选Bean注册后容器中增加的类型，配置类还包括@Bean方法声明的返回值类型
+     */
+    private void addRegisteredTypes(Set<String> registeredTypes, ClassMetadata metadata) throws IOException {
+        registeredTypes.addAll(getTypeClosure(metadata));
+        if (metadata.hasAnnotation(Configuration.class.getName())) {
+            for (MethodMetadata method : metadata.getAnnotatedMethods(Bean.class.getName())) {
+                registeredTypes.addAll(getTypeClosure(method.getReturnTypeName()));
+            }
+        }
+    }
+
+    /**
+     * 和容器注册内置Bean的规则一致：配置了datasource.url且没有其他数据源时注册dataSource，没有JdbcTemplate时再注册jdbcTemplate
+     */
+    private void addDefaultBeanTypes(Set<String> registeredTypes) throws IOException {
+        String url = this.environment.getProperty(PooledDataSource.DATASOURCE_URL);
+        this.inputs.put(PROPERTY_INPUT_PREFIX + PooledDataSource.DATASOURCE_URL, url);
+        if (url == null || url.isEmpty() || registeredTypes.contains(DataSource.class.getName())) {
+            return;
+        }
+        registeredTypes.addAll(getTypeClosure(PooledDataSource.class.getName()));
+        registeredTypes.addAll(getTypeClosure(JdbcTemplate.class.getName()));
+    }
+
+    /**
+     * 列出的Profile中任意一个满足即可，以!开头表示没有激活该Profile
+     */
+    private boolean matchesProfile(ClassMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(Profile.class.getName());
+        if (attributes == null) {
+            return true;
+        }
+        List<String> activeProfiles = this.environment.getActiveProfiles();
+        for (Object value : (Object[]) attributes.get("value")) {
+            String profile = ((String) value).trim();
+            if (profile.startsWith("!")) {
+                if (!activeProfiles.contains(profile.substring(1).trim())) {
+                    return true;
+                }
+            } else if (activeProfiles.contains(profile)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesProperty(ClassMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnProperty.class.getName());
+        if (attributes == null) {
+            return true;
+        }
+        String name = (String) attributes.get("name");
+        String value = this.environment.getProperty(name);
+        this.inputs.put(PROPERTY_INPUT_PREFIX + name, value);
+        if (value == null) {
+            return Boolean.TRUE.equals(attributes.get("matchIfMissing"));
+        }
+        String havingValue = (String) attributes.get("havingValue");
+        if (havingValue == null || havingValue.isEmpty()) {
+            return !"false".equalsIgnoreCase(value.trim());
+        }
+        return havingValue.equalsIgnoreCase(value.trim());
+    }
+
+    /**
+     * 只检查.class文件是否存在，不加载类
+     */
+    private boolean matchesClass(ClassMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnClass.class.getName());
+        if (attributes == null) {
+            return true;
+        }
+        for (String key : new String[]{"value", "name"}) {
+            Object[] classNames = (Object[]) attributes.get(key);
+            if (classNames == null) {
+                continue;
+            }
+            for (Object className : classNames) {
+                boolean present = isPresent((String) className, this.classLoader);
+                this.inputs.put(CLASS_INPUT_PREFIX + className, String.valueOf(present));
+                if (!present) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 类的.class文件是否存在，不加载类
+     *
+     * @param className   全类名
+     * @param classLoader 类加载器
+     * @return 是否存在
+     */
+    public static boolean isPresent(String className, ClassLoader classLoader) {
+        return classLoader.getResource(className.replace('.', '/') + BeanDefinitionReader.CLASS_SUFFIX) != null;
+    }
+
+    /**
+     * 获取判断过程中读取的配置和检查的类
+     *
+     * @return Key为前缀加名称，Value为配置的值（不存在时为null）或类是否存在
+     */
+    public Map<String, String> getInputs() {
+        return Collections.unmodifiableMap(this.inputs);
+    }
+
+    private static boolean containsAny(Set<String> registeredTypes, Object[] types) {
+        for (Object type : types) {
+            if (registeredTypes.contains(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<String> getTypeClosure(String className) throws IOException {
+        // 数组和JDK中的类型只记录本身
+        if (className.startsWith("[") || className.startsWith(JAVA_PACKAGE_PREFIX)) {
+            return Collections.singleton(className);
+        }
+        Set<String> closure = this.typeClosures.get(className);
+        if (closure != null) {
+            return closure;
+        }
+        return getTypeClosure(this.metadataReader.getClassMetadata(className));
+    }
+
+    private Set<String> getTypeClosure(ClassMetadata metadata) throws IOException {
+        Set<String> closure = this.typeClosures.get(metadata.getClassName());
+        if (closure != null) {
+            return closure;
+        }
+        closure = new LinkedHashSet<>();
+        closure.add(metadata.getClassName());
+        List<String> parents = new ArrayList<>(metadata.getInterfaceNames());
+        if (metadata.getSuperClassName() != null) {
+            parents.add(metadata.getSuperClassName());
+        }
+        for (String parent : parents) {
+            closure.addAll(getTypeClosure(parent));
+        }
+        this.typeClosures.put(metadata.getClassName(), closure);
+        return closure;
+    }
+}
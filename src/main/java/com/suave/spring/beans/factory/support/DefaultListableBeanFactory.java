@@ -3,9 +3,13 @@ package com.suave.spring.beans.factory.support;
 import com.suave.spring.beans.factory.BeanDefinition;
 import com.suave.spring.beans.factory.BeanFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author Suave
@@ -15,13 +19,157 @@ public class DefaultListableBeanFactory implements BeanFactory {
 
     public Map<String, BeanDefinition> beanDefinitionMap = new HashMap<String,BeanDefinition>();
 
+    /**
+     * 类型索引，Key为Bean的类、所有父类以及所有接口的全类名，Value为BeanName
+     * 注册时增量维护，冻结后替换为不可变集合
+     */
+    private volatile Map<String, List<String>> beanNamesByType = new HashMap<>();
+
+    /**
+     * 每个实现类（@Bean方法）对应的BeanName，同一个实现类的多个BeanName只记录第一个
+     */
+    private final Map<String, String> primaryBeanNames = new HashMap<>();
+
+    /**
+     * 冻结后不允许再注册BeanDefinition
+     */
+    private volatile boolean configurationFrozen = false;
+
     public void doRegisterBeanDefinition(List<BeanDefinition> beanDefinitions) throws Exception {
+        if (this.configurationFrozen) {
+            throw new IllegalStateException("BeanDefinition已冻结，不能再注册！");
+        }
         for (BeanDefinition beanDefinition : beanDefinitions) {
             if(this.beanDefinitionMap.containsKey(beanDefinition.getFactoryBeanName())){
                 throw new Exception("The " + beanDefinition.getFactoryBeanName() + " is exists!!!");
             }
             this.beanDefinitionMap.put(beanDefinition.getFactoryBeanName(),beanDefinition);
+            registerTypeIndex(beanDefinition);
+        }
+    }
+
+    /**
+     * 使用预先计算好的类型索引注册BeanDefinition，不加载任何类，AOT快照启动时使用
+     *
+     * @param beanDefinitions  BeanDefinition集合
+     * @param beanNamesByType  类型索引，Key为类型的全类名，Value为BeanName
+     * @throws Exception BeanName重复
+     */
+    public void doRegisterBeanDefinition(List<BeanDefinition> beanDefinitions, Map<String, List<String>> beanNamesByType) throws Exception {
+        if (this.configurationFrozen) {
+            throw new IllegalStateException("BeanDefinition已冻结，不能再注册！");
+        }
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            if (this.beanDefinitionMap.containsKey(beanDefinition.getFactoryBeanName())) {
+                throw new Exception("The " + beanDefinition.getFactoryBeanName() + " is exists!!!");
+            }
+            this.beanDefinitionMap.put(beanDefinition.getFactoryBeanName(), beanDefinition);
+            this.primaryBeanNames.putIfAbsent(beanDefinition.getInstanceKey(), beanDefinition.getFactoryBeanName());
+        }
+        for (Map.Entry<String, List<String>> entry : beanNamesByType.entrySet()) {
+            this.beanNamesByType.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
+        }
+    }
+
+    /**
+     * 把Bean的类、所有父类、所有接口加入类型索引
+     *
+     * @param beanDefinition Bean包装信息
+     * @throws ClassNotFoundException 类不存在
+     */
+    private void registerTypeIndex(BeanDefinition beanDefinition) throws ClassNotFoundException {
+        String instanceKey = beanDefinition.getInstanceKey();
+        if (this.primaryBeanNames.containsKey(instanceKey)) {
+            // 同一个实现类的其他BeanName，共用一个实例，不重复索引
+            return;
+        }
+        this.primaryBeanNames.put(instanceKey, beanDefinition.getFactoryBeanName());
+
+        // 只加载不初始化，不会执行静态代码块；@Bean方法按返回值类型索引
+        Class<?> beanClass = Class.forName(beanDefinition.getBeanClassName(), false, this.getClass().getClassLoader());
+        for (Class<?> type : collectTypes(beanClass)) {
+            this.beanNamesByType.computeIfAbsent(type.getName(), k -> new ArrayList<>())
+                    .add(beanDefinition.getFactoryBeanName());
+        }
+    }
+
+    private Set<Class<?>> collectTypes(Class<?> beanClass) {
+        Set<Class<?>> result = new LinkedHashSet<>();
+        for (Class<?> clazz = beanClass; clazz != null; clazz = clazz.getSuperclass()) {
+            result.add(clazz);
+            collectInterfaces(clazz, result);
         }
+        return result;
+    }
+
+    private void collectInterfaces(Class<?> clazz, Set<Class<?>> result) {
+        for (Class<?> i : clazz.getInterfaces()) {
+            if (result.add(i)) {
+                collectInterfaces(i, result);
+            }
+        }
+    }
+
+    /**
+     * 冻结所有BeanDefinition，类型索引变为不可变集合，之后的查询不需要加锁
+     */
+    public void freezeConfiguration() {
+        Map<String, List<String>> frozen = new HashMap<>(this.beanNamesByType.size() * 2);
+        for (Map.Entry<String, List<String>> entry : this.beanNamesByType.entrySet()) {
+            frozen.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
+        }
+        this.beanNamesByType = Collections.unmodifiableMap(frozen);
+        this.configurationFrozen = true;
+    }
+
+    public boolean isConfigurationFrozen() {
+        return this.configurationFrozen;
+    }
+
+    /**
+     * 获取整个类型索引
+     *
+     * @return Key为类型的全类名，Value为BeanName，冻结后不可修改
+     */
+    public Map<String, List<String>> getBeanNamesByType() {
+        return this.beanNamesByType;
+    }
+
+    /**
+     * 获取所有可以赋值给该类型的BeanName，同一个实现类只返回一个BeanName
+     *
+     * @param type 类、父类或接口
+     * @return BeanName集合，不存在时返回空集合
+     */
+    public List<String> getBeanNamesForType(Class<?> type) {
+        List<String> beanNames = this.beanNamesByType.get(type.getName());
+        return beanNames == null ? Collections.<String>emptyList() : beanNames;
+    }
+
+    /**
+     * 解析依赖的BeanName：优先使用注册过的BeanName，不存在时按类型索引查找唯一的Bean
+     *
+     * @param beanName 指定的BeanName或者依赖类型的全类名
+     * @param type     依赖的类型
+     * @return 解析后的BeanName，无法解析时原样返回
+     */
+    public String resolveDependencyBeanName(String beanName, Class<?> type) {
+        if (this.beanDefinitionMap.containsKey(beanName)) {
+            return beanName;
+        }
+        List<String> beanNames = getBeanNamesForType(type);
+        return beanNames.size() == 1 ? beanNames.get(0) : beanName;
+    }
+
+    /**
+     * 该Bean是否为单例，不存在时按单例处理
+     *
+     * @param beanName Bean名称
+     * @return 是否为单例
+     */
+    public boolean isSingleton(String beanName) {
+        BeanDefinition beanDefinition = this.beanDefinitionMap.get(beanName);
+        return beanDefinition == null || beanDefinition.isSingleton();
     }
 
     /**
@@ -0,0 +1,318 @@
+package com.suave.spring.beans.factory.support;
+
+import com.suave.spring.beans.factory.ObjectFactory;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 单例Bean注册中心，三级缓存解决循环依赖
+ * <ul>
+ *     <li>一级缓存读取不加锁，Bean创建完成后的getBean只有一次ConcurrentHashMap读取</li>
+ *     <li>创建时每个Bean一把锁，不相关的Bean在不同线程中创建时互不阻塞</li>
+ *     <li>正在创建的Bean记录创建线程，只有同一线程的循环依赖才会拿到早期引用，其他线程等待创建完成</li>
+ *     <li>不同线程之间形成循环等待时，检测到死锁后退回到早期引用</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/17 19:30
+ */
+public class DefaultSingletonBeanRegistry {
+
+    /**
+     * 等待创建锁时检测死锁的间隔
+     */
+    private static final long LOCK_POLL_MILLIS = 10;
+
+    /**
+     * 一级缓存，保存成熟的Bean
+     */
+    private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>(256);
+
+    /**
+     * 二级缓存，保存实例化完，但没有初始化的Bean，可能为代理类
+     */
+    private final Map<String, Object> earlySingletonObjects = new ConcurrentHashMap<>(16);
+
+    /**
+     * 三级缓存，保存创建对象的工厂
+     */
+    private final Map<String, ObjectFactory<?>> singletonFactories = new ConcurrentHashMap<>(16);
+
+    /**
+     * 用于记录当前正在创建的BeanName以及创建它的线程，循环依赖时使用
+     */
+    private final Map<String, Thread> singletonsCurrentlyInCreation = new ConcurrentHashMap<>(16);
+
+    /**
+     * 创建锁，Key由调用方决定，同一个实例的多个BeanName应当共用一把锁
+     */
+    private final Map<String, CreationLock> singletonLocks = new ConcurrentHashMap<>(256);
+
+    /**
+     * 持有创建锁的线程正在创建的BeanName，Key为创建锁的Key；
+     * 其他线程可能通过别名获取同一个实例，退回到早期引用时按锁找到暴露早期引用的BeanName
+     */
+    private final Map<String, String> beanNamesInCreationByLock = new ConcurrentHashMap<>(16);
+
+    /**
+     * 正在等待创建锁的线程，用于检测跨线程的循环等待
+     */
+    private final Map<Thread, CreationLock> waitingThreads = new ConcurrentHashMap<>();
+
+    /**
+     * 根据名称获取Bean
+     *
+     * @param beanName Bean对象名称
+     * @return Bean对象
+     */
+    public Object getSingleton(String beanName) {
+        return getSingleton(beanName, true);
+    }
+
+    /**
+     * 根据名称获取Bean
+     *
+     * @param beanName            Bean对象名称
+     * @param allowEarlyReference 是否允许创建早期引用，为true则当二级缓存中不存在时会调用三级缓存中的对象工厂创建
+     * @return Bean对象，其他线程正在创建时返回null
+     */
+    public Object getSingleton(String beanName, boolean allowEarlyReference) {
+        // 1.从一级缓存中获取对象，一级缓存中存放的完整的bean，即初始化完成的bean，不加锁
+        Object singletonObject = this.singletonObjects.get(beanName);
+        // 1.1 如果一级缓存中没有，并且当前线程正在创建，说明存在循环依赖
+        // 其他线程正在创建时不能拿到不完整的bean，返回null后由getSingleton(String, String, ObjectFactory)等待创建完成
+        if (singletonObject == null && this.singletonsCurrentlyInCreation.get(beanName) == Thread.currentThread()) {
+            singletonObject = getEarlySingleton(beanName, allowEarlyReference);
+        }
+        return singletonObject;
+    }
+
+    /**
+     * 从二、三级缓存中获取早期引用
+     *
+     * @param beanName            Bean对象名称
+     * @param allowEarlyReference 二级缓存中不存在时是否调用三级缓存中的对象工厂
+     * @return 早期引用，不存在时返回null
+     */
+    private Object getEarlySingleton(String beanName, boolean allowEarlyReference) {
+        // 2. 从二级缓存中获取，如果此时bean中存在AOP，则获取到的就是代理的只实例化而未初始化的bean（不完整bean）
+        // 如果不存在AOP，则返回普通的不完整bean，其作用就是避免某一个bean存在多次循环依赖而创建多次代理bean的情况
+        Object singletonObject = this.earlySingletonObjects.get(beanName);
+        if (singletonObject != null || !allowEarlyReference) {
+            return singletonObject;
+        }
+        // 只有循环依赖才会走到这里，锁住二三级缓存保证对象工厂只被调用一次
+        synchronized (this.earlySingletonObjects) {
+            singletonObject = this.singletonObjects.get(beanName);
+            if (singletonObject == null) {
+                singletonObject = this.earlySingletonObjects.get(beanName);
+            }
+            // 3.如果二级缓存中不存在，则从三级缓存中获取bean
+            if (singletonObject == null) {
+                // 3.1 根据beanName从三级缓存中获取，此处不是获取bean对象
+                ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+                if (singletonFactory != null) {
+                    // 3.2 三级缓存中value存放的并不是bean对象，而是函数式接口，用于回调
+                    // 此处调用getObject()方法，就是判断是否要创建动态代理，是，则实例化代理bean，否，则实例化普通bean
+                    singletonObject = singletonFactory.getObject();
+                    // 3.3 将创建的不完整bean放入二级缓存中，下次先在二级缓存中拿，避免重复
+                    this.earlySingletonObjects.put(beanName, singletonObject);
+                    // 3.4 三级缓存的回调作用已完成，进行移除
+                    this.singletonFactories.remove(beanName);
+                }
+            }
+        }
+        return singletonObject;
+    }
+
+    /**
+     * 根据名称获取Bean
+     *
+     * @param beanName         Bean名称
+     * @param lockKey          创建锁的Key，同一个实例的多个BeanName使用相同的Key
+     * @param singletonFactory Bean不存在时则会调用该函数式接口进行创建
+     * @return Bean对象
+     */
+    public Object getSingleton(String beanName, String lockKey, ObjectFactory<?> singletonFactory) {
+        // 1.先判断一级缓存中是否存在该bean，如果存在，不做任何操作，直接返回bean对象
+        Object singletonObject = this.singletonObjects.get(beanName);
+        if (singletonObject != null) {
+            return singletonObject;
+        }
+        CreationLock lock = this.singletonLocks.computeIfAbsent(lockKey, k -> new CreationLock());
+        while (!acquire(lock)) {
+            // 和其他线程相互等待，对方已经暴露了早期引用，直接使用早期引用打破循环，对方可能使用的是另一个BeanName
+            String creatingBeanName = this.beanNamesInCreationByLock.get(lockKey);
+            if (creatingBeanName == null) {
+                // 对方已经创建完成（或者还没有开始），重新获取锁
+                continue;
+            }
+            singletonObject = getEarlySingleton(creatingBeanName, true);
+            if (singletonObject == null) {
+                throw new RuntimeException("Bean[" + beanName + "]存在跨线程的循环依赖，且尚未暴露早期引用！");
+            }
+            return singletonObject;
+        }
+        try {
+            // 1.1 拿到锁之后再检查一次，其他线程可能已经创建完成
+            singletonObject = this.singletonObjects.get(beanName);
+            if (singletonObject != null) {
+                return singletonObject;
+            }
+            // 2.根据beanName判断是否在正在创建列表中，即是否正在创建
+            if (this.singletonsCurrentlyInCreation.containsKey(beanName)) {
+                throw new RuntimeException("该bean正在被创建中！");
+            }
+            // 3.标记bean [A]正在创建，同时记录创建线程
+            this.singletonsCurrentlyInCreation.put(beanName, Thread.currentThread());
+            // 同一线程中通过别名重入时保留最外层的BeanName，早期引用是在最外层暴露的
+            boolean outermost = this.beanNamesInCreationByLock.putIfAbsent(lockKey, beanName) == null;
+            boolean newSingleton = false;
+            try {
+                // 4.调用函数式接口的getObject()方法，即调用外层的createBean方法
+                singletonObject = singletonFactory.getObject();
+                newSingleton = true;
+            } catch (IllegalStateException ex) {
+                singletonObject = this.singletonObjects.get(beanName);
+                if (singletonObject == null) {
+                    throw ex;
+                }
+            } finally {
+                if (!newSingleton) {
+                    // 创建失败，和addSingleton一样移除二三级缓存，暴露过的早期引用不能留给之后的创建使用
+                    synchronized (this.earlySingletonObjects) {
+                        this.singletonFactories.remove(beanName);
+                        this.earlySingletonObjects.remove(beanName);
+                    }
+                }
+                this.singletonsCurrentlyInCreation.remove(beanName);
+                if (outermost) {
+                    this.beanNamesInCreationByLock.remove(lockKey);
+                }
+            }
+            if (newSingleton) {
+                // 5.将bean加入到缓存中
+                addSingleton(beanName, singletonObject);
+            }
+            return singletonObject;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取创建锁，等待期间如果发现持有锁的线程（间接）在等待当前线程，说明发生了跨线程的循环依赖
+     *
+     * @param lock 创建锁
+     * @return 拿到锁返回true，检测到循环等待返回false
+     */
+    private boolean acquire(CreationLock lock) {
+        if (lock.tryLock()) {
+            return true;
+        }
+        Thread current = Thread.currentThread();
+        this.waitingThreads.put(current, lock);
+        try {
+            while (!lock.tryLock(LOCK_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (isWaitingFor(lock.owner(), current)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("等待Bean创建时被中断", e);
+        } finally {
+            this.waitingThreads.remove(current);
+        }
+    }
+
+    /**
+     * 沿着等待链判断owner是否（间接）在等待target
+     */
+    private boolean isWaitingFor(Thread owner, Thread target) {
+        Set<Thread> visited = new HashSet<>();
+        while (owner != null && visited.add(owner)) {
+            CreationLock waitingLock = this.waitingThreads.get(owner);
+            if (waitingLock == null) {
+                return false;
+            }
+            owner = waitingLock.owner();
+            if (owner == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 添加到三级缓存中，只有持有创建锁的线程会调用，不需要额外加锁
+     *
+     * @param beanName         Bean名称
+     * @param singletonFactory 三级缓存的值，创建Bean对象的匿名方法
+     */
+    public void addSingletonFactory(String beanName, ObjectFactory<?> singletonFactory) {
+        if (!this.singletonObjects.containsKey(beanName)) {
+            this.singletonFactories.put(beanName, singletonFactory);
+            this.earlySingletonObjects.remove(beanName);
+        }
+    }
+
+    /**
+     * 添加单例Bean对象到一级缓存，移除二三级缓存
+     *
+     * @param beanName        Bean名称
+     * @param singletonObject 单例Bean对象
+     */
+    public void addSingleton(String beanName, Object singletonObject) {
+        // 先放入一级缓存再移除二三级缓存，读取方任何时刻都能拿到其中之一
+        this.singletonObjects.put(beanName, singletonObject);
+        this.singletonFactories.remove(beanName);
+        this.earlySingletonObjects.remove(beanName);
+    }
+
+    /**
+     * 该Bean对象是否正在创建中
+     *
+     * @param beanName Bean名称
+     * @return 是否正在创建中
+     */
+    public boolean isSingletonCurrentlyInCreation(String beanName) {
+        return this.singletonsCurrentlyInCreation.containsKey(beanName);
+    }
+
+    /**
+     * 一级缓存中是否存在该Bean
+     *
+     * @param beanName Bean名称
+     * @return 是否存在
+     */
+    public boolean containsSingleton(String beanName) {
+        return this.singletonObjects.containsKey(beanName);
+    }
+
+    /**
+     * 一级缓存中所有的BeanName
+     *
+     * @return 只读视图，遍历时可能看到之后加入的Bean
+     */
+    public Set<String> getSingletonNames() {
+        return Collections.unmodifiableSet(this.singletonObjects.keySet());
+    }
+
+    /**
+     * 可以获取持有线程的创建锁
+     */
+    private static class CreationLock extends ReentrantLock {
+
+        Thread owner() {
+            return getOwner();
+        }
+    }
+}
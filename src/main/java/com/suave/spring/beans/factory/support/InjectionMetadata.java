@@ -0,0 +1,250 @@
+package com.suave.spring.beans.factory.support;
+
+import com.suave.spring.annotation.Autowired;
+import com.suave.spring.annotation.Lazy;
+import com.suave.spring.annotation.Value;
+import com.suave.spring.beans.factory.BeanFactory;
+import com.suave.spring.core.convert.TypeConverter;
+import com.suave.spring.core.env.Environment;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 一个类的注入计划，每个类只解析一次
+ * <p>
+ * 解析时沿着父类向上遍历所有@Autowired、@Value属性（父类的属性先注入），并把属性转换为MethodHandle setter，
+ * 之后每次注入只需要调用setter，不再有getDeclaredFields、isAnnotationPresent和setAccessible；
+ * 而@Value的占位符解析和类型转换也在这里完成，创建Bean时不再解析字符串
+ *
+ * @author Suave
+ * @since 2026/10/17 20:40
+ */
+public class InjectionMetadata {
+
+    /**
+     * 没有需要注入属性的类共用该对象
+     */
+    public static final InjectionMetadata EMPTY = new InjectionMetadata(Collections.<InjectedElement>emptyList());
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final List<InjectedElement> injectedElements;
+
+    private InjectionMetadata(List<InjectedElement> injectedElements) {
+        this.injectedElements = injectedElements;
+    }
+
+    /**
+     * 解析类及其父类上所有的@Autowired、@Value属性
+     *
+     * @param clazz       Bean的类
+     * @param registry    用于把依赖解析为注册过的BeanName
+     * @param environment 用于解析@Value
+     * @return 注入计划
+     */
+    public static InjectionMetadata forClass(Class<?> clazz, DefaultListableBeanFactory registry, Environment environment) {
+        List<InjectedElement> elements = new ArrayList<>();
+        for (Class<?> targetClass = clazz; targetClass != null && targetClass != Object.class; targetClass = targetClass.getSuperclass()) {
+            List<InjectedElement> currentElements = new ArrayList<>();
+            for (Field field : targetClass.getDeclaredFields()) {
+                Value value = field.getAnnotation(Value.class);
+                if (value != null && !Modifier.isStatic(field.getModifiers())) {
+                    currentElements.add(new ValueElement(field, value.value(), environment));
+                    continue;
+                }
+                Autowired autowired = field.getAnnotation(Autowired.class);
+                if (autowired == null || Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                String autowiredBeanName = autowired.value().trim();
+                if (autowiredBeanName.isEmpty()) {
+                    autowiredBeanName = field.getType().getName();
+                }
+                // 解析结果随注入计划一起缓存，找不到同名Bean时按类型索引查找
+                String dependencyBeanName = registry.resolveDependencyBeanName(autowiredBeanName, field.getType());
+                Lazy lazy = field.getAnnotation(Lazy.class);
+                currentElements.add(new InjectedElement(field, dependencyBeanName,
+                        lazy != null && lazy.value(), registry.isSingleton(dependencyBeanName)));
+            }
+            // 父类的属性先注入
+            elements.addAll(0, currentElements);
+        }
+        return elements.isEmpty() ? EMPTY : new InjectionMetadata(Collections.unmodifiableList(elements));
+    }
+
+    /**
+     * 使用已经解析好的注入点创建注入计划，AOT快照启动时使用，不需要遍历属性和注解
+     *
+     * @param elements 注入点，父类的属性在前
+     * @return 注入计划
+     */
+    public static InjectionMetadata forElements(List<InjectedElement> elements) {
+        return elements.isEmpty() ? EMPTY : new InjectionMetadata(Collections.unmodifiableList(new ArrayList<>(elements)));
+    }
+
+    /**
+     * 执行依赖注入
+     *
+     * @param target      Bean对象
+     * @param beanFactory 用于获取依赖的Bean
+     */
+    public void inject(Object target, BeanFactory beanFactory) {
+        for (InjectedElement element : this.injectedElements) {
+            element.inject(target, element.resolveValue(beanFactory));
+        }
+    }
+
+    /**
+     * 获取创建时就需要的依赖BeanName，@Lazy注入点注入的是代理，不包含在内，@Value注入点没有依赖
+     *
+     * @return 依赖的BeanName
+     */
+    public List<String> getDependencyBeanNames() {
+        List<String> result = new ArrayList<>(this.injectedElements.size());
+        for (InjectedElement element : this.injectedElements) {
+            if (!element.isLazy() && element.getDependencyBeanName() != null) {
+                result.add(element.getDependencyBeanName());
+            }
+        }
+        return result;
+    }
+
+    public List<InjectedElement> getInjectedElements() {
+        return injectedElements;
+    }
+
+    /**
+     * 需要注入的一个属性
+     */
+    public static class InjectedElement {
+
+        private final Field field;
+
+        private final String dependencyBeanName;
+
+        /**
+         * 是否注入延迟解析的代理
+         */
+        private final boolean lazy;
+
+        /**
+         * 依赖是单例时，代理只解析一次
+         */
+        private final boolean singletonDependency;
+
+        /**
+         * 类型已经适配为(Object, Object)void，可以直接invokeExact
+         */
+        private final MethodHandle setter;
+
+        public InjectedElement(Field field, String dependencyBeanName, boolean lazy, boolean singletonDependency) {
+            this.field = field;
+            this.dependencyBeanName = dependencyBeanName;
+            this.lazy = lazy;
+            this.singletonDependency = singletonDependency;
+            // 强制访问
+            field.setAccessible(true);
+            this.setter = createSetter(field);
+        }
+
+        private static MethodHandle createSetter(Field field) {
+            try {
+                return MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                // 低版本JDK不允许为final属性创建setter，退回到反射
+                return null;
+            }
+        }
+
+        /**
+         * 获取需要注入的值，@Lazy注入点返回代理
+         *
+         * @param beanFactory 用于获取依赖的Bean
+         * @return 需要注入的值
+         */
+        public Object resolveValue(BeanFactory beanFactory) {
+            if (this.lazy) {
+                return LazyResolutionProxy.create(this.field.getType(), this.dependencyBeanName, beanFactory, this.singletonDependency);
+            }
+            return beanFactory.getBean(this.dependencyBeanName);
+        }
+
+        public void inject(Object target, Object value) {
+            try {
+                if (this.setter != null) {
+                    this.setter.invokeExact(target, value);
+                } else {
+                    this.field.set(target, value);
+                }
+            } catch (Throwable e) {
+                throw new RuntimeException("注入属性" + this.field + "失败", e);
+            }
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public String getDependencyBeanName() {
+            return dependencyBeanName;
+        }
+
+        public boolean isLazy() {
+            return lazy;
+        }
+    }
+
+    /**
+     * 标注了@Value的属性，创建注入计划时就完成占位符解析和类型转换，每次注入直接使用转换结果
+     */
+    public static class ValueElement extends InjectedElement {
+
+        private final String expression;
+
+        private final Object value;
+
+        /**
+         * @param field       属性
+         * @param expression  @Value中的表达式
+         * @param environment 用于解析占位符
+         * @throws IllegalArgumentException 占位符无法解析或类型不支持
+         */
+        public ValueElement(Field field, String expression, Environment environment) {
+            super(field, null, false, true);
+            this.expression = expression;
+            try {
+                TypeConverter converter = TypeConverter.forType(field.getType(), field.getGenericType(),
+                        field.getDeclaringClass().getClassLoader());
+                // YAML列表展开为key[0]、key[1]，数组和集合直接绑定每一项
+                List<String> items = converter.isMultiValued() ? environment.resolveIndexedPlaceholder(expression) : null;
+                this.value = items != null ? converter.convertAll(items) : converter.convert(environment.resolvePlaceholders(expression));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("解析" + field + "上的@Value(\"" + expression + "\")失败", e);
+            }
+        }
+
+        @Override
+        public Object resolveValue(BeanFactory beanFactory) {
+            // 数组是可变的，每个Bean一份
+            if (this.value != null && this.value.getClass().isArray()) {
+                int length = Array.getLength(this.value);
+                Object copy = Array.newInstance(this.value.getClass().getComponentType(), length);
+                System.arraycopy(this.value, 0, copy, 0, length);
+                return copy;
+            }
+            return this.value;
+        }
+
+        public String getExpression() {
+            return expression;
+        }
+    }
+}
@@ -0,0 +1,561 @@
+package com.suave.spring.beans.factory.support;
+
+import com.suave.spring.annotation.Autowired;
+import com.suave.spring.annotation.Configuration;
+import com.suave.spring.annotation.Lazy;
+import com.suave.spring.aop.framework.ConfigurationClassEnhancer;
+import com.suave.spring.beans.factory.BeanDefinition;
+import com.suave.spring.beans.factory.BeanFactory;
+import com.suave.spring.core.type.MethodMetadata;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 解析Bean的构造方法，生成{@link BeanInstantiator}并缓存在BeanDefinition中
+ * <ul>
+ *     <li>public类的public无参构造：通过LambdaMetafactory生成Supplier，调用开销和直接new基本一致</li>
+ *     <li>其他构造方法（包括@Autowired构造注入）：通过MethodHandle调用</li>
+ *     <li>以上都失败时退回到反射</li>
+ * </ul>
+ * 构造方法的选择规则：唯一标注了@Autowired的构造方法 &gt; 无参构造方法 &gt; 唯一的构造方法
+ * <p>
+ * 配置类实例化的是生成的子类，@Bean方法通过子类中对应的MethodHandle调用，参数和构造方法参数的解析规则一致
+ *
+ * @author Suave
+ * @since 2026/10/17 21:25
+ */
+public class InstantiationStrategy {
+
+    private static final MethodType SUPPLIER_FACTORY_TYPE = MethodType.methodType(Supplier.class);
+
+    private static final MethodType SUPPLIER_METHOD_TYPE = MethodType.methodType(Object.class);
+
+    private static final MethodType FACTORY_METHOD_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private static final MethodType BEAN_FACTORY_SETTER_TYPE = MethodType.methodType(void.class, Object.class, BeanFactory.class);
+
+    private final DefaultListableBeanFactory registry;
+
+    public InstantiationStrategy(DefaultListableBeanFactory registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 获取BeanDefinition的实例化方式，第一次解析后缓存
+     *
+     * @param beanDefinition Bean的包装信息
+     * @return 实例化方式
+     * @throws ClassNotFoundException Bean的类或配置类不存在
+     */
+    public BeanInstantiator getInstantiator(BeanDefinition beanDefinition) throws ClassNotFoundException {
+        BeanInstantiator instantiator = beanDefinition.getResolvedInstantiator();
+        if (instantiator == null) {
+            instantiator = resolveInstantiator(beanDefinition);
+            beanDefinition.setResolvedInstantiator(instantiator);
+        }
+        return instantiator;
+    }
+
+    /**
+     * 重新解析BeanDefinition的实例化方式，不使用也不修改BeanDefinition中缓存的结果，用于增量刷新
+     *
+     * @param beanDefinition Bean的包装信息
+     * @return 实例化方式
+     * @throws ClassNotFoundException Bean的类或配置类不存在
+     */
+    public BeanInstantiator resolveInstantiator(BeanDefinition beanDefinition) throws ClassNotFoundException {
+        return beanDefinition.isFactoryMethod()
+                ? resolveFactoryMethod(beanDefinition, findFactoryMethod(beanDefinition))
+                : resolve(Class.forName(beanDefinition.getBeanClassName()));
+    }
+
+    /**
+     * 按扫描时记录的方法名和描述符找到@Bean方法，参数类型直接和描述符比较，不需要加载
+     *
+     * @param beanDefinition 通过@Bean方法创建的Bean
+     * @return @Bean方法
+     * @throws ClassNotFoundException 配置类不存在
+     */
+    public Method findFactoryMethod(BeanDefinition beanDefinition) throws ClassNotFoundException {
+        Class<?> configClass = Class.forName(beanDefinition.getFactoryMethodClassName());
+        List<String> parameterTypeNames = MethodMetadata.getParameterTypeNames(beanDefinition.getFactoryMethodDescriptor());
+        for (Method method : configClass.getDeclaredMethods()) {
+            if (method.getName().equals(beanDefinition.getFactoryMethodName()) && !method.isBridge()
+                    && method.getParameterCount() == parameterTypeNames.size() && matches(method.getParameterTypes(), parameterTypeNames)) {
+                return method;
+            }
+        }
+        throw new RuntimeException("配置类" + configClass.getName() + "中没有方法" + beanDefinition.getFactoryMethodName()
+                + beanDefinition.getFactoryMethodDescriptor());
+    }
+
+    private static boolean matches(Class<?>[] parameterTypes, List<String> parameterTypeNames) {
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!parameterTypes[i].getName().equals(parameterTypeNames.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 解析@Bean方法的参数
+     *
+     * @param beanDefinition 通过@Bean方法创建的Bean
+     * @param factoryMethod  @Bean方法
+     * @return 实例化方式
+     */
+    public BeanInstantiator resolveFactoryMethod(BeanDefinition beanDefinition, Method factoryMethod) {
+        String[] dependencyBeanNames = new String[factoryMethod.getParameterCount()];
+        boolean[] lazy = new boolean[dependencyBeanNames.length];
+        resolveParameters(factoryMethod, dependencyBeanNames, lazy);
+        return resolveFactoryMethod(beanDefinition, factoryMethod, dependencyBeanNames, lazy);
+    }
+
+    /**
+     * 使用已经确定的参数依赖生成@Bean方法的实例化方式，AOT快照启动时使用
+     * <p>
+     * 非static方法调用配置类子类中的{@code $$bean$方法名}，也就是配置类中原本的方法，不会经过重写后的方法
+     *
+     * @param beanDefinition      通过@Bean方法创建的Bean
+     * @param factoryMethod       @Bean方法
+     * @param dependencyBeanNames 每个参数对应的BeanName
+     * @param lazy                每个参数是否标注了@Lazy
+     * @return 实例化方式
+     */
+    public BeanInstantiator resolveFactoryMethod(BeanDefinition beanDefinition, Method factoryMethod,
+                                                 String[] dependencyBeanNames, boolean[] lazy) {
+        ConstructorArgument[] arguments = createArguments(factoryMethod.getParameterTypes(), dependencyBeanNames, lazy);
+        int parameterCount = factoryMethod.getParameterCount();
+        try {
+            MethodHandle handle;
+            if (Modifier.isStatic(factoryMethod.getModifiers())) {
+                factoryMethod.setAccessible(true);
+                handle = MethodHandles.lookup().unreflect(factoryMethod)
+                        .asSpreader(Object[].class, parameterCount)
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+                // 和非static方法的类型保持一致，配置类的位置传null
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            } else {
+                Method superCall = ConfigurationClassEnhancer.enhance(factoryMethod.getDeclaringClass())
+                        .getMethod(ConfigurationClassEnhancer.FACTORY_METHOD_PREFIX + factoryMethod.getName(), factoryMethod.getParameterTypes());
+                handle = MethodHandles.lookup().unreflect(superCall)
+                        .asSpreader(Object[].class, parameterCount)
+                        .asType(FACTORY_METHOD_TYPE);
+            }
+            return new FactoryMethodInstantiator(beanDefinition.getConfigurationBeanName(), handle, arguments,
+                    factoryMethod.getDeclaringClass().getSimpleName() + "#" + factoryMethod.getName());
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("无法调用@Bean方法：" + factoryMethod, e);
+        }
+    }
+
+    /**
+     * 解析类的构造方法
+     *
+     * @param beanClass Bean的类
+     * @return 实例化方式
+     */
+    public BeanInstantiator resolve(Class<?> beanClass) {
+        Constructor<?> constructor = determineConstructor(beanClass);
+        if (constructor.getParameterCount() == 0) {
+            return resolve(constructor, new String[0], new boolean[0]);
+        }
+
+        String[] dependencyBeanNames = new String[constructor.getParameterCount()];
+        boolean[] lazy = new boolean[dependencyBeanNames.length];
+        resolveParameters(constructor, dependencyBeanNames, lazy);
+        return resolve(constructor, dependencyBeanNames, lazy);
+    }
+
+    private void resolveParameters(Executable executable, String[] dependencyBeanNames, boolean[] lazy) {
+        Class<?>[] parameterTypes = executable.getParameterTypes();
+        Annotation[][] parameterAnnotations = executable.getParameterAnnotations();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            // 和属性注入规则一致，先按全类名找，找不到再按类型索引找
+            dependencyBeanNames[i] = this.registry.resolveDependencyBeanName(parameterTypes[i].getName(), parameterTypes[i]);
+            lazy[i] = isLazy(parameterAnnotations[i]);
+        }
+    }
+
+    private ConstructorArgument[] createArguments(Class<?>[] parameterTypes, String[] dependencyBeanNames, boolean[] lazy) {
+        ConstructorArgument[] arguments = new ConstructorArgument[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            arguments[i] = new ConstructorArgument(dependencyBeanNames[i], parameterTypes[i],
+                    lazy[i], this.registry.isSingleton(dependencyBeanNames[i]));
+        }
+        return arguments;
+    }
+
+    /**
+     * 使用已经确定的构造方法和依赖生成实例化方式，AOT快照启动时使用
+     *
+     * @param constructor         构造方法
+     * @param dependencyBeanNames 每个参数对应的BeanName
+     * @param lazy                每个参数是否标注了@Lazy
+     * @return 实例化方式
+     */
+    public BeanInstantiator resolve(Constructor<?> constructor, String[] dependencyBeanNames, boolean[] lazy) {
+        Class<?> beanClass = constructor.getDeclaringClass();
+        if (beanClass.isAnnotationPresent(Configuration.class) && !ConfigurationClassEnhancer.getBeanMethods(beanClass).isEmpty()) {
+            return resolveConfiguration(constructor, dependencyBeanNames, lazy);
+        }
+        if (constructor.getParameterCount() == 0) {
+            BeanInstantiator supplier = createSupplierInstantiator(beanClass, constructor);
+            if (supplier != null) {
+                return supplier;
+            }
+        }
+
+        ConstructorArgument[] arguments = createArguments(constructor.getParameterTypes(), dependencyBeanNames, lazy);
+
+        // 强制访问
+        constructor.setAccessible(true);
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflectConstructor(constructor);
+            handle = handle.asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+            return new MethodHandleInstantiator(handle, arguments);
+        } catch (IllegalAccessException e) {
+            return new ReflectiveInstantiator(constructor, arguments);
+        }
+    }
+
+    /**
+     * 实例化配置类的子类，使用参数相同的构造方法，创建后设置容器
+     */
+    private BeanInstantiator resolveConfiguration(Constructor<?> constructor, String[] dependencyBeanNames, boolean[] lazy) {
+        Class<?> enhancedClass = ConfigurationClassEnhancer.enhance(constructor.getDeclaringClass());
+        try {
+            // 生成的子类没有@Configuration注解，不会再次进入这里
+            BeanInstantiator instantiator = resolve(enhancedClass.getDeclaredConstructor(constructor.getParameterTypes()),
+                    dependencyBeanNames, lazy);
+            MethodHandle beanFactorySetter = MethodHandles.lookup()
+                    .findSetter(enhancedClass, ConfigurationClassEnhancer.BEAN_FACTORY_FIELD, BeanFactory.class)
+                    .asType(BEAN_FACTORY_SETTER_TYPE);
+            return new ConfigurationInstantiator(instantiator, beanFactorySetter);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("配置类" + constructor.getDeclaringClass().getName() + "的构造方法不能是private的", e);
+        }
+    }
+
+    /**
+     * 参数是否标注了@Lazy
+     *
+     * @param annotations 参数上的注解
+     * @return 是否延迟解析
+     */
+    public static boolean isLazy(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Lazy && ((Lazy) annotation).value()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 选择用于实例化的构造方法
+     *
+     * @param beanClass Bean的类
+     * @return 构造方法
+     */
+    public Constructor<?> determineConstructor(Class<?> beanClass) {
+        Constructor<?>[] constructors = beanClass.getDeclaredConstructors();
+        Constructor<?> autowiredConstructor = null;
+        Constructor<?> defaultConstructor = null;
+        for (Constructor<?> constructor : constructors) {
+            if (constructor.isAnnotationPresent(Autowired.class)) {
+                if (autowiredConstructor != null) {
+                    throw new RuntimeException(beanClass.getName() + "有多个标注了@Autowired的构造方法！");
+                }
+                autowiredConstructor = constructor;
+            }
+            if (constructor.getParameterCount() == 0) {
+                defaultConstructor = constructor;
+            }
+        }
+        if (autowiredConstructor != null) {
+            return autowiredConstructor;
+        }
+        if (defaultConstructor != null) {
+            return defaultConstructor;
+        }
+        if (constructors.length == 1) {
+            return constructors[0];
+        }
+        throw new RuntimeException(beanClass.getName() + "没有无参构造方法，且有多个构造方法，请使用@Autowired指定！");
+    }
+
+    /**
+     * 通过LambdaMetafactory生成调用无参构造的Supplier
+     * 生成的类定义在框架的类加载器中，只有类和构造方法都是public、且框架能看到该类时才能使用
+     *
+     * @return 不满足条件或生成失败时返回null
+     */
+    private BeanInstantiator createSupplierInstantiator(Class<?> beanClass, Constructor<?> constructor) {
+        if (!Modifier.isPublic(constructor.getModifiers()) || !isAccessible(beanClass)) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.findConstructor(beanClass, MethodType.methodType(void.class));
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "get", SUPPLIER_FACTORY_TYPE,
+                    SUPPLIER_METHOD_TYPE, handle, MethodType.methodType(beanClass));
+            Supplier<?> supplier = (Supplier<?>) callSite.getTarget().invokeExact();
+            return new SupplierInstantiator(supplier);
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    private boolean isAccessible(Class<?> beanClass) {
+        for (Class<?> clazz = beanClass; clazz != null; clazz = clazz.getDeclaringClass()) {
+            if (!Modifier.isPublic(clazz.getModifiers())) {
+                return false;
+            }
+        }
+        try {
+            return Class.forName(beanClass.getName(), false, InstantiationStrategy.class.getClassLoader()) == beanClass;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 无参构造，直接调用生成的Supplier
+     */
+    private static class SupplierInstantiator implements BeanInstantiator {
+
+        private final Supplier<?> supplier;
+
+        SupplierInstantiator(Supplier<?> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public Object instantiate(BeanFactory beanFactory) {
+            return this.supplier.get();
+        }
+
+        @Override
+        public List<String> getDependencyBeanNames() {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 通过MethodHandle调用构造方法，参数先从容器中获取
+     */
+    private static class MethodHandleInstantiator implements BeanInstantiator {
+
+        /**
+         * 类型已经适配为(Object[])Object
+         */
+        private final MethodHandle handle;
+
+        private final ConstructorArgument[] arguments;
+
+        MethodHandleInstantiator(MethodHandle handle, ConstructorArgument[] arguments) {
+            this.handle = handle;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public Object instantiate(BeanFactory beanFactory) {
+            Object[] args = resolveArguments(this.arguments, beanFactory);
+            try {
+                return (Object) this.handle.invokeExact(args);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException("实例化失败", e);
+            }
+        }
+
+        @Override
+        public List<String> getDependencyBeanNames() {
+            return dependencyBeanNames(this.arguments);
+        }
+    }
+
+    /**
+     * 反射调用构造方法，兜底使用
+     */
+    private static class ReflectiveInstantiator implements BeanInstantiator {
+
+        private final Constructor<?> constructor;
+
+        private final ConstructorArgument[] arguments;
+
+        ReflectiveInstantiator(Constructor<?> constructor, ConstructorArgument[] arguments) {
+            this.constructor = constructor;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public Object instantiate(BeanFactory beanFactory) {
+            try {
+                return this.constructor.newInstance(resolveArguments(this.arguments, beanFactory));
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("实例化" + this.constructor.getDeclaringClass().getName() + "失败", e);
+            }
+        }
+
+        @Override
+        public List<String> getDependencyBeanNames() {
+            return dependencyBeanNames(this.arguments);
+        }
+    }
+
+    /**
+     * 配置类的子类，创建后设置容器，@Bean方法之间互相调用时从这个容器中获取Bean
+     */
+    private static class ConfigurationInstantiator implements BeanInstantiator {
+
+        private final BeanInstantiator instantiator;
+
+        /**
+         * 类型已经适配为(Object, BeanFactory)void
+         */
+        private final MethodHandle beanFactorySetter;
+
+        ConfigurationInstantiator(BeanInstantiator instantiator, MethodHandle beanFactorySetter) {
+            this.instantiator = instantiator;
+            this.beanFactorySetter = beanFactorySetter;
+        }
+
+        @Override
+        public Object instantiate(BeanFactory beanFactory) {
+            Object configuration = this.instantiator.instantiate(beanFactory);
+            try {
+                this.beanFactorySetter.invokeExact(configuration, beanFactory);
+            } catch (Throwable e) {
+                throw new RuntimeException("设置配置类的容器失败", e);
+            }
+            return configuration;
+        }
+
+        @Override
+        public List<String> getDependencyBeanNames() {
+            return this.instantiator.getDependencyBeanNames();
+        }
+    }
+
+    /**
+     * 通过MethodHandle调用@Bean方法，先从容器中获取配置类和参数依赖的Bean
+     */
+    private static class FactoryMethodInstantiator implements BeanInstantiator {
+
+        /**
+         * static方法为null
+         */
+        private final String configurationBeanName;
+
+        /**
+         * 类型已经适配为(Object, Object[])Object
+         */
+        private final MethodHandle handle;
+
+        private final ConstructorArgument[] arguments;
+
+        private final String description;
+
+        FactoryMethodInstantiator(String configurationBeanName, MethodHandle handle, ConstructorArgument[] arguments, String description) {
+            this.configurationBeanName = configurationBeanName;
+            this.handle = handle;
+            this.arguments = arguments;
+            this.description = description;
+        }
+
+        @Override
+        public Object instantiate(BeanFactory beanFactory) {
+            Object configuration = this.configurationBeanName == null ? null : beanFactory.getBean(this.configurationBeanName);
+            Object[] args = resolveArguments(this.arguments, beanFactory);
+            Object bean;
+            try {
+                bean = (Object) this.handle.invokeExact(configuration, args);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException("@Bean方法" + this.description + "执行失败", e);
+            }
+            if (bean == null) {
+                throw new RuntimeException("@Bean方法" + this.description + "返回了null");
+            }
+            return bean;
+        }
+
+        @Override
+        public List<String> getDependencyBeanNames() {
+            List<String> result = dependencyBeanNames(this.arguments);
+            if (this.configurationBeanName != null) {
+                result.add(0, this.configurationBeanName);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 构造方法或@Bean方法的一个参数，解析结果随实例化方式一起缓存
+     */
+    private static class ConstructorArgument {
+
+        private final String beanName;
+
+        private final Class<?> type;
+
+        private final boolean lazy;
+
+        private final boolean singletonDependency;
+
+        ConstructorArgument(String beanName, Class<?> type, boolean lazy, boolean singletonDependency) {
+            this.beanName = beanName;
+            this.type = type;
+            this.lazy = lazy;
+            this.singletonDependency = singletonDependency;
+        }
+
+        Object resolve(BeanFactory beanFactory) {
+            if (this.lazy) {
+                return LazyResolutionProxy.create(this.type, this.beanName, beanFactory, this.singletonDependency);
+            }
+            return beanFactory.getBean(this.beanName);
+        }
+    }
+
+    private static Object[] resolveArguments(ConstructorArgument[] arguments, BeanFactory beanFactory) {
+        Object[] args = new Object[arguments.length];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = arguments[i].resolve(beanFactory);
+        }
+        return args;
+    }
+
+    /**
+     * 创建时就需要的依赖，@Lazy参数注入的是代理，不包含在内
+     */
+    private static List<String> dependencyBeanNames(ConstructorArgument[] arguments) {
+        List<String> result = new ArrayList<>(arguments.length);
+        for (ConstructorArgument argument : arguments) {
+            if (!argument.lazy) {
+                result.add(argument.beanName);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+package com.suave.spring.beans.factory.support;
+
+import com.suave.spring.beans.factory.BeanFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * 标注了@Lazy的注入点注入的代理，第一次调用方法时才通过getBean获取真正的Bean
+ * <p>
+ * 目标是单例时只解析一次；其他作用域每次调用都重新getBean，保证拿到当前作用域中的对象
+ *
+ * @author Suave
+ * @since 2026/10/17 22:40
+ */
+public class LazyResolutionProxy implements InvocationHandler {
+
+    private final String beanName;
+
+    private final BeanFactory beanFactory;
+
+    private final boolean cacheTarget;
+
+    private volatile Object target;
+
+    private LazyResolutionProxy(String beanName, BeanFactory beanFactory, boolean cacheTarget) {
+        this.beanName = beanName;
+        this.beanFactory = beanFactory;
+        this.cacheTarget = cacheTarget;
+    }
+
+    /**
+     * 创建延迟解析的代理
+     *
+     * @param type        注入点的类型，必须是接口
+     * @param beanName    依赖的BeanName
+     * @param beanFactory 用于获取真正的Bean
+     * @param cacheTarget 是否缓存解析到的Bean，目标为单例时为true
+     * @return 代理对象
+     */
+    public static Object create(Class<?> type, String beanName, BeanFactory beanFactory, boolean cacheTarget) {
+        if (!type.isInterface()) {
+            throw new RuntimeException("@Lazy注入点只支持接口类型：" + type.getName());
+        }
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new LazyResolutionProxy(beanName, beanFactory, cacheTarget));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        // equals、hashCode按代理本身计算，不触发解析
+        if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        }
+        if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+        try {
+            return method.invoke(getTarget(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private Object getTarget() {
+        if (!this.cacheTarget) {
+            return this.beanFactory.getBean(this.beanName);
+        }
+        Object result = this.target;
+        if (result == null) {
+            result = this.beanFactory.getBean(this.beanName);
+            this.target = result;
+        }
+        return result;
+    }
+}
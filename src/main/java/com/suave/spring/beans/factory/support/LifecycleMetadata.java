@@ -0,0 +1,241 @@
+package com.suave.spring.beans.factory.support;
+
+import com.suave.spring.annotation.Bean;
+import com.suave.spring.annotation.PostConstruct;
+import com.suave.spring.annotation.PreDestroy;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 一个类的生命周期回调，每个类只解析一次
+ * <p>
+ * 解析时沿着父类向上遍历所有@PostConstruct、@PreDestroy方法并转换为MethodHandle，
+ * 初始化方法父类的先执行，销毁方法子类的先执行；子类重写的方法只执行一次。
+ * 通过@Bean方法创建的对象还可以用{@link #withMethods}追加按名称指定的方法
+ *
+ * @author Suave
+ * @since 2026/10/18 23:00
+ */
+public class LifecycleMetadata {
+
+    /**
+     * 没有生命周期回调的类共用该对象
+     */
+    public static final LifecycleMetadata EMPTY = new LifecycleMetadata(Collections.<LifecycleMethod>emptyList(), Collections.<LifecycleMethod>emptyList());
+
+    private static final MethodType CALLBACK_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private final List<LifecycleMethod> initMethods;
+
+    private final List<LifecycleMethod> destroyMethods;
+
+    private LifecycleMetadata(List<LifecycleMethod> initMethods, List<LifecycleMethod> destroyMethods) {
+        this.initMethods = initMethods;
+        this.destroyMethods = destroyMethods;
+    }
+
+    /**
+     * 解析类及其父类上所有的@PostConstruct、@PreDestroy方法
+     *
+     * @param clazz Bean的类
+     * @return 生命周期回调
+     * @throws IllegalArgumentException 方法有参数、是静态方法或无法访问
+     */
+    public static LifecycleMetadata forClass(Class<?> clazz) {
+        List<LifecycleMethod> initMethods = new ArrayList<>();
+        List<LifecycleMethod> destroyMethods = new ArrayList<>();
+        // 非私有方法按名称去重，子类重写后父类的同名方法不再执行
+        Set<String> initNames = new HashSet<>();
+        Set<String> destroyNames = new HashSet<>();
+        for (Class<?> targetClass = clazz; targetClass != null && targetClass != Object.class; targetClass = targetClass.getSuperclass()) {
+            List<LifecycleMethod> currentInitMethods = new ArrayList<>();
+            for (Method method : targetClass.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(PostConstruct.class) && isFirstDeclaration(method, initNames)) {
+                    currentInitMethods.add(new LifecycleMethod(method));
+                }
+                if (method.isAnnotationPresent(PreDestroy.class) && isFirstDeclaration(method, destroyNames)) {
+                    destroyMethods.add(new LifecycleMethod(method));
+                }
+            }
+            // 父类的初始化方法先执行
+            initMethods.addAll(0, currentInitMethods);
+        }
+        if (initMethods.isEmpty() && destroyMethods.isEmpty()) {
+            return EMPTY;
+        }
+        return new LifecycleMetadata(Collections.unmodifiableList(initMethods), Collections.unmodifiableList(destroyMethods));
+    }
+
+    /**
+     * 在注解声明的方法之后追加按名称指定的初始化、销毁方法，用于@Bean方法返回的对象
+     * <p>
+     * 销毁方法为{@link Bean#INFER_METHOD}时依次查找公共无参的close、shutdown方法，找不到时忽略；
+     * 方法在非public的类中声明时，从public的父类或接口中查找，避免JDK内部类无法访问
+     *
+     * @param clazz             Bean的类
+     * @param initMethodName    初始化方法名，为null时不追加
+     * @param destroyMethodName 销毁方法名，为null时不追加
+     * @return 生命周期回调
+     * @throws IllegalArgumentException 显式指定的方法不存在或无法访问
+     */
+    public LifecycleMetadata withMethods(Class<?> clazz, String initMethodName, String destroyMethodName) {
+        List<LifecycleMethod> initMethods = new ArrayList<>(this.initMethods);
+        List<LifecycleMethod> destroyMethods = new ArrayList<>(this.destroyMethods);
+        if (initMethodName != null && !contains(initMethods, initMethodName)) {
+            initMethods.add(new LifecycleMethod(findPublicMethod(clazz, initMethodName, true)));
+        }
+        if (Bean.INFER_METHOD.equals(destroyMethodName)) {
+            for (String candidate : new String[]{"close", "shutdown"}) {
+                Method method = findPublicMethod(clazz, candidate, false);
+                if (method != null) {
+                    if (!contains(destroyMethods, candidate)) {
+                        destroyMethods.add(new LifecycleMethod(method));
+                    }
+                    break;
+                }
+            }
+        } else if (destroyMethodName != null && !contains(destroyMethods, destroyMethodName)) {
+            destroyMethods.add(new LifecycleMethod(findPublicMethod(clazz, destroyMethodName, true)));
+        }
+        if (initMethods.isEmpty() && destroyMethods.isEmpty()) {
+            return EMPTY;
+        }
+        return new LifecycleMetadata(Collections.unmodifiableList(initMethods), Collections.unmodifiableList(destroyMethods));
+    }
+
+    private static boolean contains(List<LifecycleMethod> methods, String methodName) {
+        for (LifecycleMethod method : methods) {
+            if (method.method.getName().equals(methodName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Method findPublicMethod(Class<?> clazz, String methodName, boolean required) {
+        Method method = null;
+        try {
+            method = clazz.getMethod(methodName);
+        } catch (NoSuchMethodException ignored) {
+            // 下面统一处理
+        }
+        if (method != null && !Modifier.isStatic(method.getModifiers())) {
+            Method accessible = findPublicDeclaration(clazz, method);
+            if (accessible != null) {
+                return accessible;
+            }
+        }
+        if (required) {
+            throw new IllegalArgumentException(clazz.getName() + "中没有可访问的无参方法" + methodName);
+        }
+        return null;
+    }
+
+    /**
+     * 在public的类型中查找同一个方法的声明
+     */
+    private static Method findPublicDeclaration(Class<?> type, Method method) {
+        if (type == null) {
+            return null;
+        }
+        if (Modifier.isPublic(type.getModifiers())) {
+            try {
+                return type.getMethod(method.getName(), method.getParameterTypes());
+            } catch (NoSuchMethodException ignored) {
+                return null;
+            }
+        }
+        for (Class<?> ifc : type.getInterfaces()) {
+            Method result = findPublicDeclaration(ifc, method);
+            if (result != null) {
+                return result;
+            }
+        }
+        return findPublicDeclaration(type.getSuperclass(), method);
+    }
+
+    private static boolean isFirstDeclaration(Method method, Set<String> names) {
+        return Modifier.isPrivate(method.getModifiers()) || names.add(method.getName());
+    }
+
+    public boolean hasInitMethods() {
+        return !this.initMethods.isEmpty();
+    }
+
+    public boolean hasDestroyMethods() {
+        return !this.destroyMethods.isEmpty();
+    }
+
+    /**
+     * 依次执行初始化方法
+     *
+     * @param bean     原始Bean，不是代理对象
+     * @param beanName Bean的名称
+     * @throws RuntimeException 初始化方法抛出异常
+     */
+    public void invokeInitMethods(Object bean, String beanName) {
+        for (LifecycleMethod method : this.initMethods) {
+            try {
+                method.invoke(bean);
+            } catch (Throwable e) {
+                throw new RuntimeException("Bean[" + beanName + "]的初始化方法" + method + "执行失败", e);
+            }
+        }
+    }
+
+    /**
+     * 依次执行销毁方法，一个方法失败不影响后面的方法
+     *
+     * @param bean     原始Bean，不是代理对象
+     * @param beanName Bean的名称
+     */
+    public void invokeDestroyMethods(Object bean, String beanName) {
+        for (LifecycleMethod method : this.destroyMethods) {
+            try {
+                method.invoke(bean);
+            } catch (Throwable e) {
+                System.err.println("Bean[" + beanName + "]的销毁方法" + method + "执行失败：" + e);
+            }
+        }
+    }
+
+    private static final class LifecycleMethod {
+
+        private final Method method;
+
+        private final MethodHandle handle;
+
+        LifecycleMethod(Method method) {
+            if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())) {
+                throw new IllegalArgumentException("生命周期方法不能有参数，也不能是静态方法：" + method);
+            }
+            this.method = method;
+            try {
+                if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+                    method.setAccessible(true);
+                }
+                this.handle = MethodHandles.lookup().unreflect(method).asType(CALLBACK_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("无法访问生命周期方法：" + method, e);
+            }
+        }
+
+        void invoke(Object bean) throws Throwable {
+            this.handle.invokeExact(bean);
+        }
+
+        @Override
+        public String toString() {
+            return method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+        }
+    }
+}
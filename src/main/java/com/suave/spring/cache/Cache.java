@@ -0,0 +1,43 @@
+package com.suave.spring.cache;
+
+/**
+ * 缓存，所有方法都是线程安全的
+ *
+ * @author Suave
+ * @since 2026/10/18 21:00
+ */
+public interface Cache {
+
+    /**
+     * 表示缓存的值为null，与不存在区分
+     */
+    Object NULL_VALUE = new Object();
+
+    String getName();
+
+    /**
+     * @param key Key
+     * @return 缓存的值，null值返回{@link #NULL_VALUE}，不存在或已过期时返回null
+     */
+    Object get(Object key);
+
+    /**
+     * @param key   Key
+     * @param value 值，可以为null
+     */
+    void put(Object key, Object value);
+
+    void evict(Object key);
+
+    void clear();
+
+    /**
+     * @return 当前的条目数，包括已过期但还没有清理的条目
+     */
+    int size();
+
+    /**
+     * @return 命中、未命中、淘汰次数的快照
+     */
+    CacheStats getStats();
+}
@@ -0,0 +1,125 @@
+package com.suave.spring.cache;
+
+import com.suave.spring.annotation.CacheEvict;
+import com.suave.spring.annotation.Cacheable;
+import com.suave.spring.aop.Advisor;
+import com.suave.spring.aop.MethodInterceptor;
+import com.suave.spring.aop.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 拦截标注了{@link Cacheable}、{@link CacheEvict}的方法，配置cache.enabled为true时由容器注册
+ * <p>
+ * 每个方法的缓存操作在判断是否拦截时解析一次，之后每次调用只按Method查找；
+ * 代理类的方法对象是固定的，ConcurrentHashMap查找时直接命中==比较
+ *
+ * @author Suave
+ * @since 2026/10/18 21:00
+ */
+public class CacheAdvisor implements Advisor, MethodInterceptor {
+
+    private final CacheManager cacheManager;
+
+    private final Map<Method, CacheOperation> operations = new ConcurrentHashMap<>(64);
+
+    public CacheAdvisor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public CacheManager getCacheManager() {
+        return cacheManager;
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        CacheOperation operation = resolveOperation(method);
+        if (operation == null) {
+            return false;
+        }
+        this.operations.put(method, operation);
+        return true;
+    }
+
+    @Override
+    public MethodInterceptor getInterceptor() {
+        return this;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        CacheOperation operation = this.operations.get(method);
+        if (operation == null) {
+            // 接口代理调用的是接口上的方法，注解在实现类的方法上
+            operation = this.operations.computeIfAbsent(method, m -> resolveOperation(invocation.getThis().getClass(), m));
+        }
+        return operation.invoke(invocation);
+    }
+
+    private CacheOperation resolveOperation(Class<?> targetClass, Method method) {
+        try {
+            return resolveOperation(targetClass.getMethod(method.getName(), method.getParameterTypes()));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("目标类" + targetClass.getName() + "没有方法" + method.getName(), e);
+        }
+    }
+
+    private CacheOperation resolveOperation(Method method) {
+        Cacheable cacheable = method.getAnnotation(Cacheable.class);
+        CacheEvict cacheEvict = method.getAnnotation(CacheEvict.class);
+        if (cacheable != null && cacheEvict != null) {
+            throw new IllegalArgumentException("@Cacheable和@CacheEvict不能标注在同一个方法上：" + method);
+        }
+        if (cacheable != null) {
+            if (method.getReturnType() == void.class) {
+                throw new IllegalArgumentException("@Cacheable不能标注在没有返回值的方法上：" + method);
+            }
+            return new CacheOperation(this.cacheManager.getCache(cacheable.value()), false, false);
+        }
+        if (cacheEvict != null) {
+            return new CacheOperation(this.cacheManager.getCache(cacheEvict.value()), true, cacheEvict.allEntries());
+        }
+        return null;
+    }
+
+    private static final class CacheOperation {
+
+        final Cache cache;
+
+        final boolean evict;
+
+        final boolean allEntries;
+
+        CacheOperation(Cache cache, boolean evict, boolean allEntries) {
+            this.cache = cache;
+            this.evict = evict;
+            this.allEntries = allEntries;
+        }
+
+        Object invoke(MethodInvocation invocation) throws Throwable {
+            if (this.evict) {
+                // 先生成Key，避免目标方法修改了参数数组
+                Object key = this.allEntries ? null : SimpleKey.generate(invocation.getArguments());
+                Object result = invocation.proceed();
+                if (this.allEntries) {
+                    this.cache.clear();
+                } else {
+                    this.cache.evict(key);
+                }
+                return result;
+            }
+            Object key = SimpleKey.generate(invocation.getArguments());
+            Object value = this.cache.get(key);
+            if (value != null) {
+                return value == Cache.NULL_VALUE ? null : value;
+            }
+            // 并发的未命中会各自调用目标方法，后写入的覆盖先写入的
+            Object result = invocation.proceed();
+            this.cache.put(key, result);
+            return result;
+        }
+    }
+}
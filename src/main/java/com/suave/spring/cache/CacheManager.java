@@ -0,0 +1,95 @@
+package com.suave.spring.cache;
+
+import com.suave.spring.core.convert.TypeConverter;
+import com.suave.spring.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按名称管理缓存，第一次使用时根据配置创建
+ * <pre>
+ * cache:
+ *   enabled: true
+ *   default:
+ *     maximumSize: 10000
+ *   users:
+ *     maximumSize: 500
+ *     ttl: 10m
+ * </pre>
+ * 没有单独配置的缓存使用cache.default的配置。缓存在容器启动时根据当时的配置创建，增量刷新不会修改已创建的缓存
+ *
+ * @author Suave
+ * @since 2026/10/18 21:00
+ */
+public class CacheManager {
+
+    /**
+     * 是否启用@Cacheable、@CacheEvict，默认不启用，不启用时不会为缓存生成代理
+     */
+    public static final String CACHE_ENABLED = "cache.enabled";
+
+    private static final String CACHE_PREFIX = "cache.";
+
+    private static final String DEFAULT_CACHE = "default";
+
+    private static final String MAXIMUM_SIZE = ".maximumSize";
+
+    private static final String TTL = ".ttl";
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private static final TypeConverter INT_CONVERTER = TypeConverter.forType(int.class, int.class, null);
+
+    private static final TypeConverter DURATION_CONVERTER = TypeConverter.forType(Duration.class, Duration.class, null);
+
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>(16);
+
+    private final Environment environment;
+
+    public CacheManager(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * 获取缓存，不存在时创建
+     *
+     * @param name 缓存名称
+     * @return 缓存
+     * @throws IllegalArgumentException 缓存的配置不正确
+     */
+    public Cache getCache(String name) {
+        Cache cache = this.caches.get(name);
+        return cache != null ? cache : this.caches.computeIfAbsent(name, this::createCache);
+    }
+
+    public Set<String> getCacheNames() {
+        return Collections.unmodifiableSet(this.caches.keySet());
+    }
+
+    /**
+     * @return 每个缓存的命中、未命中、淘汰次数，按名称排序
+     */
+    public Map<String, CacheStats> getStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        this.caches.keySet().stream().sorted().forEach(name -> stats.put(name, this.caches.get(name).getStats()));
+        return stats;
+    }
+
+    private Cache createCache(String name) {
+        String maximumSize = getCacheProperty(name, MAXIMUM_SIZE);
+        String ttl = getCacheProperty(name, TTL);
+        return new ConcurrentLruCache(name,
+                maximumSize == null ? DEFAULT_MAXIMUM_SIZE : (Integer) INT_CONVERTER.convert(maximumSize),
+                ttl == null ? null : (Duration) DURATION_CONVERTER.convert(ttl));
+    }
+
+    private String getCacheProperty(String name, String suffix) {
+        String value = this.environment.getProperty(CACHE_PREFIX + name + suffix);
+        return value != null ? value : this.environment.getProperty(CACHE_PREFIX + DEFAULT_CACHE + suffix);
+    }
+}
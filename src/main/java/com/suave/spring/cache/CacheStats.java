@@ -0,0 +1,58 @@
+package com.suave.spring.cache;
+
+/**
+ * 缓存统计的快照
+ *
+ * @author Suave
+ * @since 2026/10/18 21:00
+ */
+public final class CacheStats {
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final long evictionCount;
+
+    private final long expiredCount;
+
+    public CacheStats(long hitCount, long missCount, long evictionCount, long expiredCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expiredCount = expiredCount;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return 超过容量被淘汰的条目数
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return 超过存活时间被删除的条目数
+     */
+    public long getExpiredCount() {
+        return expiredCount;
+    }
+
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hit=%d, miss=%d, hitRate=%.2f%%, eviction=%d, expired=%d",
+                hitCount, missCount, getHitRate() * 100, evictionCount, expiredCount);
+    }
+}
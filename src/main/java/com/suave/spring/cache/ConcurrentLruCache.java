@@ -0,0 +1,264 @@
+package com.suave.spring.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 容量有限的并发缓存，按最近最少使用淘汰，可以设置写入后的存活时间
+ * <ul>
+ *     <li>条目按Key的哈希分到多个段，每段一个ConcurrentHashMap和一条写入顺序链表，写入只锁所在的段</li>
+ *     <li>读取不加锁，只在条目上标记被访问过，已经标记过的不再写入，热点Key的读取不会在线程间争抢缓存行</li>
+ *     <li>淘汰时从链表头开始，被访问过的条目清除标记后移到链表尾部再给一次机会（CLOCK算法），是近似的LRU</li>
+ *     <li>过期的条目在读取时删除，不单独清理；没有设置存活时间时读取不调用System.nanoTime()</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/18 21:00
+ */
+public class ConcurrentLruCache implements Cache {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final String name;
+
+    private final int maximumSize;
+
+    private final long ttlNanos;
+
+    private final Segment[] segments;
+
+    private final int segmentMask;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    private final LongAdder expiredCount = new LongAdder();
+
+    /**
+     * @param name        缓存名称
+     * @param maximumSize 最大条目数
+     * @param ttl         写入后的存活时间，null或0表示不过期
+     */
+    public ConcurrentLruCache(String name, int maximumSize, Duration ttl) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("缓存[" + name + "]的容量必须大于0：" + maximumSize);
+        }
+        if (ttl != null && ttl.isNegative()) {
+            throw new IllegalArgumentException("缓存[" + name + "]的存活时间不能为负数：" + ttl);
+        }
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl == null ? 0 : ttl.toNanos();
+        // 容量太小时减少段数，否则每段能容纳的条目太少，淘汰顺序偏差较大
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && segmentCount < Runtime.getRuntime().availableProcessors()
+                && segmentCount * 2 * 32 <= maximumSize) {
+            segmentCount <<= 1;
+        }
+        this.segments = new Segment[segmentCount];
+        int capacity = maximumSize / segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            // 余数分给前面的段，保证总容量等于maximumSize
+            this.segments[i] = new Segment(i < maximumSize % segmentCount ? capacity + 1 : capacity);
+        }
+        this.segmentMask = segmentCount - 1;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Segment segment = segmentFor(key);
+        Node node = segment.map.get(key);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+        if (ttlNanos > 0 && System.nanoTime() - node.writeTime >= ttlNanos) {
+            segment.remove(key, node, expiredCount);
+            missCount.increment();
+            return null;
+        }
+        segment.recordAccess(node);
+        hitCount.increment();
+        return node.value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Node node = new Node(key, value == null ? NULL_VALUE : value, ttlNanos > 0 ? System.nanoTime() : 0);
+        segmentFor(key).put(node, evictionCount);
+    }
+
+    @Override
+    public void evict(Object key) {
+        Segment segment = segmentFor(key);
+        Node node = segment.map.get(key);
+        if (node != null) {
+            segment.remove(key, node, null);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.map.size();
+        }
+        return size;
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), expiredCount.sum());
+    }
+
+    private Segment segmentFor(Object key) {
+        int h = key.hashCode();
+        // 与ConcurrentHashMap使用不同的位，避免同一段内的桶分布不均
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        return segments[(h >>> 28) & segmentMask];
+    }
+
+    private static final class Node {
+
+        final Object key;
+
+        final Object value;
+
+        final long writeTime;
+
+        Node prev;
+
+        Node next;
+
+        /**
+         * 上次淘汰检查之后是否被读取过，读取时不加锁写入
+         */
+        volatile boolean referenced;
+
+        Node(Object key, Object value, long writeTime) {
+            this.key = key;
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+
+    private static final class Segment {
+
+        final ConcurrentHashMap<Object, Node> map;
+
+        final ReentrantLock lock = new ReentrantLock();
+
+        final int capacity;
+
+        /**
+         * 哨兵节点，head.next是下一个淘汰候选，head.prev是最近写入或刚获得第二次机会的条目
+         */
+        final Node head = new Node(null, null, 0);
+
+        int size;
+
+        Segment(int capacity) {
+            this.capacity = Math.max(capacity, 1);
+            this.map = new ConcurrentHashMap<>(Math.min(this.capacity, 1 << 16) * 4 / 3 + 1);
+            head.prev = head;
+            head.next = head;
+        }
+
+        void recordAccess(Node node) {
+            if (!node.referenced) {
+                node.referenced = true;
+            }
+        }
+
+        void put(Node node, LongAdder evictionCount) {
+            lock.lock();
+            try {
+                Node old = map.put(node.key, node);
+                if (old != null) {
+                    unlink(old);
+                    size--;
+                }
+                // 先淘汰再链接新条目，所有条目都被访问过时转一圈后淘汰的是最早的条目，而不是刚写入的
+                while (size >= capacity) {
+                    Node eldest = head.next;
+                    if (eldest.referenced) {
+                        eldest.referenced = false;
+                        unlink(eldest);
+                        linkLast(eldest);
+                        continue;
+                    }
+                    map.remove(eldest.key, eldest);
+                    unlink(eldest);
+                    size--;
+                    evictionCount.increment();
+                }
+                linkLast(node);
+                size++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(Object key, Node node, LongAdder counter) {
+            lock.lock();
+            try {
+                // 可能已经被其他线程覆盖或删除，只删除读到的那个条目
+                if (map.remove(key, node)) {
+                    unlink(node);
+                    size--;
+                    if (counter != null) {
+                        counter.increment();
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                map.clear();
+                head.prev = head;
+                head.next = head;
+                size = 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void unlink(Node node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+        }
+
+        private void linkLast(Node node) {
+            node.prev = head.prev;
+            node.next = head;
+            head.prev.next = node;
+            head.prev = node;
+        }
+    }
+}
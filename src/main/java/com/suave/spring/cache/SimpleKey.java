@@ -0,0 +1,60 @@
+package com.suave.spring.cache;
+
+import java.util.Arrays;
+
+/**
+ * 由方法参数生成缓存的Key
+ * <ul>
+ *     <li>没有参数时使用同一个空Key</li>
+ *     <li>只有一个非数组参数时直接使用参数本身，基本类型和String不需要额外分配对象</li>
+ *     <li>多个参数时包装参数数组，哈希值只计算一次；代理每次调用都会创建新的参数数组，这里不再复制</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/18 21:00
+ */
+public final class SimpleKey {
+
+    public static final SimpleKey EMPTY = new SimpleKey(new Object[0]);
+
+    private final Object[] params;
+
+    private final int hashCode;
+
+    private SimpleKey(Object[] params) {
+        this.params = params;
+        this.hashCode = Arrays.deepHashCode(params);
+    }
+
+    /**
+     * @param arguments 方法参数
+     * @return 缓存的Key
+     */
+    public static Object generate(Object[] arguments) {
+        if (arguments.length == 0) {
+            return EMPTY;
+        }
+        if (arguments.length == 1) {
+            Object argument = arguments[0];
+            if (argument != null && !argument.getClass().isArray()) {
+                return argument;
+            }
+        }
+        return new SimpleKey(arguments);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof SimpleKey && Arrays.deepEquals(this.params, ((SimpleKey) other).params));
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "SimpleKey " + Arrays.deepToString(params);
+    }
+}
@@ -1,62 +1,231 @@
 package com.suave.spring.context;
 
-import com.suave.spring.annotation.Autowired;
-import com.suave.spring.annotation.Controller;
-import com.suave.spring.annotation.Service;
+import com.suave.spring.aop.Advisor;
+import com.suave.spring.aop.framework.AutoProxyCreator;
 import com.suave.spring.beans.BeanWrapper;
+import com.suave.spring.cache.CacheAdvisor;
+import com.suave.spring.cache.CacheManager;
 import com.suave.spring.beans.factory.BeanDefinition;
-import com.suave.spring.beans.factory.BeanFactory;
-import com.suave.spring.beans.factory.ObjectFactory;
+import com.suave.spring.beans.factory.ListableBeanFactory;
+import com.suave.spring.beans.factory.ObjectProvider;
+import com.suave.spring.beans.factory.config.Scope;
+import com.suave.spring.beans.factory.config.SimpleThreadScope;
 import com.suave.spring.beans.factory.support.BeanDefinitionReader;
+import com.suave.spring.beans.factory.support.BeanDependencyGraph;
+import com.suave.spring.beans.factory.support.BeanInstantiator;
 import com.suave.spring.beans.factory.support.DefaultListableBeanFactory;
+import com.suave.spring.beans.factory.support.DefaultSingletonBeanRegistry;
+import com.suave.spring.beans.factory.support.InjectionMetadata;
+import com.suave.spring.beans.factory.support.InstantiationStrategy;
+import com.suave.spring.beans.factory.support.LifecycleMetadata;
+import com.suave.spring.context.aot.AotSnapshot;
+import com.suave.spring.context.event.ApplicationEventMulticaster;
+import com.suave.spring.context.event.BeanCreatedEvent;
+import com.suave.spring.context.event.ContextRefreshedEvent;
+import com.suave.spring.context.request.RequestScope;
+import com.suave.spring.core.convert.TypeConverter;
+import com.suave.spring.core.env.Environment;
+import com.suave.spring.jdbc.JdbcTemplate;
+import com.suave.spring.jdbc.PooledDataSource;
+import com.suave.spring.scheduling.AsyncAdvisor;
+import com.suave.spring.scheduling.ExecutorStats;
+import com.suave.spring.scheduling.TaskExecutorRegistry;
+import com.suave.spring.scheduling.TaskScheduler;
+import com.suave.spring.transaction.TransactionAdvisor;
+import com.suave.spring.transaction.TransactionManager;
+import com.suave.spring.core.metrics.ApplicationStartup;
+import com.suave.spring.core.metrics.BufferingApplicationStartup;
+import com.suave.spring.core.metrics.StartupStep;
 
-import java.lang.reflect.Field;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author Suave
  * @since 2023/08/18 15:42
  */
-public class ApplicationContext implements BeanFactory {
+public class ApplicationContext implements ListableBeanFactory, ApplicationEventPublisher, AutoCloseable {
+
+    /**
+     * 配置为true时按依赖关系并行创建非懒加载的单例Bean
+     */
+    public static final String PRE_INSTANTIATION_PARALLEL = "preInstantiation.parallel";
+
+    /**
+     * 并行创建使用的线程池，forkjoin（默认）或virtual，virtual需要运行在支持虚拟线程的JDK上
+     */
+    public static final String PRE_INSTANTIATION_EXECUTOR = "preInstantiation.executor";
+
+    /**
+     * forkjoin线程池的并行度，默认为CPU核数
+     */
+    public static final String PRE_INSTANTIATION_PARALLELISM = "preInstantiation.parallelism";
+
+    /**
+     * 配置为true时启动完成后注册JVM关闭钩子，进程退出时关闭容器
+     */
+    public static final String SHUTDOWN_HOOK = "shutdown.hook";
+
+    /**
+     * 关闭时每个Bean的销毁方法最多执行的时间，超时后中断并继续销毁其他Bean，默认10s
+     */
+    public static final String SHUTDOWN_BEAN_TIMEOUT = "shutdown.beanTimeout";
+
+    /**
+     * 配置为true时忽略构建期生成的AOT快照，重新扫描并解析
+     */
+    public static final String AOT_IGNORE = "aot.ignore";
+
+    /**
+     * 配置为true时记录启动过程中每个步骤以及每个Bean的耗时，并提交JFR事件
+     */
+    public static final String STARTUP_RECORDING = "startup.recording";
+
+    /**
+     * 启动报告导出为JSON的文件路径
+     */
+    public static final String STARTUP_REPORT_FILE = "startup.report.file";
+
+    /**
+     * 配置为true时启动完成后冻结容器，见{@link #freeze()}
+     */
+    public static final String CONTEXT_FREEZE = "context.freeze";
 
     private DefaultListableBeanFactory registry = new DefaultListableBeanFactory();
 
     /**
-     * 用于记录当前正在创建的BeanName，循环依赖时使用
+     * 当前使用的单例Bean以及配置、注入计划等缓存，增量刷新完成后整体替换
+     */
+    private volatile SingletonStore singletonStore;
+
+    /**
+     * 冻结后已经创建的单例，Key为BeanName；未冻结时为null
+     */
+    private volatile FrozenBeanTable frozenBeans;
+
+    /**
+     * 冻结后按类型唯一确定的单例，Key为类型的全类名；未冻结时为null
+     */
+    private volatile FrozenBeanTable frozenBeansByType;
+
+    /**
+     * close()已经销毁了所有单例，之后不能再获取Bean
+     */
+    private volatile boolean singletonsDestroyed;
+
+    /**
+     * 增量刷新期间重新创建的单例Bean，只有刷新线程使用，其他线程仍然使用singletonStore
+     */
+    private volatile SingletonStore stagingStore;
+
+    /**
+     * 每个类的生命周期回调
      */
-    private final Set<String> singletonsCurrentlyInCreation = new HashSet<>();
+    private final Map<Class<?>, LifecycleMetadata> lifecycleMetadataCache = new ConcurrentHashMap<>(256);
 
     /**
-     * 一级缓存，保存成熟的Bean
+     * 指定了初始化、销毁方法的@Bean方法的生命周期回调，Key为@Bean方法和返回对象的类
      */
-    private final Map<String, Object> singletonObjects = new HashMap<>();
+    private final Map<String, LifecycleMetadata> factoryMethodLifecycleCache = new ConcurrentHashMap<>();
 
     /**
-     * 二级缓存，保存实例化完，但没有初始化的Bean，可能为代理类
+     * 解析并缓存每个BeanDefinition的实例化方式
      */
-    private final Map<String, Object> earlySingletonObjects = new HashMap<>();
+    private final InstantiationStrategy instantiationStrategy = new InstantiationStrategy(this.registry);
 
     /**
-     * 三级缓存，保存创建对象的工厂
+     * 自定义作用域，Key为作用域名称
      */
-    private final Map<String, ObjectFactory<?>> singletonFactories = new HashMap<>();
+    private final Map<String, Scope> scopes = new ConcurrentHashMap<>(8);
 
     /**
-     * 保存成熟的Bean
-     * Key可能为BeanName、类名
-     * Value为Bean对象
+     * 当前线程正在创建的原型Bean，用于检测原型之间的循环依赖
      */
-    private final Map<String, Object> factoryBeanObjectCache = new HashMap<>();
+    private final ThreadLocal<Set<String>> prototypesCurrentlyInCreation = ThreadLocal.withInitial(HashSet::new);
 
+    /**
+     * 根据容器中的Advisor为Bean生成代理对象
+     */
+    private final AutoProxyCreator autoProxyCreator = new AutoProxyCreator();
 
     private final BeanDefinitionReader reader;
 
+    /**
+     * 记录启动步骤，默认不记录
+     */
+    private final ApplicationStartup applicationStartup;
+
+    /**
+     * 分发事件，启动完成前为null
+     */
+    private volatile ApplicationEventMulticaster eventMulticaster;
+
+    /**
+     * 分发器创建之前启动过程中创建的Bean，分发器创建后补发BeanCreatedEvent并置为null，由startupEventsLock保护
+     */
+    private List<BeanCreatedEvent> startupCreatedEvents = new ArrayList<>();
+
+    private final Object startupEventsLock = new Object();
+
+    /**
+     * 管理@Cacheable使用的缓存，没有配置cache.enabled时为null
+     */
+    private CacheManager cacheManager;
+
+    /**
+     * 管理@Transactional的事务，容器中没有连接池时为null
+     */
+    private TransactionManager transactionManager;
+
+    /**
+     * @Async和@Scheduled使用的线程池，两者都没有启用时为null
+     */
+    private TaskExecutorRegistry taskExecutors;
+
+    /**
+     * 执行@Scheduled方法，没有配置task.scheduling.enabled时为null
+     */
+    private TaskScheduler taskScheduler;
+
+    private volatile boolean closed;
+
+    /**
+     * 配置了shutdown.hook时注册的JVM关闭钩子
+     */
+    private Thread shutdownHook;
+
+    /**
+     * 从AOT快照启动时按快照中的顺序创建Bean，依赖总是先创建；否则为null
+     */
+    private List<String> creationOrder;
+
 
     /**
      * 通过Bean的名称从IoC容器中获取Bean
@@ -66,265 +235,453 @@ public class ApplicationContext implements BeanFactory {
      */
     @Override
     public Object getBean(String beanName) {
-        Object singleton = getSingleton(beanName);
+        FrozenBeanTable frozen = this.frozenBeans;
+        if (frozen != null) {
+            Object bean = frozen.get(beanName);
+            if (bean != null) {
+                return bean;
+            }
+        }
+        if (this.singletonsDestroyed) {
+            throw new IllegalStateException("容器已经关闭，不能获取Bean：" + beanName);
+        }
+        SingletonStore store = currentStore();
+        Object singleton = store.singletonRegistry.getSingleton(beanName);
         if (singleton != null) {
             // 拿到了直接返回
             return singleton;
         }
         // 1、拿到BeanDefinition配置信息
         BeanDefinition beanDefinition = registry.beanDefinitionMap.get(beanName);
-        return getSingleton(beanName, () -> createBean(beanName, beanDefinition));
+        if (beanDefinition == null) {
+            throw new RuntimeException("没有名为" + beanName + "的对象！");
+        }
+        if (beanDefinition.isSingleton()) {
+            // 同一个实现类的多个BeanName共用一个实例，以全类名作为创建锁，@Bean方法以配置类和方法名作为创建锁
+            return store.singletonRegistry.getSingleton(beanName, beanDefinition.getInstanceKey(),
+                    () -> createBean(store, beanName, beanDefinition));
+        }
+        if (beanDefinition.isPrototype()) {
+            return createPrototype(store, beanName, beanDefinition);
+        }
+        Scope scope = this.scopes.get(beanDefinition.getScope());
+        if (scope == null) {
+            throw new RuntimeException("没有注册名为" + beanDefinition.getScope() + "的作用域！");
+        }
+        // 和单例一样，同一个实现类的多个BeanName在作用域中共用一个实例
+        return scope.get(beanDefinition.getInstanceKey(), () -> createPrototype(store, beanName, beanDefinition));
     }
 
-    private Object createBean(String beanName, BeanDefinition beanDefinition) {
-        // 标记bean正在创建
-        if (!isSingletonCurrentlyInCreation(beanName)) {
-            singletonsCurrentlyInCreation.add(beanName);
+    /**
+     * 刷新线程使用正在构建的单例，其他线程使用当前的单例
+     */
+    private SingletonStore currentStore() {
+        SingletonStore staging = this.stagingStore;
+        if (staging != null && staging.owner == Thread.currentThread()) {
+            return staging;
         }
-        // 2、反射实例化对象
-        BeanWrapper beanWrapper = instantiateBean(beanName, beanDefinition);
+        return this.singletonStore;
+    }
 
-        if (beanDefinition.isSingleton() && isSingletonCurrentlyInCreation(beanName)) {
-            // 3、单例且正在创建，说明有循环依赖，加入三级缓存
-            addSingletonFactory(beanName, () -> getEarlyBeanReference(beanName, beanDefinition, beanWrapper.getWrappedInstance()));
+    /**
+     * 创建一个新的实例，构造方法和注入计划都使用缓存，不会重新解析
+     * 原型Bean不进入三级缓存，原型之间的循环依赖无法解决，直接报错
+     */
+    private Object createPrototype(SingletonStore store, String beanName, BeanDefinition beanDefinition) {
+        Set<String> inCreation = this.prototypesCurrentlyInCreation.get();
+        if (!inCreation.add(beanName)) {
+            throw new RuntimeException("原型Bean[" + beanName + "]存在循环依赖！");
         }
+        try {
+            return createBean(store, beanName, beanDefinition);
+        } finally {
+            inCreation.remove(beanName);
+        }
+    }
 
-        // 4、执行依赖注入
-        populateBean(beanName, beanDefinition, beanWrapper);
-
-        // 5、保存到IoC容器中
-        this.factoryBeanObjectCache.put(beanName, beanWrapper.getWrappedInstance());
-
-        return beanWrapper.getWrappedInstance();
+    /**
+     * 注册自定义作用域，@Scope的值与作用域名称对应
+     *
+     * @param scopeName 作用域名称
+     * @param scope     作用域
+     */
+    public void registerScope(String scopeName, Scope scope) {
+        if (BeanDefinition.SCOPE_SINGLETON.equals(scopeName) || BeanDefinition.SCOPE_PROTOTYPE.equals(scopeName)) {
+            throw new IllegalArgumentException("不能替换内置的" + scopeName + "作用域！");
+        }
+        this.scopes.put(scopeName, scope);
     }
 
-    private void populateBean(String beanName, BeanDefinition beanDefinition, BeanWrapper beanWrapper) {
+    private Object createBean(SingletonStore store, String beanName, BeanDefinition beanDefinition) {
+        StartupStep createStep = this.applicationStartup.start(BufferingApplicationStartup.BEAN_CREATE).tag("beanName", beanName);
+        try {
+            // 同一个实现类的其他BeanName已经创建过实例时，不再执行初始化方法
+            boolean newInstance = !beanDefinition.isSingleton() || !store.factoryBeanObjectCache.containsKey(beanDefinition.getInstanceKey());
+            // 2、反射实例化对象
+            BeanWrapper beanWrapper;
+            StartupStep step = this.applicationStartup.start("bean.instantiate").tag("beanName", beanName);
+            try {
+                beanWrapper = instantiateBean(store, beanName, beanDefinition);
+            } finally {
+                step.end();
+            }
+            Object bean = beanWrapper.getWrappedInstance();
 
-        Object instance = beanWrapper.getWrappedInstance();
+            if (beanDefinition.isSingleton() && store.singletonRegistry.isSingletonCurrentlyInCreation(beanName)) {
+                // 3、单例且正在创建，说明有循环依赖，加入三级缓存
+                store.singletonRegistry.addSingletonFactory(beanName, () -> getEarlyBeanReference(store, beanDefinition, bean));
+            }
 
-        Class<?> clazz = beanWrapper.getWrappedClass();
+            // 4、执行依赖注入，依赖的Bean在这一步中创建，记录为当前步骤的下级
+            step = this.applicationStartup.start("bean.populate").tag("beanName", beanName);
+            try {
+                populateBean(store, beanWrapper);
+            } finally {
+                step.end();
+            }
+            if (bean instanceof ApplicationEventPublisherAware) {
+                ((ApplicationEventPublisherAware) bean).setApplicationEventPublisher(this);
+            }
+            LifecycleMetadata lifecycle = getLifecycleMetadata(beanDefinition, beanWrapper.getWrappedClass());
+            if (newInstance && lifecycle.hasInitMethods()) {
+                // 代理对象生成之前调用，初始化方法中的this是原始对象
+                step = this.applicationStartup.start("bean.init").tag("beanName", beanName);
+                try {
+                    lifecycle.invokeInitMethods(bean, beanName);
+                } finally {
+                    step.end();
+                }
+            }
 
-        if (!(clazz.isAnnotationPresent(Controller.class) || clazz.isAnnotationPresent(Service.class))) {
-            return;
-        }
+            // 5、需要时生成代理对象，提前暴露过早期引用时返回的是同一个代理对象
+            Object exposedObject = this.autoProxyCreator.wrapIfNecessary(store.singletonProxies, getProxyCacheKey(beanDefinition), bean);
 
-        // 获取所有属性
-        for (Field field : clazz.getDeclaredFields()) {
-            if (!field.isAnnotationPresent(Autowired.class)) {
-                continue;
+            // 6、保存到IoC容器中，只有单例需要
+            if (beanDefinition.isSingleton()) {
+                store.factoryBeanObjectCache.put(beanName, exposedObject);
+                if (newInstance && lifecycle.hasDestroyMethods()) {
+                    store.disposableBeans.put(beanDefinition.getInstanceKey(),
+                            new DisposableBeanAdapter(beanName, beanDefinition.getInstanceKey(), bean, lifecycle));
+                }
             }
 
-            Autowired autowired = field.getAnnotation(Autowired.class);
-            String autowiredBeanName = autowired.value().trim();
-            if (autowiredBeanName.isEmpty()) {
-                autowiredBeanName = field.getType().getName();
+            // 7、发布事件，没有监听器时不创建事件对象；分发器还没有创建时先缓存，创建后补发
+            ApplicationEventMulticaster multicaster = this.eventMulticaster;
+            if (multicaster == null) {
+                multicaster = bufferStartupCreatedEvent(beanName, exposedObject);
+            }
+            if (multicaster != null && multicaster.hasListeners(BeanCreatedEvent.class)) {
+                multicaster.multicastEvent(new BeanCreatedEvent(this, beanName, exposedObject));
             }
 
-            // 强制访问
-            field.setAccessible(true);
+            return exposedObject;
+        } catch (RuntimeException e) {
+            createStep.tag("exception", e.toString());
+            throw e;
+        } finally {
+            createStep.end();
+        }
+    }
+
+    private void populateBean(SingletonStore store, BeanWrapper beanWrapper) {
+        // 注入计划每个类只解析一次，包含父类上的属性
+        getInjectionMetadata(store, beanWrapper.getWrappedClass()).inject(beanWrapper.getWrappedInstance(), this);
+    }
 
-            try {
-                field.set(instance, getBean(autowiredBeanName));
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
+    /**
+     * 获取类的注入计划，不存在时按缓存所在的配置解析并缓存
+     *
+     * @param store 单例Bean所在的缓存
+     * @param clazz Bean的类
+     * @return 注入计划
+     */
+    private InjectionMetadata getInjectionMetadata(SingletonStore store, Class<?> clazz) {
+        InjectionMetadata metadata = store.injectionMetadataCache.get(clazz);
+        if (metadata == null) {
+            metadata = store.injectionMetadataCache.computeIfAbsent(clazz, k -> InjectionMetadata.forClass(k, this.registry, store.environment));
+        }
+        return metadata;
+    }
+
+    /**
+     * 获取实例化方式，增量刷新后重新解析的优先，否则使用BeanDefinition中缓存的
+     *
+     * @param store          单例Bean所在的缓存
+     * @param beanDefinition Bean的包装信息
+     * @return 实例化方式
+     * @throws ClassNotFoundException Bean的类或配置类不存在
+     */
+    private BeanInstantiator getInstantiator(SingletonStore store, BeanDefinition beanDefinition) throws ClassNotFoundException {
+        if (!store.instantiators.isEmpty()) {
+            BeanInstantiator instantiator = store.instantiators.get(beanDefinition.getInstanceKey());
+            if (instantiator != null) {
+                return instantiator;
             }
+        }
+        return this.instantiationStrategy.getInstantiator(beanDefinition);
+    }
+
+    /**
+     * 获取类的生命周期回调，不存在时解析并缓存
+     *
+     * @param clazz Bean的类
+     * @return 生命周期回调
+     */
+    private LifecycleMetadata getLifecycleMetadata(Class<?> clazz) {
+        LifecycleMetadata metadata = this.lifecycleMetadataCache.get(clazz);
+        if (metadata == null) {
+            metadata = this.lifecycleMetadataCache.computeIfAbsent(clazz, LifecycleMetadata::forClass);
+        }
+        return metadata;
+    }
 
+    /**
+     * 获取Bean的生命周期回调，@Bean方法指定了初始化、销毁方法时追加到注解声明的方法之后，按@Bean方法和类缓存
+     *
+     * @param beanDefinition Bean的包装信息
+     * @param clazz          Bean的类
+     * @return 生命周期回调
+     */
+    private LifecycleMetadata getLifecycleMetadata(BeanDefinition beanDefinition, Class<?> clazz) {
+        if (beanDefinition.getInitMethodName() == null && beanDefinition.getDestroyMethodName() == null) {
+            return getLifecycleMetadata(clazz);
+        }
+        String key = beanDefinition.getInstanceKey() + "@" + clazz.getName();
+        LifecycleMetadata metadata = this.factoryMethodLifecycleCache.get(key);
+        if (metadata == null) {
+            metadata = this.factoryMethodLifecycleCache.computeIfAbsent(key, k -> getLifecycleMetadata(clazz)
+                    .withMethods(clazz, beanDefinition.getInitMethodName(), beanDefinition.getDestroyMethodName()));
         }
+        return metadata;
+    }
 
+    /**
+     * 获取Bean依赖的所有BeanName，包括构造方法参数和@Autowired属性
+     *
+     * @param beanDefinition Bean的包装信息
+     * @return 依赖的BeanName
+     */
+    private List<String> getDependencyBeanNames(BeanDefinition beanDefinition) {
+        try {
+            SingletonStore store = currentStore();
+            List<String> result = new ArrayList<>(getInstantiator(store, beanDefinition).getDependencyBeanNames());
+            result.addAll(getInjectionMetadata(store, Class.forName(beanDefinition.getBeanClassName())).getDependencyBeanNames());
+            return result;
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     /**
-     * TODO 根据是否需要代理来决定返回代理对象或本身
+     * 根据是否需要代理来决定返回代理对象或本身
      *
-     * @param beanName       Bean名称
+     * @param store          单例Bean所在的缓存，代理对象和单例保存在一起
      * @param beanDefinition Bean包装信息
      * @param bean           Bean对象
      * @return Bean对象或其代理对象
      */
-    private Object getEarlyBeanReference(String beanName, BeanDefinition beanDefinition, Object bean) {
-        Object exposedObject = bean;
-        return exposedObject;
+    private Object getEarlyBeanReference(SingletonStore store, BeanDefinition beanDefinition, Object bean) {
+        return this.autoProxyCreator.wrapIfNecessary(store.singletonProxies, getProxyCacheKey(beanDefinition), bean);
     }
 
     /**
-     * 添加到三级缓存中
-     *
-     * @param beanName         Bean名称
-     * @param singletonFactory 三级缓存的值，创建Bean对象的匿名方法
+     * 同一个实现类的多个BeanName共用一个实例，也共用一个代理对象；非单例每次生成新的代理对象
      */
-    private void addSingletonFactory(String beanName, ObjectFactory<?> singletonFactory) {
-        synchronized (this.singletonObjects) {
-            if (!this.singletonObjects.containsKey(beanName)) {
-                this.singletonFactories.put(beanName, singletonFactory);
-                this.earlySingletonObjects.remove(beanName);
-            }
-        }
+    private String getProxyCacheKey(BeanDefinition beanDefinition) {
+        return beanDefinition.isSingleton() ? beanDefinition.getInstanceKey() : null;
     }
 
     /**
-     * 通过反射实例化
+     * 通过缓存的实例化方式创建对象，支持@Autowired构造注入
      *
+     * @param store          单例Bean所在的缓存
      * @param beanName       Bean的名称
      * @param beanDefinition Bean的包装信息
      * @return 实例化完成的Bean包装对象
      */
-    private BeanWrapper instantiateBean(String beanName, BeanDefinition beanDefinition) {
-        if (beanDefinition.isSingleton() && this.factoryBeanObjectCache.containsKey(beanName)) {
-            return new BeanWrapper(this.factoryBeanObjectCache.get(beanName));
+    private BeanWrapper instantiateBean(SingletonStore store, String beanName, BeanDefinition beanDefinition) {
+        // 同一个实现类的多个BeanName共用一个实例，实例以全类名缓存，与创建顺序无关
+        Object shared = beanDefinition.isSingleton() ? store.factoryBeanObjectCache.get(beanDefinition.getInstanceKey()) : null;
+        if (shared != null) {
+            return new BeanWrapper(shared);
         }
 
-        String className = beanDefinition.getBeanClassName();
         Object instance = null;
         try {
 
-            Class<?> clazz = Class.forName(className);
+            // 构造方法第一次解析后缓存在BeanDefinition中，之后直接调用生成的Supplier或MethodHandle
+            instance = getInstantiator(store, beanDefinition).instantiate(this);
+            Class<?> clazz = instance.getClass();
 
-            instance = clazz.newInstance();
+            // 这里缓存的是原始对象，代理对象在依赖注入完成后生成
 
-            // TODO 生成代理类
-
-            this.factoryBeanObjectCache.put(beanName, instance);
-            this.factoryBeanObjectCache.put(clazz.getName(), instance);
-            for (Class<?> i : clazz.getInterfaces()) {
-                this.factoryBeanObjectCache.put(i.getName(), instance);
+            if (!beanDefinition.isSingleton()) {
+                return new BeanWrapper(instance);
             }
-        } catch (Exception e) {
-            e.printStackTrace();
+            store.factoryBeanObjectCache.put(beanName, instance);
+            store.factoryBeanObjectCache.put(beanDefinition.getInstanceKey(), instance);
+            // @Bean方法可以返回同一类型的多个对象，不按类型缓存
+            if (!beanDefinition.isFactoryMethod()) {
+                store.factoryBeanObjectCache.put(clazz.getName(), instance);
+                for (Class<?> i : clazz.getInterfaces()) {
+                    store.factoryBeanObjectCache.put(i.getName(), instance);
+                }
+            }
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException("Bean[" + beanName + "]的类不存在：" + beanDefinition.getBeanClassName(), e);
         }
         return new BeanWrapper(instance);
     }
 
     /**
-     * 根据名称获取Bean
+     * 通过Bean对象的类从IoC容器中获取Bean
      *
-     * @param beanName Bean对象名称
+     * @param requiredType Bean对象的类
      * @return Bean对象
      */
-    private Object getSingleton(String beanName) {
-        return getSingleton(beanName, true);
-    }
-
-    /**
-     * 根据名称获取Bean
-     *
-     * @param beanName            Bean对象名称
-     * @param allowEarlyReference 是否允许创建早期引用，为true则当二级缓存中不存在时会调用三级缓存中的对象工厂创建
-     * @return
-     */
-    private Object getSingleton(String beanName, boolean allowEarlyReference) {
-        // 1.从一级缓存中获取对象，一级缓存中存放的完整的bean，即初始化完成的bean
-        // 从一级缓存中获取（用于避免获取不完整bean的时候来避免反复创建bean）
-        Object singletonObject = this.singletonObjects.get(beanName);
-        // 1.1 如果一级缓存中没有，并且正在创建，说明存在循环依赖
-        if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
-            synchronized (this.singletonObjects) {
-                // 2. 从二级缓存中获取，如果此时bean中存在AOP，则获取到的就是代理的只实例化而未初始化的bean（不完整bean）
-                // 如果不存在AOP，则返回普通的不完整bean，其作用就是避免某一个bean存在多次循环依赖而创建多次代理bean的情况
-                singletonObject = this.earlySingletonObjects.get(beanName);
-                // 3.如果二级缓存中不存在，则从三级缓存中获取bean
-                if (singletonObject == null && allowEarlyReference) {
-                    // 3.1 根据beanName从三级缓存中获取，此处不是获取bean对象
-                    ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
-                    if (singletonFactory != null) {
-                        // 3.2 三级缓存中value存放的并不是bean对象，而是函数式接口，用于回调
-                        // 此处调用getObject()方法，就是判断是否要创建动态代理，是，则实例化代理bean，否，则实例化普通bean
-                        singletonObject = singletonFactory.getObject();
-                        // 3.3 将创建的不完整bean放入二级缓存中，下次先在二级缓存中拿，避免重复
-                        this.earlySingletonObjects.put(beanName, singletonObject);
-                        // 3.4 三级缓存的回调作用已完成，进行移除
-                        this.singletonFactories.remove(beanName);
-                    }
-                }
+    @Override
+    public <T> T getBean(Class<T> requiredType) {
+        FrozenBeanTable frozen = this.frozenBeansByType;
+        if (frozen != null) {
+            Object bean = frozen.get(requiredType.getName());
+            if (bean != null) {
+                return requiredType.cast(bean);
             }
         }
-        return singletonObject;
+        // 类型索引在注册时已经建立，这里只有一次HashMap查询
+        List<String> beanNameList = this.registry.getBeanNamesForType(requiredType);
+        if (beanNameList.isEmpty()) {
+            throw new RuntimeException("没有" + requiredType.getName() + "类型的对象！");
+        }
+        if (beanNameList.size() > 1) {
+            throw new RuntimeException(String.format("有%d个该类型的对象！", beanNameList.size()));
+        }
+        return requiredType.cast(getBean(beanNameList.get(0)));
     }
 
     /**
-     * 根据名称获取Bean
+     * 获取按名称预先解析好的Bean句柄，反复获取同一个Bean时保存句柄，代替每次调用getBean
      *
-     * @param beanName         Bean名称
-     * @param singletonFactory Bean不存在时则会调用该函数式接口进行创建
-     * @return Bean对象
+     * @param beanName Bean的名称
+     * @return Bean句柄
+     * @see ObjectProvider
      */
-    private Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
-        synchronized (this.singletonObjects) {
-            // 1.先判断一级缓存中是否存在该bean，如果存在，不做任何操作，直接返回bean对象
-            Object singletonObject = this.singletonObjects.get(beanName);
-            // 1.1 如果一级缓存中没有
-            if (singletonObject == null) {
-                // 2.根据beanName判断是否在正在创建列表中，即是否正在创建
-                if (isSingletonCurrentlyInCreation(beanName)) {
-                    throw new RuntimeException("该bean正在被创建中！");
-                }
-                // 3.标记bean [A]正在创建
-                // 将 beanName 添加到 Set 容器 singletonsCurrentlyInCreation 中，这个集合中存放的都是正在实例化的 bean
-                // 标记bean正在创建
-                singletonsCurrentlyInCreation.add(beanName);
-                boolean newSingleton = false;
-                try {
-                    // 4.调用函数式接口的getObject()方法，即调用外层的createBean方法
-                    singletonObject = singletonFactory.getObject();
-                    newSingleton = true;
-                } catch (IllegalStateException ex) {
-                    singletonObject = this.singletonObjects.get(beanName);
-                    if (singletonObject == null) {
-                        throw ex;
-                    }
-                } finally {
-                    singletonsCurrentlyInCreation.remove(beanName);
-                }
-                if (newSingleton) {
-                    // 5.将bean加入到缓存中
-                    addSingleton(beanName, singletonObject);
+    public ObjectProvider<Object> getBeanProvider(String beanName) {
+        return getBeanProvider(beanName, Object.class);
+    }
+
+    /**
+     * 获取按类型预先解析好的Bean句柄，该类型必须只有一个Bean
+     *
+     * @param requiredType Bean对象的类
+     * @return Bean句柄
+     * @see ObjectProvider
+     */
+    public <T> ObjectProvider<T> getBeanProvider(Class<T> requiredType) {
+        List<String> beanNameList = this.registry.getBeanNamesForType(requiredType);
+        if (beanNameList.isEmpty()) {
+            throw new RuntimeException("没有" + requiredType.getName() + "类型的对象！");
+        }
+        if (beanNameList.size() > 1) {
+            throw new RuntimeException(String.format("有%d个该类型的对象！", beanNameList.size()));
+        }
+        return getBeanProvider(beanNameList.get(0), requiredType);
+    }
+
+    private <T> ObjectProvider<T> getBeanProvider(String beanName, Class<T> requiredType) {
+        BeanDefinition beanDefinition = registry.beanDefinitionMap.get(beanName);
+        if (beanDefinition == null) {
+            throw new RuntimeException("没有名为" + beanName + "的对象！");
+        }
+        FrozenBeanTable frozen = this.frozenBeans;
+        if (frozen == null || !beanDefinition.isSingleton()) {
+            // 未冻结时单例可能被增量刷新替换，原型和其他作用域每次都要重新获取
+            return () -> requiredType.cast(getBean(beanName));
+        }
+        Object bean = frozen.get(beanName);
+        if (bean != null) {
+            T resolved = requiredType.cast(bean);
+            return () -> resolved;
+        }
+        // 懒加载的单例，第一次调用时创建
+        return new ObjectProvider<T>() {
+
+            private volatile T resolved;
+
+            @Override
+            public T getObject() {
+                T object = this.resolved;
+                if (object == null) {
+                    object = requiredType.cast(getBean(beanName));
+                    this.resolved = object;
                 }
+                return object;
             }
-            return singletonObject;
-        }
+        };
     }
 
     /**
-     * 添加单例Bean对象到一级缓存，移除二三级缓存
+     * 获取所有可以赋值给该类型的BeanName，同一个实现类只返回一个BeanName
      *
-     * @param beanName        Bean名称
-     * @param singletonObject 单例Bean对象
+     * @param type 类、父类或接口
+     * @return BeanName集合，不存在时返回空集合
      */
-    private void addSingleton(String beanName, Object singletonObject) {
-        synchronized (this.singletonObjects) {
-            this.singletonObjects.put(beanName, singletonObject);
-            this.singletonFactories.remove(beanName);
-            this.earlySingletonObjects.remove(beanName);
-        }
+    @Override
+    public List<String> getBeanNamesForType(Class<?> type) {
+        return this.registry.getBeanNamesForType(type);
     }
 
     /**
-     * 该Bean对象是否正在创建中
+     * 获取所有可以赋值给该类型的Bean
      *
-     * @param beanName Bean名称
-     * @return 是否正在创建中
+     * @param type 类、父类或接口
+     * @return Key为BeanName，Value为Bean对象
      */
-    private boolean isSingletonCurrentlyInCreation(String beanName) {
-        return this.singletonsCurrentlyInCreation.contains(beanName);
+    @Override
+    public <T> Map<String, T> getBeansOfType(Class<T> type) {
+        List<String> beanNames = this.registry.getBeanNamesForType(type);
+        Map<String, T> result = new LinkedHashMap<>(beanNames.size() * 2);
+        for (String beanName : beanNames) {
+            result.put(beanName, type.cast(getBean(beanName)));
+        }
+        return result;
     }
 
     /**
-     * 通过Bean对象的类从IoC容器中获取Bean
+     * 获取实现类上标注了该注解的BeanName，同一个实现类只返回一个BeanName
      *
-     * @param requiredType Bean对象的类
-     * @return Bean对象
+     * @param annotationType 注解
+     * @return BeanName集合，不存在时返回空集合
      */
     @Override
-    public <T> T getBean(Class<T> requiredType) {
-        List<String> beanNameList = new ArrayList<>();
-        for (BeanDefinition beanDefinition : this.registry.beanDefinitionMap.values()) {
-            if (beanDefinition.getBeanClassName().equals(requiredType.getName())) {
-                beanNameList.add(beanDefinition.getFactoryBeanName());
+    public List<String> getBeanNamesForAnnotation(Class<? extends Annotation> annotationType) {
+        List<String> result = new ArrayList<>();
+        Set<String> classNames = new HashSet<>();
+        for (Map.Entry<String, BeanDefinition> entry : this.registry.beanDefinitionMap.entrySet()) {
+            if (classNames.add(entry.getValue().getInstanceKey()) && getType(entry.getKey()).isAnnotationPresent(annotationType)) {
+                result.add(entry.getKey());
             }
         }
-        if (beanNameList.size() > 1) {
-            throw new RuntimeException(String.format("有%d个该类型的对象！", beanNameList.size()));
+        return result;
+    }
+
+    /**
+     * 获取Bean的实现类，不会创建Bean
+     *
+     * @param beanName Bean的名称
+     * @return 实现类
+     */
+    @Override
+    public Class<?> getType(String beanName) {
+        BeanDefinition beanDefinition = this.registry.beanDefinitionMap.get(beanName);
+        if (beanDefinition == null) {
+            throw new RuntimeException("没有名为" + beanName + "的对象！");
+        }
+        try {
+            return Class.forName(beanDefinition.getBeanClassName());
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException("Bean[" + beanName + "]的类不存在：" + beanDefinition.getBeanClassName(), e);
         }
-        return (T) getBean(beanNameList.get(0));
     }
 
     /**
@@ -333,32 +690,1007 @@ public class ApplicationContext implements BeanFactory {
      * @param configLocations 配置文件
      */
     public ApplicationContext(String... configLocations) {
-        // 1、加载配置文件
+        // 1、加载配置文件，此时还不知道是否需要记录启动步骤，先自己计时
+        long configStart = System.nanoTime();
         reader = new BeanDefinitionReader(configLocations);
+        long configNanos = System.nanoTime() - configStart;
+        this.singletonStore = new SingletonStore(null, reader.getEnvironment(), new ConcurrentHashMap<>(256), Collections.emptyMap());
+        this.applicationStartup = createApplicationStartup(reader.getEnvironment());
+        if (this.applicationStartup instanceof BufferingApplicationStartup) {
+            ((BufferingApplicationStartup) this.applicationStartup).record("context.config", configStart, configNanos)
+                    .tag("location", configLocations[0])
+                    .tag("profiles", String.join(",", reader.getEnvironment().getActiveProfiles()));
+        }
+        reader.setApplicationStartup(this.applicationStartup);
+        this.scopes.put(SimpleThreadScope.SCOPE_THREAD, new SimpleThreadScope());
+        this.scopes.put(RequestScope.SCOPE_REQUEST, new RequestScope());
 
+        StartupStep refreshStep = this.applicationStartup.start("context.refresh");
         try {
-            // 2、解析配置文件，将所有的配置信息封装成BeanDefinition对象
-            List<BeanDefinition> beanDefinitions = reader.loadBeanDefinitions();
-            // 3、所有的配置信息缓存起来
-            this.registry.doRegisterBeanDefinition(beanDefinitions);
-            // 4、加载非延时加载的所有的Bean
-            doLoadInstance();
+            AotSnapshot snapshot = loadAotSnapshot();
+            if (snapshot != null) {
+                // 2、3、构建期已经完成扫描和解析，直接使用快照
+                StartupStep step = this.applicationStartup.start("context.aot.apply");
+                applyAotSnapshot(snapshot);
+                step.tag("beanDefinitionCount", String.valueOf(snapshot.getBeanDefinitions().size())).end();
+            } else {
+                // 2、解析配置文件，将所有的配置信息封装成BeanDefinition对象
+                StartupStep step = this.applicationStartup.start("context.beanDefinitions.load");
+                List<BeanDefinition> beanDefinitions = reader.loadBeanDefinitions();
+                step.tag("beanDefinitionCount", String.valueOf(beanDefinitions.size())).end();
+                // 3、所有的配置信息缓存起来
+                step = this.applicationStartup.start("context.beanDefinitions.register");
+                this.registry.doRegisterBeanDefinition(beanDefinitions);
+                step.end();
+            }
+            registerDataSource();
+            // 注册完成后冻结，类型索引变为不可变
+            this.registry.freezeConfiguration();
+            // 4、先创建所有切面，之后创建的Bean才能被代理
+            StartupStep step = this.applicationStartup.start("context.advisors.register");
+            registerAdvisors();
+            step.end();
+            // 5、加载非延时加载的所有的Bean
+            step = this.applicationStartup.start("context.singletons.instantiate");
+            doLoadInstance(step);
+            step.end();
+            // 6、收集监听器，之后发布的事件才能被分发
+            step = this.applicationStartup.start("context.listeners.register");
+            replayStartupCreatedEvents(createEventMulticaster());
+            step.end();
+            // 7、启动定时任务
+            if (Boolean.parseBoolean(reader.getEnvironment().getProperty(TaskScheduler.SCHEDULING_ENABLED))) {
+                step = this.applicationStartup.start("context.scheduling.start");
+                this.taskScheduler = createTaskScheduler();
+                step.tag("taskCount", String.valueOf(this.taskScheduler.getScheduledTasks().size())).end();
+            }
+            publishEvent(new ContextRefreshedEvent(this));
+            if (Boolean.parseBoolean(reader.getEnvironment().getProperty(CONTEXT_FREEZE))) {
+                step = this.applicationStartup.start("context.freeze");
+                freeze();
+                step.tag("singletonCount", String.valueOf(this.frozenBeans.size())).end();
+            }
+            if (Boolean.parseBoolean(reader.getEnvironment().getProperty(SHUTDOWN_HOOK))) {
+                registerShutdownHook();
+            }
         } catch (Exception e) {
-            e.printStackTrace();
+            // 启动失败时不能返回一个不完整的容器，已经启动的线程也要停止
+            refreshStep.tag("exception", e.toString());
+            close();
+            throw new RuntimeException("容器启动失败", e);
+        } finally {
+            refreshStep.end();
+            reportStartup();
         }
     }
 
     /**
-     * 根据BeanDefinitionMap创建所有Bean对象
+     * 分发器创建之前缓存BeanCreatedEvent，和补发在同一把锁内判断，不会在补发之后再放入缓存
+     *
+     * @return 已经创建的分发器，事件已缓存时返回null
+     */
+    private ApplicationEventMulticaster bufferStartupCreatedEvent(String beanName, Object bean) {
+        synchronized (this.startupEventsLock) {
+            if (this.eventMulticaster == null) {
+                if (this.startupCreatedEvents != null) {
+                    this.startupCreatedEvents.add(new BeanCreatedEvent(this, beanName, bean));
+                }
+                return null;
+            }
+            return this.eventMulticaster;
+        }
+    }
+
+    /**
+     * 设置分发器，并按创建顺序补发启动过程中缓存的BeanCreatedEvent，之后创建的Bean直接发布
+     */
+    private void replayStartupCreatedEvents(ApplicationEventMulticaster multicaster) {
+        List<BeanCreatedEvent> events;
+        synchronized (this.startupEventsLock) {
+            this.eventMulticaster = multicaster;
+            events = this.startupCreatedEvents;
+            this.startupCreatedEvents = null;
+        }
+        if (events != null && multicaster.hasListeners(BeanCreatedEvent.class)) {
+            for (BeanCreatedEvent event : events) {
+                multicaster.multicastEvent(event);
+            }
+        }
+    }
+
+    /**
+     * 收集所有单例中的监听器，不会创建懒加载的单例，分发事件时才通过getBean获取
+     * 增量刷新不会重新收集，修改后的类中新增的监听方法需要重启容器才能生效
      */
-    private void doLoadInstance() {
-        // 循环调用getBean()方法
+    private ApplicationEventMulticaster createEventMulticaster() {
+        List<ApplicationEventMulticaster.Listener> listeners = new ArrayList<>();
+        Set<String> classNames = new HashSet<>();
         for (Map.Entry<String, BeanDefinition> entry : this.registry.beanDefinitionMap.entrySet()) {
-            String beanName = entry.getKey();
-            if (!entry.getValue().isLazyInit()) {
-                getBean(beanName);
+            if (entry.getValue().isSingleton() && classNames.add(entry.getValue().getInstanceKey())) {
+                listeners.addAll(ApplicationEventMulticaster.createListeners(this, entry.getKey(), getType(entry.getKey())));
+            }
+        }
+        return new ApplicationEventMulticaster(listeners, this.reader.getEnvironment());
+    }
+
+    /**
+     * 为所有单例中的@Scheduled方法创建定时任务，不会创建懒加载的单例
+     */
+    private TaskScheduler createTaskScheduler() {
+        TaskScheduler scheduler = new TaskScheduler(this.reader.getEnvironment(), getTaskExecutors());
+        Set<String> classNames = new HashSet<>();
+        for (Map.Entry<String, BeanDefinition> entry : this.registry.beanDefinitionMap.entrySet()) {
+            if (entry.getValue().isSingleton() && !entry.getValue().isLazyInit() && classNames.add(entry.getValue().getInstanceKey())) {
+                scheduler.scheduleAnnotatedMethods(this, entry.getKey(), getType(entry.getKey()));
             }
         }
+        return scheduler;
+    }
+
+    private synchronized TaskExecutorRegistry getTaskExecutors() {
+        if (this.taskExecutors == null) {
+            this.taskExecutors = new TaskExecutorRegistry(this.reader.getEnvironment());
+        }
+        return this.taskExecutors;
+    }
+
+    /**
+     * 获取每个线程池的排队数量、等待时间和执行时间
+     *
+     * @return 线程池统计，没有启用@Async和@Scheduled时为空
+     */
+    public Map<String, ExecutorStats> getExecutorStats() {
+        TaskExecutorRegistry executors = this.taskExecutors;
+        return executors == null ? Collections.emptyMap() : executors.getStats();
+    }
+
+    /**
+     * 获取定时任务调度器
+     *
+     * @return 调度器，没有配置task.scheduling.enabled为true时返回null
+     */
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
 
+    /**
+     * 注册JVM关闭钩子，进程退出时关闭容器；主动调用close()时会移除钩子
+     */
+    public synchronized void registerShutdownHook() {
+        if (this.shutdownHook == null && !this.closed) {
+            this.shutdownHook = new Thread(this::close, "context-shutdown-hook");
+            Runtime.getRuntime().addShutdownHook(this.shutdownHook);
+        }
+    }
+
+    /**
+     * 关闭容器，可以重复调用
+     * <ol>
+     *     <li>停止定时任务，等待线程池中已提交的任务执行完</li>
+     *     <li>停止事件分发，异步队列中的事件分发完</li>
+     *     <li>按依赖关系的逆序执行单例的@PreDestroy方法，依赖它的Bean先销毁，每个Bean最多等待shutdown.beanTimeout</li>
+     * </ol>
+     * 冻结的单例表在开始时清空，销毁完成后getBean抛出IllegalStateException，不会返回已经销毁的单例
+     */
+    @Override
+    public synchronized void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        // 冻结的单例即将销毁，之后的查找回到普通路径，销毁方法中仍然可以获取其他Bean
+        this.frozenBeans = null;
+        this.frozenBeansByType = null;
+        if (this.shutdownHook != null && Thread.currentThread() != this.shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(this.shutdownHook);
+            } catch (IllegalStateException e) {
+                // JVM正在退出，钩子已经在执行
+            }
+        }
+        if (this.taskScheduler != null) {
+            this.taskScheduler.shutdown();
+        }
+        if (this.taskExecutors != null) {
+            this.taskExecutors.shutdown();
+        }
+        if (this.eventMulticaster != null) {
+            this.eventMulticaster.close();
+        }
+        destroySingletons(this.singletonStore, snapshotDisposableBeans(this.singletonStore, null));
+        this.singletonsDestroyed = true;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 冻结容器，把已经创建的单例整理为不可变的数组，之后按名称或唯一类型获取这些单例时只查找数组，
+     * 不再经过三级缓存和创建中检查；{@link #getBeanProvider(String)}返回的句柄直接保存单例
+     * <p>
+     * 冻结后不能再增量刷新；懒加载的单例、原型和其他作用域仍然按原来的方式获取。配置context.freeze为true时启动完成后自动冻结
+     *
+     * @throws IllegalStateException 容器已经关闭
+     */
+    public synchronized void freeze() {
+        if (this.frozenBeans != null) {
+            return;
+        }
+        if (this.closed) {
+            throw new IllegalStateException("容器已经关闭，不能冻结");
+        }
+        SingletonStore store = this.singletonStore;
+        Map<String, Object> beans = new HashMap<>(this.registry.beanDefinitionMap.size() * 2);
+        for (Map.Entry<String, BeanDefinition> entry : this.registry.beanDefinitionMap.entrySet()) {
+            if (entry.getValue().isSingleton()) {
+                Object singleton = store.singletonRegistry.getSingleton(entry.getKey(), false);
+                if (singleton != null) {
+                    beans.put(entry.getKey(), singleton);
+                }
+            }
+        }
+        Map<String, Object> beansByType = new HashMap<>(beans.size() * 4);
+        for (Map.Entry<String, List<String>> entry : this.registry.getBeanNamesByType().entrySet()) {
+            if (entry.getValue().size() == 1 && beans.containsKey(entry.getValue().get(0))) {
+                beansByType.put(entry.getKey(), beans.get(entry.getValue().get(0)));
+            }
+        }
+        this.frozenBeansByType = new FrozenBeanTable(beansByType);
+        this.frozenBeans = new FrozenBeanTable(beans);
+    }
+
+    /**
+     * @return 是否已经冻结
+     */
+    public boolean isFrozen() {
+        return this.frozenBeans != null;
+    }
+
+    /**
+     * 按注册顺序复制需要销毁的单例
+     *
+     * @param store        单例缓存
+     * @param staleObjects 只复制这些对象，为null时复制全部
+     */
+    private static List<DisposableBeanAdapter> snapshotDisposableBeans(SingletonStore store, Set<Object> staleObjects) {
+        List<DisposableBeanAdapter> result = new ArrayList<>();
+        synchronized (store.disposableBeans) {
+            for (DisposableBeanAdapter disposable : store.disposableBeans.values()) {
+                if (staleObjects == null || staleObjects.contains(disposable.bean)) {
+                    result.add(disposable);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按依赖关系的逆序销毁单例：销毁一个Bean之前，先销毁所有直接或间接依赖它的Bean，其余的按创建顺序的逆序
+     * 销毁方法在单独的线程中执行，超时后中断该线程，继续销毁其他Bean
+     *
+     * @param store       单例所在的缓存，只有其中已经创建的单例参与依赖关系，它们的实例化方式和注入计划都已经缓存
+     * @param disposables 需要销毁的单例
+     */
+    private void destroySingletons(SingletonStore store, List<DisposableBeanAdapter> disposables) {
+        if (disposables.isEmpty()) {
+            return;
+        }
+        // 同一个实现类的多个BeanName共用一个实例，依赖关系按类名合并，@Bean方法按配置类和方法名合并
+        Map<String, Set<String>> dependents = new HashMap<>();
+        Set<String> instanceKeys = new HashSet<>();
+        for (String beanName : store.singletonRegistry.getSingletonNames()) {
+            BeanDefinition beanDefinition = this.registry.beanDefinitionMap.get(beanName);
+            if (beanDefinition == null || !instanceKeys.add(beanDefinition.getInstanceKey())) {
+                continue;
+            }
+            List<String> dependencies;
+            try {
+                dependencies = getDependencyBeanNames(beanDefinition);
+            } catch (RuntimeException e) {
+                System.err.println("解析Bean[" + beanName + "]的依赖关系失败，按创建顺序的逆序销毁：" + e);
+                continue;
+            }
+            for (String dependency : dependencies) {
+                BeanDefinition dependencyDefinition = this.registry.beanDefinitionMap.get(dependency);
+                if (dependencyDefinition != null) {
+                    dependents.computeIfAbsent(dependencyDefinition.getInstanceKey(), k -> new HashSet<>())
+                            .add(beanDefinition.getInstanceKey());
+                }
+            }
+        }
+        Map<String, DisposableBeanAdapter> byClassName = new LinkedHashMap<>();
+        for (DisposableBeanAdapter disposable : disposables) {
+            byClassName.put(disposable.key, disposable);
+        }
+        String timeout = this.reader.getEnvironment().getProperty(SHUTDOWN_BEAN_TIMEOUT);
+        long timeoutNanos = (timeout == null ? Duration.ofSeconds(10)
+                : (Duration) TypeConverter.forType(Duration.class, Duration.class, null).convert(timeout)).toNanos();
+        ExecutorService destroyer = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "bean-destroyer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Set<String> visited = new HashSet<>();
+            List<String> classNames = new ArrayList<>(byClassName.keySet());
+            for (int i = classNames.size() - 1; i >= 0; i--) {
+                destroyWithDependents(classNames.get(i), dependents, byClassName, visited, destroyer, timeoutNanos);
+            }
+        } finally {
+            destroyer.shutdownNow();
+        }
+    }
+
+    private void destroyWithDependents(String className, Map<String, Set<String>> dependents, Map<String, DisposableBeanAdapter> byClassName,
+                                       Set<String> visited, ExecutorService destroyer, long timeoutNanos) {
+        if (!visited.add(className)) {
+            return;
+        }
+        for (String dependent : dependents.getOrDefault(className, Collections.emptySet())) {
+            destroyWithDependents(dependent, dependents, byClassName, visited, destroyer, timeoutNanos);
+        }
+        DisposableBeanAdapter disposable = byClassName.get(className);
+        if (disposable == null) {
+            return;
+        }
+        Future<?> future = destroyer.submit(() -> disposable.lifecycle.invokeDestroyMethods(disposable.bean, disposable.beanName));
+        try {
+            future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            System.err.println("Bean[" + disposable.beanName + "]的销毁方法超时，已中断");
+        } catch (ExecutionException e) {
+            System.err.println("Bean[" + disposable.beanName + "]销毁失败：" + e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 发布事件，监听器按事件的类型匹配；配置了event.async时异步分发
+     *
+     * @param event ApplicationEvent或任意对象
+     */
+    @Override
+    public void publishEvent(Object event) {
+        ApplicationEventMulticaster multicaster = this.eventMulticaster;
+        if (multicaster == null) {
+            throw new IllegalStateException("容器还没有启动完成，不能发布事件！");
+        }
+        multicaster.multicastEvent(event);
+    }
+
+    /**
+     * 获取事件分发器，启动完成前返回null
+     *
+     * @return 事件分发器
+     */
+    public ApplicationEventMulticaster getEventMulticaster() {
+        return eventMulticaster;
+    }
+
+    /**
+     * 获取缓存管理器，可以查看每个缓存的命中、未命中、淘汰次数
+     *
+     * @return 缓存管理器，没有配置cache.enabled为true时返回null
+     */
+    public CacheManager getCacheManager() {
+        return cacheManager;
+    }
+
+    /**
+     * 获取事务管理器，可以查看每个事务方法的提交、回滚次数和耗时
+     *
+     * @return 事务管理器，容器中没有连接池或配置transaction.enabled为false时返回null
+     */
+    public TransactionManager getTransactionManager() {
+        return transactionManager;
+    }
+
+    /**
+     * 配置startup.recording为true时记录启动步骤，同时提交JFR事件
+     */
+    private ApplicationStartup createApplicationStartup(Environment config) {
+        if (Boolean.parseBoolean(config.getProperty(STARTUP_RECORDING))) {
+            return new BufferingApplicationStartup(true);
+        }
+        return ApplicationStartup.DEFAULT;
+    }
+
+    /**
+     * 输出启动报告，配置了startup.report.file时同时导出JSON，之后不再记录新的步骤
+     */
+    private void reportStartup() {
+        if (!(this.applicationStartup instanceof BufferingApplicationStartup)) {
+            return;
+        }
+        BufferingApplicationStartup startup = (BufferingApplicationStartup) this.applicationStartup;
+        startup.stopRecording();
+        startup.printReport(System.out, 10);
+        String reportFile = this.reader.getEnvironment().getProperty(STARTUP_REPORT_FILE);
+        if (reportFile != null) {
+            try {
+                Files.write(Paths.get(reportFile.trim()), startup.toJson().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                System.err.println("导出启动报告失败：" + e);
+            }
+        }
+    }
+
+    /**
+     * 获取合并后的配置，包括激活的Profile对应的配置文件
+     *
+     * @return 配置
+     */
+    public Environment getEnvironment() {
+        return currentStore().environment;
+    }
+
+    /**
+     * 获取启动步骤记录，没有开启startup.recording时不做任何记录，开启时只记录到容器启动完成
+     *
+     * @return 启动步骤记录
+     */
+    public ApplicationStartup getApplicationStartup() {
+        return applicationStartup;
+    }
+
+    /**
+     * 增量刷新，只重新创建发生变化的类对应的Bean以及（间接）依赖它们的Bean，其他单例保持不变
+     * <ul>
+     *     <li>同时重新读取配置文件，@Value解析结果发生变化的类同样视为发生变化</li>
+     *     <li>沿依赖关系反向查找受影响的Bean，包括@Lazy注入点，因为代理会缓存单例目标</li>
+     *     <li>受影响的单例由刷新线程创建到新的缓存中，未受影响的单例直接复用；全部创建成功后一次替换，
+     *     其他线程的getBean在替换前拿到的都是旧的Bean，之后都是新的Bean，不会看到新旧混合的依赖关系</li>
+     *     <li>任何一个Bean创建失败时不做替换，容器继续使用刷新前的Bean和配置</li>
+     * </ul>
+     * 类需要已经被重新定义（调试器HotSwap或Instrumentation），这里只丢弃容器缓存的实例化方式、注入计划和代理类；
+     * 新增的类不会被扫描，@Scope、@Lazy的修改不会生效，线程、请求作用域中已有的对象在作用域结束前不会更新
+     *
+     * @param changedClassNames 发生变化的类的全类名，不是Bean的类会被忽略
+     * @return 受影响的BeanName，其中已经创建的单例被重新创建，其他的只丢弃缓存
+     * @throws IllegalStateException 容器已经冻结
+     */
+    public synchronized Set<String> refresh(Set<String> changedClassNames) {
+        if (this.frozenBeans != null) {
+            throw new IllegalStateException("容器已经冻结，不能增量刷新");
+        }
+        StartupStep step = this.applicationStartup.start("context.refresh.incremental");
+        Environment oldEnvironment = this.reader.getEnvironment();
+        try {
+            Environment environment = this.reader.reloadEnvironment();
+            Set<String> changed = new HashSet<>(changedClassNames);
+            changed.addAll(getClassesWithChangedValues(oldEnvironment, environment));
+            Set<String> affected = getAffectedBeanNames(changed);
+            step.tag("changedClassCount", String.valueOf(changed.size()))
+                    .tag("affectedBeanCount", String.valueOf(affected.size()));
+            for (String beanName : this.registry.getBeanNamesForType(Advisor.class)) {
+                if (affected.contains(beanName)) {
+                    throw new IllegalArgumentException("切面[" + beanName + "]受到影响，需要重启容器！");
+                }
+            }
+
+            // 新的配置、注入计划、实例化方式和代理对象都放在新的缓存中，和单例一起生效，失败时直接丢弃
+            rebuildSingletons(environment, changed, affected);
+            this.reader.setEnvironment(environment);
+            return affected;
+        } catch (RuntimeException e) {
+            step.tag("exception", e.toString());
+            throw new RuntimeException("增量刷新失败，继续使用刷新前的Bean", e);
+        } finally {
+            step.end();
+        }
+    }
+
+    /**
+     * 找出Bean的类中，@Value在新配置下解析结果不同的类
+     */
+    private Set<String> getClassesWithChangedValues(Environment oldEnvironment, Environment environment) {
+        Set<String> result = new HashSet<>();
+        SingletonStore store = this.singletonStore;
+        // 还没有创建过的Bean的注入计划也按旧配置解析，否则查找受影响的Bean时缓存下来的旧值会被复制到新的缓存中
+        for (BeanDefinition beanDefinition : this.registry.beanDefinitionMap.values()) {
+            try {
+                getInjectionMetadata(store, Class.forName(beanDefinition.getBeanClassName()));
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException("Bean的类不存在：" + beanDefinition.getBeanClassName(), e);
+            }
+        }
+        for (Map.Entry<Class<?>, InjectionMetadata> entry : store.injectionMetadataCache.entrySet()) {
+            for (InjectionMetadata.InjectedElement element : entry.getValue().getInjectedElements()) {
+                if (element instanceof InjectionMetadata.ValueElement
+                        && !resolvesEqually(((InjectionMetadata.ValueElement) element).getExpression(), oldEnvironment, environment)) {
+                    result.add(entry.getKey().getName());
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean resolvesEqually(String expression, Environment oldEnvironment, Environment environment) {
+        try {
+            return oldEnvironment.resolvePlaceholders(expression).equals(environment.resolvePlaceholders(expression));
+        } catch (IllegalArgumentException e) {
+            // 新配置中无法解析，重新创建时会报告具体的错误
+            return false;
+        }
+    }
+
+    /**
+     * 从发生变化的类出发，沿依赖关系反向查找所有受影响的BeanName，同一个实现类的多个BeanName一起受影响
+     *
+     * @param changedClassNames 发生变化的类的全类名
+     * @return 受影响的BeanName，按注册顺序排列
+     */
+    private Set<String> getAffectedBeanNames(Set<String> changedClassNames) {
+        Map<String, List<String>> beanNamesByClass = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        Map<String, List<String>> beanNamesByInstance = new HashMap<>();
+        for (Map.Entry<String, BeanDefinition> entry : this.registry.beanDefinitionMap.entrySet()) {
+            BeanDefinition beanDefinition = entry.getValue();
+            beanNamesByClass.computeIfAbsent(beanDefinition.getBeanClassName(), k -> new ArrayList<>()).add(entry.getKey());
+            if (beanDefinition.isFactoryMethod()) {
+                // 配置类变化时@Bean方法也可能变化
+                beanNamesByClass.computeIfAbsent(beanDefinition.getFactoryMethodClassName(), k -> new ArrayList<>()).add(entry.getKey());
+            }
+            beanNamesByInstance.computeIfAbsent(beanDefinition.getInstanceKey(), k -> new ArrayList<>()).add(entry.getKey());
+            for (String dependency : getAllDependencyBeanNames(entry.getValue())) {
+                dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+        Deque<String> queue = new ArrayDeque<>();
+        for (String className : changedClassNames) {
+            queue.addAll(beanNamesByClass.getOrDefault(className, Collections.emptyList()));
+        }
+        Set<String> visited = new HashSet<>();
+        while (!queue.isEmpty()) {
+            String beanName = queue.poll();
+            if (visited.add(beanName)) {
+                queue.addAll(beanNamesByInstance.get(this.registry.beanDefinitionMap.get(beanName).getInstanceKey()));
+                queue.addAll(dependents.getOrDefault(beanName, Collections.emptyList()));
+            }
+        }
+        Set<String> affected = new LinkedHashSet<>();
+        for (String beanName : this.registry.beanDefinitionMap.keySet()) {
+            if (visited.contains(beanName)) {
+                affected.add(beanName);
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * 获取Bean依赖的所有BeanName，包括@Lazy注入点
+     */
+    private List<String> getAllDependencyBeanNames(BeanDefinition beanDefinition) {
+        try {
+            SingletonStore store = this.singletonStore;
+            List<String> result = new ArrayList<>(getInstantiator(store, beanDefinition).getDependencyBeanNames());
+            for (InjectionMetadata.InjectedElement element
+                    : getInjectionMetadata(store, Class.forName(beanDefinition.getBeanClassName())).getInjectedElements()) {
+                if (element.getDependencyBeanName() != null) {
+                    result.add(element.getDependencyBeanName());
+                }
+            }
+            return result;
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 基于当前的缓存创建新的缓存，丢弃发生变化的类的注入计划、实例化方式，以及受影响的单例的代理对象，
+     * 这些只在新的缓存中重新解析，刷新完成前其他线程仍然使用旧的
+     *
+     * @param current           当前的缓存
+     * @param environment       新的配置
+     * @param changedClassNames 发生变化的类的全类名
+     * @param affected          受影响的BeanName
+     * @param proxyKeys         输出受影响的单例的代理对象Key
+     * @return 刷新线程使用的缓存
+     */
+    private SingletonStore createStagingStore(SingletonStore current, Environment environment, Set<String> changedClassNames,
+                                              Set<String> affected, Set<String> proxyKeys) throws ClassNotFoundException {
+        Map<Class<?>, InjectionMetadata> injectionMetadataCache = new ConcurrentHashMap<>(current.injectionMetadataCache);
+        injectionMetadataCache.keySet().removeIf(clazz -> changedClassNames.contains(clazz.getName()));
+        Map<String, BeanInstantiator> instantiators = new ConcurrentHashMap<>(current.instantiators);
+        for (String beanName : affected) {
+            BeanDefinition beanDefinition = this.registry.beanDefinitionMap.get(beanName);
+            if (changedClassNames.contains(beanDefinition.getFactoryMethodClassName())
+                    || changedClassNames.contains(beanDefinition.getBeanClassName())) {
+                instantiators.put(beanDefinition.getInstanceKey(), this.instantiationStrategy.resolveInstantiator(beanDefinition));
+            }
+            if (changedClassNames.contains(beanDefinition.getBeanClassName())) {
+                this.autoProxyCreator.removeProxyClass(Class.forName(beanDefinition.getBeanClassName()));
+            }
+            if (beanDefinition.isSingleton()) {
+                proxyKeys.add(getProxyCacheKey(beanDefinition));
+            }
+        }
+        return new SingletonStore(Thread.currentThread(), environment, injectionMetadataCache, instantiators);
+    }
+
+    /**
+     * 在新的缓存中重新创建受影响的单例，未受影响的单例直接复制过去，全部完成后替换当前的缓存
+     */
+    private void rebuildSingletons(Environment environment, Set<String> changedClassNames, Set<String> affected) {
+        SingletonStore current = this.singletonStore;
+        Set<String> proxyKeys = new HashSet<>();
+        SingletonStore staging;
+        try {
+            staging = createStagingStore(current, environment, changedClassNames, affected, proxyKeys);
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException("发生变化的类不存在：" + e.getMessage(), e);
+        }
+        // 受影响的旧对象，包括原始对象和代理对象，不能复制到新的缓存中
+        Set<Object> staleObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<String> rebuildBeanNames = new ArrayList<>();
+        for (String beanName : affected) {
+            Object singleton = current.singletonRegistry.getSingleton(beanName, false);
+            if (singleton != null) {
+                staleObjects.add(singleton);
+                rebuildBeanNames.add(beanName);
+            }
+            Object raw = current.factoryBeanObjectCache.get(this.registry.beanDefinitionMap.get(beanName).getInstanceKey());
+            if (raw != null) {
+                staleObjects.add(raw);
+            }
+        }
+        copySingletons(current, staging, affected, proxyKeys, staleObjects);
+
+        this.stagingStore = staging;
+        try {
+            for (String beanName : rebuildBeanNames) {
+                getBean(beanName);
+            }
+            // 刷新期间其他线程在旧的缓存中创建的单例
+            copySingletons(current, staging, affected, proxyKeys, staleObjects);
+            this.singletonStore = staging;
+        } catch (RuntimeException e) {
+            // 刷新失败，继续使用旧的对象，销毁这次新创建的对象
+            Set<Object> created = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (DisposableBeanAdapter disposable : snapshotDisposableBeans(staging, null)) {
+                created.add(disposable.bean);
+            }
+            for (DisposableBeanAdapter disposable : snapshotDisposableBeans(current, null)) {
+                created.remove(disposable.bean);
+            }
+            destroySingletons(staging, snapshotDisposableBeans(staging, created));
+            throw e;
+        } finally {
+            this.stagingStore = null;
+        }
+        // 新的单例已经生效，销毁被替换掉的旧对象
+        destroySingletons(current, snapshotDisposableBeans(current, staleObjects));
+    }
+
+    private void copySingletons(SingletonStore from, SingletonStore to, Set<String> affected, Set<String> proxyKeys,
+                                Set<Object> staleObjects) {
+        for (String beanName : from.singletonRegistry.getSingletonNames()) {
+            if (!affected.contains(beanName) && !to.singletonRegistry.containsSingleton(beanName)) {
+                Object singleton = from.singletonRegistry.getSingleton(beanName, false);
+                if (singleton != null) {
+                    to.singletonRegistry.addSingleton(beanName, singleton);
+                }
+            }
+        }
+        for (Map.Entry<String, Object> entry : from.factoryBeanObjectCache.entrySet()) {
+            if (!staleObjects.contains(entry.getValue())) {
+                to.factoryBeanObjectCache.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+        for (DisposableBeanAdapter disposable : snapshotDisposableBeans(from, null)) {
+            if (!staleObjects.contains(disposable.bean)) {
+                to.disposableBeans.putIfAbsent(disposable.key, disposable);
+            }
+        }
+        for (Map.Entry<String, Object> entry : from.singletonProxies.entrySet()) {
+            if (!proxyKeys.contains(entry.getKey()) && !staleObjects.contains(entry.getValue())) {
+                to.singletonProxies.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * 读取AOT快照，快照不是为当前容器生成的（配置文件、扫描包、Profile或条件注解的输入不同）或者候选类重新编译过时忽略，
+     * 忽略的原因记录在context.aot.load步骤中
+     *
+     * @return 快照，不存在或不适用时返回null
+     * @throws IllegalStateException 快照文件损坏或版本不一致，需要重新生成或配置aot.ignore=true
+     */
+    private AotSnapshot loadAotSnapshot() {
+        if (Boolean.parseBoolean(this.reader.getEnvironment().getProperty(AOT_IGNORE))) {
+            return null;
+        }
+        StartupStep step = this.applicationStartup.start("context.aot.load");
+        try {
+            AotSnapshot snapshot = AotSnapshot.load(this.getClass().getClassLoader());
+            if (snapshot == null) {
+                step.tag("found", "false");
+                return null;
+            }
+            String mismatch = snapshot.checkContext(this.reader.getConfigLocation(), this.reader.getEnvironment(),
+                    this.getClass().getClassLoader());
+            if (mismatch != null) {
+                step.tag("skipped", mismatch);
+                return null;
+            }
+            return snapshot;
+        } catch (IOException e) {
+            throw new IllegalStateException("读取AOT快照" + AotSnapshot.SNAPSHOT_LOCATION + "失败，需要重新生成快照或配置"
+                    + AOT_IGNORE + "=true", e);
+        } finally {
+            step.end();
+        }
+    }
+
+    /**
+     * 使用AOT快照注册BeanDefinition，并直接生成每个类的实例化方式和注入计划
+     * 只按快照中记录的名称取出构造方法和属性，不再遍历类的成员和注解
+     *
+     * @param snapshot AOT快照
+     */
+    private void applyAotSnapshot(AotSnapshot snapshot) throws Exception {
+        this.registry.doRegisterBeanDefinition(snapshot.getBeanDefinitions(), snapshot.getBeanNamesByType());
+        // 同一个实现类的多个BeanName共用一个实例化方式
+        Map<String, BeanInstantiator> instantiators = new HashMap<>();
+        for (BeanDefinition beanDefinition : snapshot.getBeanDefinitions()) {
+            String instanceKey = beanDefinition.getInstanceKey();
+            BeanInstantiator instantiator = instantiators.get(instanceKey);
+            if (instantiator == null) {
+                AotSnapshot.ClassPlan plan = snapshot.getClassPlan(instanceKey);
+                Class<?> beanClass = Class.forName(beanDefinition.getBeanClassName());
+                if (beanDefinition.isFactoryMethod()) {
+                    // 返回值类型可能和实际的类不同，也可能和扫描到的类相同，注入计划按实际的类在创建时解析
+                    instantiator = plan.toFactoryMethodInstantiator(beanDefinition, this.instantiationStrategy);
+                } else {
+                    instantiator = plan.toInstantiator(beanClass, this.instantiationStrategy);
+                    this.singletonStore.injectionMetadataCache.put(beanClass,
+                            plan.toInjectionMetadata(beanClass, this.registry, this.singletonStore.environment));
+                }
+                instantiators.put(instanceKey, instantiator);
+            }
+            beanDefinition.setResolvedInstantiator(instantiator);
+        }
+        this.creationOrder = snapshot.getCreationOrder();
+    }
+
+    /**
+     * 配置了datasource.url且没有自定义的数据源时，注册连接池dataSource和jdbcTemplate
+     */
+    private void registerDataSource() throws Exception {
+        String url = this.reader.getEnvironment().getProperty(PooledDataSource.DATASOURCE_URL);
+        if (url == null || url.isEmpty() || !this.registry.getBeanNamesForType(DataSource.class).isEmpty()) {
+            return;
+        }
+        List<BeanDefinition> beanDefinitions = new ArrayList<>(2);
+        beanDefinitions.add(newBeanDefinition("dataSource", PooledDataSource.class));
+        if (this.registry.getBeanNamesForType(JdbcTemplate.class).isEmpty()) {
+            beanDefinitions.add(newBeanDefinition("jdbcTemplate", JdbcTemplate.class));
+        }
+        this.registry.doRegisterBeanDefinition(beanDefinitions);
+    }
+
+    /**
+     * 优先使用名为dataSource的连接池，否则使用唯一的连接池
+     */
+    private PooledDataSource findPooledDataSource() {
+        List<String> beanNames = this.registry.getBeanNamesForType(PooledDataSource.class);
+        if (beanNames.isEmpty()) {
+            return null;
+        }
+        String beanName = beanNames.contains("dataSource") ? "dataSource" : beanNames.size() == 1 ? beanNames.get(0) : null;
+        if (beanName == null) {
+            throw new IllegalStateException("存在多个连接池且没有名为dataSource的连接池，无法确定@Transactional使用的连接池：" + beanNames);
+        }
+        return (PooledDataSource) getBean(beanName);
+    }
+
+    private static BeanDefinition newBeanDefinition(String beanName, Class<?> beanClass) {
+        BeanDefinition beanDefinition = new BeanDefinition();
+        beanDefinition.setFactoryBeanName(beanName);
+        beanDefinition.setBeanClassName(beanClass.getName());
+        return beanDefinition;
+    }
+
+    /**
+     * 创建容器中所有的Advisor，Advisor以及它依赖的Bean不会被代理
+     */
+    private void registerAdvisors() {
+        for (String beanName : this.registry.getBeanNamesForType(Advisor.class)) {
+            this.autoProxyCreator.addAdvisor((Advisor) getBean(beanName));
+        }
+        Environment config = this.reader.getEnvironment();
+        if (Boolean.parseBoolean(config.getProperty(AsyncAdvisor.ASYNC_ENABLED))) {
+            this.autoProxyCreator.addAdvisor(new AsyncAdvisor(getTaskExecutors(), config));
+        }
+        // 事务在异步切面之内，异步方法在线程池的线程中开启事务并绑定连接
+        PooledDataSource dataSource = findPooledDataSource();
+        if (dataSource != null && Boolean.parseBoolean(config.getProperty(TransactionManager.TRANSACTION_ENABLED, "true"))) {
+            this.transactionManager = new TransactionManager(dataSource);
+            this.autoProxyCreator.addAdvisor(new TransactionAdvisor(this.transactionManager));
+        }
+        // 缓存切面最后注册，位于拦截器链的最内层，命中时其他拦截器照常执行，异步方法在线程池中读取缓存
+        if (Boolean.parseBoolean(config.getProperty(CacheManager.CACHE_ENABLED))) {
+            this.cacheManager = new CacheManager(config);
+            this.autoProxyCreator.addAdvisor(new CacheAdvisor(this.cacheManager));
+        }
+    }
+
+    /**
+     * 根据BeanDefinitionMap创建所有Bean对象
+     *
+     * @param step context.singletons.instantiate步骤，并行创建时记录分组数量和加速比
+     */
+    private void doLoadInstance(StartupStep step) throws Exception {
+        if (Boolean.parseBoolean(this.reader.getEnvironment().getProperty(PRE_INSTANTIATION_PARALLEL))) {
+            doLoadInstanceInParallel(step);
+            return;
+        }
+        // 循环调用getBean()方法，有AOT快照时按快照中的顺序创建
+        Iterable<String> beanNames = this.creationOrder != null ? this.creationOrder : this.registry.beanDefinitionMap.keySet();
+        for (String beanName : beanNames) {
+            if (isPreInstantiated(this.registry.beanDefinitionMap.get(beanName))) {
+                getBean(beanName);
+            }
+        }
+
+    }
+
+    /**
+     * 启动时只创建非懒加载的单例Bean，其他作用域在getBean时创建
+     */
+    private boolean isPreInstantiated(BeanDefinition beanDefinition) {
+        return beanDefinition.isSingleton() && !beanDefinition.isLazyInit();
+    }
+
+    /**
+     * 按依赖图并行创建所有Bean对象
+     * <p>
+     * 每个分组在它依赖的分组全部创建完成后才开始，所以创建时依赖都已经在一级缓存中；
+     * 循环依赖的Bean在同一个分组中由一个线程创建，三级缓存的语义保持不变
+     *
+     * @param step 记录分组数量、串行累计耗时和加速比
+     */
+    private void doLoadInstanceInParallel(StartupStep step) throws Exception {
+        BeanDependencyGraph graph = new BeanDependencyGraph(this.registry.beanDefinitionMap, this::getDependencyBeanNames);
+        ExecutorService executor = createPreInstantiationExecutor(step);
+        Map<BeanDependencyGraph.Group, CompletableFuture<Void>> futures = new HashMap<>();
+        // 每个分组创建耗时之和，相当于串行创建的耗时
+        AtomicLong serialNanos = new AtomicLong();
+        long start = System.nanoTime();
+        try {
+            for (BeanDependencyGraph.Group group : graph.getGroups()) {
+                CompletableFuture<?>[] dependencies = new CompletableFuture<?>[group.getDependencies().size()];
+                int i = 0;
+                for (BeanDependencyGraph.Group dependency : group.getDependencies()) {
+                    dependencies[i++] = futures.get(dependency);
+                }
+                futures.put(group, CompletableFuture.allOf(dependencies).thenRunAsync(() -> {
+                    long groupStart = System.nanoTime();
+                    for (String beanName : group.getBeanNames()) {
+                        if (isPreInstantiated(this.registry.beanDefinitionMap.get(beanName))) {
+                            getBean(beanName);
+                        }
+                    }
+                    serialNanos.addAndGet(System.nanoTime() - groupStart);
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+        long wallNanos = System.nanoTime() - start;
+        step.tag("groupCount", String.valueOf(graph.getGroups().size()))
+                .tag("serialNanos", String.valueOf(serialNanos.get()))
+                .tag("speedup", String.format("%.2f", wallNanos == 0 ? 1.0 : (double) serialNanos.get() / wallNanos));
+    }
+
+    /**
+     * 创建并行创建Bean使用的线程池
+     *
+     * @param step 记录实际使用的线程池，当前JDK不支持虚拟线程时为forkjoin
+     * @return 线程池
+     */
+    private ExecutorService createPreInstantiationExecutor(StartupStep step) {
+        Environment config = this.reader.getEnvironment();
+        if ("virtual".equalsIgnoreCase(config.getProperty(PRE_INSTANTIATION_EXECUTOR))) {
+            try {
+                // 编译目标为Java 8，通过反射获取JDK 21的虚拟线程池
+                ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                step.tag("executor", "virtual");
+                return executor;
+            } catch (ReflectiveOperationException e) {
+                step.tag("virtualThreadsUnsupported", e.toString());
+            }
+        }
+        step.tag("executor", "forkjoin");
+        String parallelism = config.getProperty(PRE_INSTANTIATION_PARALLELISM);
+        return new ForkJoinPool(parallelism == null
+                ? Runtime.getRuntime().availableProcessors() : Integer.parseInt(parallelism.trim()));
+    }
+
+    /**
+     * 单例Bean注册中心、按类名共享的原始对象，以及创建它们使用的配置、注入计划、实例化方式和代理对象，总是一起替换
+     */
+    private static final class SingletonStore {
+
+        /**
+         * 单例Bean注册中心，一级缓存无锁读取，三级缓存解决循环依赖
+         */
+        final DefaultSingletonBeanRegistry singletonRegistry = new DefaultSingletonBeanRegistry();
+
+        /**
+         * 保存成熟的Bean
+         * Key可能为BeanName、类名
+         * Value为Bean对象
+         */
+        final Map<String, Object> factoryBeanObjectCache = new ConcurrentHashMap<>();
+
+        /**
+         * 有销毁方法的单例，Key为全类名，@Bean方法为配置类和方法名，按创建完成的顺序排列
+         */
+        final Map<String, DisposableBeanAdapter> disposableBeans = Collections.synchronizedMap(new LinkedHashMap<>());
+
+        /**
+         * 单例的代理对象，Key为{@link BeanDefinition#getInstanceKey()}
+         */
+        final Map<String, Object> singletonProxies = new ConcurrentHashMap<>(64);
+
+        /**
+         * 注入@Value使用的配置
+         */
+        final Environment environment;
+
+        /**
+         * 每个类的注入计划，按environment解析
+         */
+        final Map<Class<?>, InjectionMetadata> injectionMetadataCache;
+
+        /**
+         * 增量刷新时重新解析的实例化方式，Key为{@link BeanDefinition#getInstanceKey()}，
+         * 其他的使用BeanDefinition中缓存的
+         */
+        final Map<String, BeanInstantiator> instantiators;
+
+        /**
+         * 增量刷新时创建这些Bean的线程，当前使用的缓存为null
+         */
+        final Thread owner;
+
+        SingletonStore(Thread owner, Environment environment, Map<Class<?>, InjectionMetadata> injectionMetadataCache,
+                       Map<String, BeanInstantiator> instantiators) {
+            this.owner = owner;
+            this.environment = environment;
+            this.injectionMetadataCache = injectionMetadataCache;
+            this.instantiators = instantiators;
+        }
+    }
+
+    /**
+     * 需要销毁的单例，保存原始对象，销毁方法不经过代理
+     */
+    private static final class DisposableBeanAdapter {
+
+        final String beanName;
+
+        /**
+         * 共用实例的Key，见{@link BeanDefinition#getInstanceKey()}
+         */
+        final String key;
+
+        final Object bean;
+
+        final LifecycleMetadata lifecycle;
+
+        DisposableBeanAdapter(String beanName, String key, Object bean, LifecycleMetadata lifecycle) {
+            this.beanName = beanName;
+            this.key = key;
+            this.bean = bean;
+            this.lifecycle = lifecycle;
+        }
     }
 }
@@ -0,0 +1,18 @@
+package com.suave.spring.context;
+
+/**
+ * 发布事件，由容器分发给所有监听该类型的监听器
+ *
+ * @author Suave
+ * @since 2026/10/18 20:00
+ */
+@FunctionalInterface
+public interface ApplicationEventPublisher {
+
+    /**
+     * 发布事件
+     *
+     * @param event ApplicationEvent或任意对象，监听器按事件的类型匹配
+     */
+    void publishEvent(Object event);
+}
@@ -0,0 +1,12 @@
+package com.suave.spring.context;
+
+/**
+ * 需要发布事件的Bean实现该接口，依赖注入完成后容器会设置事件发布者
+ *
+ * @author Suave
+ * @since 2026/10/18 20:00
+ */
+public interface ApplicationEventPublisherAware {
+
+    void setApplicationEventPublisher(ApplicationEventPublisher publisher);
+}
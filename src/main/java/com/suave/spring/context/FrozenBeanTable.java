@@ -0,0 +1,79 @@
+package com.suave.spring.context;
+
+import java.util.Map;
+
+/**
+ * 容器冻结后的单例表，Key为BeanName或类型的全类名，Value为Bean对象
+ * <p>
+ * 开放寻址的三个数组，创建后不再修改，读取不加锁也不分配对象；String缓存了自己的哈希值，
+ * 探测时先比较保存的哈希值，只有哈希值相同时才调用equals，BeanName大多只差几个字符，逐个equals的开销比哈希表本身还大
+ *
+ * @author Suave
+ * @since 2026/10/19 02:00
+ */
+final class FrozenBeanTable {
+
+    private final int[] hashes;
+
+    private final String[] keys;
+
+    private final Object[] values;
+
+    private final int mask;
+
+    private final int shift;
+
+    private final int size;
+
+    FrozenBeanTable(Map<String, Object> beans) {
+        // 装载因子不超过0.5，未命中时探测的长度也很短
+        int capacity = 2;
+        while (capacity < beans.size() * 2) {
+            capacity <<= 1;
+        }
+        this.hashes = new int[capacity];
+        this.keys = new String[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        for (Map.Entry<String, Object> entry : beans.entrySet()) {
+            int h = entry.getKey().hashCode();
+            int i = indexFor(h);
+            while (this.keys[i] != null) {
+                i = (i + 1) & this.mask;
+            }
+            this.hashes[i] = h;
+            this.keys[i] = entry.getKey();
+            this.values[i] = entry.getValue();
+        }
+        this.size = beans.size();
+    }
+
+    /**
+     * @param key BeanName或类型的全类名
+     * @return Bean对象，不存在时返回null
+     */
+    Object get(String key) {
+        int h = key.hashCode();
+        int i = indexFor(h);
+        String k;
+        while ((k = this.keys[i]) != null) {
+            if (k == key || (this.hashes[i] == h && k.equals(key))) {
+                return this.values[i];
+            }
+            i = (i + 1) & this.mask;
+        }
+        return null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 乘以黄金分割数后取高位，相邻的哈希值（如bean1、bean2）被分散到不同位置，线性探测不会连成一片
+     */
+    private int indexFor(int h) {
+        return (h * 0x9E3779B9) >>> this.shift;
+    }
+}
@@ -0,0 +1,521 @@
+package com.suave.spring.context.aot;
+
+import com.suave.spring.beans.factory.BeanDefinition;
+import com.suave.spring.beans.factory.support.BeanDefinitionReader;
+import com.suave.spring.beans.factory.support.BeanInstantiator;
+import com.suave.spring.beans.factory.support.ConditionEvaluator;
+import com.suave.spring.beans.factory.support.DefaultListableBeanFactory;
+import com.suave.spring.beans.factory.support.InjectionMetadata;
+import com.suave.spring.beans.factory.support.InstantiationStrategy;
+import com.suave.spring.core.env.Environment;
+import com.suave.spring.core.io.ClassPathScanner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * 构建期生成的容器快照，保存BeanDefinition、类型索引、创建顺序以及每个类的注入计划
+ * <p>
+ * 启动时读取快照即可注册所有BeanDefinition，不需要扫描ClassPath、解析.class文件，
+ * 也不需要遍历构造方法、属性和注解，只按名称取出需要的构造方法和属性
+ * <p>
+ * 格式为紧凑的二进制：魔数、版本号，生成时的配置文件、扫描包、激活的Profile、条件注解读取的输入和候选类的指纹，
+ * 之后依次为BeanDefinition、类型索引、注入计划和创建顺序。快照只有一份，启动时先用{@link #checkContext}比较生成时的环境，
+ * 不一致说明快照不是为当前容器生成的，或者类在生成快照之后重新编译过，退回到扫描
+ * <p>
+ * 指纹只覆盖生成时的候选类，新增的类只能通过重新生成快照发现，快照应当在每次编译后生成
+ *
+ * @author Suave
+ * @since 2026/10/18 09:30
+ */
+public class AotSnapshot {
+
+    /**
+     * 快照在ClassPath中的位置
+     */
+    public static final String SNAPSHOT_LOCATION = "META-INF/mini-spring.aot";
+
+    /**
+     * "MSAO"
+     */
+    private static final int MAGIC = 0x4D53414F;
+
+    private static final int VERSION = 5;
+
+    /**
+     * 生成快照时的主配置文件
+     */
+    private final String configLocation;
+
+    private final String scanPackage;
+
+    private final List<String> activeProfiles;
+
+    /**
+     * 条件注解读取的配置和检查的类，见{@link ConditionEvaluator#getInputs()}
+     */
+    private final Map<String, String> conditionInputs;
+
+    /**
+     * 生成时的候选Bean，包括被条件注解排除的类
+     */
+    private final List<String> candidateClassNames;
+
+    /**
+     * 候选类.class文件的指纹，见{@link #fingerprint}
+     */
+    private final long candidateFingerprint;
+
+    private final List<BeanDefinition> beanDefinitions;
+
+    private final Map<String, List<String>> beanNamesByType;
+
+    /**
+     * Key为Bean的全类名，@Bean方法为{@link BeanDefinition#getInstanceKey()}
+     */
+    private final Map<String, ClassPlan> classPlans;
+
+    /**
+     * 所有BeanName，依赖总是排在前面
+     */
+    private final List<String> creationOrder;
+
+    public AotSnapshot(String configLocation, String scanPackage, List<String> activeProfiles, Map<String, String> conditionInputs,
+                       List<String> candidateClassNames, long candidateFingerprint,
+                       List<BeanDefinition> beanDefinitions, Map<String, List<String>> beanNamesByType,
+                       Map<String, ClassPlan> classPlans, List<String> creationOrder) {
+        this.configLocation = configLocation;
+        this.scanPackage = scanPackage;
+        this.activeProfiles = activeProfiles;
+        this.conditionInputs = conditionInputs;
+        this.candidateClassNames = candidateClassNames;
+        this.candidateFingerprint = candidateFingerprint;
+        this.beanDefinitions = beanDefinitions;
+        this.beanNamesByType = beanNamesByType;
+        this.classPlans = classPlans;
+        this.creationOrder = creationOrder;
+    }
+
+    /**
+     * 从ClassPath中加载快照
+     *
+     * @param classLoader 类加载器
+     * @return 快照，不存在时返回null
+     * @throws IOException 读取失败或格式不正确
+     */
+    public static AotSnapshot load(ClassLoader classLoader) throws IOException {
+        InputStream is = classLoader.getResourceAsStream(SNAPSHOT_LOCATION);
+        if (is == null) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(is))) {
+            return read(in);
+        }
+    }
+
+    private static AotSnapshot read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException(SNAPSHOT_LOCATION + "不是AOT快照文件");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("不支持的AOT快照版本：" + version);
+        }
+
+        String configLocation = in.readUTF();
+        String scanPackage = in.readUTF();
+        List<String> activeProfiles = readStrings(in);
+        int inputCount = in.readInt();
+        Map<String, String> conditionInputs = new LinkedHashMap<>(inputCount * 2);
+        for (int i = 0; i < inputCount; i++) {
+            String key = in.readUTF();
+            conditionInputs.put(key, in.readBoolean() ? in.readUTF() : null);
+        }
+        List<String> candidateClassNames = readStrings(in);
+        long candidateFingerprint = in.readLong();
+
+        int count = in.readInt();
+        List<BeanDefinition> beanDefinitions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BeanDefinition beanDefinition = new BeanDefinition();
+            beanDefinition.setFactoryBeanName(in.readUTF());
+            beanDefinition.setBeanClassName(in.readUTF());
+            beanDefinition.setScope(in.readUTF());
+            beanDefinition.setLazyInit(in.readBoolean());
+            if (in.readBoolean()) {
+                beanDefinition.setFactoryMethodClassName(in.readUTF());
+                beanDefinition.setFactoryMethodName(in.readUTF());
+                beanDefinition.setFactoryMethodDescriptor(in.readUTF());
+                beanDefinition.setConfigurationBeanName(emptyToNull(in.readUTF()));
+                beanDefinition.setInitMethodName(emptyToNull(in.readUTF()));
+                beanDefinition.setDestroyMethodName(emptyToNull(in.readUTF()));
+            }
+            beanDefinitions.add(beanDefinition);
+        }
+
+        count = in.readInt();
+        Map<String, List<String>> beanNamesByType = new LinkedHashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            beanNamesByType.put(in.readUTF(), readStrings(in));
+        }
+
+        count = in.readInt();
+        Map<String, ClassPlan> classPlans = new LinkedHashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String className = in.readUTF();
+            List<String> parameterTypes = readStrings(in);
+            List<String> dependencyBeanNames = readStrings(in);
+            boolean[] lazy = new boolean[parameterTypes.size()];
+            for (int j = 0; j < lazy.length; j++) {
+                lazy[j] = in.readBoolean();
+            }
+            int fieldCount = in.readInt();
+            List<FieldPlan> fields = new ArrayList<>(fieldCount);
+            for (int j = 0; j < fieldCount; j++) {
+                fields.add(new FieldPlan(in.readUTF(), in.readUTF(), in.readBoolean(), in.readUTF(), in.readBoolean()));
+            }
+            classPlans.put(className, new ClassPlan(className, parameterTypes, dependencyBeanNames, lazy, fields));
+        }
+
+        List<String> creationOrder = readStrings(in);
+        return new AotSnapshot(configLocation, scanPackage, activeProfiles, conditionInputs,
+                candidateClassNames, candidateFingerprint, beanDefinitions, beanNamesByType, classPlans, creationOrder);
+    }
+
+    /**
+     * 写出快照
+     *
+     * @param os 输出流，不会被关闭
+     * @throws IOException 写入失败
+     */
+    public void writeTo(OutputStream os) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+
+        out.writeUTF(this.configLocation);
+        out.writeUTF(nullToEmpty(this.scanPackage));
+        writeStrings(out, this.activeProfiles);
+        out.writeInt(this.conditionInputs.size());
+        for (Map.Entry<String, String> entry : this.conditionInputs.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeBoolean(entry.getValue() != null);
+            if (entry.getValue() != null) {
+                out.writeUTF(entry.getValue());
+            }
+        }
+        writeStrings(out, this.candidateClassNames);
+        out.writeLong(this.candidateFingerprint);
+
+        out.writeInt(this.beanDefinitions.size());
+        for (BeanDefinition beanDefinition : this.beanDefinitions) {
+            out.writeUTF(beanDefinition.getFactoryBeanName());
+            out.writeUTF(beanDefinition.getBeanClassName());
+            out.writeUTF(beanDefinition.getScope());
+            out.writeBoolean(beanDefinition.isLazyInit());
+            out.writeBoolean(beanDefinition.isFactoryMethod());
+            if (beanDefinition.isFactoryMethod()) {
+                out.writeUTF(beanDefinition.getFactoryMethodClassName());
+                out.writeUTF(beanDefinition.getFactoryMethodName());
+                out.writeUTF(beanDefinition.getFactoryMethodDescriptor());
+                out.writeUTF(nullToEmpty(beanDefinition.getConfigurationBeanName()));
+                out.writeUTF(nullToEmpty(beanDefinition.getInitMethodName()));
+                out.writeUTF(nullToEmpty(beanDefinition.getDestroyMethodName()));
+            }
+        }
+
+        out.writeInt(this.beanNamesByType.size());
+        for (Map.Entry<String, List<String>> entry : this.beanNamesByType.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeStrings(out, entry.getValue());
+        }
+
+        out.writeInt(this.classPlans.size());
+        for (ClassPlan plan : this.classPlans.values()) {
+            out.writeUTF(plan.className);
+            writeStrings(out, plan.parameterTypes);
+            writeStrings(out, plan.dependencyBeanNames);
+            for (boolean lazy : plan.lazy) {
+                out.writeBoolean(lazy);
+            }
+            out.writeInt(plan.fields.size());
+            for (FieldPlan field : plan.fields) {
+                out.writeUTF(field.declaringClassName);
+                out.writeUTF(field.fieldName);
+                out.writeBoolean(field.value);
+                out.writeUTF(field.value ? field.expression : field.dependencyBeanName);
+                out.writeBoolean(field.lazy);
+            }
+        }
+
+        writeStrings(out, this.creationOrder);
+        out.flush();
+    }
+
+    /**
+     * 比较快照生成时的环境和当前容器的环境
+     *
+     * @param configLocation 当前容器的主配置文件
+     * @param environment    当前容器的配置
+     * @param classLoader    用于检查@ConditionalOnClass引用的类是否存在，以及读取候选类的.class文件
+     * @return 不一致的原因，一致时返回null
+     */
+    public String checkContext(String configLocation, Environment environment, ClassLoader classLoader) {
+        if (!this.configLocation.equals(configLocation)) {
+            return "配置文件不同：" + this.configLocation;
+        }
+        if (!this.scanPackage.equals(nullToEmpty(environment.getProperty(BeanDefinitionReader.SCAN_PACKAGE)))) {
+            return "扫描包不同：" + this.scanPackage;
+        }
+        if (!this.activeProfiles.equals(environment.getActiveProfiles())) {
+            return "激活的Profile不同：" + this.activeProfiles;
+        }
+        for (Map.Entry<String, String> entry : this.conditionInputs.entrySet()) {
+            String key = entry.getKey();
+            String current;
+            if (key.startsWith(ConditionEvaluator.PROPERTY_INPUT_PREFIX)) {
+                current = environment.getProperty(key.substring(ConditionEvaluator.PROPERTY_INPUT_PREFIX.length()));
+            } else {
+                current = String.valueOf(ConditionEvaluator.isPresent(key.substring(ConditionEvaluator.CLASS_INPUT_PREFIX.length()), classLoader));
+            }
+            if (!Objects.equals(entry.getValue(), current)) {
+                return "条件注解的输入不同：" + key;
+            }
+        }
+        try {
+            if (fingerprint(this.candidateClassNames, classLoader) != this.candidateFingerprint) {
+                return "候选类在生成快照之后发生了变化";
+            }
+        } catch (IOException e) {
+            return "读取候选类失败：" + e;
+        }
+        return null;
+    }
+
+    /**
+     * 计算候选类的指纹，按类名排序后依次计入类名和.class文件的内容，类被删除时只计入类名
+     *
+     * @param classNames  候选类的全类名
+     * @param classLoader 用于读取.class文件
+     * @return CRC32校验和
+     * @throws IOException 读取.class文件失败
+     */
+    public static long fingerprint(Collection<String> classNames, ClassLoader classLoader) throws IOException {
+        List<String> sorted = new ArrayList<>(classNames);
+        Collections.sort(sorted);
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[8192];
+        for (String className : sorted) {
+            crc.update(className.getBytes(StandardCharsets.UTF_8));
+            // 分隔类名和内容，避免不同的拼接得到相同的输入
+            crc.update(0);
+            try (InputStream is = classLoader.getResourceAsStream(className.replace('.', '/') + ClassPathScanner.CLASS_SUFFIX)) {
+                if (is == null) {
+                    continue;
+                }
+                int n;
+                while ((n = is.read(buffer)) > 0) {
+                    crc.update(buffer, 0, n);
+                }
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(in.readUTF());
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    public List<BeanDefinition> getBeanDefinitions() {
+        return beanDefinitions;
+    }
+
+    public Map<String, List<String>> getBeanNamesByType() {
+        return beanNamesByType;
+    }
+
+    public ClassPlan getClassPlan(String className) {
+        return classPlans.get(className);
+    }
+
+    public List<String> getCreationOrder() {
+        return creationOrder;
+    }
+
+    /**
+     * 一个类的实例化方式和注入计划，@Bean方法的实例化方式为方法参数，注入计划为返回值类型的属性
+     */
+    public static class ClassPlan {
+
+        /**
+         * Bean的全类名，@Bean方法为{@link BeanDefinition#getInstanceKey()}
+         */
+        private final String className;
+
+        /**
+         * 构造方法或@Bean方法的参数类型
+         */
+        private final List<String> parameterTypes;
+
+        private final List<String> dependencyBeanNames;
+
+        private final boolean[] lazy;
+
+        /**
+         * 需要注入的属性，父类的属性在前
+         */
+        private final List<FieldPlan> fields;
+
+        public ClassPlan(String className, List<String> parameterTypes, List<String> dependencyBeanNames,
+                         boolean[] lazy, List<FieldPlan> fields) {
+            this.className = className;
+            this.parameterTypes = parameterTypes;
+            this.dependencyBeanNames = dependencyBeanNames;
+            this.lazy = lazy;
+            this.fields = fields;
+        }
+
+        /**
+         * 按参数类型直接取出构造方法，生成实例化方式
+         *
+         * @param beanClass             Bean的类
+         * @param instantiationStrategy 实例化策略
+         * @return 实例化方式
+         * @throws ReflectiveOperationException 类或构造方法已经不存在，快照需要重新生成
+         */
+        public BeanInstantiator toInstantiator(Class<?> beanClass, InstantiationStrategy instantiationStrategy) throws ReflectiveOperationException {
+            Class<?>[] types = new Class<?>[this.parameterTypes.size()];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = Class.forName(this.parameterTypes.get(i), false, beanClass.getClassLoader());
+            }
+            Constructor<?> constructor = beanClass.getDeclaredConstructor(types);
+            return instantiationStrategy.resolve(constructor, this.dependencyBeanNames.toArray(new String[0]), this.lazy);
+        }
+
+        /**
+         * 按扫描时记录的描述符取出@Bean方法，生成实例化方式
+         *
+         * @param beanDefinition        通过@Bean方法创建的Bean
+         * @param instantiationStrategy 实例化策略
+         * @return 实例化方式
+         * @throws ClassNotFoundException 配置类已经不存在，快照需要重新生成
+         */
+        public BeanInstantiator toFactoryMethodInstantiator(BeanDefinition beanDefinition,
+                                                            InstantiationStrategy instantiationStrategy) throws ClassNotFoundException {
+            return instantiationStrategy.resolveFactoryMethod(beanDefinition, instantiationStrategy.findFactoryMethod(beanDefinition),
+                    this.dependencyBeanNames.toArray(new String[0]), this.lazy);
+        }
+
+        /**
+         * 按名称直接取出需要注入的属性，生成注入计划
+         *
+         * @param beanClass   Bean的类
+         * @param registry    用于判断依赖是否为单例
+         * @param environment 快照中只保存@Value的表达式，启动时按当前配置解析
+         * @return 注入计划
+         * @throws ReflectiveOperationException 类或属性已经不存在，快照需要重新生成
+         */
+        public InjectionMetadata toInjectionMetadata(Class<?> beanClass, DefaultListableBeanFactory registry,
+                                                     Environment environment) throws ReflectiveOperationException {
+            List<InjectionMetadata.InjectedElement> elements = new ArrayList<>(this.fields.size());
+            for (FieldPlan field : this.fields) {
+                Class<?> declaringClass = Class.forName(field.declaringClassName, false, beanClass.getClassLoader());
+                Field declaredField = declaringClass.getDeclaredField(field.fieldName);
+                if (field.value) {
+                    elements.add(new InjectionMetadata.ValueElement(declaredField, field.expression, environment));
+                } else {
+                    elements.add(new InjectionMetadata.InjectedElement(declaredField, field.dependencyBeanName,
+                            field.lazy, registry.isSingleton(field.dependencyBeanName)));
+                }
+            }
+            return InjectionMetadata.forElements(elements);
+        }
+
+        /**
+         * 创建时就需要的依赖，@Lazy注入点不包含在内
+         *
+         * @return 依赖的BeanName
+         */
+        public List<String> getDependencyBeanNames() {
+            List<String> result = new ArrayList<>(this.dependencyBeanNames.size() + this.fields.size());
+            for (int i = 0; i < this.lazy.length; i++) {
+                if (!this.lazy[i]) {
+                    result.add(this.dependencyBeanNames.get(i));
+                }
+            }
+            for (FieldPlan field : this.fields) {
+                if (!field.value && !field.lazy) {
+                    result.add(field.dependencyBeanName);
+                }
+            }
+            return result;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+    }
+
+    /**
+     * 一个需要注入的属性，@Autowired属性保存依赖的BeanName，@Value属性保存表达式
+     */
+    public static class FieldPlan {
+
+        private final String declaringClassName;
+
+        private final String fieldName;
+
+        private final boolean value;
+
+        private final String dependencyBeanName;
+
+        private final String expression;
+
+        private final boolean lazy;
+
+        public FieldPlan(String declaringClassName, String fieldName, boolean value, String dependencyBeanNameOrExpression, boolean lazy) {
+            this.declaringClassName = declaringClassName;
+            this.fieldName = fieldName;
+            this.value = value;
+            this.dependencyBeanName = value ? null : dependencyBeanNameOrExpression;
+            this.expression = value ? dependencyBeanNameOrExpression : null;
+            this.lazy = lazy;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.suave.spring.context.aot;
+
+import com.suave.spring.beans.factory.BeanDefinition;
+import com.suave.spring.beans.factory.support.BeanDefinitionReader;
+import com.suave.spring.beans.factory.support.BeanDependencyGraph;
+import com.suave.spring.beans.factory.support.DefaultListableBeanFactory;
+import com.suave.spring.beans.factory.support.InjectionMetadata;
+import com.suave.spring.beans.factory.support.InstantiationStrategy;
+import com.suave.spring.core.env.Environment;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 构建期执行，生成{@link AotSnapshot}
+ * <p>
+ * 和启动时走同样的流程：读取配置、扫描（或读取索引）、解析BeanDefinition、解析构造方法和@Autowired属性，
+ * 然后把结果写入输出目录下的META-INF/mini-spring.aot。可以在Maven的process-classes阶段通过exec插件执行：
+ * <pre>
+ * java -cp target/classes com.suave.spring.context.aot.AotSnapshotGenerator classpath:application.yml target/classes
+ * </pre>
+ * 快照和编译结果一一对应，类发生变化后需要重新生成；快照中记录了生成时的配置文件、扫描包、Profile、条件注解读取的配置
+ * 以及候选类的指纹，启动时任何一项不一致都会忽略快照，退回到扫描
+ *
+ * @author Suave
+ * @since 2026/10/18 09:30
+ */
+public class AotSnapshotGenerator {
+
+    private final ClassLoader classLoader;
+
+    public AotSnapshotGenerator(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("用法：AotSnapshotGenerator <配置文件，如classpath:application.yml> <输出目录>");
+            System.exit(1);
+        }
+        AotSnapshot snapshot = new AotSnapshotGenerator(AotSnapshotGenerator.class.getClassLoader()).generate(args[0]);
+        File file = new File(args[1], AotSnapshot.SNAPSHOT_LOCATION);
+        if (!file.getParentFile().isDirectory() && !file.getParentFile().mkdirs()) {
+            throw new IOException("无法创建目录：" + file.getParentFile());
+        }
+        try (OutputStream os = new FileOutputStream(file)) {
+            snapshot.writeTo(os);
+        }
+        System.out.printf("AOT快照已生成：%s，共%d个BeanDefinition%n", file, snapshot.getBeanDefinitions().size());
+    }
+
+    /**
+     * 解析所有BeanDefinition以及每个类的实例化方式和注入计划
+     *
+     * @param configLocation 配置文件
+     * @return 快照
+     * @throws Exception 解析失败
+     */
+    public AotSnapshot generate(String configLocation) throws Exception {
+        // 1、和启动时一样读取配置并解析BeanDefinition
+        BeanDefinitionReader reader = new BeanDefinitionReader(configLocation);
+        List<BeanDefinition> beanDefinitions = reader.loadBeanDefinitions();
+        DefaultListableBeanFactory registry = new DefaultListableBeanFactory();
+        registry.doRegisterBeanDefinition(beanDefinitions);
+        registry.freezeConfiguration();
+
+        // 2、解析每个类的构造方法和@Autowired属性
+        InstantiationStrategy instantiationStrategy = new InstantiationStrategy(registry);
+        Map<String, AotSnapshot.ClassPlan> classPlans = new LinkedHashMap<>();
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            String instanceKey = beanDefinition.getInstanceKey();
+            if (!classPlans.containsKey(instanceKey)) {
+                Class<?> beanClass = Class.forName(beanDefinition.getBeanClassName(), false, this.classLoader);
+                Executable executable = beanDefinition.isFactoryMethod()
+                        ? instantiationStrategy.findFactoryMethod(beanDefinition)
+                        : instantiationStrategy.determineConstructor(beanClass);
+                classPlans.put(instanceKey, createClassPlan(instanceKey, executable, beanClass, registry, reader.getEnvironment()));
+            }
+        }
+
+        // 3、按依赖关系确定创建顺序，@Bean方法还依赖所在的配置类
+        BeanDependencyGraph graph = new BeanDependencyGraph(registry.beanDefinitionMap, beanDefinition -> {
+            List<String> dependencyBeanNames = classPlans.get(beanDefinition.getInstanceKey()).getDependencyBeanNames();
+            if (beanDefinition.getConfigurationBeanName() != null) {
+                dependencyBeanNames.add(beanDefinition.getConfigurationBeanName());
+            }
+            return dependencyBeanNames;
+        });
+        List<String> creationOrder = new ArrayList<>(beanDefinitions.size());
+        for (BeanDependencyGraph.Group group : graph.getGroups()) {
+            creationOrder.addAll(group.getBeanNames());
+        }
+
+        Environment environment = reader.getEnvironment();
+        List<String> candidateClassNames = reader.getCandidateClassNames();
+        return new AotSnapshot(reader.getConfigLocation(), environment.getProperty(BeanDefinitionReader.SCAN_PACKAGE),
+                environment.getActiveProfiles(), reader.getConditionInputs(),
+                candidateClassNames, AotSnapshot.fingerprint(candidateClassNames, this.classLoader),
+                beanDefinitions, registry.getBeanNamesByType(), classPlans, creationOrder);
+    }
+
+    /**
+     * @param key        快照中的Key，见{@link BeanDefinition#getInstanceKey()}
+     * @param executable 构造方法或@Bean方法
+     * @param beanClass  Bean的类，@Bean方法为返回值类型
+     */
+    private AotSnapshot.ClassPlan createClassPlan(String key, Executable executable, Class<?> beanClass,
+                                                  DefaultListableBeanFactory registry, Environment environment) {
+        Class<?>[] parameterTypes = executable.getParameterTypes();
+        List<String> parameterTypeNames = new ArrayList<>(parameterTypes.length);
+        List<String> dependencyBeanNames = new ArrayList<>(parameterTypes.length);
+        boolean[] lazy = new boolean[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            parameterTypeNames.add(parameterTypes[i].getName());
+            dependencyBeanNames.add(registry.resolveDependencyBeanName(parameterTypes[i].getName(), parameterTypes[i]));
+            lazy[i] = InstantiationStrategy.isLazy(executable.getParameterAnnotations()[i]);
+        }
+
+        List<AotSnapshot.FieldPlan> fields = new ArrayList<>();
+        for (InjectionMetadata.InjectedElement element : InjectionMetadata.forClass(beanClass, registry, environment).getInjectedElements()) {
+            Field field = element.getField();
+            if (element instanceof InjectionMetadata.ValueElement) {
+                // 只保存表达式，启动时按当时的配置和Profile解析
+                fields.add(new AotSnapshot.FieldPlan(field.getDeclaringClass().getName(), field.getName(), true,
+                        ((InjectionMetadata.ValueElement) element).getExpression(), false));
+            } else {
+                fields.add(new AotSnapshot.FieldPlan(field.getDeclaringClass().getName(), field.getName(), false,
+                        element.getDependencyBeanName(), element.isLazy()));
+            }
+        }
+        return new AotSnapshot.ClassPlan(key, parameterTypeNames, dependencyBeanNames, lazy, fields);
+    }
+}
@@ -0,0 +1,23 @@
+package com.suave.spring.context.event;
+
+import java.util.EventObject;
+
+/**
+ * 容器中事件的基类，记录事件的发生时间
+ *
+ * @author Suave
+ * @since 2026/10/18 20:00
+ */
+public abstract class ApplicationEvent extends EventObject {
+
+    private final long timestamp;
+
+    public ApplicationEvent(Object source) {
+        super(source);
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
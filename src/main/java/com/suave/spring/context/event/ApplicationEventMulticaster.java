@@ -0,0 +1,369 @@
+package com.suave.spring.context.event;
+
+import com.suave.spring.annotation.EventListener;
+import com.suave.spring.beans.factory.BeanFactory;
+import com.suave.spring.core.env.Environment;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 把事件分发给监听器
+ * <ul>
+ *     <li>监听器在容器启动完成时收集，之后不再变化；每个事件类型匹配的监听器只计算一次并缓存，发布时只有一次Map查询，
+ *     缓存最多{@link #MAX_CACHED_EVENT_TYPES}个事件类型，超过后新的类型每次发布时重新匹配</li>
+ *     <li>@EventListener方法转换为MethodHandle，每次分发通过getBean获取监听器所在的Bean，增量刷新后使用新的对象</li>
+ *     <li>配置event.async为true时异步分发：事件放入有界队列，工作线程每次批量取出处理；
+ *     队列满时由发布线程自己分发，不会丢弃事件，也不会因为监听器中再次发布事件而死锁</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/18 20:00
+ */
+public class ApplicationEventMulticaster {
+
+    /**
+     * 配置为true时异步分发事件
+     */
+    public static final String EVENT_ASYNC = "event.async";
+
+    /**
+     * 异步分发的线程数，默认为1，只有一个线程时事件按发布顺序分发
+     */
+    public static final String EVENT_ASYNC_THREADS = "event.async.threads";
+
+    /**
+     * 异步分发的队列容量，默认为8192
+     */
+    public static final String EVENT_ASYNC_QUEUE_CAPACITY = "event.async.queueCapacity";
+
+    /**
+     * 工作线程每次最多取出的事件数，默认为256
+     */
+    public static final String EVENT_ASYNC_BATCH_SIZE = "event.async.batchSize";
+
+    /**
+     * 事件可以是任意对象，缓存的事件类型数量有上限，避免动态生成的事件类导致缓存无限增长
+     */
+    private static final int MAX_CACHED_EVENT_TYPES = 1024;
+
+    private static final Listener[] NO_LISTENERS = new Listener[0];
+
+    private final List<Listener> listeners;
+
+    /**
+     * Key为事件的类，Value为匹配的监听器，按注册顺序排列
+     */
+    private final Map<Class<?>, Listener[]> listenerCache = new ConcurrentHashMap<>(64);
+
+    /**
+     * 同步分发时为null
+     */
+    private final AsyncDispatcher asyncDispatcher;
+
+    /**
+     * @param listeners   所有的监听器
+     * @param environment 容器的配置，决定是否异步分发
+     */
+    public ApplicationEventMulticaster(List<Listener> listeners, Environment environment) {
+        this.listeners = new ArrayList<>(listeners);
+        // 声明过的事件类型在启动时就完成匹配
+        for (Listener listener : this.listeners) {
+            getListeners(listener.eventType);
+        }
+        if (Boolean.parseBoolean(environment.getProperty(EVENT_ASYNC))) {
+            this.asyncDispatcher = new AsyncDispatcher(
+                    Integer.parseInt(environment.getProperty(EVENT_ASYNC_THREADS, "1").trim()),
+                    Integer.parseInt(environment.getProperty(EVENT_ASYNC_QUEUE_CAPACITY, "8192").trim()),
+                    Integer.parseInt(environment.getProperty(EVENT_ASYNC_BATCH_SIZE, "256").trim()));
+        } else {
+            this.asyncDispatcher = null;
+        }
+    }
+
+    /**
+     * 分发事件，同步分发时监听器的异常抛给发布方，异步分发时只打印
+     *
+     * @param event 事件
+     */
+    public void multicastEvent(Object event) {
+        Listener[] matched = getListeners(event.getClass());
+        if (matched.length == 0) {
+            return;
+        }
+        if (this.asyncDispatcher != null) {
+            this.asyncDispatcher.submit(new Delivery(event, matched));
+        } else {
+            invokeListeners(event, matched);
+        }
+    }
+
+    /**
+     * 是否有监听器监听该类型的事件，没有时发布方可以不创建事件对象
+     *
+     * @param eventType 事件的类
+     * @return 是否有监听器
+     */
+    public boolean hasListeners(Class<?> eventType) {
+        return getListeners(eventType).length > 0;
+    }
+
+    private Listener[] getListeners(Class<?> eventType) {
+        Listener[] matched = this.listenerCache.get(eventType);
+        if (matched != null) {
+            return matched;
+        }
+        if (this.listenerCache.size() >= MAX_CACHED_EVENT_TYPES) {
+            return resolveListeners(eventType);
+        }
+        return this.listenerCache.computeIfAbsent(eventType, this::resolveListeners);
+    }
+
+    private Listener[] resolveListeners(Class<?> eventType) {
+        List<Listener> result = new ArrayList<>();
+        for (Listener listener : this.listeners) {
+            if (listener.eventType.isAssignableFrom(eventType)) {
+                result.add(listener);
+            }
+        }
+        return result.isEmpty() ? NO_LISTENERS : result.toArray(new Listener[0]);
+    }
+
+    private static void invokeListeners(Object event, Listener[] listeners) {
+        for (Listener listener : listeners) {
+            listener.invoke(event);
+        }
+    }
+
+    /**
+     * @return 异步分发时队列中等待分发的事件数，同步分发时为0
+     */
+    public int getPendingEventCount() {
+        return this.asyncDispatcher == null ? 0 : this.asyncDispatcher.queue.size();
+    }
+
+    /**
+     * 停止异步分发，队列中剩余的事件由当前线程分发完
+     */
+    public void close() {
+        if (this.asyncDispatcher != null) {
+            this.asyncDispatcher.close();
+        }
+    }
+
+    /**
+     * 为Bean创建监听器：实现了ApplicationListener的Bean，以及每个标注了@EventListener的方法
+     *
+     * @param beanFactory 用于获取监听器所在的Bean
+     * @param beanName    Bean的名称
+     * @param beanClass   Bean的实现类
+     * @return 监听器，没有时返回空集合
+     * @throws IllegalArgumentException @EventListener方法的参数不是一个
+     */
+    public static List<Listener> createListeners(BeanFactory beanFactory, String beanName, Class<?> beanClass) {
+        List<Listener> result = new ArrayList<>();
+        if (ApplicationListener.class.isAssignableFrom(beanClass)) {
+            result.add(new Listener(resolveEventType(beanClass), beanName + "#onApplicationEvent", event -> {
+                @SuppressWarnings("unchecked")
+                ApplicationListener<ApplicationEvent> listener = (ApplicationListener<ApplicationEvent>) beanFactory.getBean(beanName);
+                listener.onApplicationEvent((ApplicationEvent) event);
+            }));
+        }
+        for (Method method : beanClass.getMethods()) {
+            if (!method.isAnnotationPresent(EventListener.class) || method.isBridge() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            if (method.getParameterCount() != 1) {
+                throw new IllegalArgumentException("@EventListener方法只能有一个参数：" + method);
+            }
+            MethodHandle handle;
+            try {
+                method.setAccessible(true);
+                handle = MethodHandles.lookup().unreflect(method)
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("无法访问监听方法：" + method, e);
+            }
+            result.add(new Listener(method.getParameterTypes()[0], beanName + "#" + method.getName(), event -> {
+                try {
+                    handle.invokeExact(beanFactory.getBean(beanName), event);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException("调用" + method + "失败", e);
+                }
+            }));
+        }
+        return result;
+    }
+
+    /**
+     * 从实现的ApplicationListener<E>中解析事件类型，无法解析时监听所有ApplicationEvent
+     */
+    private static Class<?> resolveEventType(Class<?> listenerClass) {
+        for (Class<?> clazz = listenerClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Type type : clazz.getGenericInterfaces()) {
+                if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == ApplicationListener.class) {
+                    Type argument = ((ParameterizedType) type).getActualTypeArguments()[0];
+                    if (argument instanceof Class) {
+                        return (Class<?>) argument;
+                    }
+                    if (argument instanceof ParameterizedType) {
+                        return (Class<?>) ((ParameterizedType) argument).getRawType();
+                    }
+                }
+            }
+        }
+        return ApplicationEvent.class;
+    }
+
+    /**
+     * 一个监听器，事件类型和调用方式在创建时确定
+     */
+    public static final class Listener {
+
+        private final Class<?> eventType;
+
+        private final String description;
+
+        private final EventInvoker invoker;
+
+        Listener(Class<?> eventType, String description, EventInvoker invoker) {
+            this.eventType = eventType;
+            this.description = description;
+            this.invoker = invoker;
+        }
+
+        void invoke(Object event) {
+            this.invoker.invoke(event);
+        }
+
+        public Class<?> getEventType() {
+            return eventType;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    @FunctionalInterface
+    interface EventInvoker {
+
+        void invoke(Object event);
+    }
+
+    private static final class Delivery {
+
+        final Object event;
+
+        final Listener[] listeners;
+
+        Delivery(Object event, Listener[] listeners) {
+            this.event = event;
+            this.listeners = listeners;
+        }
+    }
+
+    /**
+     * 有界队列加固定数量的工作线程，工作线程每次批量取出事件，减少队列上的锁竞争和线程唤醒
+     */
+    private static final class AsyncDispatcher {
+
+        final BlockingQueue<Delivery> queue;
+
+        private final int batchSize;
+
+        private final Thread[] workers;
+
+        private volatile boolean running = true;
+
+        AsyncDispatcher(int threads, int queueCapacity, int batchSize) {
+            if (threads <= 0 || queueCapacity <= 0 || batchSize <= 0) {
+                throw new IllegalArgumentException("异步分发的线程数、队列容量和批量大小必须大于0");
+            }
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.batchSize = batchSize;
+            this.workers = new Thread[threads];
+            for (int i = 0; i < threads; i++) {
+                this.workers[i] = new Thread(this::runWorker, "event-multicaster-" + i);
+                this.workers[i].setDaemon(true);
+                this.workers[i].start();
+            }
+        }
+
+        void submit(Delivery delivery) {
+            if (!this.running || !this.queue.offer(delivery)) {
+                // 队列已满或已经停止，由发布线程自己分发
+                deliver(delivery);
+                return;
+            }
+            // 检查running之后close()可能已经取完了队列，放入的事件没有线程处理，由发布线程把队列分发完
+            if (!this.running) {
+                drainQueue();
+            }
+        }
+
+        private void runWorker() {
+            List<Delivery> batch = new ArrayList<>(this.batchSize);
+            while (this.running) {
+                try {
+                    batch.add(this.queue.take());
+                } catch (InterruptedException e) {
+                    break;
+                }
+                this.queue.drainTo(batch, this.batchSize - 1);
+                for (Delivery delivery : batch) {
+                    deliver(delivery);
+                }
+                batch.clear();
+            }
+        }
+
+        private static void deliver(Delivery delivery) {
+            for (Listener listener : delivery.listeners) {
+                try {
+                    listener.invoke(delivery.event);
+                } catch (RuntimeException | Error e) {
+                    System.err.println("监听器" + listener + "处理事件" + delivery.event + "失败：" + e);
+                }
+            }
+        }
+
+        void close() {
+            this.running = false;
+            for (Thread worker : this.workers) {
+                worker.interrupt();
+            }
+            for (Thread worker : this.workers) {
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    // 不再等待，剩余的事件仍然要分发，和还没退出的工作线程一起取队列不会重复分发
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            drainQueue();
+        }
+
+        private void drainQueue() {
+            Delivery delivery;
+            while ((delivery = this.queue.poll()) != null) {
+                deliver(delivery);
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.suave.spring.context.event;
+
+/**
+ * 由Bean实现，监听泛型参数对应的事件以及它的子类
+ *
+ * @author Suave
+ * @since 2026/10/18 20:00
+ */
+@FunctionalInterface
+public interface ApplicationListener<E extends ApplicationEvent> {
+
+    void onApplicationEvent(E event);
+}
@@ -0,0 +1,36 @@
+package com.suave.spring.context.event;
+
+import com.suave.spring.context.ApplicationContext;
+
+/**
+ * 容器创建了一个Bean，包括单例、原型、自定义作用域以及增量刷新重新创建的Bean
+ * <p>
+ * 启动过程中创建的Bean在收集完监听器之后、ContextRefreshedEvent之前按创建顺序补发；
+ * 启动完成后创建的Bean在创建完成、放入缓存之前发布，同步分发时监听器中不能再通过getBean获取这个单例
+ *
+ * @author Suave
+ * @since 2026/10/18 20:00
+ */
+public class BeanCreatedEvent extends ApplicationEvent {
+
+    private final String beanName;
+
+    private final Object bean;
+
+    public BeanCreatedEvent(ApplicationContext source, String beanName, Object bean) {
+        super(source);
+        this.beanName = beanName;
+        this.bean = bean;
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    /**
+     * @return Bean对象，可能为代理对象
+     */
+    public Object getBean() {
+        return bean;
+    }
+}
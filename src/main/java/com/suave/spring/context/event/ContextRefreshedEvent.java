@@ -0,0 +1,20 @@
+package com.suave.spring.context.event;
+
+import com.suave.spring.context.ApplicationContext;
+
+/**
+ * 容器启动完成，所有非懒加载的单例都已经创建
+ *
+ * @author Suave
+ * @since 2026/10/18 20:00
+ */
+public class ContextRefreshedEvent extends ApplicationEvent {
+
+    public ContextRefreshedEvent(ApplicationContext source) {
+        super(source);
+    }
+
+    public ApplicationContext getApplicationContext() {
+        return (ApplicationContext) getSource();
+    }
+}
@@ -0,0 +1,185 @@
+package com.suave.spring.context.index;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * 编译期生成的候选Bean索引，由{@link CandidateComponentsIndexer}写入{@link #COMPONENTS_RESOURCE_LOCATION}
+ * <p>
+ * 文件为Properties格式，每一行：
+ * <pre>
+ * 全类名=注解全类名|接口全类名,接口全类名
+ * </pre>
+ * 有索引时可以直接构建BeanDefinition，不需要遍历ClassPath，也不需要加载每一个类；
+ * 索引只覆盖编译时生成了索引文件的根路径（目录或jar），其他根路径下的类仍然需要扫描，见{@link #isIndexed(URL, String)}
+ *
+ * @author Suave
+ * @since 2026/10/17 15:10
+ */
+public class CandidateComponentsIndex {
+
+    /**
+     * 索引文件在ClassPath下的位置
+     */
+    public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/mini-spring.components";
+
+    public static final String STEREOTYPE_SEPARATOR = "|";
+
+    public static final String INTERFACE_SEPARATOR = ",";
+
+    /**
+     * Key为候选Bean的全类名，Value为对应的索引信息
+     */
+    private final Map<String, Candidate> candidates = new LinkedHashMap<>();
+
+    /**
+     * 有索引文件的根路径，如file:/app/classes/、jar:file:/app/lib/a.jar!/
+     */
+    private final Set<String> indexedRoots = new HashSet<>();
+
+    /**
+     * 加载ClassPath下所有的索引文件，多个jar中的索引会合并到一起
+     *
+     * @param classLoader 类加载器
+     * @return 索引，一个索引文件都没有时返回null
+     * @throws IOException 读取索引文件失败
+     */
+    public static CandidateComponentsIndex loadIndex(ClassLoader classLoader) throws IOException {
+        Enumeration<URL> urls = classLoader.getResources(COMPONENTS_RESOURCE_LOCATION);
+        if (!urls.hasMoreElements()) {
+            return null;
+        }
+        CandidateComponentsIndex index = new CandidateComponentsIndex();
+        while (urls.hasMoreElements()) {
+            URL url = urls.nextElement();
+            Properties properties = new Properties();
+            try (InputStream is = url.openStream()) {
+                properties.load(is);
+            }
+            String location = url.toString();
+            index.indexedRoots.add(location.substring(0, location.length() - COMPONENTS_RESOURCE_LOCATION.length()));
+            for (String className : properties.stringPropertyNames()) {
+                index.candidates.put(className, Candidate.parse(className, properties.getProperty(className)));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * 包所在的根路径是否有索引文件，有索引时索引中已经包含这个根路径下的所有候选Bean
+     *
+     * @param packageUrl  ClassLoader.getResources(packagePath)返回的URL
+     * @param packagePath 包路径，如com/suave/demo
+     * @return 是否被索引覆盖
+     */
+    public boolean isIndexed(URL packageUrl, String packagePath) {
+        String location = packageUrl.toString();
+        if (location.endsWith("/")) {
+            location = location.substring(0, location.length() - 1);
+        }
+        if (!location.endsWith(packagePath)) {
+            return false;
+        }
+        return this.indexedRoots.contains(location.substring(0, location.length() - packagePath.length()));
+    }
+
+    /**
+     * 获取包路径下的所有候选Bean
+     *
+     * @param basePackage 包路径
+     * @return 候选Bean集合
+     */
+    public List<Candidate> getCandidates(String basePackage) {
+        String prefix = basePackage + ".";
+        List<Candidate> result = new ArrayList<>();
+        for (Candidate candidate : this.candidates.values()) {
+            if (candidate.getClassName().startsWith(prefix)) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 索引中的一条候选Bean信息
+     */
+    public static class Candidate {
+        /**
+         * 候选Bean的全类名
+         */
+        private final String className;
+        /**
+         * 标注的注解全类名
+         */
+        private final String stereotype;
+        /**
+         * 直接实现的接口全类名
+         */
+        private final List<String> interfaceNames;
+
+        public Candidate(String className, String stereotype, List<String> interfaceNames) {
+            this.className = className;
+            this.stereotype = stereotype;
+            this.interfaceNames = Collections.unmodifiableList(interfaceNames);
+        }
+
+        static Candidate parse(String className, String value) {
+            int separator = value.indexOf(STEREOTYPE_SEPARATOR);
+            if (separator < 0) {
+                return new Candidate(className, value.trim(), Collections.<String>emptyList());
+            }
+            List<String> interfaceNames = new ArrayList<>();
+            for (String interfaceName : value.substring(separator + 1).split(INTERFACE_SEPARATOR)) {
+                if (!interfaceName.trim().isEmpty()) {
+                    interfaceNames.add(interfaceName.trim());
+                }
+            }
+            return new Candidate(className, value.substring(0, separator).trim(), interfaceNames);
+        }
+
+        /**
+         * 转换为索引文件中的Value
+         *
+         * @return 注解全类名|接口全类名,接口全类名
+         */
+        public String toIndexValue() {
+            if (this.interfaceNames.isEmpty()) {
+                return this.stereotype;
+            }
+            return this.stereotype + STEREOTYPE_SEPARATOR + String.join(INTERFACE_SEPARATOR, this.interfaceNames);
+        }
+
+        /**
+         * 不加载类的情况下获取类名，效果和Class.getSimpleName()一致（匿名类除外）
+         *
+         * @return 类名
+         */
+        public String getSimpleName() {
+            int lastDot = this.className.lastIndexOf('.');
+            int lastDollar = this.className.lastIndexOf('$');
+            return this.className.substring(Math.max(lastDot, lastDollar) + 1);
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public String getStereotype() {
+            return stereotype;
+        }
+
+        public List<String> getInterfaceNames() {
+            return interfaceNames;
+        }
+    }
+}
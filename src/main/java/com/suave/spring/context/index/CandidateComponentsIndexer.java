@@ -0,0 +1,108 @@
+package com.suave.spring.context.index;
+
+import com.suave.spring.beans.factory.support.BeanDefinitionReader;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * 注解处理器，编译期把标注了Component、Controller、Service、Repository的类写入候选Bean索引
+ * <p>
+ * 通过META-INF/services自动注册，依赖mini-spring编译的工程会自动生成{@link CandidateComponentsIndex#COMPONENTS_RESOURCE_LOCATION}
+ *
+ * @author Suave
+ * @since 2026/10/17 15:20
+ */
+public class CandidateComponentsIndexer extends AbstractProcessor {
+
+    /**
+     * 所有轮次收集到的候选Bean，最后一轮统一写入
+     */
+    private final Map<String, CandidateComponentsIndex.Candidate> candidates = new LinkedHashMap<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new LinkedHashSet<>(BeanDefinitionReader.STEREOTYPE_ANNOTATION_NAMES);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                // 和BeanDefinitionReader保持一致，接口、注解、枚举不做处理
+                if (element.getKind() != ElementKind.CLASS) {
+                    continue;
+                }
+                TypeElement typeElement = (TypeElement) element;
+                String className = binaryName(typeElement);
+                // 同一个类标注了多个注解时只记录一次
+                if (!this.candidates.containsKey(className)) {
+                    this.candidates.put(className, new CandidateComponentsIndex.Candidate(
+                            className, annotation.getQualifiedName().toString(), interfaceNames(typeElement)));
+                }
+            }
+        }
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private List<String> interfaceNames(TypeElement typeElement) {
+        List<String> result = new ArrayList<>();
+        for (TypeMirror interfaceType : typeElement.getInterfaces()) {
+            if (interfaceType.getKind() == TypeKind.DECLARED) {
+                result.add(binaryName((TypeElement) ((DeclaredType) interfaceType).asElement()));
+            }
+        }
+        return result;
+    }
+
+    private String binaryName(TypeElement typeElement) {
+        return this.processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+    }
+
+    private void writeIndex() {
+        if (this.candidates.isEmpty()) {
+            return;
+        }
+        Properties properties = new Properties();
+        for (CandidateComponentsIndex.Candidate candidate : this.candidates.values()) {
+            properties.setProperty(candidate.getClassName(), candidate.toIndexValue());
+        }
+        try {
+            FileObject file = this.processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", CandidateComponentsIndex.COMPONENTS_RESOURCE_LOCATION);
+            try (OutputStream os = file.openOutputStream()) {
+                properties.store(os, null);
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "写入" + CandidateComponentsIndex.COMPONENTS_RESOURCE_LOCATION + "失败：" + e.getMessage());
+        }
+    }
+}
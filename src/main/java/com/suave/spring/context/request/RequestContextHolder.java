@@ -0,0 +1,41 @@
+package com.suave.spring.context.request;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 保存当前线程正在处理的请求的属性，由请求分发方在请求开始时绑定、结束时清除
+ *
+ * @author Suave
+ * @since 2026/10/17 22:20
+ */
+public final class RequestContextHolder {
+
+    private static final ThreadLocal<Map<String, Object>> REQUEST_ATTRIBUTES = new ThreadLocal<>();
+
+    private RequestContextHolder() {
+    }
+
+    /**
+     * 开始处理一个请求
+     */
+    public static void bindRequest() {
+        REQUEST_ATTRIBUTES.set(new HashMap<>());
+    }
+
+    /**
+     * 请求处理结束，清除请求作用域中的Bean
+     */
+    public static void resetRequest() {
+        REQUEST_ATTRIBUTES.remove();
+    }
+
+    /**
+     * 获取当前请求的属性
+     *
+     * @return 请求属性，当前线程没有绑定请求时返回null
+     */
+    public static Map<String, Object> getRequestAttributes() {
+        return REQUEST_ATTRIBUTES.get();
+    }
+}
@@ -0,0 +1,41 @@
+package com.suave.spring.context.request;
+
+import com.suave.spring.beans.factory.ObjectFactory;
+import com.suave.spring.beans.factory.config.Scope;
+
+import java.util.Map;
+
+/**
+ * 请求作用域，同一个请求内共享一个实例，请求通过{@link RequestContextHolder}绑定到线程上
+ *
+ * @author Suave
+ * @since 2026/10/17 22:20
+ */
+public class RequestScope implements Scope {
+
+    public static final String SCOPE_REQUEST = "request";
+
+    @Override
+    public Object get(String name, ObjectFactory<?> objectFactory) {
+        Map<String, Object> attributes = currentRequestAttributes();
+        Object scopedObject = attributes.get(name);
+        if (scopedObject == null) {
+            scopedObject = objectFactory.getObject();
+            attributes.put(name, scopedObject);
+        }
+        return scopedObject;
+    }
+
+    @Override
+    public Object remove(String name) {
+        return currentRequestAttributes().remove(name);
+    }
+
+    private Map<String, Object> currentRequestAttributes() {
+        Map<String, Object> attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            throw new IllegalStateException("当前线程没有绑定请求，不能使用request作用域的Bean！");
+        }
+        return attributes;
+    }
+}
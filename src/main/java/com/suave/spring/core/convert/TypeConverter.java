@@ -0,0 +1,273 @@
+package com.suave.spring.core.convert;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 把配置中的字符串转换为目标类型
+ * <p>
+ * 转换器按类型选择一次，之后只做转换，不再判断类型。支持基本类型及其包装类、String、BigDecimal、BigInteger、
+ * 枚举、Class、Charset、Duration（ISO-8601或10ms、5s、1m、2h、1d），以及元素为这些类型的数组、List、Set
+ * （逗号分隔，或者通过{@link #convertAll}传入YAML列表展开后的每一项）
+ *
+ * @author Suave
+ * @since 2026/10/18 16:00
+ */
+public final class TypeConverter {
+
+    private static final Map<Class<?>, Function<String, Object>> SCALAR_CONVERTERS = new HashMap<>(32);
+
+    static {
+        SCALAR_CONVERTERS.put(String.class, s -> s);
+        SCALAR_CONVERTERS.put(Object.class, s -> s);
+        SCALAR_CONVERTERS.put(CharSequence.class, s -> s);
+        SCALAR_CONVERTERS.put(Boolean.class, TypeConverter::toBoolean);
+        SCALAR_CONVERTERS.put(Integer.class, s -> Integer.valueOf(s.trim()));
+        SCALAR_CONVERTERS.put(Long.class, s -> Long.valueOf(s.trim()));
+        SCALAR_CONVERTERS.put(Short.class, s -> Short.valueOf(s.trim()));
+        SCALAR_CONVERTERS.put(Byte.class, s -> Byte.valueOf(s.trim()));
+        SCALAR_CONVERTERS.put(Double.class, s -> Double.valueOf(s.trim()));
+        SCALAR_CONVERTERS.put(Float.class, s -> Float.valueOf(s.trim()));
+        SCALAR_CONVERTERS.put(Character.class, TypeConverter::toCharacter);
+        SCALAR_CONVERTERS.put(BigDecimal.class, s -> new BigDecimal(s.trim()));
+        SCALAR_CONVERTERS.put(BigInteger.class, s -> new BigInteger(s.trim()));
+        SCALAR_CONVERTERS.put(Charset.class, s -> Charset.forName(s.trim()));
+        SCALAR_CONVERTERS.put(Duration.class, TypeConverter::toDuration);
+    }
+
+    private static final Map<Class<?>, Class<?>> PRIMITIVE_WRAPPERS = new HashMap<>(16);
+
+    static {
+        PRIMITIVE_WRAPPERS.put(boolean.class, Boolean.class);
+        PRIMITIVE_WRAPPERS.put(int.class, Integer.class);
+        PRIMITIVE_WRAPPERS.put(long.class, Long.class);
+        PRIMITIVE_WRAPPERS.put(short.class, Short.class);
+        PRIMITIVE_WRAPPERS.put(byte.class, Byte.class);
+        PRIMITIVE_WRAPPERS.put(double.class, Double.class);
+        PRIMITIVE_WRAPPERS.put(float.class, Float.class);
+        PRIMITIVE_WRAPPERS.put(char.class, Character.class);
+    }
+
+    private final Class<?> targetType;
+
+    private final Function<String, Object> converter;
+
+    /**
+     * 数组、集合按元素转换，其他类型为null
+     */
+    private final Function<List<String>, Object> multiConverter;
+
+    private TypeConverter(Class<?> targetType, Function<List<String>, Object> multiConverter, Function<String, Object> converter) {
+        this.targetType = targetType;
+        this.multiConverter = multiConverter;
+        this.converter = multiConverter != null ? s -> multiConverter.apply(split(s)) : converter;
+    }
+
+    /**
+     * 为目标类型选择转换器
+     *
+     * @param type        目标类型
+     * @param genericType 带泛型的目标类型，用于确定List、Set的元素类型
+     * @param classLoader 转换为Class时使用的类加载器
+     * @return 转换器
+     * @throws IllegalArgumentException 不支持的类型
+     */
+    public static TypeConverter forType(Class<?> type, Type genericType, ClassLoader classLoader) {
+        Function<List<String>, Object> multiConverter = createMultiConverter(type, genericType, classLoader);
+        return new TypeConverter(type, multiConverter, multiConverter != null ? null : createConverter(type, classLoader));
+    }
+
+    /**
+     * @return 目标类型是否为数组、List、Set
+     */
+    public boolean isMultiValued() {
+        return this.multiConverter != null;
+    }
+
+    /**
+     * 逐个转换元素，用于YAML列表展开后的a[0]、a[1]，元素中可以包含逗号
+     *
+     * @param items 每个元素的值
+     * @return 数组或不可变集合
+     * @throws IllegalArgumentException 目标类型不是数组、集合，或者元素格式不正确
+     */
+    public Object convertAll(List<String> items) {
+        if (this.multiConverter == null) {
+            throw new IllegalArgumentException(this.targetType.getName() + "不是数组或集合");
+        }
+        try {
+            return this.multiConverter.apply(items);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("无法将" + items + "转换为" + this.targetType.getName(), e);
+        }
+    }
+
+    /**
+     * 转换配置的值
+     *
+     * @param value 配置的值
+     * @return 转换结果，非基本类型的空字符串转换为null，集合为空集合
+     * @throws IllegalArgumentException 格式不正确
+     */
+    public Object convert(String value) {
+        try {
+            return this.converter.apply(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("无法将[" + value + "]转换为" + this.targetType.getName(), e);
+        }
+    }
+
+    private static Function<List<String>, Object> createMultiConverter(Class<?> type, Type genericType, ClassLoader classLoader) {
+        if (type.isArray()) {
+            Class<?> componentType = type.getComponentType();
+            Function<String, Object> element = createElementConverter(componentType, classLoader);
+            return items -> {
+                Object array = Array.newInstance(componentType, items.size());
+                for (int i = 0; i < items.size(); i++) {
+                    Array.set(array, i, element.apply(items.get(i)));
+                }
+                return array;
+            };
+        }
+        if (type == List.class || type == Collection.class || type == Set.class) {
+            Class<?> elementType = String.class;
+            if (genericType instanceof ParameterizedType) {
+                Type argument = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+                if (!(argument instanceof Class)) {
+                    throw new IllegalArgumentException("不支持的元素类型：" + argument);
+                }
+                elementType = (Class<?>) argument;
+            }
+            Function<String, Object> element = createElementConverter(elementType, classLoader);
+            boolean set = type == Set.class;
+            return items -> {
+                Collection<Object> result = set ? new LinkedHashSet<>(items.size() * 2) : new ArrayList<>(items.size());
+                for (String item : items) {
+                    result.add(element.apply(item));
+                }
+                return set ? Collections.unmodifiableSet((Set<Object>) result) : Collections.unmodifiableList((List<Object>) result);
+            };
+        }
+        return null;
+    }
+
+    private static Function<String, Object> createConverter(Class<?> type, ClassLoader classLoader) {
+        Class<?> wrapper = PRIMITIVE_WRAPPERS.get(type);
+        if (wrapper != null) {
+            Function<String, Object> converter = SCALAR_CONVERTERS.get(wrapper);
+            return s -> {
+                if (s.trim().isEmpty()) {
+                    throw new IllegalArgumentException("基本类型不能为空");
+                }
+                return converter.apply(s);
+            };
+        }
+        Function<String, Object> converter = createElementConverter(type, classLoader);
+        if (type == String.class || type == Object.class || type == CharSequence.class) {
+            return converter;
+        }
+        return s -> s.trim().isEmpty() ? null : converter.apply(s);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<String, Object> createElementConverter(Class<?> type, ClassLoader classLoader) {
+        Class<?> wrapper = PRIMITIVE_WRAPPERS.get(type);
+        Function<String, Object> converter = SCALAR_CONVERTERS.get(wrapper != null ? wrapper : type);
+        if (converter != null) {
+            return converter;
+        }
+        if (type.isEnum()) {
+            Class<? extends Enum> enumType = (Class<? extends Enum>) type;
+            return s -> Enum.valueOf(enumType, s.trim());
+        }
+        if (type == Class.class) {
+            return s -> {
+                try {
+                    return Class.forName(s.trim(), false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalArgumentException("类不存在：" + s, e);
+                }
+            };
+        }
+        throw new IllegalArgumentException("不支持转换为" + type.getName());
+    }
+
+    private static List<String> split(String value) {
+        List<String> result = new ArrayList<>();
+        for (String item : value.split(",")) {
+            if (!item.trim().isEmpty()) {
+                result.add(item.trim());
+            }
+        }
+        return result;
+    }
+
+    private static Object toBoolean(String value) {
+        String s = value.trim().toLowerCase(Locale.ROOT);
+        switch (s) {
+            case "true":
+            case "yes":
+            case "on":
+            case "1":
+                return Boolean.TRUE;
+            case "false":
+            case "no":
+            case "off":
+            case "0":
+                return Boolean.FALSE;
+            default:
+                throw new IllegalArgumentException("不是布尔值：" + value);
+        }
+    }
+
+    private static Object toCharacter(String value) {
+        if (value.length() != 1) {
+            throw new IllegalArgumentException("不是单个字符：" + value);
+        }
+        return value.charAt(0);
+    }
+
+    private static Object toDuration(String value) {
+        String s = value.trim();
+        if (s.startsWith("P") || s.startsWith("p") || s.startsWith("-P")) {
+            return Duration.parse(s);
+        }
+        int unitStart = 0;
+        while (unitStart < s.length() && (Character.isDigit(s.charAt(unitStart)) || s.charAt(unitStart) == '-')) {
+            unitStart++;
+        }
+        long amount = Long.parseLong(s.substring(0, unitStart));
+        switch (s.substring(unitStart).trim().toLowerCase(Locale.ROOT)) {
+            case "ns":
+                return Duration.ofNanos(amount);
+            case "":
+            case "ms":
+                return Duration.ofMillis(amount);
+            case "s":
+                return Duration.ofSeconds(amount);
+            case "m":
+                return Duration.ofMinutes(amount);
+            case "h":
+                return Duration.ofHours(amount);
+            case "d":
+                return Duration.ofDays(amount);
+            default:
+                throw new IllegalArgumentException("不支持的时间单位：" + value);
+        }
+    }
+}
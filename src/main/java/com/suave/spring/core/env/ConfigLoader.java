@@ -0,0 +1,109 @@
+package com.suave.spring.core.env;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * 加载配置文件，生成{@link Environment}
+ * <ul>
+ *     <li>.yml、.yaml逐行解析为扁平的Key，其他后缀按Properties读取</li>
+ *     <li>读取主配置文件后，按profiles.active依次叠加application-{profile}.yml，后面的覆盖前面的，文件不存在时跳过</li>
+ *     <li>列表展开为key[0]、key[1]，Profile中出现的列表整体替换之前的列表，不按下标逐项覆盖</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/18 16:00
+ */
+public class ConfigLoader {
+
+    public static final String CLASS_PATH = "classpath:";
+
+    private final ClassLoader classLoader;
+
+    public ConfigLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * 加载主配置文件以及激活的Profile对应的配置文件
+     *
+     * @param location 配置文件，如classpath:application.yml
+     * @return 合并后的配置
+     * @throws IOException 读取失败或格式不正确
+     */
+    public Environment load(String location) throws IOException {
+        String path = location.startsWith(CLASS_PATH) ? location.substring(CLASS_PATH.length()) : location;
+        Map<String, String> properties = new HashMap<>(64);
+        if (!loadInto(path, properties)) {
+            throw new IllegalArgumentException("配置文件不存在：" + location);
+        }
+
+        List<String> activeProfiles = new ArrayList<>();
+        String profiles = System.getProperty(Environment.ACTIVE_PROFILES, properties.get(Environment.ACTIVE_PROFILES));
+        if (profiles != null) {
+            for (String profile : profiles.split(",")) {
+                if (!profile.trim().isEmpty()) {
+                    activeProfiles.add(profile.trim());
+                }
+            }
+        }
+        int dot = path.lastIndexOf('.');
+        for (String profile : activeProfiles) {
+            String profilePath = dot < 0 ? path + "-" + profile : path.substring(0, dot) + "-" + profile + path.substring(dot);
+            Map<String, String> overlay = new HashMap<>(16);
+            if (loadInto(profilePath, overlay)) {
+                overlay(properties, overlay);
+            }
+        }
+        return new Environment(properties, activeProfiles);
+    }
+
+    /**
+     * 叠加Profile的配置，先删除被覆盖的列表的所有元素，避免基础配置中更长的列表残留多出来的元素
+     */
+    private static void overlay(Map<String, String> properties, Map<String, String> overlay) {
+        Set<String> roots = new HashSet<>();
+        for (String key : overlay.keySet()) {
+            int bracket = key.indexOf('[');
+            roots.add(bracket < 0 ? key : key.substring(0, bracket));
+        }
+        properties.keySet().removeIf(key -> {
+            int bracket = key.indexOf('[');
+            // 列表替换为单个值，或者单个值替换为列表
+            return bracket < 0 ? !overlay.containsKey(key) && roots.contains(key) : roots.contains(key.substring(0, bracket));
+        });
+        properties.putAll(overlay);
+    }
+
+    /**
+     * @return 文件是否存在
+     */
+    private boolean loadInto(String path, Map<String, String> properties) throws IOException {
+        InputStream is = this.classLoader.getResourceAsStream(path);
+        if (is == null) {
+            return false;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            if (path.endsWith(".yml") || path.endsWith(".yaml")) {
+                new YamlConfigParser(reader, path, (key, value) -> properties.put(key.intern(), value)).parse();
+            } else {
+                Properties props = new Properties();
+                props.load(reader);
+                for (String key : props.stringPropertyNames()) {
+                    properties.put(key.intern(), props.getProperty(key));
+                }
+            }
+        }
+        return true;
+    }
+}
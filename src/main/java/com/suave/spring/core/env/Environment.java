@@ -0,0 +1,148 @@
+package com.suave.spring.core.env;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 容器的配置，所有配置文件合并后的扁平Key索引，创建后不再变化，增量刷新时由容器整体替换
+ * <p>
+ * Key在加载时已经intern，YAML中的嵌套映射展开为a.b.c，列表展开为a.b[0]
+ *
+ * @author Suave
+ * @since 2026/10/18 16:00
+ */
+public class Environment {
+
+    /**
+     * 激活的Profile，多个用逗号分隔；JVM参数-Dprofiles.active优先于配置文件
+     */
+    public static final String ACTIVE_PROFILES = "profiles.active";
+
+    private static final String PLACEHOLDER_PREFIX = "${";
+
+    private static final String PLACEHOLDER_SUFFIX = "}";
+
+    private static final char VALUE_SEPARATOR = ':';
+
+    private final Map<String, String> properties;
+
+    private final List<String> activeProfiles;
+
+    Environment(Map<String, String> properties, List<String> activeProfiles) {
+        this.properties = properties;
+        this.activeProfiles = Collections.unmodifiableList(activeProfiles);
+    }
+
+    public String getProperty(String key) {
+        return this.properties.get(key);
+    }
+
+    public String getProperty(String key, String defaultValue) {
+        String value = this.properties.get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public boolean containsProperty(String key) {
+        return this.properties.containsKey(key);
+    }
+
+    public Set<String> getPropertyNames() {
+        return Collections.unmodifiableSet(this.properties.keySet());
+    }
+
+    public List<String> getActiveProfiles() {
+        return activeProfiles;
+    }
+
+    /**
+     * 表达式只有一个占位符，且对应的Key没有值、只有YAML列表展开后的key[0]、key[1]时，按顺序返回每一项
+     *
+     * @param expression @Value中的表达式，如${servers.hosts}
+     * @return 列表中的每一项（已解析其中的占位符），不是这种情况时返回null
+     */
+    public List<String> resolveIndexedPlaceholder(String expression) {
+        if (!expression.startsWith(PLACEHOLDER_PREFIX) || findPlaceholderEnd(expression, 0) != expression.length() - 1) {
+            return null;
+        }
+        String key = expression.substring(PLACEHOLDER_PREFIX.length(), expression.length() - PLACEHOLDER_SUFFIX.length());
+        int separator = key.indexOf(VALUE_SEPARATOR);
+        key = (separator >= 0 ? key.substring(0, separator) : key).trim();
+        if (this.properties.containsKey(key) || !this.properties.containsKey(key + "[0]")) {
+            return null;
+        }
+        List<String> items = new ArrayList<>();
+        String item;
+        while ((item = this.properties.get(key + "[" + items.size() + "]")) != null) {
+            items.add(resolvePlaceholders(item));
+        }
+        return items;
+    }
+
+    /**
+     * 解析文本中所有的${key:default}占位符，默认值中可以嵌套占位符
+     *
+     * @param text 文本，不包含占位符时原样返回
+     * @return 解析后的文本
+     * @throws IllegalArgumentException 配置不存在且没有默认值
+     */
+    public String resolvePlaceholders(String text) {
+        int start = text.indexOf(PLACEHOLDER_PREFIX);
+        if (start < 0) {
+            return text;
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        int position = 0;
+        while (start >= 0) {
+            int end = findPlaceholderEnd(text, start);
+            if (end < 0) {
+                throw new IllegalArgumentException("占位符没有闭合：" + text);
+            }
+            sb.append(text, position, start);
+            sb.append(resolvePlaceholder(text.substring(start + PLACEHOLDER_PREFIX.length(), end), text));
+            position = end + PLACEHOLDER_SUFFIX.length();
+            start = text.indexOf(PLACEHOLDER_PREFIX, position);
+        }
+        return sb.append(text, position, text.length()).toString();
+    }
+
+    private String resolvePlaceholder(String placeholder, String text) {
+        String key = placeholder;
+        String defaultValue = null;
+        int separator = placeholder.indexOf(VALUE_SEPARATOR);
+        if (separator >= 0) {
+            key = placeholder.substring(0, separator);
+            defaultValue = placeholder.substring(separator + 1);
+        }
+        String value = this.properties.get(key.trim());
+        if (value != null) {
+            // 配置的值中也可以引用其他配置
+            return resolvePlaceholders(value);
+        }
+        if (defaultValue != null) {
+            return resolvePlaceholders(defaultValue);
+        }
+        throw new IllegalArgumentException("无法解析占位符${" + placeholder + "}：" + text);
+    }
+
+    /**
+     * 找到与start处的${匹配的}，跳过嵌套的占位符
+     */
+    private static int findPlaceholderEnd(String text, int start) {
+        int depth = 0;
+        for (int i = start + PLACEHOLDER_PREFIX.length(); i < text.length(); i++) {
+            if (text.startsWith(PLACEHOLDER_PREFIX, i)) {
+                depth++;
+                i++;
+            } else if (text.charAt(i) == '}') {
+                if (depth == 0) {
+                    return i;
+                }
+                depth--;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,469 @@
+package com.suave.spring.core.env;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * 逐行读取YAML，展开为扁平的Key，不构建文档树
+ * <ul>
+ *     <li>嵌套的映射展开为a.b.c，列表展开为a.b[0]</li>
+ *     <li>支持单引号、双引号、注释、行内列表[a, b]、行内映射{a: 1}，以及|和&gt;多行文本</li>
+ *     <li>多个文档用---分隔，后面的文档覆盖前面的值</li>
+ *     <li>同一个映射中的Key、同一个列表中的列表项缩进必须相同，和任何一层都对不齐的缩进直接报错</li>
+ * </ul>
+ * 不支持锚点、别名和标签
+ *
+ * @author Suave
+ * @since 2026/10/18 16:00
+ */
+class YamlConfigParser {
+
+    private final BufferedReader reader;
+
+    private final String location;
+
+    private final BiConsumer<String, String> consumer;
+
+    /**
+     * 当前所在的映射，栈顶是最近的一层
+     */
+    private final Deque<Frame> frames = new ArrayDeque<>();
+
+    /**
+     * 多行文本读到下一个Key时需要退回这一行
+     */
+    private String pushedBackLine;
+
+    private int lineNumber;
+
+    YamlConfigParser(BufferedReader reader, String location, BiConsumer<String, String> consumer) {
+        this.reader = reader;
+        this.location = location;
+        this.consumer = consumer;
+    }
+
+    void parse() throws IOException {
+        resetDocument();
+        String line;
+        while ((line = nextLine()) != null) {
+            int indent = indentOf(line);
+            String content = stripComment(line.substring(indent)).trim();
+            if (content.isEmpty()) {
+                continue;
+            }
+            if (indent == 0 && (content.equals("---") || content.startsWith("--- "))) {
+                resetDocument();
+                continue;
+            }
+            if (indent == 0 && content.equals("...")) {
+                continue;
+            }
+            if (content.equals("-") || content.startsWith("- ")) {
+                parseSequenceItem(indent, content);
+            } else {
+                popFrames(indent, false);
+                checkKeyIndent(this.frames.peek(), indent);
+                parseMapping(indent, content, this.frames.peek().path);
+            }
+        }
+        resetDocument();
+    }
+
+    private void resetDocument() {
+        while (this.frames.size() > 1) {
+            popFrame();
+        }
+        this.frames.clear();
+        this.frames.push(new Frame(-1, ""));
+    }
+
+    /**
+     * 没有子节点的Key（如key:后面什么都没有）值为空字符串
+     */
+    private void popFrame() {
+        Frame frame = this.frames.pop();
+        if (!frame.hasChildren) {
+            this.consumer.accept(frame.path, "");
+        }
+    }
+
+    /**
+     * 映射中的Key缩进必须比所属的Key大，列表项可以和所属的Key缩进相同
+     */
+    private void popFrames(int indent, boolean sequenceItem) {
+        while (this.frames.size() > 1) {
+            Frame top = this.frames.peek();
+            if (top.indent > indent || (top.indent == indent && !(sequenceItem && top.acceptsSequence))) {
+                popFrame();
+            } else {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 第一个子Key决定该层的缩进，之后的Key必须对齐；例如标量值后面缩进更大的Key不属于任何一层
+     */
+    private void checkKeyIndent(Frame parent, int indent) {
+        if (parent.keyIndent < 0) {
+            parent.keyIndent = indent;
+        } else if (parent.keyIndent != indent) {
+            throw error("缩进和所在的映射不一致，应为" + parent.keyIndent + "个空格，实际为" + indent + "个");
+        }
+    }
+
+    private void parseSequenceItem(int indent, String content) throws IOException {
+        popFrames(indent, true);
+        Frame parent = this.frames.peek();
+        if (parent.path.isEmpty()) {
+            throw error("顶层不支持列表");
+        }
+        if (parent.itemIndent < 0) {
+            parent.itemIndent = indent;
+        } else if (parent.itemIndent != indent) {
+            throw error("列表项的缩进不一致，应为" + parent.itemIndent + "个空格，实际为" + indent + "个");
+        }
+        parent.hasChildren = true;
+        String path = parent.path + "[" + parent.sequenceIndex++ + "]";
+        String item = content.length() == 1 ? "" : content.substring(2).trim();
+        if (item.isEmpty()) {
+            // 列表项的内容在下面几行
+            this.frames.push(new Frame(indent, path));
+            return;
+        }
+        if (item.startsWith("- ")) {
+            throw error("不支持嵌套的列表");
+        }
+        int keyEnd = findKeyEnd(item);
+        if (keyEnd < 0 || item.startsWith("[") || item.startsWith("{")) {
+            emitValue(indent, path, item);
+            return;
+        }
+        // - key: value，之后同一列表项中的Key与key对齐
+        int itemIndent = indent + content.indexOf(item);
+        Frame itemFrame = new Frame(itemIndent - 1, path);
+        itemFrame.acceptsSequence = false;
+        itemFrame.hasChildren = true;
+        itemFrame.keyIndent = itemIndent;
+        this.frames.push(itemFrame);
+        parseMapping(itemIndent, item, path);
+    }
+
+    private void parseMapping(int indent, String content, String prefix) throws IOException {
+        int keyEnd = findKeyEnd(content);
+        if (keyEnd < 0) {
+            throw error("缺少冒号：" + content);
+        }
+        String key = unquote(content.substring(0, keyEnd).trim());
+        if (key.isEmpty()) {
+            throw error("Key不能为空");
+        }
+        String path = prefix.isEmpty() ? key : prefix + "." + key;
+        this.frames.peek().hasChildren = true;
+        String value = content.substring(keyEnd + 1).trim();
+        if (value.isEmpty()) {
+            // 子节点在下面几行
+            this.frames.push(new Frame(indent, path));
+            return;
+        }
+        emitValue(indent, path, value);
+    }
+
+    private void emitValue(int indent, String path, String value) throws IOException {
+        char first = value.charAt(0);
+        if (first == '|' || first == '>') {
+            this.consumer.accept(path, readBlockScalar(indent, value));
+        } else if (first == '[') {
+            List<String> items = splitFlow(value, ']');
+            for (int i = 0; i < items.size(); i++) {
+                this.consumer.accept(path + "[" + i + "]", scalar(items.get(i)));
+            }
+        } else if (first == '{') {
+            for (String entry : splitFlow(value, '}')) {
+                int keyEnd = findKeyEnd(entry);
+                if (keyEnd < 0) {
+                    throw error("缺少冒号：" + entry);
+                }
+                this.consumer.accept(path + "." + unquote(entry.substring(0, keyEnd).trim()),
+                        scalar(entry.substring(keyEnd + 1).trim()));
+            }
+        } else {
+            this.consumer.accept(path, scalar(value));
+        }
+    }
+
+    /**
+     * 读取|或&gt;开头的多行文本，缩进比Key大的行都属于该文本
+     */
+    private String readBlockScalar(int keyIndent, String indicator) throws IOException {
+        boolean folded = indicator.charAt(0) == '>';
+        boolean keepTrailing = indicator.indexOf('+') > 0;
+        boolean stripTrailing = indicator.indexOf('-') > 0;
+
+        List<String> lines = new ArrayList<>();
+        int blockIndent = -1;
+        String line;
+        while ((line = nextLine()) != null) {
+            if (line.trim().isEmpty()) {
+                lines.add("");
+                continue;
+            }
+            int indent = indentOf(line);
+            if (indent <= keyIndent || (blockIndent >= 0 && indent < blockIndent)) {
+                this.pushedBackLine = line;
+                this.lineNumber--;
+                break;
+            }
+            if (blockIndent < 0) {
+                blockIndent = indent;
+            }
+            lines.add(line.substring(blockIndent));
+        }
+
+        int trailingEmpty = 0;
+        while (trailingEmpty < lines.size() && lines.get(lines.size() - 1 - trailingEmpty).isEmpty()) {
+            trailingEmpty++;
+        }
+        List<String> body = lines.subList(0, lines.size() - trailingEmpty);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < body.size(); i++) {
+            String current = body.get(i);
+            sb.append(current);
+            if (i < body.size() - 1) {
+                // 折叠文本中相邻的非空行用空格连接
+                boolean join = folded && !current.isEmpty() && !body.get(i + 1).isEmpty()
+                        && !current.startsWith(" ") && !body.get(i + 1).startsWith(" ");
+                sb.append(join ? ' ' : '\n');
+            }
+        }
+        if (!stripTrailing && !body.isEmpty()) {
+            sb.append('\n');
+            if (keepTrailing) {
+                for (int i = 0; i < trailingEmpty; i++) {
+                    sb.append('\n');
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private String nextLine() throws IOException {
+        this.lineNumber++;
+        if (this.pushedBackLine != null) {
+            String line = this.pushedBackLine;
+            this.pushedBackLine = null;
+            return line;
+        }
+        return this.reader.readLine();
+    }
+
+    private int indentOf(String line) {
+        int indent = 0;
+        while (indent < line.length()) {
+            char c = line.charAt(indent);
+            if (c == '\t') {
+                throw error("缩进不能使用Tab");
+            }
+            if (c != ' ') {
+                break;
+            }
+            indent++;
+        }
+        return indent;
+    }
+
+    /**
+     * 找到分隔Key和值的冒号，冒号后面必须是空格或者行尾
+     *
+     * @return 冒号的位置，不存在时返回-1
+     */
+    private int findKeyEnd(String content) {
+        char quote = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if ((c == '"' || c == '\'') && i == 0) {
+                quote = c;
+            } else if (c == ':' && (i == content.length() - 1 || content.charAt(i + 1) == ' ')) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 去掉引号外、以空格开头的#注释
+     */
+    private static String stripComment(String content) {
+        char quote = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (quote != 0) {
+                if (c == '\\' && quote == '"') {
+                    i++;
+                } else if (c == '\'' && quote == '\'' && i + 1 < content.length() && content.charAt(i + 1) == '\'') {
+                    // 单引号中的''表示一个单引号
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                if (i == 0 || " :[{,-".indexOf(content.charAt(i - 1)) >= 0) {
+                    quote = c;
+                }
+            } else if (c == '#' && (i == 0 || content.charAt(i - 1) == ' ')) {
+                return content.substring(0, i);
+            }
+        }
+        return content;
+    }
+
+    /**
+     * 拆分行内列表或映射，不支持嵌套
+     */
+    private List<String> splitFlow(String value, char close) {
+        if (value.charAt(value.length() - 1) != close) {
+            throw error("行内列表或映射没有闭合：" + value);
+        }
+        List<String> result = new ArrayList<>();
+        String body = value.substring(1, value.length() - 1);
+        StringBuilder current = new StringBuilder();
+        char quote = 0;
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '[' || c == '{') {
+                throw error("不支持嵌套的行内列表或映射：" + value);
+            } else if (c == ',') {
+                addFlowItem(result, current);
+                continue;
+            }
+            current.append(c);
+        }
+        addFlowItem(result, current);
+        return result;
+    }
+
+    private static void addFlowItem(List<String> result, StringBuilder current) {
+        String item = current.toString().trim();
+        if (!item.isEmpty()) {
+            result.add(item);
+        }
+        current.setLength(0);
+    }
+
+    /**
+     * 解析标量，null和~视为空字符串
+     */
+    private String scalar(String value) {
+        if (value.equals("~") || value.equals("null")) {
+            return "";
+        }
+        return unquote(value);
+    }
+
+    private String unquote(String value) {
+        if (value.length() < 2) {
+            return value;
+        }
+        char first = value.charAt(0);
+        char last = value.charAt(value.length() - 1);
+        if (first == '\'' && last == '\'') {
+            return value.substring(1, value.length() - 1).replace("''", "'");
+        }
+        if (first == '"' && last == '"') {
+            return unescape(value.substring(1, value.length() - 1));
+        }
+        return value;
+    }
+
+    private String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\\' || i == value.length() - 1) {
+                sb.append(c);
+                continue;
+            }
+            char next = value.charAt(++i);
+            switch (next) {
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case '0':
+                    sb.append('\0');
+                    break;
+                case 'u':
+                    if (i + 4 >= value.length()) {
+                        throw error("不正确的转义字符：" + value);
+                    }
+                    sb.append((char) Integer.parseInt(value.substring(i + 1, i + 5), 16));
+                    i += 4;
+                    break;
+                default:
+                    sb.append(next);
+            }
+        }
+        return sb.toString();
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(this.location + "第" + this.lineNumber + "行：" + message);
+    }
+
+    private static class Frame {
+
+        /**
+         * Key所在的缩进，子节点的缩进必须更大
+         */
+        private final int indent;
+
+        private final String path;
+
+        /**
+         * 是否允许和Key缩进相同的列表项
+         */
+        private boolean acceptsSequence = true;
+
+        private int sequenceIndex;
+
+        private boolean hasChildren;
+
+        /**
+         * 子Key的缩进，由第一个子Key决定，-1表示还没有子Key
+         */
+        private int keyIndent = -1;
+
+        /**
+         * 列表项的缩进，由第一个列表项决定
+         */
+        private int itemIndent = -1;
+
+        private Frame(int indent, String path) {
+            this.indent = indent;
+            this.path = path;
+        }
+    }
+}
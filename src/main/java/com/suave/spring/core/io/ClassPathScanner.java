@@ -0,0 +1,141 @@
+package com.suave.spring.core.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * 扫描ClassPath下某个包中的所有类，支持多个ClassPath根路径
+ * <ul>
+ *     <li>file: 展开的目录，直接遍历文件</li>
+ *     <li>jar: jar包或fat jar，通过{@link MappedJarFile}读取中央目录，
+ *     支持jar:file:/app.jar!/BOOT-INF/classes!/com/suave和jar:file:/app.jar!/BOOT-INF/lib/a.jar!/com/suave这类嵌套路径</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/17 17:20
+ */
+public class ClassPathScanner {
+
+    public static final String CLASS_SUFFIX = ".class";
+
+    private static final String FILE_PROTOCOL = "file";
+
+    private static final String JAR_PROTOCOL = "jar";
+
+    private static final String JAR_URL_SEPARATOR = "!/";
+
+    private static final String JAR_SUFFIX = ".jar";
+
+    private final ClassLoader classLoader;
+
+    public ClassPathScanner(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * 扫描包路径下的所有类，同一个类出现在多个根路径下时只保留第一个
+     *
+     * @param basePackage 包路径，比如com.suave.demo
+     * @return 全类名集合
+     * @throws IOException 读取ClassPath失败
+     */
+    public Set<String> scan(String basePackage) throws IOException {
+        return scan(basePackage, url -> true);
+    }
+
+    /**
+     * 扫描包路径下的所有类，只扫描filter接受的根路径
+     *
+     * @param basePackage 包路径，比如com.suave.demo
+     * @param filter      参数为包在某个根路径下的URL，返回false时跳过这个根路径
+     * @return 全类名集合
+     * @throws IOException 读取ClassPath失败
+     */
+    public Set<String> scan(String basePackage, Predicate<URL> filter) throws IOException {
+        String packagePath = basePackage.replace('.', '/');
+        Set<String> result = new LinkedHashSet<>();
+        Enumeration<URL> urls = this.classLoader.getResources(packagePath);
+        while (urls.hasMoreElements()) {
+            URL url = urls.nextElement();
+            if (!filter.test(url)) {
+                continue;
+            }
+            if (FILE_PROTOCOL.equals(url.getProtocol())) {
+                scanDirectory(toFile(url), basePackage, result);
+            } else if (JAR_PROTOCOL.equals(url.getProtocol())) {
+                scanJar(url, result);
+            }
+        }
+        return result;
+    }
+
+    private void scanDirectory(File directory, String packageName, Set<String> result) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                scanDirectory(file, packageName + "." + file.getName(), result);
+            } else if (file.getName().endsWith(CLASS_SUFFIX)) {
+                // 包名.类名  比如： com.suave.spring.DemoAction
+                result.add(packageName + "." + file.getName().substring(0, file.getName().length() - CLASS_SUFFIX.length()));
+            }
+        }
+    }
+
+    /**
+     * 扫描jar，URL形如jar:file:/app.jar!/BOOT-INF/lib/a.jar!/com/suave/demo
+     * 第一段是磁盘上的jar，最后一段是包路径，中间每一段是嵌套的jar或目录前缀，都是URL编码的
+     */
+    private void scanJar(URL url, Set<String> result) throws IOException {
+        String spec = url.getFile();
+        String[] segments = spec.split(JAR_URL_SEPARATOR);
+        // 只读取条目名称，扫描完立即释放映射
+        try (MappedJarFile rootJar = MappedJarFile.open(toFile(new URL(segments[0])))) {
+            MappedJarFile jarFile = rootJar;
+            String entryPrefix = "";
+            for (int i = 1; i < segments.length - 1; i++) {
+                String segment = entryPrefix + decode(segments[i]);
+                if (segment.endsWith(JAR_SUFFIX)) {
+                    jarFile = jarFile.openNested(segment);
+                    entryPrefix = "";
+                } else {
+                    entryPrefix = segment.endsWith("/") ? segment : segment + "/";
+                }
+            }
+
+            String packagePath = decode(segments[segments.length - 1]);
+            if (!packagePath.endsWith("/")) {
+                packagePath = packagePath + "/";
+            }
+            for (String entryName : jarFile.findEntryNames(entryPrefix + packagePath, CLASS_SUFFIX)) {
+                String classPath = entryName.substring(entryPrefix.length(), entryName.length() - CLASS_SUFFIX.length());
+                result.add(classPath.replace('/', '.'));
+            }
+        }
+    }
+
+    /**
+     * 解码jar URL中的条目路径，比如my%20lib.jar，URL路径中的+不表示空格
+     */
+    private static String decode(String segment) throws IOException {
+        return URLDecoder.decode(segment.replace("+", "%2B"), "UTF-8");
+    }
+
+    private File toFile(URL url) throws IOException {
+        try {
+            // 不能直接用url.getFile()，路径中有空格或中文时会被转义
+            return new File(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return new File(url.getFile());
+        }
+    }
+}
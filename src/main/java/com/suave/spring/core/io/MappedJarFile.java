@@ -0,0 +1,313 @@
+package com.suave.spring.core.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 基于内存映射的jar读取，只解析中央目录
+ * <p>
+ * 相比JarInputStream逐个解压条目，这里直接通过FileChannel映射整个文件，遍历中央目录时按字节比较包前缀，
+ * 不匹配的条目既不会解码名称也不会解压；嵌套jar是STORED存储时直接在父文件的映射上切片，不需要额外拷贝
+ * <p>
+ * 映射不等GC回收，使用完调用{@link #close()}立即释放，Windows上映射未释放时jar文件无法删除或覆盖；
+ * 嵌套的jar共用磁盘上jar的映射，关闭磁盘上的jar之后，嵌套的jar和{@link #getEntryData(String)}返回的切片都不能再使用
+ *
+ * @author Suave
+ * @since 2026/10/17 16:50
+ */
+public class MappedJarFile implements Closeable {
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+
+    private static final int END_HEADER_SIZE = 22;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    private static final int METHOD_STORED = 0;
+    private static final int METHOD_DEFLATED = 8;
+
+    /**
+     * 整个jar的内容，小端序
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * zip内容在buffer中的起始位置，可执行jar前面可能拼接了启动脚本
+     */
+    private final int base;
+
+    private final int centralDirectoryOffset;
+
+    private final long entryCount;
+
+    /**
+     * 磁盘上的jar，持有映射；嵌套的jar指向打开它的磁盘上的jar
+     */
+    private final MappedJarFile root;
+
+    private volatile boolean closed;
+
+    private MappedJarFile(ByteBuffer buffer, MappedJarFile root) throws IOException {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.root = root == null ? this : root;
+        int endOffset = findEndOfCentralDirectory();
+
+        long entries = this.buffer.getShort(endOffset + 10) & 0xFFFF;
+        long centralDirectorySize = this.buffer.getInt(endOffset + 12) & 0xFFFFFFFFL;
+        long centralDirectoryOffset = this.buffer.getInt(endOffset + 16) & 0xFFFFFFFFL;
+        int centralDirectoryEnd = endOffset;
+
+        int locatorOffset = endOffset - ZIP64_LOCATOR_SIZE;
+        if (locatorOffset >= 0 && this.buffer.getInt(locatorOffset) == ZIP64_LOCATOR_SIGNATURE) {
+            int zip64EndOffset = locatorOffset - 56;
+            if (zip64EndOffset < 0 || this.buffer.getInt(zip64EndOffset) != ZIP64_END_SIGNATURE) {
+                throw new IOException("ZIP64中央目录结束记录损坏");
+            }
+            entries = this.buffer.getLong(zip64EndOffset + 32);
+            centralDirectorySize = this.buffer.getLong(zip64EndOffset + 40);
+            centralDirectoryOffset = this.buffer.getLong(zip64EndOffset + 48);
+            centralDirectoryEnd = zip64EndOffset;
+        }
+
+        // 中央目录紧挨着结束记录，用实际位置减去记录的偏移量就是zip内容的起始位置
+        this.base = (int) (centralDirectoryEnd - centralDirectorySize - centralDirectoryOffset);
+        if (this.base < 0) {
+            throw new IOException("中央目录偏移量错误");
+        }
+        this.centralDirectoryOffset = (int) (this.base + centralDirectoryOffset);
+        this.entryCount = entries;
+    }
+
+    /**
+     * 以只读方式映射jar文件
+     *
+     * @param file jar文件
+     * @return MappedJarFile
+     * @throws IOException 文件不存在、超过2G或不是合法的zip
+     */
+    public static MappedJarFile open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("jar文件超过2G：" + file);
+            }
+            // 映射在通道关闭后依然有效，由close()释放
+            ByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                return new MappedJarFile(mapping, null);
+            } catch (IOException | RuntimeException e) {
+                unmap(mapping);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 打开嵌套在当前jar中的jar，比如fat jar中的BOOT-INF/lib/xxx.jar
+     *
+     * @param entryName 嵌套jar的条目名称
+     * @return MappedJarFile
+     * @throws IOException 条目不存在或不是合法的zip
+     */
+    public MappedJarFile openNested(String entryName) throws IOException {
+        return new MappedJarFile(getEntryData(entryName), this.root);
+    }
+
+    /**
+     * 查找所有以prefix开头、以suffix结尾的条目
+     *
+     * @param prefix 前缀，比如com/suave/demo/
+     * @param suffix 后缀，比如.class
+     * @return 条目名称集合
+     */
+    public List<String> findEntryNames(String prefix, String suffix) {
+        ensureOpen();
+        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+        byte[] suffixBytes = suffix.getBytes(StandardCharsets.UTF_8);
+        List<String> result = new ArrayList<>();
+        int offset = this.centralDirectoryOffset;
+        for (long i = 0; i < this.entryCount; i++) {
+            int nameLength = this.buffer.getShort(offset + 28) & 0xFFFF;
+            int nameOffset = offset + CENTRAL_HEADER_SIZE;
+            if (regionMatches(nameOffset, nameLength, prefixBytes, 0)
+                    && regionMatches(nameOffset, nameLength, suffixBytes, nameLength - suffixBytes.length)) {
+                result.add(readName(nameOffset, nameLength));
+            }
+            offset = nextCentralHeader(offset);
+        }
+        return result;
+    }
+
+    /**
+     * 获取条目的内容，STORED直接返回切片，DEFLATED则解压到堆内存
+     *
+     * @param entryName 条目名称
+     * @return 条目内容
+     * @throws IOException 条目不存在或压缩方式不支持
+     */
+    public ByteBuffer getEntryData(String entryName) throws IOException {
+        ensureOpen();
+        byte[] nameBytes = entryName.getBytes(StandardCharsets.UTF_8);
+        int offset = this.centralDirectoryOffset;
+        for (long i = 0; i < this.entryCount; i++) {
+            int nameLength = this.buffer.getShort(offset + 28) & 0xFFFF;
+            if (nameLength == nameBytes.length && regionMatches(offset + CENTRAL_HEADER_SIZE, nameLength, nameBytes, 0)) {
+                return readEntryData(offset);
+            }
+            offset = nextCentralHeader(offset);
+        }
+        throw new IOException("条目不存在：" + entryName);
+    }
+
+    /**
+     * 释放磁盘上jar的映射，嵌套的jar不持有映射，关闭时什么都不做
+     */
+    @Override
+    public void close() {
+        if (this.root != this || this.closed) {
+            return;
+        }
+        this.closed = true;
+        unmap(this.buffer);
+    }
+
+    private void ensureOpen() {
+        // 映射释放后再访问会导致JVM崩溃，不能交给ByteBuffer检查
+        if (this.root.closed) {
+            throw new IllegalStateException("jar已经关闭");
+        }
+    }
+
+    /**
+     * 立即释放映射：JDK 9+通过Unsafe.invokeCleaner，JDK 8通过DirectByteBuffer的Cleaner；都不可用时留给GC回收
+     */
+    private static void unmap(ByteBuffer mapping) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner;
+            try {
+                invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            } catch (NoSuchMethodException e) {
+                Method cleanerMethod = mapping.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(mapping);
+                if (cleaner != null) {
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+                return;
+            }
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            invokeCleaner.invoke(theUnsafe.get(null), mapping);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // 模块或安全策略不允许时，映射仍然会在GC时释放
+        }
+    }
+
+    private ByteBuffer readEntryData(int centralHeaderOffset) throws IOException {
+        int method = this.buffer.getShort(centralHeaderOffset + 10) & 0xFFFF;
+        int compressedSize = this.buffer.getInt(centralHeaderOffset + 20);
+        int size = this.buffer.getInt(centralHeaderOffset + 24);
+        int localHeaderOffset = this.base + this.buffer.getInt(centralHeaderOffset + 42);
+        if (this.buffer.getInt(localHeaderOffset) != LOCAL_HEADER_SIGNATURE) {
+            throw new IOException("本地文件头损坏");
+        }
+        int dataOffset = localHeaderOffset + LOCAL_HEADER_SIZE
+                + (this.buffer.getShort(localHeaderOffset + 26) & 0xFFFF)
+                + (this.buffer.getShort(localHeaderOffset + 28) & 0xFFFF);
+
+        ByteBuffer data = slice(dataOffset, compressedSize);
+        if (method == METHOD_STORED) {
+            return data;
+        }
+        if (method != METHOD_DEFLATED) {
+            throw new IOException("不支持的压缩方式：" + method);
+        }
+        byte[] compressed = new byte[compressedSize];
+        data.get(compressed);
+        byte[] inflated = new byte[size];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed);
+            int n = 0;
+            while (n < size && !inflater.finished()) {
+                int count = inflater.inflate(inflated, n, size - n);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("压缩数据不完整");
+                }
+                n += count;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException(e);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(inflated);
+    }
+
+    private int findEndOfCentralDirectory() throws IOException {
+        int limit = Math.max(0, this.buffer.limit() - END_HEADER_SIZE - MAX_COMMENT_SIZE);
+        for (int offset = this.buffer.limit() - END_HEADER_SIZE; offset >= limit; offset--) {
+            if (this.buffer.getInt(offset) == END_SIGNATURE) {
+                return offset;
+            }
+        }
+        throw new IOException("不是合法的zip文件");
+    }
+
+    private int nextCentralHeader(int offset) {
+        if (this.buffer.getInt(offset) != CENTRAL_HEADER_SIGNATURE) {
+            throw new IllegalStateException("中央目录损坏");
+        }
+        return offset + CENTRAL_HEADER_SIZE
+                + (this.buffer.getShort(offset + 28) & 0xFFFF)
+                + (this.buffer.getShort(offset + 30) & 0xFFFF)
+                + (this.buffer.getShort(offset + 32) & 0xFFFF);
+    }
+
+    private boolean regionMatches(int nameOffset, int nameLength, byte[] bytes, int from) {
+        if (from < 0 || from + bytes.length > nameLength) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (this.buffer.get(nameOffset + from + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readName(int nameOffset, int nameLength) {
+        byte[] name = new byte[nameLength];
+        for (int i = 0; i < nameLength; i++) {
+            name[i] = this.buffer.get(nameOffset + i);
+        }
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    private ByteBuffer slice(int offset, int length) {
+        ByteBuffer duplicate = this.buffer.duplicate();
+        // 转成Buffer调用，避免高版本JDK编译出的字节码在Java 8上找不到协变返回值的方法
+        ((Buffer) duplicate).position(offset);
+        ((Buffer) duplicate).limit(offset + length);
+        return duplicate.slice();
+    }
+}
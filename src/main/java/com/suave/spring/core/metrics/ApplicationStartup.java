@@ -0,0 +1,26 @@
+package com.suave.spring.core.metrics;
+
+/**
+ * 记录容器启动过程中每个步骤的耗时
+ * <p>
+ * 默认使用{@link #DEFAULT}，不做任何记录，也不分配对象；
+ * 配置startup.recording为true时使用{@link BufferingApplicationStartup}
+ *
+ * @author Suave
+ * @since 2026/10/18 10:20
+ */
+public interface ApplicationStartup {
+
+    /**
+     * 不做任何记录
+     */
+    ApplicationStartup DEFAULT = new DefaultApplicationStartup();
+
+    /**
+     * 开始一个步骤，当前线程中尚未结束的步骤为它的父步骤
+     *
+     * @param name 步骤名称
+     * @return 步骤
+     */
+    StartupStep start(String name);
+}
@@ -0,0 +1,453 @@
+package com.suave.spring.core.metrics;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 在内存中记录所有启动步骤的实现
+ * <ul>
+ *     <li>纳秒级耗时，支持时记录当前线程分配的内存（HotSpot的com.sun.management.ThreadMXBean）</li>
+ *     <li>同一线程中嵌套的步骤记录父步骤，bean.create下嵌套的bean.create即为依赖链</li>
+ *     <li>运行环境支持JFR时，每个步骤同时作为{@code com.suave.spring.StartupStep}事件提交</li>
+ * </ul>
+ * 并行创建Bean时各线程分别维护自己的步骤栈；容器启动完成后调用{@link #stopRecording()}，
+ * 之后创建原型、懒加载Bean不再记录，避免步骤无限增长
+ *
+ * @author Suave
+ * @since 2026/10/18 10:20
+ */
+public class BufferingApplicationStartup implements ApplicationStartup {
+
+    public static final String BEAN_CREATE = "bean.create";
+
+    private static final boolean JFR_PRESENT = isPresent("jdk.jfr.Event");
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private static final boolean ALLOCATION_SUPPORTED = isAllocationSupported();
+
+    private final AtomicLong idGenerator = new AtomicLong();
+
+    private final Queue<BufferedStartupStep> recordedSteps = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 每个线程尚未结束的步骤
+     */
+    private final ThreadLocal<Deque<BufferedStartupStep>> currentSteps = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final boolean jfrEnabled;
+
+    private volatile boolean recording = true;
+
+    /**
+     * @param jfrEnabled 是否同时提交JFR事件，运行环境不支持JFR时忽略
+     */
+    public BufferingApplicationStartup(boolean jfrEnabled) {
+        this.jfrEnabled = jfrEnabled && JFR_PRESENT;
+    }
+
+    @Override
+    public StartupStep start(String name) {
+        if (!this.recording) {
+            return ApplicationStartup.DEFAULT.start(name);
+        }
+        Deque<BufferedStartupStep> stack = this.currentSteps.get();
+        BufferedStartupStep parent = stack.peek();
+        BufferedStartupStep step = new BufferedStartupStep(this.idGenerator.incrementAndGet(),
+                parent == null ? 0 : parent.id, name, stack);
+        stack.push(step);
+        return step;
+    }
+
+    /**
+     * 记录一个已经结束的步骤，用于开始时还没有创建ApplicationStartup的步骤（如读取配置文件）
+     *
+     * @param name          步骤名称
+     * @param startNanos    开始时间，System.nanoTime()
+     * @param durationNanos 耗时
+     * @return 步骤
+     */
+    public StartupStep record(String name, long startNanos, long durationNanos) {
+        if (!this.recording) {
+            return ApplicationStartup.DEFAULT.start(name);
+        }
+        BufferedStartupStep parent = this.currentSteps.get().peek();
+        BufferedStartupStep step = new BufferedStartupStep(this.idGenerator.incrementAndGet(),
+                parent == null ? 0 : parent.id, name, startNanos, durationNanos);
+        this.recordedSteps.add(step);
+        return step;
+    }
+
+    /**
+     * 停止记录，之后开始的步骤不做任何记录，已经开始的步骤结束时仍然会记录
+     */
+    public void stopRecording() {
+        this.recording = false;
+    }
+
+    /**
+     * @return 是否仍在记录新的步骤
+     */
+    public boolean isRecording() {
+        return this.recording;
+    }
+
+    /**
+     * 获取所有已经结束的步骤，按结束顺序排列
+     *
+     * @return 步骤
+     */
+    public List<BufferedStartupStep> getRecordedSteps() {
+        return new ArrayList<>(this.recordedSteps);
+    }
+
+    /**
+     * 按自身耗时（去掉依赖Bean的创建时间）排序的Bean
+     *
+     * @param limit 最多返回的数量
+     * @return bean.create步骤
+     */
+    public List<BeanTiming> getSlowestBeans(int limit) {
+        List<BufferedStartupStep> steps = getRecordedSteps();
+        Map<Long, BufferedStartupStep> byId = new HashMap<>(steps.size() * 2);
+        for (BufferedStartupStep step : steps) {
+            byId.put(step.id, step);
+        }
+
+        // 每个bean.create减去最近的下级bean.create，得到自身的耗时和内存分配
+        Map<Long, BeanTiming> timings = new LinkedHashMap<>();
+        for (BufferedStartupStep step : steps) {
+            if (BEAN_CREATE.equals(step.name)) {
+                timings.put(step.id, new BeanTiming(step, buildDependencyChain(step, byId)));
+            }
+        }
+        for (BeanTiming timing : timings.values()) {
+            BufferedStartupStep ancestor = nearestBeanCreate(timing.step, byId);
+            if (ancestor != null) {
+                BeanTiming parent = timings.get(ancestor.id);
+                parent.selfNanos -= timing.step.durationNanos;
+                parent.selfAllocatedBytes -= Math.max(timing.step.allocatedBytes, 0);
+            }
+        }
+
+        List<BeanTiming> result = new ArrayList<>(timings.values());
+        result.sort(Comparator.comparingLong(BeanTiming::getSelfNanos).reversed());
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    private BufferedStartupStep nearestBeanCreate(BufferedStartupStep step, Map<Long, BufferedStartupStep> byId) {
+        BufferedStartupStep current = byId.get(step.parentId);
+        while (current != null && !BEAN_CREATE.equals(current.name)) {
+            current = byId.get(current.parentId);
+        }
+        return current;
+    }
+
+    private List<String> buildDependencyChain(BufferedStartupStep step, Map<Long, BufferedStartupStep> byId) {
+        List<String> chain = new ArrayList<>();
+        for (BufferedStartupStep current = step; current != null; current = nearestBeanCreate(current, byId)) {
+            chain.add(current.getTag("beanName"));
+        }
+        Collections.reverse(chain);
+        return chain;
+    }
+
+    /**
+     * 输出文本报告：容器级步骤的耗时以及最慢的Bean
+     *
+     * @param out   输出流
+     * @param limit 最慢Bean的数量
+     */
+    public void printReport(PrintStream out, int limit) {
+        out.println("========== 容器启动耗时 ==========");
+        for (BufferedStartupStep step : getRecordedSteps()) {
+            if (!step.name.startsWith("bean.")) {
+                out.printf("%-32s %10.2fms %s%s%n", step.name, step.durationNanos / 1e6, formatAllocation(step.allocatedBytes),
+                        step.tags.isEmpty() ? "" : " " + step.tags);
+            }
+        }
+        out.printf("---------- 自身耗时最长的%d个Bean ----------%n", limit);
+        for (BeanTiming timing : getSlowestBeans(limit)) {
+            out.printf("%-32s 自身%8.2fms 总计%8.2fms %s 依赖链：%s%n", timing.getBeanName(),
+                    timing.getSelfNanos() / 1e6, timing.step.durationNanos / 1e6,
+                    formatAllocation(timing.getSelfAllocatedBytes()), String.join(" -> ", timing.getDependencyChain()));
+        }
+    }
+
+    private static String formatAllocation(long bytes) {
+        return bytes < 0 ? "" : String.format("分配%.1fKB", bytes / 1024.0);
+    }
+
+    /**
+     * 导出为JSON，每个步骤一个对象
+     *
+     * @return JSON数组
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("[");
+        boolean first = true;
+        for (BufferedStartupStep step : getRecordedSteps()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            sb.append("\n  {\"id\":").append(step.id)
+                    .append(",\"parentId\":").append(step.parentId)
+                    .append(",\"name\":").append(quote(step.name))
+                    .append(",\"thread\":").append(quote(step.threadName))
+                    .append(",\"startNanos\":").append(step.startNanos)
+                    .append(",\"durationNanos\":").append(step.durationNanos)
+                    .append(",\"allocatedBytes\":").append(step.allocatedBytes)
+                    .append(",\"tags\":{");
+            boolean firstTag = true;
+            for (Map.Entry<String, String> tag : step.tags.entrySet()) {
+                if (!firstTag) {
+                    sb.append(',');
+                }
+                firstTag = false;
+                sb.append(quote(tag.getKey())).append(':').append(quote(tag.getValue()));
+            }
+            sb.append("}}");
+        }
+        return sb.append("\n]").toString();
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static boolean isPresent(String className) {
+        try {
+            Class.forName(className, false, BufferingApplicationStartup.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static boolean isAllocationSupported() {
+        try {
+            return THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).isThreadAllocatedMemorySupported()
+                    && ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).isThreadAllocatedMemoryEnabled();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * 当前线程累计分配的内存
+     *
+     * @return 不支持时返回-1
+     */
+    private static long currentThreadAllocatedBytes() {
+        if (!ALLOCATION_SUPPORTED) {
+            return -1;
+        }
+        return ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * 记录下来的一个步骤
+     */
+    public class BufferedStartupStep implements StartupStep {
+
+        private final long id;
+
+        private final long parentId;
+
+        private final String name;
+
+        private final String threadName;
+
+        private final Map<String, String> tags = new LinkedHashMap<>(4);
+
+        private final long startNanos;
+
+        private long durationNanos;
+
+        /**
+         * 步骤期间当前线程分配的内存，不支持时为-1
+         */
+        private long allocatedBytes;
+
+        private final long startAllocatedBytes;
+
+        private final Deque<BufferedStartupStep> stack;
+
+        private final Object jfrEvent;
+
+        BufferedStartupStep(long id, long parentId, String name, Deque<BufferedStartupStep> stack) {
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+            this.threadName = Thread.currentThread().getName();
+            this.stack = stack;
+            this.jfrEvent = jfrEnabled ? StartupStepEvent.begin(id, parentId, name) : null;
+            this.startAllocatedBytes = currentThreadAllocatedBytes();
+            this.startNanos = System.nanoTime();
+        }
+
+        BufferedStartupStep(long id, long parentId, String name, long startNanos, long durationNanos) {
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+            this.threadName = Thread.currentThread().getName();
+            this.stack = null;
+            this.jfrEvent = null;
+            this.startAllocatedBytes = -1;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+            this.allocatedBytes = -1;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        public long getParentId() {
+            return parentId;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public Map<String, String> getTags() {
+            return Collections.unmodifiableMap(tags);
+        }
+
+        public String getTag(String key) {
+            return tags.get(key);
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            this.tags.put(key, value);
+            return this;
+        }
+
+        @Override
+        public void end() {
+            this.durationNanos = System.nanoTime() - this.startNanos;
+            this.allocatedBytes = this.startAllocatedBytes < 0 ? -1 : currentThreadAllocatedBytes() - this.startAllocatedBytes;
+            if (this.stack != null) {
+                this.stack.remove(this);
+            }
+            if (this.jfrEvent != null) {
+                StartupStepEvent.commit(this.jfrEvent, this.tags.toString(), this.allocatedBytes);
+            }
+            recordedSteps.add(this);
+        }
+    }
+
+    /**
+     * 一个Bean的创建耗时
+     */
+    public static class BeanTiming {
+
+        private final BufferedStartupStep step;
+
+        private final List<String> dependencyChain;
+
+        private long selfNanos;
+
+        private long selfAllocatedBytes;
+
+        BeanTiming(BufferedStartupStep step, List<String> dependencyChain) {
+            this.step = step;
+            this.dependencyChain = dependencyChain;
+            this.selfNanos = step.durationNanos;
+            this.selfAllocatedBytes = step.allocatedBytes;
+        }
+
+        public String getBeanName() {
+            return step.getTag("beanName");
+        }
+
+        public long getTotalNanos() {
+            return step.durationNanos;
+        }
+
+        /**
+         * 去掉依赖Bean创建时间后的耗时
+         */
+        public long getSelfNanos() {
+            return selfNanos;
+        }
+
+        /**
+         * 去掉依赖Bean后分配的内存，不支持时为负数
+         */
+        public long getSelfAllocatedBytes() {
+            return selfAllocatedBytes;
+        }
+
+        /**
+         * 从最先开始创建的Bean到当前Bean的依赖链
+         */
+        public List<String> getDependencyChain() {
+            return dependencyChain;
+        }
+    }
+}
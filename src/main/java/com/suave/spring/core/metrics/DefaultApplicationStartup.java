@@ -0,0 +1,36 @@
+package com.suave.spring.core.metrics;
+
+/**
+ * 不做任何记录的实现，所有步骤共用一个对象
+ *
+ * @author Suave
+ * @since 2026/10/18 10:20
+ */
+class DefaultApplicationStartup implements ApplicationStartup {
+
+    private static final StartupStep NO_OP_STEP = new StartupStep() {
+        @Override
+        public String getName() {
+            return "noop";
+        }
+
+        @Override
+        public long getId() {
+            return 0;
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public void end() {
+        }
+    };
+
+    @Override
+    public StartupStep start(String name) {
+        return NO_OP_STEP;
+    }
+}
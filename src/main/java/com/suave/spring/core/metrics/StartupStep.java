@@ -0,0 +1,38 @@
+package com.suave.spring.core.metrics;
+
+/**
+ * 启动过程中的一个步骤，同一线程中嵌套开始的步骤会记录父步骤，Bean之间的依赖链由此得到
+ *
+ * @author Suave
+ * @since 2026/10/18 10:20
+ */
+public interface StartupStep {
+
+    /**
+     * 步骤名称，如context.scan、bean.create
+     *
+     * @return 步骤名称
+     */
+    String getName();
+
+    /**
+     * 步骤的唯一标识
+     *
+     * @return 唯一标识
+     */
+    long getId();
+
+    /**
+     * 添加标签，如beanName
+     *
+     * @param key   标签名
+     * @param value 标签值
+     * @return 当前步骤
+     */
+    StartupStep tag(String key, String value);
+
+    /**
+     * 结束当前步骤，必须在开始步骤的线程中调用
+     */
+    void end();
+}
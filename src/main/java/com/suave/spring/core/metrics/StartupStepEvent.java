@@ -0,0 +1,66 @@
+package com.suave.spring.core.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 启动步骤对应的JFR事件，可以在JDK Mission Control中按名称、耗时查看
+ * <p>
+ * 只有运行环境中存在jdk.jfr时才会加载该类，其他类只能通过静态方法使用它
+ *
+ * @author Suave
+ * @since 2026/10/18 10:20
+ */
+@Name("com.suave.spring.StartupStep")
+@Label("Startup Step")
+@Category({"Mini Spring", "Startup"})
+@Description("容器启动过程中的一个步骤")
+@StackTrace(false)
+class StartupStepEvent extends Event {
+
+    @Label("Id")
+    long id;
+
+    @Label("Parent Id")
+    long parentId;
+
+    @Label("Name")
+    String name;
+
+    @Label("Tags")
+    String tags;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+
+    /**
+     * 开始计时，JFR没有启用该事件时返回null
+     */
+    static Object begin(long id, long parentId, String name) {
+        StartupStepEvent event = new StartupStepEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.id = id;
+        event.parentId = parentId;
+        event.name = name;
+        event.begin();
+        return event;
+    }
+
+    static void commit(Object jfrEvent, String tags, long allocatedBytes) {
+        StartupStepEvent event = (StartupStepEvent) jfrEvent;
+        event.end();
+        if (event.shouldCommit()) {
+            event.tags = tags;
+            event.allocatedBytes = allocatedBytes;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.suave.spring.core.type;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 类的元数据，直接从.class文件中解析得到，获取时不会加载类，也不会执行静态代码块
+ *
+ * @author Suave
+ * @since 2026/10/17 16:05
+ */
+public class ClassMetadata {
+
+    /**
+     * .class文件中的ACC_INTERFACE，注解也带有该标识
+     */
+    private static final int ACC_INTERFACE = 0x0200;
+
+    private static final int ACC_ANNOTATION = 0x2000;
+
+    /**
+     * 全类名
+     */
+    private final String className;
+
+    /**
+     * 父类全类名，java.lang.Object时为null
+     */
+    private final String superClassName;
+
+    /**
+     * 直接实现的接口全类名
+     */
+    private final List<String> interfaceNames;
+
+    /**
+     * 类上运行期可见的注解，Key为注解全类名，Value为注解的属性
+     */
+    private final Map<String, Map<String, Object>> annotations;
+
+    /**
+     * 类中直接声明的、标注了运行期可见注解的方法
+     */
+    private final List<MethodMetadata> annotatedMethods;
+
+    private final int access;
+
+    public ClassMetadata(String className, String superClassName, List<String> interfaceNames,
+                         Map<String, Map<String, Object>> annotations, int access) {
+        this(className, superClassName, interfaceNames, annotations, Collections.<MethodMetadata>emptyList(), access);
+    }
+
+    public ClassMetadata(String className, String superClassName, List<String> interfaceNames,
+                         Map<String, Map<String, Object>> annotations, List<MethodMetadata> annotatedMethods, int access) {
+        this.className = className;
+        this.superClassName = superClassName;
+        this.interfaceNames = Collections.unmodifiableList(interfaceNames);
+        this.annotations = Collections.unmodifiableMap(annotations);
+        this.annotatedMethods = Collections.unmodifiableList(annotatedMethods);
+        this.access = access;
+    }
+
+    /**
+     * 是否为接口，和Class.isInterface()一致，注解也返回true
+     *
+     * @return 是否为接口
+     */
+    public boolean isInterface() {
+        return (this.access & ACC_INTERFACE) != 0;
+    }
+
+    public boolean isAnnotation() {
+        return (this.access & ACC_ANNOTATION) != 0;
+    }
+
+    public boolean isFinal() {
+        return Modifier.isFinal(this.access);
+    }
+
+    public boolean isAbstract() {
+        return Modifier.isAbstract(this.access);
+    }
+
+    /**
+     * 类上是否直接标注了该注解
+     *
+     * @param annotationName 注解全类名
+     * @return 是否标注
+     */
+    public boolean hasAnnotation(String annotationName) {
+        return this.annotations.containsKey(annotationName);
+    }
+
+    /**
+     * 获取注解上显式设置的属性，使用默认值的属性不会出现在结果中
+     *
+     * @param annotationName 注解全类名
+     * @return 注解属性，未标注该注解时返回null
+     */
+    public Map<String, Object> getAnnotationAttributes(String annotationName) {
+        return this.annotations.get(annotationName);
+    }
+
+    /**
+     * 获取类中直接声明的、标注了该注解的方法，不包括父类中的方法
+     *
+     * @param annotationName 注解全类名
+     * @return 方法的元数据，按声明顺序排列
+     */
+    public List<MethodMetadata> getAnnotatedMethods(String annotationName) {
+        List<MethodMetadata> result = new ArrayList<>();
+        for (MethodMetadata method : this.annotatedMethods) {
+            if (method.hasAnnotation(annotationName)) {
+                result.add(method);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 不加载类的情况下获取类名，效果和Class.getSimpleName()一致（匿名类除外）
+     *
+     * @return 类名
+     */
+    public String getSimpleName() {
+        int lastDot = this.className.lastIndexOf('.');
+        int lastDollar = this.className.lastIndexOf('$');
+        return this.className.substring(Math.max(lastDot, lastDollar) + 1);
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getSuperClassName() {
+        return superClassName;
+    }
+
+    public List<String> getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    public Map<String, Map<String, Object>> getAnnotations() {
+        return annotations;
+    }
+}
@@ -0,0 +1,144 @@
+package com.suave.spring.core.type;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 方法的元数据，和{@link ClassMetadata}一起从.class文件中解析，只保留标注了运行期可见注解的方法
+ *
+ * @author Suave
+ * @since 2026/10/19 04:00
+ */
+public class MethodMetadata {
+
+    private final String methodName;
+
+    /**
+     * 方法描述符，如(Ljava/lang/String;I)Ljavax/sql/DataSource;
+     */
+    private final String descriptor;
+
+    private final Map<String, Map<String, Object>> annotations;
+
+    private final int access;
+
+    public MethodMetadata(String methodName, String descriptor, Map<String, Map<String, Object>> annotations, int access) {
+        this.methodName = methodName;
+        this.descriptor = descriptor;
+        this.annotations = Collections.unmodifiableMap(annotations);
+        this.access = access;
+    }
+
+    public boolean isStatic() {
+        return Modifier.isStatic(this.access);
+    }
+
+    public boolean isPrivate() {
+        return Modifier.isPrivate(this.access);
+    }
+
+    public boolean isFinal() {
+        return Modifier.isFinal(this.access);
+    }
+
+    /**
+     * 方法上是否直接标注了该注解
+     *
+     * @param annotationName 注解全类名
+     * @return 是否标注
+     */
+    public boolean hasAnnotation(String annotationName) {
+        return this.annotations.containsKey(annotationName);
+    }
+
+    /**
+     * 获取注解上显式设置的属性，使用默认值的属性不会出现在结果中
+     *
+     * @param annotationName 注解全类名
+     * @return 注解属性，未标注该注解时返回null
+     */
+    public Map<String, Object> getAnnotationAttributes(String annotationName) {
+        return this.annotations.get(annotationName);
+    }
+
+    /**
+     * 返回值类型，格式和Class.getName()一致，如int、java.lang.String、[Ljava.lang.String;
+     *
+     * @return 返回值类型，没有返回值时为void
+     */
+    public String getReturnTypeName() {
+        return toTypeName(this.descriptor, this.descriptor.indexOf(')') + 1, this.descriptor.length());
+    }
+
+    /**
+     * 参数类型，格式和Class.getName()一致
+     *
+     * @return 参数类型
+     */
+    public List<String> getParameterTypeNames() {
+        return getParameterTypeNames(this.descriptor);
+    }
+
+    /**
+     * 从方法描述符中解析参数类型，格式和Class.getName()一致，不需要加载类
+     *
+     * @param descriptor 方法描述符
+     * @return 参数类型
+     */
+    public static List<String> getParameterTypeNames(String descriptor) {
+        List<String> result = new ArrayList<>();
+        int i = 1;
+        while (descriptor.charAt(i) != ')') {
+            int start = i;
+            while (descriptor.charAt(i) == '[') {
+                i++;
+            }
+            i = descriptor.charAt(i) == 'L' ? descriptor.indexOf(';', i) + 1 : i + 1;
+            result.add(toTypeName(descriptor, start, i));
+        }
+        return result;
+    }
+
+    private static String toTypeName(String descriptor, int start, int end) {
+        char c = descriptor.charAt(start);
+        if (c == '[') {
+            return descriptor.substring(start, end).replace('/', '.');
+        }
+        if (c == 'L') {
+            return descriptor.substring(start + 1, end - 1).replace('/', '.');
+        }
+        switch (c) {
+            case 'V':
+                return "void";
+            case 'Z':
+                return "boolean";
+            case 'B':
+                return "byte";
+            case 'C':
+                return "char";
+            case 'S':
+                return "short";
+            case 'I':
+                return "int";
+            case 'J':
+                return "long";
+            case 'F':
+                return "float";
+            case 'D':
+                return "double";
+            default:
+                throw new IllegalArgumentException("不合法的描述符：" + descriptor);
+        }
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public String getDescriptor() {
+        return descriptor;
+    }
+}
@@ -0,0 +1,381 @@
+package com.suave.spring.core.type.classreading;
+
+import com.suave.spring.core.type.ClassMetadata;
+import com.suave.spring.core.type.MethodMetadata;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 直接解析.class文件得到{@link ClassMetadata}，只读取常量池、类的基本信息以及类和方法上的RuntimeVisibleAnnotations属性
+ * <p>
+ * 和Class.forName相比不会加载类、不会执行静态代码块，也不会占用元空间，扫描时只有真正的Bean才需要加载
+ *
+ * @author Suave
+ * @since 2026/10/17 16:10
+ */
+public class ClassMetadataReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private final ClassLoader classLoader;
+
+    public ClassMetadataReader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * 根据全类名从ClassPath读取.class文件并解析
+     *
+     * @param className 全类名
+     * @return 类的元数据
+     * @throws IOException .class文件不存在或格式错误
+     */
+    public ClassMetadata getClassMetadata(String className) throws IOException {
+        String resourcePath = className.replace('.', '/') + ".class";
+        try (InputStream is = this.classLoader.getResourceAsStream(resourcePath)) {
+            if (is == null) {
+                throw new FileNotFoundException(resourcePath);
+            }
+            return read(is);
+        }
+    }
+
+    /**
+     * 从输入流中解析类的元数据，不会关闭输入流
+     *
+     * @param is .class文件输入流
+     * @return 类的元数据
+     * @throws IOException 读取失败或格式错误
+     */
+    public static ClassMetadata read(InputStream is) throws IOException {
+        byte[] buffer = new byte[4096];
+        int length = 0;
+        int n;
+        while ((n = is.read(buffer, length, buffer.length - length)) != -1) {
+            length += n;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        return read(buffer);
+    }
+
+    /**
+     * 解析.class文件的字节
+     *
+     * @param bytes .class文件内容
+     * @return 类的元数据
+     * @throws IOException 格式错误
+     */
+    public static ClassMetadata read(byte[] bytes) throws IOException {
+        try {
+            return new ClassFileParser(bytes).parse();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("不完整的.class文件", e);
+        }
+    }
+
+    /**
+     * .class文件解析器，常量池只记录偏移量，用到的Utf8常量才会解码
+     */
+    private static class ClassFileParser {
+
+        private final byte[] b;
+
+        /**
+         * 常量池中每一项（tag之后）在字节数组中的偏移量
+         */
+        private int[] constantOffsets;
+
+        /**
+         * 已解码的Utf8常量
+         */
+        private String[] utf8Cache;
+
+        private int pos;
+
+        ClassFileParser(byte[] b) {
+            this.b = b;
+        }
+
+        ClassMetadata parse() throws IOException {
+            if (readInt() != MAGIC) {
+                throw new IOException("不是合法的.class文件");
+            }
+            // minor_version、major_version
+            this.pos += 4;
+            readConstantPool();
+
+            int access = readUnsignedShort();
+            String className = readClassName(readUnsignedShort());
+            int superIndex = readUnsignedShort();
+            String superClassName = superIndex == 0 ? null : readClassName(superIndex);
+
+            int interfacesCount = readUnsignedShort();
+            List<String> interfaceNames = new ArrayList<>(interfacesCount);
+            for (int i = 0; i < interfacesCount; i++) {
+                interfaceNames.add(readClassName(readUnsignedShort()));
+            }
+
+            // 字段跳过，方法只保留标注了注解的
+            skipMembers();
+            List<MethodMetadata> annotatedMethods = readAnnotatedMethods();
+
+            Map<String, Map<String, Object>> annotations = readRuntimeVisibleAnnotations();
+            return new ClassMetadata(className, superClassName, interfaceNames, annotations, annotatedMethods, access);
+        }
+
+        private void readConstantPool() throws IOException {
+            int count = readUnsignedShort();
+            this.constantOffsets = new int[count];
+            this.utf8Cache = new String[count];
+            for (int i = 1; i < count; i++) {
+                int tag = this.b[this.pos++] & 0xFF;
+                this.constantOffsets[i] = this.pos;
+                switch (tag) {
+                    case CONSTANT_UTF8:
+                        this.pos += 2 + readUnsignedShort(this.pos);
+                        break;
+                    case CONSTANT_CLASS:
+                    case CONSTANT_STRING:
+                    case CONSTANT_METHOD_TYPE:
+                    case CONSTANT_MODULE:
+                    case CONSTANT_PACKAGE:
+                        this.pos += 2;
+                        break;
+                    case CONSTANT_METHOD_HANDLE:
+                        this.pos += 3;
+                        break;
+                    case CONSTANT_INTEGER:
+                    case CONSTANT_FLOAT:
+                    case CONSTANT_FIELDREF:
+                    case CONSTANT_METHODREF:
+                    case CONSTANT_INTERFACE_METHODREF:
+                    case CONSTANT_NAME_AND_TYPE:
+                    case CONSTANT_DYNAMIC:
+                    case CONSTANT_INVOKE_DYNAMIC:
+                        this.pos += 4;
+                        break;
+                    case CONSTANT_LONG:
+                    case CONSTANT_DOUBLE:
+                        // long和double占用两个常量池位置
+                        this.pos += 8;
+                        i++;
+                        break;
+                    default:
+                        throw new IOException("未知的常量池类型：" + tag);
+                }
+            }
+        }
+
+        private void skipMembers() {
+            int count = readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                // access_flags、name_index、descriptor_index
+                this.pos += 6;
+                skipAttributes();
+            }
+        }
+
+        private List<MethodMetadata> readAnnotatedMethods() throws IOException {
+            int count = readUnsignedShort();
+            List<MethodMetadata> result = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                int access = readUnsignedShort();
+                int nameIndex = readUnsignedShort();
+                int descriptorIndex = readUnsignedShort();
+                Map<String, Map<String, Object>> annotations = readRuntimeVisibleAnnotations();
+                if (!annotations.isEmpty()) {
+                    result.add(new MethodMetadata(readUtf8(nameIndex), readUtf8(descriptorIndex), annotations, access));
+                }
+            }
+            return result;
+        }
+
+        /**
+         * 读取一组属性，只解析其中的RuntimeVisibleAnnotations
+         */
+        private Map<String, Map<String, Object>> readRuntimeVisibleAnnotations() throws IOException {
+            Map<String, Map<String, Object>> annotations = Collections.emptyMap();
+            int attributesCount = readUnsignedShort();
+            for (int i = 0; i < attributesCount; i++) {
+                String attributeName = readUtf8(readUnsignedShort());
+                int attributeLength = readInt();
+                int attributeEnd = this.pos + attributeLength;
+                if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+                    annotations = new LinkedHashMap<>();
+                    int annotationsCount = readUnsignedShort();
+                    for (int j = 0; j < annotationsCount; j++) {
+                        String annotationName = descriptorToClassName(readUtf8(readUnsignedShort()));
+                        annotations.put(annotationName, readAnnotationAttributes());
+                    }
+                }
+                this.pos = attributeEnd;
+            }
+            return annotations;
+        }
+
+        private void skipAttributes() {
+            int count = readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                this.pos += 2;
+                int length = readInt();
+                this.pos += length;
+            }
+        }
+
+        private Map<String, Object> readAnnotationAttributes() throws IOException {
+            int pairsCount = readUnsignedShort();
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            for (int i = 0; i < pairsCount; i++) {
+                String name = readUtf8(readUnsignedShort());
+                attributes.put(name, readElementValue());
+            }
+            return attributes;
+        }
+
+        private Object readElementValue() throws IOException {
+            char tag = (char) (this.b[this.pos++] & 0xFF);
+            switch (tag) {
+                case 'B':
+                    return (byte) readConstantInt(readUnsignedShort());
+                case 'C':
+                    return (char) readConstantInt(readUnsignedShort());
+                case 'S':
+                    return (short) readConstantInt(readUnsignedShort());
+                case 'I':
+                    return readConstantInt(readUnsignedShort());
+                case 'Z':
+                    return readConstantInt(readUnsignedShort()) != 0;
+                case 'J':
+                    return readConstantLong(readUnsignedShort());
+                case 'F':
+                    return Float.intBitsToFloat(readConstantInt(readUnsignedShort()));
+                case 'D':
+                    return Double.longBitsToDouble(readConstantLong(readUnsignedShort()));
+                case 's':
+                    return readUtf8(readUnsignedShort());
+                case 'e':
+                    // 枚举只保留常量名
+                    this.pos += 2;
+                    return readUtf8(readUnsignedShort());
+                case 'c':
+                    return descriptorToClassName(readUtf8(readUnsignedShort()));
+                case '@':
+                    this.pos += 2;
+                    return readAnnotationAttributes();
+                case '[':
+                    int count = readUnsignedShort();
+                    Object[] values = new Object[count];
+                    for (int i = 0; i < count; i++) {
+                        values[i] = readElementValue();
+                    }
+                    return values;
+                default:
+                    throw new IOException("未知的注解属性类型：" + tag);
+            }
+        }
+
+        private String readClassName(int classIndex) {
+            // CONSTANT_Class中保存的是Utf8常量的下标，内容形如com/suave/demo/PersonController
+            return readUtf8(readUnsignedShort(this.constantOffsets[classIndex])).replace('/', '.');
+        }
+
+        private int readConstantInt(int index) {
+            return readInt(this.constantOffsets[index]);
+        }
+
+        private long readConstantLong(int index) {
+            int offset = this.constantOffsets[index];
+            return ((long) readInt(offset) << 32) | (readInt(offset + 4) & 0xFFFFFFFFL);
+        }
+
+        /**
+         * 解码Utf8常量，.class文件使用的是Modified UTF-8
+         */
+        private String readUtf8(int index) {
+            String value = this.utf8Cache[index];
+            if (value != null) {
+                return value;
+            }
+            int offset = this.constantOffsets[index];
+            int length = readUnsignedShort(offset);
+            int start = offset + 2;
+            int end = start + length;
+            char[] chars = new char[length];
+            int charLength = 0;
+            for (int i = start; i < end; ) {
+                int c = this.b[i++] & 0xFF;
+                if (c < 0x80) {
+                    chars[charLength++] = (char) c;
+                } else if (c < 0xE0) {
+                    chars[charLength++] = (char) (((c & 0x1F) << 6) | (this.b[i++] & 0x3F));
+                } else {
+                    chars[charLength++] = (char) (((c & 0x0F) << 12) | ((this.b[i++] & 0x3F) << 6) | (this.b[i++] & 0x3F));
+                }
+            }
+            value = new String(chars, 0, charLength);
+            this.utf8Cache[index] = value;
+            return value;
+        }
+
+        private int readUnsignedShort() {
+            int value = readUnsignedShort(this.pos);
+            this.pos += 2;
+            return value;
+        }
+
+        private int readUnsignedShort(int offset) {
+            return ((this.b[offset] & 0xFF) << 8) | (this.b[offset + 1] & 0xFF);
+        }
+
+        private int readInt() {
+            int value = readInt(this.pos);
+            this.pos += 4;
+            return value;
+        }
+
+        private int readInt(int offset) {
+            return ((this.b[offset] & 0xFF) << 24) | ((this.b[offset + 1] & 0xFF) << 16)
+                    | ((this.b[offset + 2] & 0xFF) << 8) | (this.b[offset + 3] & 0xFF);
+        }
+
+        /**
+         * 把Lcom/suave/spring/annotation/Service;形式的描述符转换为全类名
+         */
+        private static String descriptorToClassName(String descriptor) {
+            if (descriptor.length() > 2 && descriptor.charAt(0) == 'L' && descriptor.charAt(descriptor.length() - 1) == ';') {
+                return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+            }
+            return descriptor;
+        }
+    }
+}
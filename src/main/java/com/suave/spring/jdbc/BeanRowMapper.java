@@ -0,0 +1,194 @@
+package com.suave.spring.jdbc;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 把结果集的一行转换为目标类的对象，每个类只解析一次
+ * <ul>
+ *     <li>创建时解析无参构造器和所有字段的setter句柄，列名和字段名忽略大小写和下划线匹配，user_name对应userName</li>
+ *     <li>{@link #bind(ResultSetMetaData)}按结果集的列生成RowMapper，每列组合成一个(Object, ResultSet)void的句柄，
+ *     转换每一行时只按顺序调用这些句柄，不再按名称查找字段</li>
+ *     <li>结果集中没有对应字段的列忽略</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/19 00:00
+ */
+final class BeanRowMapper<T> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType COLUMN_TYPE = MethodType.methodType(void.class, Object.class, ResultSet.class);
+
+    private static final MethodHandle GET_OBJECT;
+
+    private static final MethodHandle TO_ENUM;
+
+    static {
+        try {
+            GET_OBJECT = LOOKUP.findVirtual(ResultSet.class, "getObject", MethodType.methodType(Object.class, int.class, Class.class));
+            TO_ENUM = LOOKUP.findStatic(BeanRowMapper.class, "toEnum", MethodType.methodType(Enum.class, Class.class, String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Class<T> type;
+
+    private final MethodHandle constructor;
+
+    /**
+     * Key为去掉下划线并转为小写的字段名，Value为(Object, 字段类型)void的setter句柄
+     */
+    private final Map<String, MethodHandle> setters = new HashMap<>();
+
+    BeanRowMapper(Class<T> type) {
+        this.type = type;
+        try {
+            this.constructor = LOOKUP.unreflectConstructor(accessible(type.getDeclaredConstructor()))
+                    .asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new DataAccessException(type.getName() + "没有可以访问的无参构造器，不能作为查询结果", e);
+        }
+        for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+                    continue;
+                }
+                try {
+                    MethodHandle setter = LOOKUP.unreflectSetter(accessible(field));
+                    // 子类的字段优先
+                    this.setters.putIfAbsent(normalize(field.getName()),
+                            setter.asType(MethodType.methodType(void.class, Object.class, field.getType())));
+                } catch (IllegalAccessException e) {
+                    throw new DataAccessException("无法访问字段：" + clazz.getName() + "." + field.getName(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 按结果集的列生成RowMapper，同一个SQL的列不会变化，生成的结果可以缓存
+     *
+     * @param metaData 结果集的元数据
+     * @return RowMapper
+     * @throws SQLException 读取元数据失败
+     */
+    RowMapper<T> bind(ResultSetMetaData metaData) throws SQLException {
+        List<MethodHandle> columns = new ArrayList<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            MethodHandle setter = this.setters.get(normalize(metaData.getColumnLabel(i)));
+            if (setter != null) {
+                MethodHandle reader = reader(setter.type().parameterType(1), i);
+                columns.add(MethodHandles.filterArguments(setter, 1, reader).asType(COLUMN_TYPE));
+            }
+        }
+        MethodHandle constructor = this.constructor;
+        MethodHandle[] handles = columns.toArray(new MethodHandle[0]);
+        Class<T> type = this.type;
+        return (rs, rowNum) -> {
+            try {
+                Object bean = (Object) constructor.invokeExact();
+                for (MethodHandle handle : handles) {
+                    handle.invokeExact(bean, rs);
+                }
+                return type.cast(bean);
+            } catch (SQLException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new DataAccessException("转换为" + type.getName() + "失败", e);
+            }
+        };
+    }
+
+    /**
+     * 单列结果的RowMapper，用于queryForList(sql, Integer.class)这类查询
+     *
+     * @param type 列的类型
+     * @return RowMapper
+     */
+    @SuppressWarnings("unchecked")
+    static <T> RowMapper<T> singleColumn(Class<T> type) {
+        MethodHandle reader = reader(type, 1).asType(MethodType.methodType(Object.class, ResultSet.class));
+        return (rs, rowNum) -> {
+            try {
+                Object value = (Object) reader.invokeExact(rs);
+                // 基本类型的列为NULL时getInt等方法返回0，这里和包装类型一样返回null
+                return value == null || rs.wasNull() ? null : (T) value;
+            } catch (SQLException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new DataAccessException("转换为" + type.getName() + "失败", e);
+            }
+        };
+    }
+
+    /**
+     * 是否按单列结果处理：基本类型、JDK中的值类型和枚举
+     */
+    static boolean isSingleColumnType(Class<?> type) {
+        return type.isPrimitive() || type.isEnum() || type.getName().startsWith("java.");
+    }
+
+    /**
+     * 读取第index列的句柄，类型为(ResultSet)type
+     */
+    private static MethodHandle reader(Class<?> type, int index) {
+        try {
+            MethodHandle handle;
+            if (type.isPrimitive()) {
+                // getInt、getLong等方法，列为NULL时得到0
+                String name = "get" + Character.toUpperCase(type.getName().charAt(0)) + type.getName().substring(1);
+                handle = LOOKUP.findVirtual(ResultSet.class, name, MethodType.methodType(type, int.class));
+            } else if (type == String.class) {
+                handle = LOOKUP.findVirtual(ResultSet.class, "getString", MethodType.methodType(String.class, int.class));
+            } else if (type == BigDecimal.class) {
+                handle = LOOKUP.findVirtual(ResultSet.class, "getBigDecimal", MethodType.methodType(BigDecimal.class, int.class));
+            } else if (type.isEnum()) {
+                MethodHandle getString = LOOKUP.findVirtual(ResultSet.class, "getString", MethodType.methodType(String.class, int.class));
+                handle = MethodHandles.filterReturnValue(getString, MethodHandles.insertArguments(TO_ENUM, 0, type));
+            } else {
+                // 包装类型和java.time等类型交给驱动转换
+                handle = MethodHandles.insertArguments(GET_OBJECT, 2, type);
+            }
+            return MethodHandles.insertArguments(handle, 1, index)
+                    .asType(MethodType.methodType(type, ResultSet.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new DataAccessException("不支持的列类型：" + type.getName(), e);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Enum<?> toEnum(Class type, String value) {
+        return value == null ? null : Enum.valueOf(type, value);
+    }
+
+    private static <A extends java.lang.reflect.AccessibleObject> A accessible(A member) {
+        member.setAccessible(true);
+        return member;
+    }
+
+    private static String normalize(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '_') {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+}
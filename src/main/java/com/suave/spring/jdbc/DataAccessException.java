@@ -0,0 +1,18 @@
+package com.suave.spring.jdbc;
+
+/**
+ * 数据访问失败，包装SQLException或连接池的错误
+ *
+ * @author Suave
+ * @since 2026/10/19 00:00
+ */
+public class DataAccessException extends RuntimeException {
+
+    public DataAccessException(String message) {
+        super(message);
+    }
+
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,311 @@
+package com.suave.spring.jdbc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 简化JDBC操作，SQLException统一转换为{@link DataAccessException}
+ * <ul>
+ *     <li>数据源是{@link PooledDataSource}时直接借出连接并使用连接上缓存的预编译语句，不经过Connection代理</li>
+ *     <li>按类型查询时，每个类只解析一次字段，每个SQL只读取一次结果集的元数据，之后转换每一行只调用生成好的句柄</li>
+ *     <li>批量写入在一个事务中按批次执行</li>
+ *     <li>当前线程在@Transactional事务中时使用事务绑定的连接，由事务提交或回滚</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/19 00:00
+ */
+public class JdbcTemplate {
+
+    /**
+     * 批量写入默认每批的行数
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final DataSource dataSource;
+
+    private final PooledDataSource pooledDataSource;
+
+    private final Map<Class<?>, BeanRowMapper<?>> beanRowMappers = new ConcurrentHashMap<>(64);
+
+    private final Map<Class<?>, RowMapper<?>> singleColumnRowMappers = new ConcurrentHashMap<>(16);
+
+    /**
+     * 按类型和SQL缓存绑定好列的RowMapper
+     */
+    private final Map<Class<?>, Map<String, RowMapper<?>>> boundRowMappers = new ConcurrentHashMap<>(64);
+
+    public JdbcTemplate(DataSource dataSource) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("数据源不能为空");
+        }
+        this.dataSource = dataSource;
+        this.pooledDataSource = dataSource instanceof PooledDataSource ? (PooledDataSource) dataSource : null;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * 执行DDL等没有参数和结果的SQL
+     *
+     * @param sql SQL
+     * @throws DataAccessException 执行失败
+     */
+    public void execute(String sql) {
+        PooledConnection connection = getConnection();
+        try (Statement statement = connection.getConnection().createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw translate(sql, e);
+        } finally {
+            releaseConnection(connection);
+        }
+    }
+
+    /**
+     * 执行INSERT、UPDATE、DELETE
+     *
+     * @param sql  SQL，参数使用?占位
+     * @param args 参数
+     * @return 影响的行数
+     * @throws DataAccessException 执行失败
+     */
+    public int update(String sql, Object... args) {
+        PooledConnection connection = getConnection();
+        try {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            setParameters(ps, args);
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            throw translate(sql, e);
+        } finally {
+            releaseConnection(connection);
+        }
+    }
+
+    /**
+     * 批量执行，每{@link #DEFAULT_BATCH_SIZE}行提交给数据库一次
+     *
+     * @see #batchUpdate(String, List, int)
+     */
+    public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+        return batchUpdate(sql, batchArgs, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * 批量执行，所有批次在同一个事务中，任何一批失败时全部回滚；已经在事务中时由外层事务提交
+     *
+     * @param sql       SQL，参数使用?占位
+     * @param batchArgs 每一行的参数
+     * @param batchSize 每批的行数
+     * @return 每一行影响的行数
+     * @throws DataAccessException 执行失败
+     */
+    public int[] batchUpdate(String sql, List<Object[]> batchArgs, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("每批的行数必须大于0：" + batchSize);
+        }
+        int[] result = new int[batchArgs.size()];
+        if (batchArgs.isEmpty()) {
+            return result;
+        }
+        PooledConnection connection = getConnection();
+        Connection con = connection.getConnection();
+        boolean localTransaction = false;
+        PreparedStatement ps = null;
+        try {
+            if (con.getAutoCommit()) {
+                connection.setAutoCommit(false);
+                localTransaction = true;
+            }
+            ps = connection.prepareStatement(sql);
+            int offset = 0;
+            for (int i = 0; i < batchArgs.size(); i++) {
+                setParameters(ps, batchArgs.get(i));
+                ps.addBatch();
+                if (i - offset + 1 == batchSize || i == batchArgs.size() - 1) {
+                    int[] counts = ps.executeBatch();
+                    System.arraycopy(counts, 0, result, offset, counts.length);
+                    offset = i + 1;
+                }
+            }
+            if (localTransaction) {
+                con.commit();
+            }
+            return result;
+        } catch (SQLException e) {
+            if (localTransaction) {
+                rollbackQuietly(con, e);
+            }
+            throw translate(sql, e);
+        } finally {
+            if (ps != null) {
+                clearBatchQuietly(ps);
+            }
+            if (localTransaction) {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    // 归还时连接池会再尝试恢复
+                }
+            }
+            releaseConnection(connection);
+        }
+    }
+
+    /**
+     * 查询，使用自定义的RowMapper转换每一行
+     *
+     * @param sql       SQL，参数使用?占位
+     * @param rowMapper 行转换
+     * @param args      参数
+     * @return 所有行，没有结果时返回空集合
+     * @throws DataAccessException 执行失败
+     */
+    public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+        return doQuery(sql, null, rowMapper, args);
+    }
+
+    /**
+     * 查询并转换为指定类型
+     * <ul>
+     *     <li>基本类型、String、BigDecimal、java.time等JDK中的类型和枚举只读取第一列</li>
+     *     <li>其他类型使用无参构造器创建，列名按忽略大小写和下划线匹配字段</li>
+     * </ul>
+     *
+     * @param sql  SQL，参数使用?占位
+     * @param type 结果类型
+     * @param args 参数
+     * @return 所有行，没有结果时返回空集合
+     * @throws DataAccessException 执行失败
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> queryForList(String sql, Class<T> type, Object... args) {
+        if (BeanRowMapper.isSingleColumnType(type)) {
+            RowMapper<T> rowMapper = (RowMapper<T>) this.singleColumnRowMappers.computeIfAbsent(type, BeanRowMapper::singleColumn);
+            return doQuery(sql, null, rowMapper, args);
+        }
+        return doQuery(sql, type, null, args);
+    }
+
+    /**
+     * 查询一行并转换为指定类型
+     *
+     * @return 转换结果，该行的值为NULL时返回null
+     * @throws DataAccessException 执行失败，或者结果不是正好一行
+     * @see #queryForList(String, Class, Object...)
+     */
+    public <T> T queryForObject(String sql, Class<T> type, Object... args) {
+        List<T> result = queryForList(sql, type, args);
+        if (result.size() != 1) {
+            throw new DataAccessException("期望查询到1行，实际为" + result.size() + "行：" + sql);
+        }
+        return result.get(0);
+    }
+
+    /**
+     * @param beanType  rowMapper为空时按该类型转换，第一次执行这个SQL时根据结果集的列绑定
+     * @param rowMapper 指定的行转换
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> doQuery(String sql, Class<T> beanType, RowMapper<T> rowMapper, Object[] args) {
+        PooledConnection connection = getConnection();
+        try {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            setParameters(ps, args);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return Collections.emptyList();
+                }
+                if (rowMapper == null) {
+                    Map<String, RowMapper<?>> bySql = this.boundRowMappers.computeIfAbsent(beanType, k -> new ConcurrentHashMap<>());
+                    rowMapper = (RowMapper<T>) bySql.get(sql);
+                    if (rowMapper == null) {
+                        rowMapper = getBeanRowMapper(beanType).bind(rs.getMetaData());
+                        bySql.putIfAbsent(sql, rowMapper);
+                    }
+                }
+                List<T> result = new ArrayList<>();
+                int rowNum = 0;
+                do {
+                    result.add(rowMapper.mapRow(rs, rowNum++));
+                } while (rs.next());
+                return result;
+            }
+        } catch (SQLException e) {
+            throw translate(sql, e);
+        } finally {
+            releaseConnection(connection);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> BeanRowMapper<T> getBeanRowMapper(Class<T> type) {
+        return (BeanRowMapper<T>) this.beanRowMappers.computeIfAbsent(type, BeanRowMapper::new);
+    }
+
+    private PooledConnection getConnection() {
+        if (this.pooledDataSource != null) {
+            PooledConnection bound = this.pooledDataSource.getBoundConnection();
+            return bound != null ? bound : this.pooledDataSource.borrow();
+        }
+        try {
+            // 其他数据源每次获取新的连接，预编译语句只在这一次操作中缓存
+            return new PooledConnection(this.dataSource.getConnection(), 16);
+        } catch (SQLException e) {
+            throw new DataAccessException("获取连接失败", e);
+        }
+    }
+
+    private void releaseConnection(PooledConnection connection) {
+        if (this.pooledDataSource != null) {
+            // 事务绑定的连接在事务结束时归还
+            if (connection != this.pooledDataSource.getBoundConnection()) {
+                this.pooledDataSource.release(connection);
+            }
+        } else {
+            connection.closePhysically();
+        }
+    }
+
+    private static void setParameters(PreparedStatement ps, Object[] args) throws SQLException {
+        if (args == null) {
+            return;
+        }
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            ps.setObject(i + 1, arg instanceof Enum ? ((Enum<?>) arg).name() : arg);
+        }
+    }
+
+    private static void rollbackQuietly(Connection con, SQLException cause) {
+        try {
+            con.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private static void clearBatchQuietly(PreparedStatement ps) {
+        try {
+            ps.clearBatch();
+        } catch (SQLException e) {
+            // 语句仍然缓存在连接上，下次使用前会重新设置参数
+        }
+    }
+
+    private static DataAccessException translate(String sql, SQLException e) {
+        return new DataAccessException("执行SQL失败：" + sql + "，" + e.getMessage(), e);
+    }
+}
@@ -0,0 +1,125 @@
+package com.suave.spring.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * 连接池中的一个物理连接
+ * <p>
+ * 借出状态通过CAS切换，同一时间只有借到它的线程使用；预编译语句按SQL缓存在连接上，
+ * 同一个SQL再次执行时不再调用prepareStatement
+ *
+ * @author Suave
+ * @since 2026/10/19 00:00
+ */
+public final class PooledConnection {
+
+    static final int STATE_NOT_IN_USE = 0;
+
+    static final int STATE_IN_USE = 1;
+
+    static final int STATE_REMOVED = 2;
+
+    private static final AtomicIntegerFieldUpdater<PooledConnection> STATE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(PooledConnection.class, "state");
+
+    private final Connection connection;
+
+    private final Map<String, PreparedStatement> statementCache;
+
+    private volatile int state = STATE_IN_USE;
+
+    /**
+     * 上次归还的时间，空闲超过一定时间后借出前先检查连接是否可用
+     */
+    volatile long lastAccessNanos = System.nanoTime();
+
+    /**
+     * 借用期间修改过自动提交，归还时回滚并恢复
+     */
+    boolean autoCommitChanged;
+
+    PooledConnection(Connection connection, int statementCacheSize) {
+        this.connection = connection;
+        this.statementCache = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= statementCacheSize) {
+                    return false;
+                }
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @return 物理连接，只能在借用期间使用，不能关闭
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * 获取缓存的预编译语句，不存在时创建
+     *
+     * @param sql SQL
+     * @return 预编译语句，使用完不能关闭
+     * @throws SQLException 创建失败
+     */
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        PreparedStatement ps = this.statementCache.get(sql);
+        if (ps == null) {
+            ps = this.connection.prepareStatement(sql);
+            this.statementCache.put(sql, ps);
+        }
+        return ps;
+    }
+
+    /**
+     * 修改自动提交，归还时如果还没有恢复，回滚未提交的修改并恢复为自动提交
+     *
+     * @param autoCommit 是否自动提交
+     * @throws SQLException 修改失败
+     */
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        this.connection.setAutoCommit(autoCommit);
+        this.autoCommitChanged = !autoCommit;
+    }
+
+    boolean compareAndSetState(int expect, int update) {
+        return STATE_UPDATER.compareAndSet(this, expect, update);
+    }
+
+    int getState() {
+        return state;
+    }
+
+    void setState(int state) {
+        this.state = state;
+    }
+
+    void closePhysically() {
+        for (PreparedStatement ps : this.statementCache.values()) {
+            closeQuietly(ps);
+        }
+        this.statementCache.clear();
+        try {
+            this.connection.close();
+        } catch (SQLException e) {
+            // 连接可能已经断开
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement ps) {
+        try {
+            ps.close();
+        } catch (SQLException e) {
+            // 语句关闭失败不影响连接
+        }
+    }
+}
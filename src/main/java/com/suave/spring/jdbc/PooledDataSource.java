@@ -0,0 +1,440 @@
+package com.suave.spring.jdbc;
+
+import com.suave.spring.annotation.PostConstruct;
+import com.suave.spring.annotation.PreDestroy;
+import com.suave.spring.annotation.Value;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * 容器管理的JDBC连接池，配置了datasource.url时由容器注册为dataSource
+ * <pre>
+ * datasource:
+ *   url: jdbc:h2:mem:test
+ *   username: sa
+ *   password:
+ *   maximumPoolSize: 10
+ *   minimumIdle: 2
+ *   connectionTimeout: 30s
+ *   statementCacheSize: 64
+ * </pre>
+ * 借出和归还不加锁：
+ * <ul>
+ *     <li>先尝试当前线程上次使用的连接，再遍历所有连接，通过CAS把空闲的连接标记为借出</li>
+ *     <li>没有空闲连接且未达到上限时新建连接，否则在SynchronousQueue上等待，归还的线程发现有人等待时直接交给它</li>
+ *     <li>等待的线程可能还没有进入队列（正在遍历或创建连接），归还的线程只尝试有限次数，交接不成功的连接留在连接池中，
+ *     等待的线程每隔{@link #WAIT_SLICE_NANOS}重新遍历一次</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/19 00:00
+ */
+public class PooledDataSource implements DataSource, AutoCloseable {
+
+    public static final String DATASOURCE_URL = "datasource.url";
+
+    /**
+     * 空闲超过这个时间的连接，借出前先检查是否可用
+     */
+    private static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    /**
+     * 归还时尝试直接交接的次数
+     */
+    private static final int HANDOFF_ATTEMPTS = 64;
+
+    /**
+     * 在交接队列上每次等待的最长时间，之后重新遍历连接
+     */
+    private static final long WAIT_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Value("${datasource.url}")
+    private String url;
+
+    @Value("${datasource.username:}")
+    private String username;
+
+    @Value("${datasource.password:}")
+    private String password;
+
+    @Value("${datasource.maximumPoolSize:10}")
+    private int maximumPoolSize;
+
+    @Value("${datasource.minimumIdle:0}")
+    private int minimumIdle;
+
+    @Value("${datasource.connectionTimeout:30s}")
+    private Duration connectionTimeout;
+
+    @Value("${datasource.statementCacheSize:64}")
+    private int statementCacheSize;
+
+    private final CopyOnWriteArrayList<PooledConnection> connections = new CopyOnWriteArrayList<>();
+
+    private final ThreadLocal<PooledConnection> lastUsed = new ThreadLocal<>();
+
+    /**
+     * 事务中绑定到当前线程的连接，同一个事务中的所有操作使用这个连接
+     */
+    private final ThreadLocal<PooledConnection> boundConnection = new ThreadLocal<>();
+
+    private final SynchronousQueue<PooledConnection> handoffQueue = new SynchronousQueue<>(true);
+
+    /**
+     * 已创建和正在创建的连接数，用于限制连接池的大小
+     */
+    private final AtomicInteger totalConnections = new AtomicInteger();
+
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    private volatile boolean closed;
+
+    /**
+     * 由容器创建，注入配置后调用{@link #start()}
+     */
+    public PooledDataSource() {
+    }
+
+    /**
+     * 不通过容器直接创建并启动
+     *
+     * @param url             JDBC URL
+     * @param username        用户名，可以为空
+     * @param password        密码，可以为空
+     * @param maximumPoolSize 最大连接数
+     */
+    public PooledDataSource(String url, String username, String password, int maximumPoolSize) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maximumPoolSize = maximumPoolSize;
+        this.connectionTimeout = Duration.ofSeconds(30);
+        this.statementCacheSize = 64;
+        start();
+    }
+
+    /**
+     * 检查配置，创建minimumIdle个连接
+     *
+     * @throws IllegalArgumentException 配置不正确
+     * @throws DataAccessException      创建连接失败
+     */
+    @PostConstruct
+    public void start() {
+        if (this.url == null || this.url.isEmpty()) {
+            throw new IllegalArgumentException("没有配置datasource.url");
+        }
+        if (this.maximumPoolSize <= 0 || this.minimumIdle < 0 || this.minimumIdle > this.maximumPoolSize) {
+            throw new IllegalArgumentException("连接池大小不正确：maximumPoolSize=" + this.maximumPoolSize + "，minimumIdle=" + this.minimumIdle);
+        }
+        for (int i = 0; i < this.minimumIdle; i++) {
+            PooledConnection connection = tryCreateConnection();
+            if (connection != null) {
+                release(connection);
+            }
+        }
+    }
+
+    /**
+     * 借出一个连接，使用完必须调用{@link #release(PooledConnection)}归还
+     *
+     * @return 连接
+     * @throws DataAccessException 连接池已关闭、超时或创建连接失败
+     */
+    public PooledConnection borrow() {
+        if (this.closed) {
+            throw new DataAccessException("连接池已关闭");
+        }
+        PooledConnection last = this.lastUsed.get();
+        if (last != null && last.compareAndSetState(PooledConnection.STATE_NOT_IN_USE, PooledConnection.STATE_IN_USE)) {
+            return validate(last);
+        }
+        // 从开始查找就计入等待，归还的线程看到后会尝试直接交接
+        this.waiters.incrementAndGet();
+        try {
+            PooledConnection connection = acquireIdleOrCreate();
+            if (connection != null) {
+                return connection;
+            }
+            long timeoutNanos = this.connectionTimeout.toNanos();
+            long deadline = System.nanoTime() + timeoutNanos;
+            while (timeoutNanos > 0) {
+                connection = this.handoffQueue.poll(Math.min(timeoutNanos, WAIT_SLICE_NANOS), TimeUnit.NANOSECONDS);
+                if (connection != null && connection.compareAndSetState(PooledConnection.STATE_NOT_IN_USE, PooledConnection.STATE_IN_USE)) {
+                    return validate(connection);
+                }
+                if (this.closed) {
+                    throw new DataAccessException("连接池已关闭");
+                }
+                // 没有交接成功的连接留在连接池中，连接被丢弃后也可以新建
+                connection = acquireIdleOrCreate();
+                if (connection != null) {
+                    return connection;
+                }
+                timeoutNanos = deadline - System.nanoTime();
+            }
+            throw new DataAccessException("获取连接超时（" + this.connectionTimeout + "），连接数" + this.totalConnections.get()
+                    + "，等待的线程数" + this.waiters.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessException("等待连接时被中断", e);
+        } finally {
+            this.waiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * 借出一个空闲的连接，没有空闲连接且未达到上限时新建
+     *
+     * @return 连接，都在使用中时返回null
+     */
+    private PooledConnection acquireIdleOrCreate() {
+        for (PooledConnection connection : this.connections) {
+            if (connection.compareAndSetState(PooledConnection.STATE_NOT_IN_USE, PooledConnection.STATE_IN_USE)) {
+                return validate(connection);
+            }
+        }
+        return tryCreateConnection();
+    }
+
+    /**
+     * 归还连接，未提交的事务回滚
+     *
+     * @param connection 借出的连接
+     */
+    public void release(PooledConnection connection) {
+        if (connection.autoCommitChanged) {
+            try {
+                connection.getConnection().rollback();
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                // 连接已经不可用，直接丢弃
+                remove(connection);
+                return;
+            }
+        }
+        if (this.closed) {
+            remove(connection);
+            return;
+        }
+        connection.lastAccessNanos = System.nanoTime();
+        connection.setState(PooledConnection.STATE_NOT_IN_USE);
+        this.lastUsed.set(connection);
+        // 等待的线程可能正在创建连接，不会进入队列，只尝试有限次数，连接已经是空闲状态，等待的线程重新遍历时能拿到
+        for (int i = 0; i < HANDOFF_ATTEMPTS && this.waiters.get() > 0; i++) {
+            if (connection.getState() != PooledConnection.STATE_NOT_IN_USE || this.handoffQueue.offer(connection)) {
+                return;
+            }
+            Thread.yield();
+        }
+    }
+
+    /**
+     * 把借出的连接绑定到当前线程，之后JdbcTemplate在这个线程中都使用它，由事务管理器调用
+     *
+     * @param connection 借出的连接，null表示解除绑定
+     */
+    public void bindConnection(PooledConnection connection) {
+        if (connection == null) {
+            this.boundConnection.remove();
+        } else {
+            this.boundConnection.set(connection);
+        }
+    }
+
+    /**
+     * @return 绑定到当前线程的连接，没有时返回null
+     */
+    public PooledConnection getBoundConnection() {
+        return this.boundConnection.get();
+    }
+
+    /**
+     * 借出一个连接，返回的Connection关闭时归还到连接池；JdbcTemplate直接使用{@link #borrow()}，不经过代理
+     */
+    @Override
+    public Connection getConnection() {
+        PooledConnection pooled = borrow();
+        InvocationHandler handler = new InvocationHandler() {
+
+            private boolean released;
+
+            @Override
+            public Object invoke(Object proxy, java.lang.reflect.Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!this.released) {
+                            this.released = true;
+                            release(pooled);
+                        }
+                        return null;
+                    case "isClosed":
+                        return this.released || pooled.getConnection().isClosed();
+                    case "setAutoCommit":
+                        pooled.setAutoCommit((Boolean) args[0]);
+                        return null;
+                    default:
+                        if (this.released) {
+                            throw new SQLException("连接已经归还到连接池");
+                        }
+                        try {
+                            return method.invoke(pooled.getConnection(), args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("连接池使用配置的用户名和密码");
+    }
+
+    /**
+     * @return 已创建的连接数
+     */
+    public int getTotalConnections() {
+        return this.totalConnections.get();
+    }
+
+    /**
+     * @return 空闲的连接数
+     */
+    public int getIdleConnections() {
+        int idle = 0;
+        for (PooledConnection connection : this.connections) {
+            if (connection.getState() == PooledConnection.STATE_NOT_IN_USE) {
+                idle++;
+            }
+        }
+        return idle;
+    }
+
+    /**
+     * @return 正在等待连接的线程数
+     */
+    public int getThreadsAwaitingConnection() {
+        return this.waiters.get();
+    }
+
+    /**
+     * 关闭所有空闲连接，借出的连接在归还时关闭
+     */
+    @PreDestroy
+    @Override
+    public void close() {
+        this.closed = true;
+        for (PooledConnection connection : this.connections) {
+            if (connection.compareAndSetState(PooledConnection.STATE_NOT_IN_USE, PooledConnection.STATE_REMOVED)) {
+                remove(connection);
+            }
+        }
+    }
+
+    private PooledConnection tryCreateConnection() {
+        int total;
+        do {
+            total = this.totalConnections.get();
+            if (total >= this.maximumPoolSize) {
+                return null;
+            }
+        } while (!this.totalConnections.compareAndSet(total, total + 1));
+        try {
+            Connection connection = this.username == null || this.username.isEmpty()
+                    ? DriverManager.getConnection(this.url) : DriverManager.getConnection(this.url, this.username, this.password);
+            PooledConnection pooled = new PooledConnection(connection, this.statementCacheSize);
+            this.connections.add(pooled);
+            return pooled;
+        } catch (SQLException | RuntimeException e) {
+            this.totalConnections.decrementAndGet();
+            throw new DataAccessException("创建连接失败：" + this.url, e);
+        }
+    }
+
+    /**
+     * 空闲较久的连接先检查是否可用，不可用时丢弃并重新借出
+     */
+    private PooledConnection validate(PooledConnection connection) {
+        if (System.nanoTime() - connection.lastAccessNanos < VALIDATION_BYPASS_NANOS) {
+            return connection;
+        }
+        boolean valid;
+        try {
+            valid = connection.getConnection().isValid(1);
+        } catch (SQLException e) {
+            valid = false;
+        }
+        if (valid) {
+            return connection;
+        }
+        remove(connection);
+        return borrow();
+    }
+
+    private void remove(PooledConnection connection) {
+        connection.setState(PooledConnection.STATE_REMOVED);
+        if (this.connections.remove(connection)) {
+            this.totalConnections.decrementAndGet();
+        }
+        connection.closePhysically();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        throw new SQLException("不是" + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    @Override
+    public String toString() {
+        return "PooledDataSource(" + url + ", total=" + totalConnections.get() + ", waiting=" + waiters.get() + ")";
+    }
+}
@@ -0,0 +1,24 @@
+package com.suave.spring.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 把结果集的一行转换为对象
+ *
+ * @author Suave
+ * @since 2026/10/19 00:00
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * 转换当前行，不能调用ResultSet#next()
+     *
+     * @param rs     结果集
+     * @param rowNum 行号，从0开始
+     * @return 转换结果
+     * @throws SQLException 读取失败
+     */
+    T mapRow(ResultSet rs, int rowNum) throws SQLException;
+}
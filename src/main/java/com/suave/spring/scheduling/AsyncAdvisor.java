@@ -0,0 +1,176 @@
+package com.suave.spring.scheduling;
+
+import com.suave.spring.annotation.Async;
+import com.suave.spring.aop.Advisor;
+import com.suave.spring.aop.MethodInterceptor;
+import com.suave.spring.aop.MethodInvocation;
+import com.suave.spring.core.env.Environment;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * 拦截标注了{@link Async}的方法，提交到线程池后立即返回，配置task.async.enabled为true时由容器注册
+ * <ul>
+ *     <li>返回CompletableFuture的方法，调用方得到的Future在目标方法返回的Future完成时完成，不占用线程池的线程等待；
+ *     返回的是没有回调的普通Future且还没有完成时，等待交给公共ForkJoinPool的ManagedBlocker</li>
+ *     <li>返回void的方法，异常只记录在线程池的统计中</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/18 22:00
+ */
+public class AsyncAdvisor implements Advisor, MethodInterceptor {
+
+    /**
+     * 是否异步执行@Async方法，默认不启用，不启用时不会为异步方法生成代理
+     */
+    public static final String ASYNC_ENABLED = "task.async.enabled";
+
+    /**
+     * @Async没有指定线程池时使用的线程池，默认default
+     */
+    public static final String ASYNC_EXECUTOR = "task.async.executor";
+
+    private final TaskExecutorRegistry executors;
+
+    private final String defaultExecutor;
+
+    private final Map<Method, TaskExecutor> methodExecutors = new ConcurrentHashMap<>(64);
+
+    public AsyncAdvisor(TaskExecutorRegistry executors, Environment environment) {
+        this.executors = executors;
+        this.defaultExecutor = environment.getProperty(ASYNC_EXECUTOR, TaskExecutorRegistry.DEFAULT_EXECUTOR);
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        TaskExecutor executor = resolveExecutor(method);
+        if (executor == null) {
+            return false;
+        }
+        this.methodExecutors.put(method, executor);
+        return true;
+    }
+
+    @Override
+    public MethodInterceptor getInterceptor() {
+        return this;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        TaskExecutor executor = this.methodExecutors.get(method);
+        if (executor == null) {
+            // 接口代理调用的是接口上的方法，注解在实现类的方法上
+            executor = this.methodExecutors.computeIfAbsent(method, m -> {
+                try {
+                    return resolveExecutor(invocation.getThis().getClass().getMethod(m.getName(), m.getParameterTypes()));
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalStateException("目标类" + invocation.getThis().getClass().getName() + "没有方法" + m.getName(), e);
+                }
+            });
+        }
+        if (method.getReturnType() == void.class) {
+            executor.execute(() -> {
+                try {
+                    invocation.proceed();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException("异步调用" + method + "失败", e);
+                }
+            });
+            return null;
+        }
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                Object value = invocation.proceed();
+                if (value instanceof CompletionStage) {
+                    ((CompletionStage<?>) value).whenComplete((v, e) -> {
+                        if (e != null) {
+                            result.completeExceptionally(e);
+                        } else {
+                            result.complete(v);
+                        }
+                    });
+                } else if (value instanceof Future) {
+                    Future<?> future = (Future<?>) value;
+                    if (future.isDone()) {
+                        completeFrom(result, future);
+                    } else {
+                        ForkJoinPool.commonPool().execute(() -> awaitAndComplete(result, future));
+                    }
+                } else {
+                    result.complete(value);
+                }
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private static void awaitAndComplete(CompletableFuture<Object> result, Future<?> future) {
+        try {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                @Override
+                public boolean block() throws InterruptedException {
+                    try {
+                        future.get();
+                    } catch (ExecutionException | CancellationException e) {
+                        // 结果由completeFrom处理
+                    }
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return future.isDone();
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+            return;
+        }
+        completeFrom(result, future);
+    }
+
+    /**
+     * 把已经完成的Future的结果转给result
+     */
+    private static void completeFrom(CompletableFuture<Object> result, Future<?> future) {
+        try {
+            result.complete(future.get());
+        } catch (ExecutionException e) {
+            result.completeExceptionally(e.getCause());
+        } catch (CancellationException e) {
+            result.cancel(false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+        }
+    }
+
+    private TaskExecutor resolveExecutor(Method method) {
+        Async async = method.getAnnotation(Async.class);
+        if (async == null) {
+            return null;
+        }
+        Class<?> returnType = method.getReturnType();
+        if (returnType != void.class && returnType != CompletableFuture.class && returnType != Future.class) {
+            throw new IllegalArgumentException("@Async方法的返回值只能是void、Future或CompletableFuture：" + method);
+        }
+        return this.executors.getExecutor(async.value().isEmpty() ? this.defaultExecutor : async.value());
+    }
+}
@@ -0,0 +1,176 @@
+package com.suave.spring.scheduling;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * 6位cron表达式：秒 分 时 日 月 周
+ * <ul>
+ *     <li>每一位支持*、?、数字、a-b、列表a,b,c，以及步长*&#47;n、a/n、a-b/n</li>
+ *     <li>月可以使用JAN-DEC，周可以使用SUN-SAT，周的0和7都表示周日</li>
+ *     <li>和标准cron一致，日和周都有限制（都不以*或?开头）时满足其中一个即可，否则两者都要满足</li>
+ * </ul>
+ * 每一位解析为一个long的位图，计算下一次执行时间时从月到秒逐位跳到下一个满足的值
+ *
+ * @author Suave
+ * @since 2026/10/18 22:00
+ */
+public final class CronExpression {
+
+    private static final String[] MONTHS = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+
+    private static final String[] DAYS_OF_WEEK = {"SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+
+    /**
+     * 最多向后查找的天数，超过时认为表达式永远不会满足，如2月30日
+     */
+    private static final int MAX_DAYS = 366 * 5;
+
+    private final String expression;
+
+    private final long seconds;
+
+    private final long minutes;
+
+    private final long hours;
+
+    private final long daysOfMonth;
+
+    private final long months;
+
+    private final long daysOfWeek;
+
+    /**
+     * 日和周是否都有限制，为true时按或判断
+     */
+    private final boolean dayOfMonthOrWeek;
+
+    private CronExpression(String expression, String[] fields) {
+        this.expression = expression;
+        this.seconds = parseField(fields[0], 0, 59, null);
+        this.minutes = parseField(fields[1], 0, 59, null);
+        this.hours = parseField(fields[2], 0, 23, null);
+        this.daysOfMonth = parseField(fields[3], 1, 31, null);
+        this.months = parseField(fields[4], 1, 12, MONTHS);
+        long dow = parseField(fields[5], 0, 7, DAYS_OF_WEEK);
+        // 7也表示周日
+        this.daysOfWeek = (dow & (1L << 7)) != 0 ? (dow | 1L) & ~(1L << 7) : dow;
+        this.dayOfMonthOrWeek = isRestricted(fields[3]) && isRestricted(fields[5]);
+    }
+
+    /**
+     * 解析cron表达式
+     *
+     * @param expression 表达式
+     * @return 解析结果
+     * @throws IllegalArgumentException 格式不正确
+     */
+    public static CronExpression parse(String expression) {
+        String[] fields = expression.trim().split("\\s+");
+        if (fields.length != 6) {
+            throw new IllegalArgumentException("cron表达式必须是6位（秒 分 时 日 月 周）：" + expression);
+        }
+        try {
+            return new CronExpression(expression, fields);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("cron表达式格式不正确：" + expression, e);
+        }
+    }
+
+    /**
+     * 计算下一次执行时间
+     *
+     * @param after 从这个时间之后开始查找，不包括它本身
+     * @return 下一次执行时间，精确到秒
+     * @throws IllegalArgumentException 表达式永远不会满足
+     */
+    public ZonedDateTime next(ZonedDateTime after) {
+        ZonedDateTime time = after.plusSeconds(1).truncatedTo(ChronoUnit.SECONDS);
+        ZonedDateTime limit = after.plusDays(MAX_DAYS);
+        while (time.isBefore(limit)) {
+            if (!matches(this.months, time.getMonthValue())) {
+                time = time.plusMonths(1).withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+            } else if (!matchesDay(time)) {
+                time = time.plusDays(1).truncatedTo(ChronoUnit.DAYS);
+            } else if (!matches(this.hours, time.getHour())) {
+                time = time.plusHours(1).truncatedTo(ChronoUnit.HOURS);
+            } else if (!matches(this.minutes, time.getMinute())) {
+                time = time.plusMinutes(1).truncatedTo(ChronoUnit.MINUTES);
+            } else if (!matches(this.seconds, time.getSecond())) {
+                time = time.plusSeconds(1);
+            } else {
+                return time;
+            }
+        }
+        throw new IllegalArgumentException("cron表达式在" + MAX_DAYS + "天内没有可以执行的时间：" + this.expression);
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private boolean matchesDay(ZonedDateTime time) {
+        boolean dayOfMonth = matches(this.daysOfMonth, time.getDayOfMonth());
+        boolean dayOfWeek = matches(this.daysOfWeek, time.getDayOfWeek().getValue() % 7);
+        return this.dayOfMonthOrWeek ? dayOfMonth || dayOfWeek : dayOfMonth && dayOfWeek;
+    }
+
+    /**
+     * 和Vixie cron一样，以*或?开头的位（包括*&#47;n）不算限制
+     */
+    private static boolean isRestricted(String field) {
+        return !field.startsWith("*") && !field.startsWith("?");
+    }
+
+    private static boolean matches(long bits, int value) {
+        return (bits & (1L << value)) != 0;
+    }
+
+    private static long parseField(String field, int min, int max, String[] names) {
+        long bits = 0;
+        for (String part : field.split(",")) {
+            int step = 1;
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                step = Integer.parseInt(part.substring(slash + 1));
+                if (step <= 0) {
+                    throw new IllegalArgumentException("步长必须大于0：" + part);
+                }
+                part = part.substring(0, slash);
+            }
+            int start;
+            int end;
+            if ("*".equals(part) || "?".equals(part)) {
+                start = min;
+                end = max;
+            } else {
+                int dash = part.indexOf('-');
+                start = parseValue(dash < 0 ? part : part.substring(0, dash), min, names);
+                // a/n表示从a开始到最大值
+                end = dash >= 0 ? parseValue(part.substring(dash + 1), min, names) : slash >= 0 ? max : start;
+            }
+            if (start < min || end > max || start > end) {
+                throw new IllegalArgumentException("超出范围[" + min + "," + max + "]：" + field);
+            }
+            for (int i = start; i <= end; i += step) {
+                bits |= 1L << i;
+            }
+        }
+        return bits;
+    }
+
+    private static int parseValue(String value, int min, String[] names) {
+        if (names != null) {
+            String upper = value.toUpperCase(Locale.ROOT);
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(upper)) {
+                    // 月从1开始，周从0开始
+                    return i + min;
+                }
+            }
+        }
+        return Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,102 @@
+package com.suave.spring.scheduling;
+
+/**
+ * 线程池统计的快照，时间单位为纳秒
+ *
+ * @author Suave
+ * @since 2026/10/18 22:00
+ */
+public final class ExecutorStats {
+
+    private final long submittedCount;
+
+    private final long completedCount;
+
+    private final long failedCount;
+
+    private final long queueDepth;
+
+    private final long activeCount;
+
+    private final long totalWaitNanos;
+
+    private final long maxWaitNanos;
+
+    private final long totalRunNanos;
+
+    private final long maxRunNanos;
+
+    ExecutorStats(long submittedCount, long startedCount, long completedCount, long failedCount,
+                  long totalWaitNanos, long maxWaitNanos, long totalRunNanos, long maxRunNanos) {
+        this.submittedCount = submittedCount;
+        this.completedCount = completedCount;
+        this.failedCount = failedCount;
+        // 各个计数分别读取，并发时可能短暂不一致
+        this.queueDepth = Math.max(submittedCount - startedCount, 0);
+        this.activeCount = Math.max(startedCount - completedCount - failedCount, 0);
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.totalRunNanos = totalRunNanos;
+        this.maxRunNanos = maxRunNanos;
+    }
+
+    public long getSubmittedCount() {
+        return submittedCount;
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    /**
+     * @return 抛出异常的任务数
+     */
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * @return 已提交但还没有开始执行的任务数
+     */
+    public long getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * @return 正在执行的任务数
+     */
+    public long getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * @return 从提交到开始执行的平均等待时间
+     */
+    public long getAverageWaitNanos() {
+        long finished = completedCount + failedCount;
+        return finished == 0 ? 0 : totalWaitNanos / finished;
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    /**
+     * @return 平均执行时间
+     */
+    public long getAverageRunNanos() {
+        long finished = completedCount + failedCount;
+        return finished == 0 ? 0 : totalRunNanos / finished;
+    }
+
+    public long getMaxRunNanos() {
+        return maxRunNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("submitted=%d, completed=%d, failed=%d, queued=%d, active=%d, wait(avg/max)=%.3f/%.3fms, run(avg/max)=%.3f/%.3fms",
+                submittedCount, completedCount, failedCount, queueDepth, activeCount,
+                getAverageWaitNanos() / 1e6, maxWaitNanos / 1e6, getAverageRunNanos() / 1e6, maxRunNanos / 1e6);
+    }
+}
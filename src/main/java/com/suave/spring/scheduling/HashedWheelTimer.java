@@ -0,0 +1,257 @@
+package com.suave.spring.scheduling;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 时间轮定时器，添加和取消定时都是O(1)，适合大量定时任务
+ * <ul>
+ *     <li>时间轮有wheelSize个槽，指针每tickNanos前进一格，到期时间超过一圈的定时记录剩余圈数</li>
+ *     <li>新的定时先放入无锁队列，由时间轮线程在每一格开始时放入对应的槽，槽只有时间轮线程访问，不需要加锁</li>
+ *     <li>到期精度为一格，回调在时间轮线程执行，只能做提交任务这类很快的操作</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/18 22:00
+ */
+public class HashedWheelTimer {
+
+    /**
+     * 每一格最多从队列中取出的定时，避免大量添加时长时间不能处理到期的定时
+     */
+    private static final int MAX_TRANSFER_PER_TICK = 100000;
+
+    private final long tickNanos;
+
+    private final Bucket[] wheel;
+
+    private final int mask;
+
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final Thread workerThread;
+
+    private final long startTime;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param name      时间轮线程的名称
+     * @param tickNanos 每一格的时间
+     * @param wheelSize 槽的数量，向上取整为2的幂
+     */
+    public HashedWheelTimer(String name, long tickNanos, int wheelSize) {
+        if (tickNanos < TimeUnit.MILLISECONDS.toNanos(1) || wheelSize <= 0 || wheelSize > (1 << 20)) {
+            throw new IllegalArgumentException("时间轮的每格时间不能小于1ms，槽数量必须在1到2^20之间");
+        }
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.tickNanos = tickNanos;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            this.wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startTime = System.nanoTime();
+        this.workerThread = new Thread(this::run, name);
+        this.workerThread.setDaemon(true);
+        this.workerThread.start();
+    }
+
+    /**
+     * 添加定时
+     *
+     * @param task     到期时在时间轮线程执行的回调
+     * @param deadline 到期时间，System.nanoTime()的值，已经过去时在下一格执行
+     * @return 定时，可以取消
+     * @throws IllegalStateException 定时器已经停止
+     */
+    public Timeout newTimeout(Runnable task, long deadline) {
+        if (!this.running) {
+            throw new IllegalStateException("定时器已经停止");
+        }
+        Timeout timeout = new Timeout(task, deadline);
+        this.pendingCount.incrementAndGet();
+        this.pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return 还没有到期也没有取消的定时数量
+     */
+    public int getPendingCount() {
+        return this.pendingCount.get();
+    }
+
+    /**
+     * 停止时间轮线程，还没有到期的定时不再执行
+     */
+    public void stop() {
+        this.running = false;
+        this.workerThread.interrupt();
+        if (Thread.currentThread() != this.workerThread) {
+            try {
+                this.workerThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        long tick = 0;
+        while (this.running) {
+            long deadline = this.startTime + (tick + 1) * this.tickNanos;
+            long sleepNanos;
+            while ((sleepNanos = deadline - System.nanoTime()) > 0 && this.running) {
+                LockSupport.parkNanos(this, sleepNanos);
+            }
+            if (!this.running) {
+                break;
+            }
+            transferTimeouts(tick);
+            this.wheel[(int) (tick & this.mask)].expireTimeouts();
+            tick++;
+        }
+    }
+
+    private void transferTimeouts(long tick) {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+            Timeout timeout = this.pendingTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state == Timeout.ST_CANCELLED) {
+                continue;
+            }
+            long calculated = Math.max((timeout.deadline - this.startTime) / this.tickNanos, 0);
+            timeout.remainingRounds = (calculated - tick) / this.wheel.length;
+            // 已经过期的定时放在当前格，马上执行
+            long ticks = Math.max(calculated, tick);
+            this.wheel[(int) (ticks & this.mask)].add(timeout);
+        }
+    }
+
+    /**
+     * 一个定时
+     */
+    public final class Timeout {
+
+        static final int ST_INIT = 0;
+
+        static final int ST_CANCELLED = 1;
+
+        static final int ST_EXPIRED = 2;
+
+        final Runnable task;
+
+        final long deadline;
+
+        long remainingRounds;
+
+        Timeout next;
+
+        Timeout prev;
+
+        volatile int state = ST_INIT;
+
+        Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * 取消定时，已经取消的定时留在槽中，时间轮线程经过时删除
+         *
+         * @return 是否取消成功，已经到期或已经取消时返回false
+         */
+        public boolean cancel() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            pendingCount.decrementAndGet();
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return this.state == ST_CANCELLED;
+        }
+
+        void expire() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            pendingCount.decrementAndGet();
+            try {
+                this.task.run();
+            } catch (RuntimeException e) {
+                System.err.println("定时任务回调执行失败：" + e);
+            }
+        }
+    }
+
+    private static final AtomicIntegerFieldUpdater<Timeout> STATE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    /**
+     * 时间轮的一个槽，只有时间轮线程访问
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            if (this.head == null) {
+                this.head = this.tail = timeout;
+            } else {
+                this.tail.next = timeout;
+                timeout.prev = this.tail;
+                this.tail = timeout;
+            }
+        }
+
+        void expireTimeouts() {
+            Timeout timeout = this.head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.state == Timeout.ST_CANCELLED) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == this.head) {
+                this.head = next;
+            }
+            if (timeout == this.tail) {
+                this.tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+        }
+    }
+}
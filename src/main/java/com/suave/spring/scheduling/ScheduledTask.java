@@ -0,0 +1,147 @@
+package com.suave.spring.scheduling;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 一个定时任务，由时间轮触发后提交到线程池执行，执行结束后再计算下一次的时间，同一个任务不会并发执行
+ *
+ * @author Suave
+ * @since 2026/10/18 22:00
+ */
+public final class ScheduledTask {
+
+    private final String name;
+
+    private final Runnable task;
+
+    private final TaskExecutor executor;
+
+    private final HashedWheelTimer timer;
+
+    /**
+     * 大于0时按固定频率执行
+     */
+    private final long fixedRateNanos;
+
+    /**
+     * 大于0时按固定间隔执行
+     */
+    private final long fixedDelayNanos;
+
+    private final CronExpression cron;
+
+    private final ZoneId zone;
+
+    /**
+     * 本次计划执行的时间，System.nanoTime()的值
+     */
+    private long scheduledTime;
+
+    private ZonedDateTime scheduledCronTime;
+
+    private volatile HashedWheelTimer.Timeout timeout;
+
+    private volatile boolean cancelled;
+
+    ScheduledTask(String name, Runnable task, TaskExecutor executor, HashedWheelTimer timer,
+                  long fixedRateNanos, long fixedDelayNanos, CronExpression cron, ZoneId zone) {
+        this.name = name;
+        this.task = task;
+        this.executor = executor;
+        this.timer = timer;
+        this.fixedRateNanos = fixedRateNanos;
+        this.fixedDelayNanos = fixedDelayNanos;
+        this.cron = cron;
+        this.zone = zone;
+    }
+
+    void start(long initialDelayNanos) {
+        if (this.cron != null) {
+            scheduleCron(ZonedDateTime.now(this.zone));
+        } else {
+            schedule(System.nanoTime() + initialDelayNanos);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 取消任务，正在执行的不会被中断，执行完后不再计划下一次
+     */
+    public void cancel() {
+        this.cancelled = true;
+        HashedWheelTimer.Timeout current = this.timeout;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    private void schedule(long time) {
+        this.scheduledTime = time;
+        if (!this.cancelled) {
+            HashedWheelTimer.Timeout next = this.timer.newTimeout(this::fire, time);
+            this.timeout = next;
+            // cancel()可能在上面的检查之后执行，取消的是上一次的定时；先写timeout再读cancelled，两边至少有一边能看到对方
+            if (this.cancelled) {
+                next.cancel();
+            }
+        }
+    }
+
+    private void scheduleCron(ZonedDateTime after) {
+        this.scheduledCronTime = this.cron.next(after);
+        long delay = Duration.between(ZonedDateTime.now(this.zone), this.scheduledCronTime).toNanos();
+        schedule(System.nanoTime() + Math.max(delay, 0));
+    }
+
+    /**
+     * 在时间轮线程执行，只提交任务
+     */
+    private void fire() {
+        try {
+            this.executor.execute(this::runAndReschedule);
+        } catch (RejectedExecutionException e) {
+            // 线程池已经关闭，不再执行
+            this.cancelled = true;
+        }
+    }
+
+    private void runAndReschedule() {
+        try {
+            this.task.run();
+        } finally {
+            if (!this.cancelled) {
+                try {
+                    if (this.cron != null) {
+                        // 执行时间超过一个周期时，跳过已经错过的时间
+                        ZonedDateTime now = ZonedDateTime.now(this.zone);
+                        scheduleCron(now.isAfter(this.scheduledCronTime) ? now : this.scheduledCronTime);
+                    } else if (this.fixedRateNanos > 0) {
+                        schedule(this.scheduledTime + this.fixedRateNanos);
+                    } else {
+                        schedule(System.nanoTime() + this.fixedDelayNanos);
+                    }
+                } catch (IllegalStateException e) {
+                    // 定时器已经停止
+                    this.cancelled = true;
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        String trigger = this.cron != null ? "cron=" + this.cron : this.fixedRateNanos > 0
+                ? "fixedRate=" + this.fixedRateNanos / 1000000 + "ms" : "fixedDelay=" + this.fixedDelayNanos / 1000000 + "ms";
+        return name + "(" + trigger + ")";
+    }
+}
@@ -0,0 +1,131 @@
+package com.suave.spring.scheduling;
+
+import com.suave.spring.core.convert.TypeConverter;
+import com.suave.spring.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按名称管理@Async和@Scheduled使用的线程池，第一次使用时根据配置创建
+ * <pre>
+ * task:
+ *   executors:
+ *     default:
+ *       type: forkjoin
+ *       parallelism: 8
+ *     io:
+ *       type: virtual
+ * </pre>
+ * 没有配置default时，default是并行度等于CPU核数的forkjoin线程池；使用其他没有配置的名称会报错
+ *
+ * @author Suave
+ * @since 2026/10/18 22:00
+ */
+public class TaskExecutorRegistry {
+
+    public static final String DEFAULT_EXECUTOR = "default";
+
+    /**
+     * 关闭时等待已提交任务执行完的时间，默认30s
+     */
+    public static final String SHUTDOWN_TIMEOUT = "task.shutdown.timeout";
+
+    private static final String EXECUTORS_PREFIX = "task.executors.";
+
+    private static final String TYPE = ".type";
+
+    private static final String PARALLELISM = ".parallelism";
+
+    private static final TypeConverter INT_CONVERTER = TypeConverter.forType(int.class, int.class, null);
+
+    private static final TypeConverter DURATION_CONVERTER = TypeConverter.forType(Duration.class, Duration.class, null);
+
+    private final Environment environment;
+
+    private final Set<String> declaredNames = new HashSet<>();
+
+    private final Map<String, TaskExecutor> executors = new ConcurrentHashMap<>(8);
+
+    private volatile boolean closed;
+
+    public TaskExecutorRegistry(Environment environment) {
+        this.environment = environment;
+        for (String key : environment.getPropertyNames()) {
+            if (key.startsWith(EXECUTORS_PREFIX)) {
+                int dot = key.indexOf('.', EXECUTORS_PREFIX.length());
+                this.declaredNames.add(dot < 0 ? key.substring(EXECUTORS_PREFIX.length()) : key.substring(EXECUTORS_PREFIX.length(), dot));
+            }
+        }
+        this.declaredNames.add(DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * 获取线程池，不存在时创建
+     *
+     * @param name 线程池名称
+     * @return 线程池
+     * @throws IllegalArgumentException 没有配置该名称或配置不正确
+     * @throws IllegalStateException    已经关闭
+     */
+    public TaskExecutor getExecutor(String name) {
+        TaskExecutor executor = this.executors.get(name);
+        if (executor != null) {
+            return executor;
+        }
+        if (!this.declaredNames.contains(name)) {
+            throw new IllegalArgumentException("没有配置线程池task.executors." + name);
+        }
+        synchronized (this.executors) {
+            if (this.closed) {
+                throw new IllegalStateException("线程池已经关闭");
+            }
+            return this.executors.computeIfAbsent(name, this::createExecutor);
+        }
+    }
+
+    /**
+     * @return 每个已创建的线程池的排队数量和耗时，按名称排序
+     */
+    public Map<String, ExecutorStats> getStats() {
+        Map<String, ExecutorStats> stats = new LinkedHashMap<>();
+        this.executors.keySet().stream().sorted().forEach(name -> stats.put(name, this.executors.get(name).getStats()));
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * 关闭所有线程池，等待已提交的任务执行完，总时间不超过task.shutdown.timeout
+     *
+     * @return 是否全部在超时前执行完
+     */
+    public boolean shutdown() {
+        synchronized (this.executors) {
+            if (this.closed) {
+                return true;
+            }
+            this.closed = true;
+        }
+        String timeout = this.environment.getProperty(SHUTDOWN_TIMEOUT);
+        long deadline = System.nanoTime() + (timeout == null ? Duration.ofSeconds(30) : (Duration) DURATION_CONVERTER.convert(timeout)).toNanos();
+        boolean terminated = true;
+        for (TaskExecutor executor : this.executors.values()) {
+            if (!executor.shutdown(Duration.ofNanos(Math.max(deadline - System.nanoTime(), 0)))) {
+                System.err.println("线程池[" + executor.getName() + "]在超时前没有执行完，剩余任务已中断");
+                terminated = false;
+            }
+        }
+        return terminated;
+    }
+
+    private TaskExecutor createExecutor(String name) {
+        String type = this.environment.getProperty(EXECUTORS_PREFIX + name + TYPE, TaskExecutor.TYPE_FORK_JOIN);
+        String parallelism = this.environment.getProperty(EXECUTORS_PREFIX + name + PARALLELISM);
+        return new TaskExecutor(name, type.trim(),
+                parallelism == null ? Runtime.getRuntime().availableProcessors() : (Integer) INT_CONVERTER.convert(parallelism));
+    }
+}
@@ -0,0 +1,225 @@
+package com.suave.spring.scheduling;
+
+import com.suave.spring.annotation.Scheduled;
+import com.suave.spring.beans.factory.BeanFactory;
+import com.suave.spring.core.convert.TypeConverter;
+import com.suave.spring.core.env.Environment;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 定时任务调度器，所有任务共用一个时间轮，到期后提交到各自的线程池执行
+ * <pre>
+ * task:
+ *   scheduling:
+ *     enabled: true
+ *     executor: default
+ *     tickDuration: 10ms
+ *     wheelSize: 512
+ * </pre>
+ *
+ * @author Suave
+ * @since 2026/10/18 22:00
+ */
+public class TaskScheduler {
+
+    /**
+     * 是否执行@Scheduled方法，默认不执行
+     */
+    public static final String SCHEDULING_ENABLED = "task.scheduling.enabled";
+
+    /**
+     * @Scheduled没有指定线程池时使用的线程池，默认default
+     */
+    public static final String SCHEDULING_EXECUTOR = "task.scheduling.executor";
+
+    /**
+     * 时间轮每一格的时间，也是定时的精度，默认10ms
+     */
+    public static final String SCHEDULING_TICK_DURATION = "task.scheduling.tickDuration";
+
+    /**
+     * 时间轮的槽数量，默认512
+     */
+    public static final String SCHEDULING_WHEEL_SIZE = "task.scheduling.wheelSize";
+
+    private static final TypeConverter INT_CONVERTER = TypeConverter.forType(int.class, int.class, null);
+
+    private static final TypeConverter DURATION_CONVERTER = TypeConverter.forType(Duration.class, Duration.class, null);
+
+    private final Environment environment;
+
+    private final TaskExecutorRegistry executors;
+
+    private final HashedWheelTimer timer;
+
+    private final List<ScheduledTask> scheduledTasks = new CopyOnWriteArrayList<>();
+
+    public TaskScheduler(Environment environment, TaskExecutorRegistry executors) {
+        this.environment = environment;
+        this.executors = executors;
+        String tick = environment.getProperty(SCHEDULING_TICK_DURATION);
+        String wheelSize = environment.getProperty(SCHEDULING_WHEEL_SIZE);
+        this.timer = new HashedWheelTimer("task-scheduler",
+                tick == null ? TimeUnit.MILLISECONDS.toNanos(10) : ((Duration) DURATION_CONVERTER.convert(tick)).toNanos(),
+                wheelSize == null ? 512 : (Integer) INT_CONVERTER.convert(wheelSize));
+    }
+
+    /**
+     * 按固定频率执行
+     *
+     * @param name         任务名称
+     * @param task         任务
+     * @param executor     执行任务的线程池
+     * @param initialDelay 第一次执行前的延迟
+     * @param period       从上一次计划执行的时间开始计算的间隔
+     * @return 定时任务
+     */
+    public ScheduledTask scheduleAtFixedRate(String name, Runnable task, TaskExecutor executor, Duration initialDelay, Duration period) {
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("任务[" + name + "]的执行频率必须大于0");
+        }
+        return start(new ScheduledTask(name, task, executor, this.timer, period.toNanos(), 0, null, null), initialDelay);
+    }
+
+    /**
+     * 上一次执行结束后间隔固定时间再执行
+     *
+     * @param name         任务名称
+     * @param task         任务
+     * @param executor     执行任务的线程池
+     * @param initialDelay 第一次执行前的延迟
+     * @param delay        间隔
+     * @return 定时任务
+     */
+    public ScheduledTask scheduleWithFixedDelay(String name, Runnable task, TaskExecutor executor, Duration initialDelay, Duration delay) {
+        if (delay.isNegative()) {
+            throw new IllegalArgumentException("任务[" + name + "]的执行间隔不能为负数");
+        }
+        return start(new ScheduledTask(name, task, executor, this.timer, 0, delay.toNanos(), null, null), initialDelay);
+    }
+
+    /**
+     * 按cron表达式执行
+     *
+     * @param name     任务名称
+     * @param task     任务
+     * @param executor 执行任务的线程池
+     * @param cron     cron表达式
+     * @param zone     计算执行时间使用的时区
+     * @return 定时任务
+     */
+    public ScheduledTask schedule(String name, Runnable task, TaskExecutor executor, CronExpression cron, ZoneId zone) {
+        return start(new ScheduledTask(name, task, executor, this.timer, 0, 0, cron, zone), Duration.ZERO);
+    }
+
+    /**
+     * 为Bean中每个标注了@Scheduled的方法创建定时任务，每次执行时通过getBean获取Bean，增量刷新后使用新的对象
+     *
+     * @param beanFactory 用于获取Bean
+     * @param beanName    Bean的名称，只能是单例
+     * @param beanClass   Bean的实现类
+     * @return 定时任务，没有时返回空集合
+     * @throws IllegalArgumentException 方法有参数或者注解的配置不正确
+     */
+    public List<ScheduledTask> scheduleAnnotatedMethods(BeanFactory beanFactory, String beanName, Class<?> beanClass) {
+        List<ScheduledTask> result = null;
+        for (Method method : beanClass.getMethods()) {
+            Scheduled scheduled = method.getAnnotation(Scheduled.class);
+            if (scheduled == null || method.isBridge() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            if (method.getParameterCount() != 0) {
+                throw new IllegalArgumentException("@Scheduled方法不能有参数：" + method);
+            }
+            MethodHandle handle;
+            try {
+                method.setAccessible(true);
+                handle = MethodHandles.lookup().unreflect(method).asType(MethodType.methodType(void.class, Object.class));
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("无法访问定时方法：" + method, e);
+            }
+            String name = beanName + "#" + method.getName();
+            Runnable task = () -> {
+                try {
+                    handle.invokeExact(beanFactory.getBean(beanName));
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException("调用" + method + "失败", e);
+                }
+            };
+            if (result == null) {
+                result = new ArrayList<>();
+            }
+            result.add(schedule(name, task, scheduled));
+        }
+        return result == null ? Collections.emptyList() : result;
+    }
+
+    private ScheduledTask schedule(String name, Runnable task, Scheduled scheduled) {
+        int triggers = (scheduled.cron().isEmpty() ? 0 : 1) + (scheduled.fixedRate() >= 0 ? 1 : 0) + (scheduled.fixedDelay() >= 0 ? 1 : 0);
+        if (triggers != 1) {
+            throw new IllegalArgumentException("@Scheduled的cron、fixedRate、fixedDelay必须设置且只能设置一个：" + name);
+        }
+        String executorName = scheduled.executor().isEmpty()
+                ? this.environment.getProperty(SCHEDULING_EXECUTOR, TaskExecutorRegistry.DEFAULT_EXECUTOR) : scheduled.executor();
+        TaskExecutor executor = this.executors.getExecutor(executorName);
+        Duration initialDelay = Duration.ofMillis(scheduled.initialDelay());
+        if (!scheduled.cron().isEmpty()) {
+            if (scheduled.initialDelay() != 0) {
+                throw new IllegalArgumentException("cron任务不支持initialDelay：" + name);
+            }
+            CronExpression cron = CronExpression.parse(this.environment.resolvePlaceholders(scheduled.cron()));
+            return schedule(name, task, executor, cron, ZoneId.systemDefault());
+        }
+        if (scheduled.fixedRate() >= 0) {
+            return scheduleAtFixedRate(name, task, executor, initialDelay, Duration.ofMillis(scheduled.fixedRate()));
+        }
+        return scheduleWithFixedDelay(name, task, executor, initialDelay, Duration.ofMillis(scheduled.fixedDelay()));
+    }
+
+    private ScheduledTask start(ScheduledTask task, Duration initialDelay) {
+        if (initialDelay.isNegative()) {
+            throw new IllegalArgumentException("任务[" + task.getName() + "]的初始延迟不能为负数");
+        }
+        this.scheduledTasks.add(task);
+        task.start(initialDelay.toNanos());
+        return task;
+    }
+
+    /**
+     * @return 所有定时任务，包括已取消的
+     */
+    public List<ScheduledTask> getScheduledTasks() {
+        return Collections.unmodifiableList(scheduledTasks);
+    }
+
+    /**
+     * @return 时间轮中等待到期的定时数量
+     */
+    public int getPendingTimeoutCount() {
+        return this.timer.getPendingCount();
+    }
+
+    /**
+     * 取消所有定时任务并停止时间轮，正在执行的任务由线程池关闭时等待
+     */
+    public void shutdown() {
+        for (ScheduledTask task : this.scheduledTasks) {
+            task.cancel();
+        }
+        this.timer.stop();
+    }
+}
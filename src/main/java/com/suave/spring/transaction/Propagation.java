@@ -0,0 +1,40 @@
+package com.suave.spring.transaction;
+
+/**
+ * 事务的传播方式
+ *
+ * @author Suave
+ * @since 2026/10/19 01:00
+ */
+public enum Propagation {
+
+    /**
+     * 已经在事务中时加入，否则开启新事务
+     */
+    REQUIRED,
+
+    /**
+     * 已经在事务中时加入，否则不使用事务
+     */
+    SUPPORTS,
+
+    /**
+     * 必须已经在事务中，否则抛出异常
+     */
+    MANDATORY,
+
+    /**
+     * 总是开启新事务，外层事务挂起，新事务使用另一个连接
+     */
+    REQUIRES_NEW,
+
+    /**
+     * 不使用事务，外层事务挂起
+     */
+    NOT_SUPPORTED,
+
+    /**
+     * 不能在事务中执行，否则抛出异常
+     */
+    NEVER
+}
@@ -0,0 +1,90 @@
+package com.suave.spring.transaction;
+
+import com.suave.spring.annotation.Transactional;
+import com.suave.spring.aop.Advisor;
+import com.suave.spring.aop.MethodInterceptor;
+import com.suave.spring.aop.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 拦截标注了{@link Transactional}的方法和类，容器中有连接池时由容器注册
+ * <p>
+ * 每个方法的事务属性在判断是否拦截时解析一次，之后每次调用只按Method查找
+ *
+ * @author Suave
+ * @since 2026/10/19 01:00
+ */
+public class TransactionAdvisor implements Advisor, MethodInterceptor {
+
+    private final TransactionManager transactionManager;
+
+    private final Map<Method, TransactionDefinition> definitions = new ConcurrentHashMap<>(64);
+
+    public TransactionAdvisor(TransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    public TransactionManager getTransactionManager() {
+        return transactionManager;
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        TransactionDefinition definition = resolveDefinition(method, targetClass);
+        if (definition == null) {
+            return false;
+        }
+        this.definitions.put(method, definition);
+        return true;
+    }
+
+    @Override
+    public MethodInterceptor getInterceptor() {
+        return this;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        TransactionDefinition definition = this.definitions.get(method);
+        if (definition == null) {
+            // 接口代理调用的是接口上的方法，注解在实现类的方法上
+            definition = this.definitions.computeIfAbsent(method, m -> {
+                Class<?> targetClass = invocation.getThis().getClass();
+                try {
+                    return resolveDefinition(targetClass.getMethod(m.getName(), m.getParameterTypes()), targetClass);
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalStateException("目标类" + targetClass.getName() + "没有方法" + m.getName(), e);
+                }
+            });
+        }
+        return this.transactionManager.execute(definition, invocation);
+    }
+
+    /**
+     * 方法上的注解优先，其次是类上的注解，类上的注解只对public方法生效
+     */
+    private TransactionDefinition resolveDefinition(Method method, Class<?> targetClass) {
+        Transactional transactional = method.getAnnotation(Transactional.class);
+        if (transactional == null) {
+            if (!Modifier.isPublic(method.getModifiers()) || method.getDeclaringClass() == Object.class) {
+                return null;
+            }
+            transactional = targetClass.getAnnotation(Transactional.class);
+            if (transactional == null) {
+                return null;
+            }
+        }
+        StringJoiner name = new StringJoiner(",", targetClass.getSimpleName() + "." + method.getName() + "(", ")");
+        for (Class<?> type : method.getParameterTypes()) {
+            name.add(type.getSimpleName());
+        }
+        return this.transactionManager.register(new TransactionDefinition(name.toString(),
+                transactional.propagation(), transactional.readOnly(), transactional.rollbackFor()));
+    }
+}
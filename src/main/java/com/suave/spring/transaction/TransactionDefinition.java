@@ -0,0 +1,70 @@
+package com.suave.spring.transaction;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 一个事务方法解析好的属性和它的统计，每个方法只解析一次
+ *
+ * @author Suave
+ * @since 2026/10/19 01:00
+ */
+final class TransactionDefinition {
+
+    /**
+     * 类名.方法名(参数类型)，统计按这个名称区分
+     */
+    final String name;
+
+    final Propagation propagation;
+
+    final boolean readOnly;
+
+    final Class<? extends Throwable>[] rollbackFor;
+
+    final LongAdder committedCount = new LongAdder();
+
+    final LongAdder rolledBackCount = new LongAdder();
+
+    final LongAdder joinedCount = new LongAdder();
+
+    final LongAdder totalAcquireNanos = new LongAdder();
+
+    final LongAdder totalNanos = new LongAdder();
+
+    final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    TransactionDefinition(String name, Propagation propagation, boolean readOnly, Class<? extends Throwable>[] rollbackFor) {
+        this.name = name;
+        this.propagation = propagation;
+        this.readOnly = readOnly;
+        this.rollbackFor = rollbackFor;
+    }
+
+    /**
+     * RuntimeException和Error回滚，其他异常只有在rollbackFor中时回滚
+     */
+    boolean rollbackOn(Throwable ex) {
+        if (ex instanceof RuntimeException || ex instanceof Error) {
+            return true;
+        }
+        for (Class<? extends Throwable> type : this.rollbackFor) {
+            if (type.isInstance(ex)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void record(boolean committed, long acquireNanos, long elapsedNanos) {
+        (committed ? this.committedCount : this.rolledBackCount).increment();
+        this.totalAcquireNanos.add(acquireNanos);
+        this.totalNanos.add(elapsedNanos);
+        this.maxNanos.accumulate(elapsedNanos);
+    }
+
+    TransactionStats getStats() {
+        return new TransactionStats(committedCount.sum(), rolledBackCount.sum(), joinedCount.sum(),
+                totalAcquireNanos.sum(), totalNanos.sum(), maxNanos.get());
+    }
+}
@@ -0,0 +1,247 @@
+package com.suave.spring.transaction;
+
+import com.suave.spring.aop.MethodInvocation;
+import com.suave.spring.jdbc.DataAccessException;
+import com.suave.spring.jdbc.PooledConnection;
+import com.suave.spring.jdbc.PooledDataSource;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于连接池的事务管理，事务期间把连接绑定到当前线程（包括虚拟线程），JdbcTemplate在这个线程中都使用它
+ * <ul>
+ *     <li>已经在事务中时REQUIRED、SUPPORTS、MANDATORY直接执行目标方法，不借出连接、不设置保存点，
+ *     只在需要回滚时把外层事务标记为只回滚</li>
+ *     <li>REQUIRES_NEW、NOT_SUPPORTED挂起外层事务，结束后恢复；REQUIRES_NEW会同时占用两个连接</li>
+ *     <li>每个事务方法统计提交、回滚、加入外层事务的次数，以及等待连接的时间和事务的耗时</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/19 01:00
+ */
+public class TransactionManager {
+
+    /**
+     * 是否处理@Transactional，默认在容器中有连接池时启用
+     */
+    public static final String TRANSACTION_ENABLED = "transaction.enabled";
+
+    private final PooledDataSource dataSource;
+
+    private final ThreadLocal<TransactionStatus> currentTransaction = new ThreadLocal<>();
+
+    private final Map<String, TransactionDefinition> definitions = new ConcurrentHashMap<>(64);
+
+    public TransactionManager(PooledDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public PooledDataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * @return 当前线程是否在事务中
+     */
+    public boolean isTransactionActive() {
+        return this.currentTransaction.get() != null;
+    }
+
+    /**
+     * 把当前事务标记为只回滚，事务方法正常返回时也会回滚
+     *
+     * @throws IllegalStateException 当前线程不在事务中
+     */
+    public void setRollbackOnly() {
+        TransactionStatus status = this.currentTransaction.get();
+        if (status == null) {
+            throw new IllegalStateException("当前线程不在事务中");
+        }
+        status.rollbackOnly = true;
+    }
+
+    /**
+     * @return 每个事务方法的统计，Key为类名.方法名(参数类型)
+     */
+    public Map<String, TransactionStats> getStats() {
+        Map<String, TransactionStats> stats = new TreeMap<>();
+        for (TransactionDefinition definition : this.definitions.values()) {
+            stats.put(definition.name, definition.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * 同名的方法共用一份统计
+     */
+    TransactionDefinition register(TransactionDefinition definition) {
+        TransactionDefinition existing = this.definitions.putIfAbsent(definition.name, definition);
+        return existing != null ? existing : definition;
+    }
+
+    /**
+     * 按传播方式在事务中执行
+     *
+     * @param definition 事务属性
+     * @param invocation 方法调用
+     * @return 方法的返回值
+     * @throws IllegalStateException MANDATORY不在事务中、NEVER在事务中，或者事务被标记为只回滚
+     * @throws DataAccessException   开启、提交或回滚事务失败
+     */
+    Object execute(TransactionDefinition definition, MethodInvocation invocation) throws Throwable {
+        TransactionStatus current = this.currentTransaction.get();
+        switch (definition.propagation) {
+            case REQUIRED:
+            case SUPPORTS:
+            case MANDATORY:
+                if (current != null) {
+                    return joinExisting(current, definition, invocation);
+                }
+                if (definition.propagation == Propagation.MANDATORY) {
+                    throw new IllegalStateException(definition.name + "必须在事务中调用");
+                }
+                return definition.propagation == Propagation.SUPPORTS
+                        ? invocation.proceed() : executeInNewTransaction(null, definition, invocation);
+            case REQUIRES_NEW:
+                return executeInNewTransaction(current, definition, invocation);
+            case NOT_SUPPORTED:
+                if (current == null) {
+                    return invocation.proceed();
+                }
+                bind(null);
+                try {
+                    return invocation.proceed();
+                } finally {
+                    bind(current);
+                }
+            case NEVER:
+                if (current != null) {
+                    throw new IllegalStateException(definition.name + "不能在事务中调用");
+                }
+                return invocation.proceed();
+            default:
+                throw new IllegalStateException("不支持的传播方式：" + definition.propagation);
+        }
+    }
+
+    private Object joinExisting(TransactionStatus current, TransactionDefinition definition, MethodInvocation invocation) throws Throwable {
+        definition.joinedCount.increment();
+        try {
+            return invocation.proceed();
+        } catch (Throwable ex) {
+            // 外层可能捕获这个异常后正常返回，标记后外层也会回滚
+            if (definition.rollbackOn(ex)) {
+                current.rollbackOnly = true;
+            }
+            throw ex;
+        }
+    }
+
+    private Object executeInNewTransaction(TransactionStatus suspended, TransactionDefinition definition,
+                                           MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        PooledConnection connection = this.dataSource.borrow();
+        long acquireNanos = System.nanoTime() - start;
+        try {
+            connection.setAutoCommit(false);
+            if (definition.readOnly) {
+                connection.getConnection().setReadOnly(true);
+            }
+        } catch (SQLException e) {
+            this.dataSource.release(connection);
+            throw new DataAccessException("开启事务失败：" + definition.name, e);
+        }
+        TransactionStatus status = new TransactionStatus(connection);
+        bind(status);
+        boolean committed = false;
+        try {
+            Object result;
+            try {
+                result = invocation.proceed();
+            } catch (Throwable ex) {
+                if (definition.rollbackOn(ex) || status.rollbackOnly) {
+                    rollback(status, ex);
+                } else {
+                    committed = commit(status, ex);
+                }
+                throw ex;
+            }
+            if (status.rollbackOnly) {
+                rollback(status, null);
+                throw new IllegalStateException("事务已被标记为只回滚，已经回滚：" + definition.name);
+            }
+            committed = commit(status, null);
+            return result;
+        } finally {
+            if (definition.readOnly) {
+                try {
+                    connection.getConnection().setReadOnly(false);
+                } catch (SQLException e) {
+                    // 归还后下一次借出时仍是只读，只影响优化
+                }
+            }
+            bind(suspended);
+            this.dataSource.release(connection);
+            definition.record(committed, acquireNanos, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @param cause 目标方法抛出的异常，提交失败的异常附加在它上面，为null时提交失败直接抛出
+     * @return 是否提交成功
+     */
+    private boolean commit(TransactionStatus status, Throwable cause) {
+        try {
+            status.connection.getConnection().commit();
+            status.connection.setAutoCommit(true);
+            return true;
+        } catch (SQLException e) {
+            // 归还连接时会回滚未提交的修改
+            if (cause != null) {
+                cause.addSuppressed(e);
+                return false;
+            }
+            throw new DataAccessException("提交事务失败", e);
+        }
+    }
+
+    private void rollback(TransactionStatus status, Throwable cause) {
+        try {
+            status.connection.getConnection().rollback();
+            status.connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            if (cause != null) {
+                cause.addSuppressed(e);
+                return;
+            }
+            throw new DataAccessException("回滚事务失败", e);
+        }
+    }
+
+    private void bind(TransactionStatus status) {
+        if (status == null) {
+            this.currentTransaction.remove();
+            this.dataSource.bindConnection(null);
+        } else {
+            this.currentTransaction.set(status);
+            this.dataSource.bindConnection(status.connection);
+        }
+    }
+
+    /**
+     * 当前线程正在执行的事务
+     */
+    private static final class TransactionStatus {
+
+        final PooledConnection connection;
+
+        boolean rollbackOnly;
+
+        TransactionStatus(PooledConnection connection) {
+            this.connection = connection;
+        }
+    }
+}
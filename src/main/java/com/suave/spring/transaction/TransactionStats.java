@@ -0,0 +1,74 @@
+package com.suave.spring.transaction;
+
+/**
+ * 一个事务方法的统计快照，时间单位为纳秒
+ *
+ * @author Suave
+ * @since 2026/10/19 01:00
+ */
+public final class TransactionStats {
+
+    private final long committedCount;
+
+    private final long rolledBackCount;
+
+    private final long joinedCount;
+
+    private final long totalAcquireNanos;
+
+    private final long totalNanos;
+
+    private final long maxNanos;
+
+    TransactionStats(long committedCount, long rolledBackCount, long joinedCount,
+                     long totalAcquireNanos, long totalNanos, long maxNanos) {
+        this.committedCount = committedCount;
+        this.rolledBackCount = rolledBackCount;
+        this.joinedCount = joinedCount;
+        this.totalAcquireNanos = totalAcquireNanos;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public long getCommittedCount() {
+        return committedCount;
+    }
+
+    public long getRolledBackCount() {
+        return rolledBackCount;
+    }
+
+    /**
+     * @return 加入外层事务的次数，这些调用没有单独开启事务，不计入耗时
+     */
+    public long getJoinedCount() {
+        return joinedCount;
+    }
+
+    /**
+     * @return 开启事务时等待连接的平均时间
+     */
+    public long getAverageAcquireNanos() {
+        long finished = committedCount + rolledBackCount;
+        return finished == 0 ? 0 : totalAcquireNanos / finished;
+    }
+
+    /**
+     * @return 从借出连接到提交或回滚完成的平均时间
+     */
+    public long getAverageNanos() {
+        long finished = committedCount + rolledBackCount;
+        return finished == 0 ? 0 : totalNanos / finished;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("committed=%d, rolledBack=%d, joined=%d, acquire(avg)=%.3fms, time(avg/max)=%.3f/%.3fms",
+                committedCount, rolledBackCount, joinedCount, getAverageAcquireNanos() / 1e6,
+                getAverageNanos() / 1e6, maxNanos / 1e6);
+    }
+}
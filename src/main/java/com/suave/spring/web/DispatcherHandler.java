@@ -0,0 +1,125 @@
+package com.suave.spring.web;
+
+import com.suave.spring.annotation.Controller;
+import com.suave.spring.annotation.RequestMapping;
+import com.suave.spring.context.ApplicationContext;
+import com.suave.spring.context.request.RequestContextHolder;
+import com.suave.spring.core.metrics.StartupStep;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 把请求分发到@Controller中标注了@RequestMapping的方法
+ * <p>
+ * 创建时扫描所有Controller生成不可变的路由表，处理请求时只有路由表查找和MethodHandle调用，没有反射；
+ * 每个请求在处理期间绑定到{@link RequestContextHolder}，可以使用request作用域的Bean
+ *
+ * @author Suave
+ * @since 2026/10/18 18:00
+ */
+public class DispatcherHandler {
+
+    private static final String TEXT_PLAIN = "text/plain;charset=UTF-8";
+
+    private static final String OCTET_STREAM = "application/octet-stream";
+
+    private final ApplicationContext context;
+
+    private final RouteTable routes;
+
+    /**
+     * 根据容器中的Controller生成路由表
+     *
+     * @param context 已经启动的容器
+     * @throws IllegalArgumentException 路由重复或处理方法的参数无法解析
+     */
+    public DispatcherHandler(ApplicationContext context) {
+        this.context = context;
+        StartupStep step = context.getApplicationStartup().start("web.routes.build");
+        this.routes = buildRoutes(context);
+        step.tag("routeCount", String.valueOf(this.routes.getRouteCount())).end();
+    }
+
+    private static RouteTable buildRoutes(ApplicationContext context) {
+        RouteTable.Builder builder = new RouteTable.Builder();
+        for (String beanName : context.getBeanNamesForAnnotation(Controller.class)) {
+            Class<?> controllerClass = context.getType(beanName);
+            RequestMapping classMapping = controllerClass.getAnnotation(RequestMapping.class);
+            String prefix = classMapping == null ? "" : classMapping.value();
+            for (Method method : controllerClass.getMethods()) {
+                RequestMapping mapping = method.getAnnotation(RequestMapping.class);
+                if (mapping == null || method.isBridge() || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                builder.add(prefix + "/" + mapping.value(), mapping.method(),
+                        variableNames -> new HandlerMethod(beanName, method, variableNames));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 处理一个请求，处理方法的异常转换为错误响应，不会抛出
+     *
+     * @param request 请求
+     * @return 响应
+     */
+    public HttpResponse dispatch(HttpRequest request) {
+        HttpResponse response = new HttpResponse();
+        RequestContextHolder.bindRequest();
+        try {
+            RouteTable.Match match = this.routes.lookup(request.getMethod(), request.getRawPath());
+            writeResult(response, match.handler.invoke(this.context, request, response, match.pathVariables));
+            return response;
+        } catch (HttpStatusException e) {
+            return errorResponse(e.getStatus(), e.getMessage());
+        } catch (Throwable e) {
+            // 处理方法抛出的Error同样返回500，不能传播到服务器的事件循环中；只输出一行，不打印堆栈
+            System.err.println("处理请求" + request.getMethod() + " " + request.getRawPath() + "失败：" + e);
+            return errorResponse(500, "服务器内部错误");
+        } finally {
+            RequestContextHolder.resetRequest();
+        }
+    }
+
+    /**
+     * 生成错误响应，响应体为错误信息
+     *
+     * @param status  状态码
+     * @param message 错误信息
+     * @return 响应
+     */
+    public static HttpResponse errorResponse(int status, String message) {
+        HttpResponse response = new HttpResponse();
+        response.setStatus(status);
+        response.setContentType(TEXT_PLAIN);
+        response.setBody(message == null ? null : message.getBytes(StandardCharsets.UTF_8));
+        return response;
+    }
+
+    /**
+     * byte[]原样作为响应体，其他返回值转换为字符串，void方法或返回null时不修改响应体
+     */
+    private static void writeResult(HttpResponse response, Object result) {
+        if (result == null) {
+            return;
+        }
+        if (result instanceof byte[]) {
+            response.setBody((byte[]) result);
+            if (response.getContentType() == null) {
+                response.setContentType(OCTET_STREAM);
+            }
+            return;
+        }
+        response.setBody(result.toString().getBytes(StandardCharsets.UTF_8));
+        if (response.getContentType() == null) {
+            response.setContentType(TEXT_PLAIN);
+        }
+    }
+
+    public int getRouteCount() {
+        return this.routes.getRouteCount();
+    }
+}
@@ -0,0 +1,171 @@
+package com.suave.spring.web;
+
+import com.suave.spring.annotation.PathVariable;
+import com.suave.spring.annotation.RequestBody;
+import com.suave.spring.annotation.RequestParam;
+import com.suave.spring.beans.factory.BeanFactory;
+import com.suave.spring.core.convert.TypeConverter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 处理请求的方法，创建路由表时完成所有解析
+ * <ul>
+ *     <li>方法转换为(Object, Object[])Object的MethodHandle，调用时不再有反射</li>
+ *     <li>每个参数对应一个预先生成的解析器，路径变量按下标读取，类型转换器也已经选好</li>
+ *     <li>每次请求通过getBean获取Controller，增量刷新后使用新的对象，也支持request作用域</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/18 18:00
+ */
+final class HandlerMethod {
+
+    private final String beanName;
+
+    private final Method method;
+
+    private final MethodHandle invoker;
+
+    private final ArgumentResolver[] argumentResolvers;
+
+    /**
+     * @param beanName      Controller的BeanName
+     * @param method        处理方法
+     * @param variableNames 路由中路径变量的名称，按出现顺序排列
+     * @throws IllegalArgumentException 参数无法解析
+     */
+    HandlerMethod(String beanName, Method method, List<String> variableNames) {
+        this.beanName = beanName;
+        this.method = method;
+        Parameter[] parameters = method.getParameters();
+        this.argumentResolvers = new ArgumentResolver[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            this.argumentResolvers[i] = createArgumentResolver(parameters[i], variableNames);
+        }
+        try {
+            method.setAccessible(true);
+            this.invoker = MethodHandles.lookup().unreflect(method)
+                    .asType(MethodType.genericMethodType(parameters.length + 1))
+                    .asSpreader(Object[].class, parameters.length);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("无法访问处理方法：" + method, e);
+        }
+    }
+
+    /**
+     * 调用处理方法
+     *
+     * @param beanFactory   用于获取Controller
+     * @param request       请求
+     * @param response      响应
+     * @param pathVariables 路由匹配到的路径变量
+     * @return 处理方法的返回值，void方法返回null
+     */
+    Object invoke(BeanFactory beanFactory, HttpRequest request, HttpResponse response, String[] pathVariables) {
+        Object[] args = new Object[this.argumentResolvers.length];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = this.argumentResolvers[i].resolve(request, response, pathVariables);
+        }
+        Object bean = beanFactory.getBean(this.beanName);
+        try {
+            return this.invoker.invokeExact(bean, args);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException("调用" + this.method + "失败", e);
+        }
+    }
+
+    private ArgumentResolver createArgumentResolver(Parameter parameter, List<String> variableNames) {
+        Class<?> type = parameter.getType();
+        if (type == HttpRequest.class) {
+            return (request, response, variables) -> request;
+        }
+        if (type == HttpResponse.class) {
+            return (request, response, variables) -> response;
+        }
+        PathVariable pathVariable = parameter.getAnnotation(PathVariable.class);
+        if (pathVariable != null) {
+            String name = getName(parameter, pathVariable.value());
+            int index = variableNames.indexOf(name);
+            if (index < 0) {
+                throw new IllegalArgumentException(this.method + "的路径中没有变量{" + name + "}");
+            }
+            TypeConverter converter = createConverter(parameter);
+            return (request, response, variables) -> convert(converter, HttpRequest.decodePath(variables[index]), name);
+        }
+        RequestParam requestParam = parameter.getAnnotation(RequestParam.class);
+        if (requestParam != null) {
+            String name = getName(parameter, requestParam.value());
+            boolean required = requestParam.required();
+            TypeConverter converter = createConverter(parameter);
+            return (request, response, variables) -> {
+                String value = request.getParameter(name);
+                if (value == null) {
+                    if (required) {
+                        throw new HttpStatusException(400, "缺少参数：" + name);
+                    }
+                    return null;
+                }
+                return convert(converter, value, name);
+            };
+        }
+        if (parameter.isAnnotationPresent(RequestBody.class)) {
+            if (type == byte[].class) {
+                return (request, response, variables) -> request.getBody();
+            }
+            TypeConverter converter = createConverter(parameter);
+            return (request, response, variables) -> convert(converter, new String(request.getBody(), StandardCharsets.UTF_8), "body");
+        }
+        throw new IllegalArgumentException("无法解析" + this.method + "的参数" + parameter.getName()
+                + "，需要标注@PathVariable、@RequestParam或@RequestBody");
+    }
+
+    private String getName(Parameter parameter, String name) {
+        if (!name.isEmpty()) {
+            return name;
+        }
+        if (!parameter.isNamePresent()) {
+            throw new IllegalArgumentException(this.method + "的参数没有指定名称，编译时没有加上-parameters");
+        }
+        return parameter.getName();
+    }
+
+    private TypeConverter createConverter(Parameter parameter) {
+        return TypeConverter.forType(parameter.getType(), parameter.getParameterizedType(),
+                this.method.getDeclaringClass().getClassLoader());
+    }
+
+    private static Object convert(TypeConverter converter, String value, String name) {
+        try {
+            return converter.convert(value);
+        } catch (IllegalArgumentException e) {
+            throw new HttpStatusException(400, "参数" + name + "格式不正确：" + value, e);
+        }
+    }
+
+    Method getMethod() {
+        return method;
+    }
+
+    @Override
+    public String toString() {
+        return this.beanName + "#" + this.method.getName();
+    }
+
+    /**
+     * 从请求中解析一个参数
+     */
+    @FunctionalInterface
+    private interface ArgumentResolver {
+
+        Object resolve(HttpRequest request, HttpResponse response, String[] pathVariables);
+    }
+}
@@ -0,0 +1,164 @@
+package com.suave.spring.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 解析完成的HTTP请求，查询参数在第一次获取时才解析
+ *
+ * @author Suave
+ * @since 2026/10/18 18:00
+ */
+public class HttpRequest {
+
+    private final RequestMethod method;
+
+    private final String rawPath;
+
+    private String path;
+
+    private final String query;
+
+    /**
+     * Key为小写的请求头名称
+     */
+    private final Map<String, String> headers;
+
+    private final byte[] body;
+
+    private final boolean keepAlive;
+
+    private Map<String, String> parameters;
+
+    public HttpRequest(RequestMethod method, String rawPath, String query, Map<String, String> headers, byte[] body, boolean keepAlive) {
+        this.method = method;
+        this.rawPath = rawPath;
+        this.query = query;
+        this.headers = headers;
+        this.body = body;
+        this.keepAlive = keepAlive;
+    }
+
+    public RequestMethod getMethod() {
+        return method;
+    }
+
+    /**
+     * @return 解码后的路径，不包含查询参数
+     */
+    public String getPath() {
+        if (this.path == null) {
+            this.path = decodePath(this.rawPath);
+        }
+        return this.path;
+    }
+
+    /**
+     * @return 没有解码的路径，路由按这个路径分段匹配，编码后的/不会被当作分隔符
+     */
+    public String getRawPath() {
+        return rawPath;
+    }
+
+    /**
+     * @return 原始的查询字符串，没有时返回null
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * @param name 请求头名称，不区分大小写
+     * @return 请求头的值，不存在时返回null
+     */
+    public String getHeader(String name) {
+        return this.headers.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    public Map<String, String> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * @return 处理完成后是否保持连接
+     */
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * 获取查询参数，同名参数只保留第一个
+     *
+     * @param name 参数名
+     * @return 解码后的值，不存在时返回null
+     */
+    public String getParameter(String name) {
+        if (this.query == null) {
+            return null;
+        }
+        if (this.parameters == null) {
+            this.parameters = parseQuery(this.query);
+        }
+        return this.parameters.get(name);
+    }
+
+    /**
+     * 解码路径中的%XX，不把+当作空格
+     *
+     * @param path 路径或一段路径
+     * @return 解码后的路径
+     * @throws HttpStatusException 编码不正确
+     */
+    static String decodePath(String path) {
+        if (path.indexOf('%') < 0) {
+            return path;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(path.length());
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c != '%') {
+                out.write(c);
+                continue;
+            }
+            int hi = i + 2 < path.length() ? Character.digit(path.charAt(i + 1), 16) : -1;
+            int lo = i + 2 < path.length() ? Character.digit(path.charAt(i + 2), 16) : -1;
+            if (hi < 0 || lo < 0) {
+                throw new HttpStatusException(400, "路径编码不正确：" + path);
+            }
+            out.write(hi << 4 | lo);
+            i += 2;
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> result = new HashMap<>(8);
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String name = decode(eq < 0 ? pair : pair.substring(0, eq));
+            result.putIfAbsent(name, eq < 0 ? "" : decode(pair.substring(eq + 1)));
+        }
+        return result;
+    }
+
+    private static String decode(String s) {
+        try {
+            return URLDecoder.decode(s, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            throw new HttpStatusException(400, "查询参数编码不正确：" + s, e);
+        }
+    }
+}
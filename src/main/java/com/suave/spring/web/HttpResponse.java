@@ -0,0 +1,61 @@
+package com.suave.spring.web;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * HTTP响应，处理方法可以声明该类型的参数来设置状态码和响应头，返回值作为响应体
+ *
+ * @author Suave
+ * @since 2026/10/18 18:00
+ */
+public class HttpResponse {
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private int status = 200;
+
+    private String contentType;
+
+    private final Map<String, String> headers = new LinkedHashMap<>(4);
+
+    private byte[] body = EMPTY_BODY;
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    /**
+     * 设置响应头，Content-Length和Connection由服务器生成
+     *
+     * @param name  响应头名称
+     * @param value 响应头的值
+     */
+    public void setHeader(String name, String value) {
+        this.headers.put(name, value);
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public void setBody(byte[] body) {
+        this.body = body == null ? EMPTY_BODY : body;
+    }
+}
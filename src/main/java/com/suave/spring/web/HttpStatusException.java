@@ -0,0 +1,26 @@
+package com.suave.spring.web;
+
+/**
+ * 以指定的状态码结束请求，如参数缺失、路径不存在
+ *
+ * @author Suave
+ * @since 2026/10/18 18:00
+ */
+public class HttpStatusException extends RuntimeException {
+
+    private final int status;
+
+    public HttpStatusException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatusException(int status, String message, Throwable cause) {
+        super(message, cause);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
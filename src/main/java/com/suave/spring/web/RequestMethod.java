@@ -0,0 +1,28 @@
+package com.suave.spring.web;
+
+/**
+ * HTTP请求方法
+ *
+ * @author Suave
+ * @since 2026/10/18 18:00
+ */
+public enum RequestMethod {
+    GET, HEAD, POST, PUT, PATCH, DELETE, OPTIONS, TRACE;
+
+    private static final RequestMethod[] VALUES = values();
+
+    /**
+     * 解析请求行中的方法
+     *
+     * @param name 方法名，区分大小写
+     * @return 请求方法，不支持时返回null
+     */
+    public static RequestMethod resolve(String name) {
+        for (RequestMethod method : VALUES) {
+            if (method.name().equals(name)) {
+                return method;
+            }
+        }
+        return null;
+    }
+}
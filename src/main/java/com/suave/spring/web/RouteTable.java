@@ -0,0 +1,225 @@
+package com.suave.spring.web;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 路由表，按路径分段组成的前缀树，创建后不再变化
+ * <ul>
+ *     <li>每个节点的静态子节点保存在HashMap中，每一段路径只有一次查找</li>
+ *     <li>{name}匹配任意一段，静态路径优先，不匹配时回溯到路径变量</li>
+ *     <li>节点上按请求方法的序号保存处理方法，路径变量按出现顺序保存在数组中</li>
+ * </ul>
+ *
+ * @author Suave
+ * @since 2026/10/18 18:00
+ */
+final class RouteTable {
+
+    private static final RequestMethod[] ALL_METHODS = RequestMethod.values();
+
+    private static final String[] NO_VARIABLES = new String[0];
+
+    private final Node root;
+
+    /**
+     * 所有路由中路径变量最多的个数
+     */
+    private final int maxVariables;
+
+    private final int routeCount;
+
+    private RouteTable(Node root, int maxVariables, int routeCount) {
+        this.root = root;
+        this.maxVariables = maxVariables;
+        this.routeCount = routeCount;
+    }
+
+    /**
+     * 查找处理方法
+     *
+     * @param method  请求方法
+     * @param rawPath 没有解码的路径
+     * @return 处理方法以及没有解码的路径变量
+     * @throws HttpStatusException 路径不存在时为404，路径存在但不支持该方法时为405
+     */
+    Match lookup(RequestMethod method, String rawPath) {
+        String[] variables = this.maxVariables == 0 ? NO_VARIABLES : new String[this.maxVariables];
+        Node node = find(this.root, method, rawPath, 0, variables, 0);
+        if (node != null) {
+            return new Match(node.handlers[method.ordinal()], variables);
+        }
+        if (find(this.root, null, rawPath, 0, new String[this.maxVariables], 0) != null) {
+            throw new HttpStatusException(405, "不支持" + method + "请求：" + HttpRequest.decodePath(rawPath));
+        }
+        throw new HttpStatusException(404, "路径不存在：" + HttpRequest.decodePath(rawPath));
+    }
+
+    /**
+     * @param method 为null时匹配任意请求方法
+     */
+    private static Node find(Node node, RequestMethod method, String path, int start, String[] variables, int depth) {
+        while (start < path.length() && path.charAt(start) == '/') {
+            start++;
+        }
+        if (start >= path.length()) {
+            return node.supports(method) ? node : null;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+        String segment = path.substring(start, end);
+        Node child = node.children.get(segment);
+        if (child != null) {
+            Node result = find(child, method, path, end, variables, depth);
+            if (result != null) {
+                return result;
+            }
+        }
+        if (node.variableChild != null) {
+            variables[depth] = segment;
+            return find(node.variableChild, method, path, end, variables, depth + 1);
+        }
+        return null;
+    }
+
+    int getRouteCount() {
+        return routeCount;
+    }
+
+    /**
+     * 路由匹配的结果
+     */
+    static final class Match {
+
+        final HandlerMethod handler;
+
+        final String[] pathVariables;
+
+        Match(HandlerMethod handler, String[] pathVariables) {
+            this.handler = handler;
+            this.pathVariables = pathVariables;
+        }
+    }
+
+    private static final class Node {
+
+        final Map<String, Node> children;
+
+        final Node variableChild;
+
+        /**
+         * 下标为请求方法的序号
+         */
+        final HandlerMethod[] handlers;
+
+        Node(Map<String, Node> children, Node variableChild, HandlerMethod[] handlers) {
+            this.children = children;
+            this.variableChild = variableChild;
+            this.handlers = handlers;
+        }
+
+        boolean supports(RequestMethod method) {
+            if (this.handlers == null) {
+                return false;
+            }
+            if (method != null) {
+                return this.handlers[method.ordinal()] != null;
+            }
+            for (HandlerMethod handler : this.handlers) {
+                if (handler != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 逐个添加路由，最后生成不可变的路由表
+     */
+    static final class Builder {
+
+        private final MutableNode root = new MutableNode();
+
+        private int maxVariables;
+
+        private int routeCount;
+
+        /**
+         * 添加路由
+         *
+         * @param pattern        路径，如/persons/{id}
+         * @param methods        支持的请求方法，为空时支持所有请求方法
+         * @param handlerFactory 根据路径变量的名称创建处理方法
+         * @throws IllegalArgumentException 路径格式不正确或与已有路由重复
+         */
+        Builder add(String pattern, RequestMethod[] methods, Function<List<String>, HandlerMethod> handlerFactory) {
+            MutableNode node = this.root;
+            List<String> variableNames = new ArrayList<>();
+            for (String segment : pattern.split("/")) {
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                if (segment.startsWith("{") && segment.endsWith("}")) {
+                    String name = segment.substring(1, segment.length() - 1);
+                    if (name.isEmpty() || variableNames.contains(name)) {
+                        throw new IllegalArgumentException("路径变量为空或重复：" + pattern);
+                    }
+                    variableNames.add(name);
+                    if (node.variableChild == null) {
+                        node.variableChild = new MutableNode();
+                    }
+                    node = node.variableChild;
+                } else if (segment.indexOf('{') >= 0 || segment.indexOf('}') >= 0) {
+                    throw new IllegalArgumentException("路径变量必须占满一段：" + pattern);
+                } else {
+                    node = node.children.computeIfAbsent(segment, k -> new MutableNode());
+                }
+            }
+            HandlerMethod handler = handlerFactory.apply(variableNames);
+            for (RequestMethod method : methods.length == 0 ? ALL_METHODS : methods) {
+                HandlerMethod existing = node.handlers[method.ordinal()];
+                if (existing != null) {
+                    throw new IllegalArgumentException(method + " " + pattern + "同时映射到" + existing + "和" + handler);
+                }
+                node.handlers[method.ordinal()] = handler;
+            }
+            this.maxVariables = Math.max(this.maxVariables, variableNames.size());
+            this.routeCount++;
+            return this;
+        }
+
+        RouteTable build() {
+            return new RouteTable(this.root.toNode(), this.maxVariables, this.routeCount);
+        }
+    }
+
+    private static final class MutableNode {
+
+        final Map<String, MutableNode> children = new HashMap<>();
+
+        MutableNode variableChild;
+
+        final HandlerMethod[] handlers = new HandlerMethod[ALL_METHODS.length];
+
+        Node toNode() {
+            Map<String, Node> frozen = new HashMap<>(Math.max(4, this.children.size() * 2));
+            for (Map.Entry<String, MutableNode> entry : this.children.entrySet()) {
+                frozen.put(entry.getKey(), entry.getValue().toNode());
+            }
+            boolean hasHandlers = false;
+            for (HandlerMethod handler : this.handlers) {
+                hasHandlers |= handler != null;
+            }
+            return new Node(frozen.isEmpty() ? Collections.<String, Node>emptyMap() : Collections.unmodifiableMap(frozen),
+                    this.variableChild == null ? null : this.variableChild.toNode(),
+                    hasHandlers ? this.handlers.clone() : null);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.suave.spring.web.server;
+
+import com.suave.spring.web.HttpRequest;
+import com.suave.spring.web.HttpResponse;
+import com.suave.spring.web.HttpStatusException;
+import com.suave.spring.web.RequestMethod;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * HTTP/1.1报文的解析和生成，两种服务器共用
+ * <p>
+ * 请求体只支持Content-Length，不支持分块传输；缓冲区始终处于读模式，position为未解析数据的开始
+ * 编译目标为Java 8，ByteBuffer的flip、position先转为Buffer再调用，避免链接到JDK 9新增的重载方法
+ *
+ * @author Suave
+ * @since 2026/10/18 18:00
+ */
+final class HttpCodec {
+
+    /**
+     * 请求行加请求头的最大长度
+     */
+    static final int MAX_HEADER_SIZE = 8 * 1024;
+
+    /**
+     * 请求体的最大长度
+     */
+    static final int MAX_BODY_SIZE = 1024 * 1024;
+
+    static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+    private static final byte[] NO_BODY = new byte[0];
+
+    private HttpCodec() {
+    }
+
+    /**
+     * 从缓冲区中解析一个完整的请求
+     *
+     * @param buffer 读模式的堆内缓冲区
+     * @return 请求，数据不完整时返回null且不移动position
+     * @throws HttpStatusException 请求格式不正确或超过长度限制
+     */
+    static HttpRequest decode(ByteBuffer buffer) {
+        byte[] array = buffer.array();
+        int start = buffer.arrayOffset() + buffer.position();
+        int limit = buffer.arrayOffset() + buffer.limit();
+        int headerEnd = indexOfHeaderEnd(array, start, Math.min(limit, start + MAX_HEADER_SIZE));
+        if (headerEnd < 0) {
+            if (limit - start >= MAX_HEADER_SIZE) {
+                throw new HttpStatusException(431, "请求头过长");
+            }
+            return null;
+        }
+        String[] lines = new String(array, start, headerEnd - start, StandardCharsets.ISO_8859_1).split("\r\n");
+        String[] requestLine = lines[0].split(" ");
+        if (requestLine.length != 3) {
+            throw new HttpStatusException(400, "请求行格式不正确：" + lines[0]);
+        }
+        RequestMethod method = RequestMethod.resolve(requestLine[0]);
+        if (method == null) {
+            throw new HttpStatusException(501, "不支持的请求方法：" + requestLine[0]);
+        }
+        boolean http11 = "HTTP/1.1".equals(requestLine[2]);
+        if (!http11 && !"HTTP/1.0".equals(requestLine[2])) {
+            throw new HttpStatusException(505, "不支持的协议版本：" + requestLine[2]);
+        }
+
+        Map<String, String> headers = new HashMap<>(16);
+        for (int i = 1; i < lines.length; i++) {
+            int colon = lines[i].indexOf(':');
+            if (colon <= 0) {
+                throw new HttpStatusException(400, "请求头格式不正确：" + lines[i]);
+            }
+            headers.put(lines[i].substring(0, colon).trim().toLowerCase(Locale.ROOT), lines[i].substring(colon + 1).trim());
+        }
+        if (headers.containsKey("transfer-encoding")) {
+            throw new HttpStatusException(501, "不支持分块传输");
+        }
+        int contentLength = parseContentLength(headers.get("content-length"));
+        int bodyStart = headerEnd + 4;
+        if (limit - bodyStart < contentLength) {
+            return null;
+        }
+        byte[] body = contentLength == 0 ? NO_BODY : Arrays.copyOfRange(array, bodyStart, bodyStart + contentLength);
+        ((Buffer) buffer).position(bodyStart + contentLength - buffer.arrayOffset());
+
+        String connection = headers.get("connection");
+        boolean keepAlive = http11 ? !"close".equalsIgnoreCase(connection) : "keep-alive".equalsIgnoreCase(connection);
+        String target = requestLine[1];
+        int question = target.indexOf('?');
+        String path = question < 0 ? target : target.substring(0, question);
+        if (!path.startsWith("/")) {
+            throw new HttpStatusException(400, "路径格式不正确：" + path);
+        }
+        return new HttpRequest(method, path, question < 0 ? null : target.substring(question + 1), headers, body, keepAlive);
+    }
+
+    /**
+     * @return 请求头结束的\r\n\r\n的开始位置，不存在时返回-1
+     */
+    private static int indexOfHeaderEnd(byte[] array, int start, int limit) {
+        for (int i = start; i + 3 < limit; i++) {
+            if (array[i] == '\r' && array[i + 1] == '\n' && array[i + 2] == '\r' && array[i + 3] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int parseContentLength(String value) {
+        if (value == null) {
+            return 0;
+        }
+        long length;
+        try {
+            length = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new HttpStatusException(400, "Content-Length格式不正确：" + value);
+        }
+        if (length < 0) {
+            throw new HttpStatusException(400, "Content-Length格式不正确：" + value);
+        }
+        if (length > MAX_BODY_SIZE) {
+            throw new HttpStatusException(413, "请求体过大：" + value);
+        }
+        return (int) length;
+    }
+
+    /**
+     * @return 读模式的空缓冲区
+     */
+    static ByteBuffer emptyBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        ((Buffer) buffer).flip();
+        return buffer;
+    }
+
+    /**
+     * 压缩已经解析的数据，为继续读取腾出空间，已满时扩容
+     *
+     * @param buffer 读模式的缓冲区
+     * @return 写模式的缓冲区，可能是新的缓冲区
+     */
+    static ByteBuffer prepareForRead(ByteBuffer buffer) {
+        buffer.compact();
+        if (buffer.hasRemaining()) {
+            return buffer;
+        }
+        // 长度限制在解析时检查，这里只负责扩容
+        ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+        ((Buffer) buffer).flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    /**
+     * 生成响应报文
+     *
+     * @param response  响应
+     * @param keepAlive 是否保持连接
+     * @return 读模式的缓冲区
+     */
+    static ByteBuffer encode(HttpResponse response, boolean keepAlive) {
+        StringBuilder sb = new StringBuilder(128);
+        sb.append("HTTP/1.1 ").append(response.getStatus()).append(' ').append(reasonPhrase(response.getStatus())).append("\r\n");
+        if (response.getContentType() != null) {
+            sb.append("Content-Type: ").append(response.getContentType()).append("\r\n");
+        }
+        for (Map.Entry<String, String> header : response.getHeaders().entrySet()) {
+            sb.append(header.getKey()).append(": ").append(header.getValue()).append("\r\n");
+        }
+        byte[] body = response.getBody();
+        sb.append("Content-Length: ").append(body.length).append("\r\n");
+        sb.append(keepAlive ? "Connection: keep-alive\r\n\r\n" : "Connection: close\r\n\r\n");
+        byte[] head = sb.toString().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(head.length + body.length);
+        buffer.put(head).put(body);
+        ((Buffer) buffer).flip();
+        return buffer;
+    }
+
+    private static String reasonPhrase(int status) {
+        switch (status) {
+            case 200:
+                return "OK";
+            case 201:
+                return "Created";
+            case 204:
+                return "No Content";
+            case 400:
+                return "Bad Request";
+            case 404:
+                return "Not Found";
+            case 405:
+                return "Method Not Allowed";
+            case 413:
+                return "Payload Too Large";
+            case 431:
+                return "Request Header Fields Too Large";
+            case 500:
+                return "Internal Server Error";
+            case 501:
+                return "Not Implemented";
+            case 505:
+                return "HTTP Version Not Supported";
+            default:
+                return "";
+        }
+    }
+}
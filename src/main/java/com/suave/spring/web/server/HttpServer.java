@@ -0,0 +1,62 @@
+package com.suave.spring.web.server;
+
+import com.suave.spring.core.env.Environment;
+import com.suave.spring.web.DispatcherHandler;
+
+import java.io.IOException;
+
+/**
+ * 内嵌的HTTP服务器，收到的请求交给{@link DispatcherHandler}处理
+ *
+ * @author Suave
+ * @since 2026/10/18 18:00
+ */
+public interface HttpServer {
+
+    /**
+     * 监听的端口，默认8080，为0时使用随机端口
+     */
+    String SERVER_PORT = "server.port";
+
+    /**
+     * 服务器类型，nio（默认）为单线程的Selector事件循环，virtual为每个连接一个虚拟线程
+     */
+    String SERVER_TYPE = "server.type";
+
+    /**
+     * 开始监听端口，不阻塞当前线程
+     *
+     * @throws IOException 端口绑定失败
+     */
+    void start() throws IOException;
+
+    /**
+     * 停止监听并关闭所有连接
+     */
+    void stop();
+
+    /**
+     * @return 实际监听的端口，启动前返回配置的端口
+     */
+    int getPort();
+
+    /**
+     * 根据配置创建服务器，不会启动
+     *
+     * @param environment 容器的配置
+     * @param dispatcher  请求分发
+     * @return 服务器
+     * @throws IllegalArgumentException 服务器类型不支持
+     */
+    static HttpServer create(Environment environment, DispatcherHandler dispatcher) {
+        int port = Integer.parseInt(environment.getProperty(SERVER_PORT, "8080").trim());
+        String type = environment.getProperty(SERVER_TYPE, "nio").trim();
+        if ("nio".equalsIgnoreCase(type)) {
+            return new NioHttpServer(dispatcher, port);
+        }
+        if ("virtual".equalsIgnoreCase(type)) {
+            return new VirtualThreadHttpServer(dispatcher, port);
+        }
+        throw new IllegalArgumentException("不支持的服务器类型：" + type);
+    }
+}
@@ -0,0 +1,225 @@
+package com.suave.spring.web.server;
+
+import com.suave.spring.web.DispatcherHandler;
+import com.suave.spring.web.HttpRequest;
+import com.suave.spring.web.HttpStatusException;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * 单线程的Selector事件循环，接收连接、读取、处理和写回都在同一个线程中
+ * <p>
+ * 没有线程切换，适合处理方法很快、不阻塞的场景；处理方法阻塞时会阻塞所有连接，这种情况应使用{@link VirtualThreadHttpServer}
+ *
+ * @author Suave
+ * @since 2026/10/18 18:00
+ */
+public class NioHttpServer implements HttpServer {
+
+    private static final int BACKLOG = 1024;
+
+    private final DispatcherHandler dispatcher;
+
+    private volatile int port;
+
+    private Selector selector;
+
+    private ServerSocketChannel serverChannel;
+
+    private Thread eventLoop;
+
+    private volatile boolean running;
+
+    public NioHttpServer(DispatcherHandler dispatcher, int port) {
+        this.dispatcher = dispatcher;
+        this.port = port;
+    }
+
+    @Override
+    public synchronized void start() throws IOException {
+        if (this.running) {
+            throw new IllegalStateException("服务器已经启动！");
+        }
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.bind(new InetSocketAddress(this.port), BACKLOG);
+        this.serverChannel.configureBlocking(false);
+        this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+        this.port = ((InetSocketAddress) this.serverChannel.getLocalAddress()).getPort();
+        this.running = true;
+        this.eventLoop = new Thread(this::runEventLoop, "http-nio-" + this.port);
+        this.eventLoop.start();
+    }
+
+    private void runEventLoop() {
+        while (this.running) {
+            try {
+                this.selector.select();
+            } catch (IOException e) {
+                System.err.println("Selector异常：" + e);
+                continue;
+            }
+            Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                try {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    if (key.isReadable()) {
+                        read(key);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        write(key);
+                    }
+                } catch (IOException e) {
+                    close(key);
+                } catch (Throwable e) {
+                    // 不能让一个连接上的错误终止事件循环，所有连接都依赖这个线程
+                    System.err.println("处理连接失败：" + e);
+                    closeWithError(key);
+                }
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = this.serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.register(this.selector, SelectionKey.OP_READ, new Connection());
+    }
+
+    /**
+     * 读取数据并处理其中所有完整的请求，一次读取可能包含多个流水线请求
+     */
+    private void read(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+        ByteBuffer buffer = HttpCodec.prepareForRead(connection.buffer);
+        int n = channel.read(buffer);
+        ((Buffer) buffer).flip();
+        connection.buffer = buffer;
+        if (n < 0) {
+            close(key);
+            return;
+        }
+        try {
+            HttpRequest request;
+            while (!connection.closing && (request = HttpCodec.decode(buffer)) != null) {
+                connection.pending.add(HttpCodec.encode(this.dispatcher.dispatch(request), request.isKeepAlive()));
+                connection.closing = !request.isKeepAlive();
+            }
+        } catch (HttpStatusException e) {
+            connection.pending.add(HttpCodec.encode(DispatcherHandler.errorResponse(e.getStatus(), e.getMessage()), false));
+            connection.closing = true;
+        }
+        write(key);
+    }
+
+    /**
+     * 尽量写出所有响应，写不完时等待可写事件
+     */
+    private void write(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+        ByteBuffer head;
+        while ((head = connection.pending.peek()) != null) {
+            channel.write(head);
+            if (head.hasRemaining()) {
+                key.interestOps(SelectionKey.OP_WRITE);
+                return;
+            }
+            connection.pending.poll();
+        }
+        if (connection.closing) {
+            close(key);
+        } else {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * 尽量写出500响应后关闭连接，只尝试一次，写不完直接关闭；监听端口的Key出错时保留，继续接收连接
+     */
+    private void closeWithError(SelectionKey key) {
+        if (!(key.channel() instanceof SocketChannel)) {
+            return;
+        }
+        try {
+            ((SocketChannel) key.channel()).write(HttpCodec.encode(DispatcherHandler.errorResponse(500, "服务器内部错误"), false));
+        } catch (Throwable ignored) {
+            // 连接已经不可用，直接关闭
+        }
+        close(key);
+    }
+
+    private void close(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+            // 连接已经断开
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!this.running) {
+            return;
+        }
+        this.running = false;
+        this.selector.wakeup();
+        try {
+            this.eventLoop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : this.selector.keys()) {
+            close(key);
+        }
+        try {
+            this.selector.close();
+        } catch (IOException e) {
+            System.err.println("关闭Selector失败：" + e);
+        }
+    }
+
+    @Override
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * 每个连接未解析的数据和等待写出的响应
+     */
+    private static class Connection {
+
+        ByteBuffer buffer = HttpCodec.emptyBuffer();
+
+        final ArrayDeque<ByteBuffer> pending = new ArrayDeque<>();
+
+        /**
+         * 写完等待中的响应后关闭连接
+         */
+        boolean closing;
+    }
+}
@@ -0,0 +1,171 @@
+package com.suave.spring.web.server;
+
+import com.suave.spring.web.DispatcherHandler;
+import com.suave.spring.web.HttpRequest;
+import com.suave.spring.web.HttpStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每个连接一个虚拟线程，使用阻塞IO读写，处理方法可以阻塞
+ * <p>
+ * 需要运行在支持虚拟线程的JDK上，否则退回到普通线程池
+ *
+ * @author Suave
+ * @since 2026/10/18 18:00
+ */
+public class VirtualThreadHttpServer implements HttpServer {
+
+    private static final int BACKLOG = 1024;
+
+    private final DispatcherHandler dispatcher;
+
+    private volatile int port;
+
+    private ServerSocket serverSocket;
+
+    private ExecutorService executor;
+
+    private Thread acceptor;
+
+    private volatile boolean running;
+
+    /**
+     * 打开的连接，停止时关闭，阻塞在读取上的线程随之退出
+     */
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    public VirtualThreadHttpServer(DispatcherHandler dispatcher, int port) {
+        this.dispatcher = dispatcher;
+        this.port = port;
+    }
+
+    @Override
+    public synchronized void start() throws IOException {
+        if (this.running) {
+            throw new IllegalStateException("服务器已经启动！");
+        }
+        this.serverSocket = new ServerSocket();
+        this.serverSocket.setReuseAddress(true);
+        this.serverSocket.bind(new InetSocketAddress(this.port), BACKLOG);
+        this.port = this.serverSocket.getLocalPort();
+        this.executor = createExecutor();
+        this.running = true;
+        this.acceptor = new Thread(this::acceptLoop, "http-acceptor-" + this.port);
+        this.acceptor.start();
+    }
+
+    private static ExecutorService createExecutor() {
+        try {
+            // 编译目标为Java 8，通过反射获取JDK 21的虚拟线程池
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            System.err.println("当前JDK不支持虚拟线程，使用普通线程处理请求");
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private void acceptLoop() {
+        while (this.running) {
+            Socket socket;
+            try {
+                socket = this.serverSocket.accept();
+            } catch (IOException e) {
+                if (this.running) {
+                    System.err.println("接收连接失败：" + e);
+                }
+                continue;
+            }
+            this.connections.add(socket);
+            this.executor.execute(() -> serve(socket));
+        }
+    }
+
+    /**
+     * 在一个连接上依次处理请求，直到对方关闭或不再保持连接
+     */
+    private void serve(Socket socket) {
+        try (Socket s = socket) {
+            s.setTcpNoDelay(true);
+            InputStream in = s.getInputStream();
+            OutputStream out = s.getOutputStream();
+            ByteBuffer buffer = HttpCodec.emptyBuffer();
+            while (true) {
+                HttpRequest request;
+                try {
+                    while ((request = HttpCodec.decode(buffer)) == null) {
+                        buffer = HttpCodec.prepareForRead(buffer);
+                        int n = in.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                        if (n < 0) {
+                            return;
+                        }
+                        ((Buffer) buffer).position(buffer.position() + n);
+                        ((Buffer) buffer).flip();
+                    }
+                } catch (HttpStatusException e) {
+                    writeFully(out, HttpCodec.encode(DispatcherHandler.errorResponse(e.getStatus(), e.getMessage()), false));
+                    return;
+                }
+                writeFully(out, HttpCodec.encode(this.dispatcher.dispatch(request), request.isKeepAlive()));
+                if (!request.isKeepAlive()) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // 连接已经断开
+        } finally {
+            this.connections.remove(socket);
+        }
+    }
+
+    private static void writeFully(OutputStream out, ByteBuffer buffer) throws IOException {
+        out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        out.flush();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!this.running) {
+            return;
+        }
+        this.running = false;
+        try {
+            this.serverSocket.close();
+            this.acceptor.join();
+        } catch (IOException e) {
+            System.err.println("关闭端口失败：" + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Socket socket : this.connections) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // 连接已经断开
+            }
+        }
+        this.executor.shutdown();
+        try {
+            this.executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public int getPort() {
+        return port;
+    }
+}
@@ -0,0 +1,10 @@
+package com.suave.fixture.condition;
+
+/**
+ * 由配置类中的@Bean方法注册
+ *
+ * @author Suave
+ * @since 2026/10/19 15:00
+ */
+public class Client {
+}
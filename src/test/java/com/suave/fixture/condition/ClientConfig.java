@@ -0,0 +1,17 @@
+package com.suave.fixture.condition;
+
+import com.suave.spring.annotation.Bean;
+import com.suave.spring.annotation.Configuration;
+
+/**
+ * @author Suave
+ * @since 2026/10/19 15:00
+ */
+@Configuration
+public class ClientConfig {
+
+    @Bean
+    public Client client() {
+        return new Client();
+    }
+}
@@ -0,0 +1,22 @@
+package com.suave.fixture.condition;
+
+import com.suave.spring.annotation.ConditionalOnMissingBean;
+import com.suave.spring.annotation.Service;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 没有其他Executor，应该注册
+ *
+ * @author Suave
+ * @since 2026/10/19 15:00
+ */
+@Service
+@ConditionalOnMissingBean(Executor.class)
+public class DefaultExecutor implements Executor {
+
+    @Override
+    public void execute(Runnable command) {
+        command.run();
+    }
+}
@@ -0,0 +1,15 @@
+package com.suave.fixture.condition;
+
+import com.suave.spring.annotation.ConditionalOnMissingBean;
+import com.suave.spring.annotation.Service;
+
+/**
+ * 已经有@Bean方法注册的Client，不应该注册
+ *
+ * @author Suave
+ * @since 2026/10/19 15:00
+ */
+@Service
+@ConditionalOnMissingBean(Client.class)
+public class FallbackClient extends Client {
+}
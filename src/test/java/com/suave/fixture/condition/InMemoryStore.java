@@ -0,0 +1,17 @@
+package com.suave.fixture.condition;
+
+import com.suave.spring.annotation.ConditionalOnMissingBean;
+import com.suave.spring.annotation.Service;
+
+import javax.sql.DataSource;
+
+/**
+ * 配置了datasource.url时容器会注册dataSource，不应该注册
+ *
+ * @author Suave
+ * @since 2026/10/19 15:00
+ */
+@Service
+@ConditionalOnMissingBean(DataSource.class)
+public class InMemoryStore {
+}
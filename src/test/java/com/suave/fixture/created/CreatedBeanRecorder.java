@@ -0,0 +1,29 @@
+package com.suave.fixture.created;
+
+import com.suave.spring.annotation.Component;
+import com.suave.spring.context.event.ApplicationListener;
+import com.suave.spring.context.event.BeanCreatedEvent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 按顺序记录收到的BeanCreatedEvent
+ *
+ * @author Suave
+ * @since 2026/10/19 19:00
+ */
+@Component
+public class CreatedBeanRecorder implements ApplicationListener<BeanCreatedEvent> {
+
+    private final List<String> beanNames = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void onApplicationEvent(BeanCreatedEvent event) {
+        this.beanNames.add(event.getBeanName());
+    }
+
+    public List<String> getBeanNames() {
+        return beanNames;
+    }
+}
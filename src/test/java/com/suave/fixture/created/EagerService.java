@@ -0,0 +1,13 @@
+package com.suave.fixture.created;
+
+import com.suave.spring.annotation.Service;
+
+/**
+ * 启动时创建的单例
+ *
+ * @author Suave
+ * @since 2026/10/19 19:00
+ */
+@Service
+public class EagerService {
+}
@@ -0,0 +1,15 @@
+package com.suave.fixture.created;
+
+import com.suave.spring.annotation.Lazy;
+import com.suave.spring.annotation.Service;
+
+/**
+ * 第一次getBean时才创建的单例
+ *
+ * @author Suave
+ * @since 2026/10/19 19:00
+ */
+@Lazy
+@Service
+public class LazyService {
+}
@@ -0,0 +1,32 @@
+package com.suave.fixture.cycle;
+
+import com.suave.spring.annotation.Autowired;
+import com.suave.spring.annotation.Component;
+import com.suave.spring.annotation.Lazy;
+
+/**
+ * 和Right互相依赖，构造方法较慢，两个线程分别创建时会互相等待
+ *
+ * @author Suave
+ * @since 2026/10/19 12:00
+ */
+@Component
+@Lazy
+public class Left implements LeftApi {
+
+    @Autowired
+    private RightApi right;
+
+    public Left() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public RightApi getRight() {
+        return right;
+    }
+}
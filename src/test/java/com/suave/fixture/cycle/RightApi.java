@@ -0,0 +1,12 @@
+package com.suave.fixture.cycle;
+
+/**
+ * 按接口名获取时BeanName为全类名
+ *
+ * @author Suave
+ * @since 2026/10/19 12:00
+ */
+public interface RightApi {
+
+    LeftApi getLeft();
+}
@@ -0,0 +1,18 @@
+package com.suave.fixture.destroy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 按顺序记录执行了销毁方法的Bean
+ *
+ * @author Suave
+ * @since 2026/10/19 20:30
+ */
+public final class DestroyLog {
+
+    public static final List<String> DESTROYED = new CopyOnWriteArrayList<>();
+
+    private DestroyLog() {
+    }
+}
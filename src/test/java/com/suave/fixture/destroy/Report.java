@@ -0,0 +1,12 @@
+package com.suave.fixture.destroy;
+
+/**
+ * Reporter实现的接口，@Lazy注入点只支持接口
+ *
+ * @author Suave
+ * @since 2026/10/19 20:30
+ */
+public interface Report {
+
+    Storage report();
+}
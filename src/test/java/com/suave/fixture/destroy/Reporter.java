@@ -0,0 +1,30 @@
+package com.suave.fixture.destroy;
+
+import com.suave.spring.annotation.Autowired;
+import com.suave.spring.annotation.Component;
+import com.suave.spring.annotation.Lazy;
+import com.suave.spring.annotation.PreDestroy;
+
+/**
+ * 依赖Storage的懒加载单例
+ *
+ * @author Suave
+ * @since 2026/10/19 20:30
+ */
+@Lazy
+@Component
+public class Reporter implements Report {
+
+    @Autowired
+    private Storage storage;
+
+    @Override
+    public Storage report() {
+        return storage;
+    }
+
+    @PreDestroy
+    public void close() {
+        DestroyLog.DESTROYED.add("reporter");
+    }
+}
@@ -0,0 +1,31 @@
+package com.suave.fixture.destroy;
+
+import com.suave.spring.annotation.Autowired;
+import com.suave.spring.annotation.Component;
+import com.suave.spring.annotation.Lazy;
+import com.suave.spring.annotation.PostConstruct;
+import com.suave.spring.annotation.PreDestroy;
+
+/**
+ * 被依赖的单例，初始化时通过延迟注入的代理创建Reporter，Reporter先于它创建完成，但应该在它之前销毁
+ *
+ * @author Suave
+ * @since 2026/10/19 20:30
+ */
+@Component
+public class Storage {
+
+    @Lazy
+    @Autowired
+    private Report reporter;
+
+    @PostConstruct
+    public void open() {
+        this.reporter.report();
+    }
+
+    @PreDestroy
+    public void close() {
+        DestroyLog.DESTROYED.add("storage");
+    }
+}
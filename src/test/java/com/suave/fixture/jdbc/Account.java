@@ -0,0 +1,28 @@
+package com.suave.fixture.jdbc;
+
+/**
+ * 按列名映射的账户
+ *
+ * @author Suave
+ * @since 2026/10/19 11:00
+ */
+public class Account {
+
+    private long id;
+
+    private String userName;
+
+    private long balance;
+
+    public long getId() {
+        return id;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public long getBalance() {
+        return balance;
+    }
+}
@@ -0,0 +1,40 @@
+package com.suave.fixture.jdbc;
+
+import com.suave.spring.annotation.Autowired;
+import com.suave.spring.annotation.PostConstruct;
+import com.suave.spring.annotation.Service;
+import com.suave.spring.annotation.Transactional;
+import com.suave.spring.jdbc.JdbcTemplate;
+
+/**
+ * 在事务中转账，余额不足时抛出异常回滚
+ *
+ * @author Suave
+ * @since 2026/10/19 11:00
+ */
+@Service
+public class AccountService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate.execute("CREATE TABLE account (id BIGINT PRIMARY KEY, user_name VARCHAR(64), balance BIGINT)");
+        jdbcTemplate.update("INSERT INTO account VALUES (?, ?, ?)", 1, "alice", 100);
+        jdbcTemplate.update("INSERT INTO account VALUES (?, ?, ?)", 2, "bob", 0);
+    }
+
+    @Transactional
+    public void transfer(long from, long to, long amount) {
+        jdbcTemplate.update("UPDATE account SET balance = balance + ? WHERE id = ?", amount, to);
+        jdbcTemplate.update("UPDATE account SET balance = balance - ? WHERE id = ?", amount, from);
+        if (findById(from).getBalance() < 0) {
+            throw new IllegalStateException("余额不足");
+        }
+    }
+
+    public Account findById(long id) {
+        return jdbcTemplate.queryForObject("SELECT * FROM account WHERE id = ?", Account.class, id);
+    }
+}
@@ -0,0 +1,28 @@
+package com.suave.fixture.refresh;
+
+import com.suave.spring.annotation.Component;
+import com.suave.spring.annotation.Value;
+
+/**
+ * 注入配置的单例
+ *
+ * @author Suave
+ * @since 2026/10/19 09:00
+ */
+@Component
+public class Greeter {
+
+    @Value("${greeting}")
+    private String greeting;
+
+    @Value("${count}")
+    private int count;
+
+    public String getGreeting() {
+        return greeting;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,23 @@
+package com.suave.fixture.refresh;
+
+import com.suave.spring.annotation.Component;
+import com.suave.spring.annotation.Scope;
+import com.suave.spring.annotation.Value;
+
+/**
+ * 注入配置的原型
+ *
+ * @author Suave
+ * @since 2026/10/19 09:00
+ */
+@Component
+@Scope("prototype")
+public class GreetingPrototype {
+
+    @Value("${greeting}")
+    private String greeting;
+
+    public String getGreeting() {
+        return greeting;
+    }
+}
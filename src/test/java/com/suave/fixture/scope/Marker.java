@@ -0,0 +1,10 @@
+package com.suave.fixture.scope;
+
+/**
+ * 线程作用域Bean实现的接口，接口全类名也是一个BeanName
+ *
+ * @author Suave
+ * @since 2026/10/19 06:00
+ */
+public interface Marker {
+}
@@ -0,0 +1,15 @@
+package com.suave.fixture.scope;
+
+import com.suave.spring.annotation.Component;
+import com.suave.spring.annotation.Scope;
+
+/**
+ * 线程作用域的Bean
+ *
+ * @author Suave
+ * @since 2026/10/19 06:00
+ */
+@Component
+@Scope("thread")
+public class ThreadBean implements Marker {
+}
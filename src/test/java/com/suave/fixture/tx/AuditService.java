@@ -0,0 +1,49 @@
+package com.suave.fixture.tx;
+
+import com.suave.spring.annotation.Autowired;
+import com.suave.spring.annotation.Service;
+import com.suave.spring.annotation.Transactional;
+import com.suave.spring.jdbc.JdbcTemplate;
+import com.suave.spring.jdbc.PooledConnection;
+import com.suave.spring.jdbc.PooledDataSource;
+import com.suave.spring.transaction.Propagation;
+
+/**
+ * 被LedgerService在事务中调用，记录自己执行时绑定的连接
+ *
+ * @author Suave
+ * @since 2026/10/19 20:00
+ */
+@Service
+public class AuditService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PooledDataSource dataSource;
+
+    private volatile PooledConnection lastConnection;
+
+    @Transactional
+    public void joinOuter(String source) {
+        this.lastConnection = this.dataSource.getBoundConnection();
+        this.jdbcTemplate.update("INSERT INTO ledger VALUES (?)", source);
+    }
+
+    @Transactional
+    public void joinOuterAndFail(String source) {
+        joinOuter(source);
+        throw new IllegalStateException("内层失败");
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void writeInNewTransaction(String source) {
+        this.lastConnection = this.dataSource.getBoundConnection();
+        this.jdbcTemplate.update("INSERT INTO ledger VALUES (?)", source);
+    }
+
+    public PooledConnection getLastConnection() {
+        return lastConnection;
+    }
+}
@@ -0,0 +1,82 @@
+package com.suave.fixture.tx;
+
+import com.suave.spring.annotation.Autowired;
+import com.suave.spring.annotation.PostConstruct;
+import com.suave.spring.annotation.Service;
+import com.suave.spring.annotation.Transactional;
+import com.suave.spring.jdbc.JdbcTemplate;
+import com.suave.spring.jdbc.PooledConnection;
+import com.suave.spring.jdbc.PooledDataSource;
+
+/**
+ * 外层事务，每个方法先写一行再调用AuditService
+ *
+ * @author Suave
+ * @since 2026/10/19 20:00
+ */
+@Service
+public class LedgerService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PooledDataSource dataSource;
+
+    @Autowired
+    private AuditService auditService;
+
+    private volatile PooledConnection lastConnection;
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate.execute("CREATE TABLE ledger (source VARCHAR(32))");
+    }
+
+    @Transactional
+    public void writeAndJoin() {
+        write("outer");
+        this.auditService.joinOuter("inner");
+    }
+
+    /**
+     * 内层抛出的异常被捕获，外层正常返回
+     */
+    @Transactional
+    public void swallowInnerFailure() {
+        write("outer");
+        try {
+            this.auditService.joinOuterAndFail("inner");
+        } catch (IllegalStateException e) {
+            // 忽略
+        }
+    }
+
+    @Transactional
+    public void writeInNewTransactionThenFail() {
+        write("outer");
+        this.auditService.writeInNewTransaction("inner");
+        throw new IllegalStateException("外层失败");
+    }
+
+    @Transactional
+    public void writeThenThrowChecked() throws Exception {
+        write("checked");
+        throw new Exception("受检异常");
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public void writeThenThrowCheckedWithRollbackRule() throws Exception {
+        write("rollbackFor");
+        throw new Exception("受检异常");
+    }
+
+    private void write(String source) {
+        this.lastConnection = this.dataSource.getBoundConnection();
+        this.jdbcTemplate.update("INSERT INTO ledger VALUES (?)", source);
+    }
+
+    public PooledConnection getLastConnection() {
+        return lastConnection;
+    }
+}
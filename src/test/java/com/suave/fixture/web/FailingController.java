@@ -0,0 +1,25 @@
+package com.suave.fixture.web;
+
+import com.suave.spring.annotation.Controller;
+import com.suave.spring.annotation.RequestMapping;
+
+/**
+ * 处理方法抛出Error
+ *
+ * @author Suave
+ * @since 2026/10/19 10:00
+ */
+@Controller
+@RequestMapping("/test")
+public class FailingController {
+
+    @RequestMapping("/error")
+    public String error() {
+        throw new AssertionError("boom");
+    }
+
+    @RequestMapping("/ok")
+    public String ok() {
+        return "ok";
+    }
+}
@@ -0,0 +1,46 @@
+package com.suave.spring.aop.framework;
+
+import com.suave.spring.annotation.Bean;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 返回基本类型的@Bean方法在生成子类前拒绝，不会生成无法通过校验的字节码
+ *
+ * @author Suave
+ * @since 2026/10/19 16:00
+ */
+class ConfigurationClassEnhancerTest {
+
+    public static class PrimitiveConfig {
+
+        @Bean
+        public int port() {
+            return 8080;
+        }
+    }
+
+    public static class ObjectConfig {
+
+        @Bean
+        public Integer port() {
+            return 8080;
+        }
+    }
+
+    @Test
+    void rejectsPrimitiveBeanMethod() {
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> ConfigurationClassEnhancer.enhance(PrimitiveConfig.class));
+        assertTrue(e.getMessage().contains("port"), e.getMessage());
+    }
+
+    @Test
+    void enhancesObjectBeanMethod() throws ReflectiveOperationException {
+        Class<?> enhanced = ConfigurationClassEnhancer.enhance(ObjectConfig.class);
+        assertTrue(ObjectConfig.class.isAssignableFrom(enhanced));
+        // 加载时校验重写的方法和$$bean$方法的字节码
+        enhanced.getDeclaredConstructor().newInstance();
+    }
+}
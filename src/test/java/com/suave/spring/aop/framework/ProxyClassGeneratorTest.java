@@ -0,0 +1,251 @@
+package com.suave.spring.aop.framework;
+
+import com.suave.spring.aop.Advisor;
+import com.suave.spring.aop.MethodInterceptor;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 生成的子类代理和接口代理：基本类型和void返回值、异常原样抛出、拦截器按切面的注册顺序执行
+ *
+ * @author Suave
+ * @since 2026/10/19 22:00
+ */
+class ProxyClassGeneratorTest {
+
+    public static class Calculator {
+
+        private final List<String> records = new ArrayList<>();
+
+        public int add(int a, int b) {
+            return a + b;
+        }
+
+        public long multiply(long a, long b) {
+            return a * b;
+        }
+
+        public double half(double value) {
+            return value / 2;
+        }
+
+        public boolean negate(boolean value) {
+            return !value;
+        }
+
+        public char upper(char c) {
+            return Character.toUpperCase(c);
+        }
+
+        public void record(String value) {
+            this.records.add(value);
+        }
+
+        public String echo(String value) {
+            return value;
+        }
+
+        public void failChecked() throws IOException {
+            throw new IOException("checked");
+        }
+
+        public int failUnchecked() {
+            throw new IllegalStateException("unchecked");
+        }
+
+        public List<String> getRecords() {
+            return records;
+        }
+    }
+
+    public interface Greeting {
+
+        String greet(String name);
+
+        int length(String name);
+
+        void touch() throws IOException;
+    }
+
+    public static final class FinalGreeting implements Greeting {
+
+        private int touched;
+
+        @Override
+        public String greet(String name) {
+            return "hello " + name;
+        }
+
+        @Override
+        public int length(String name) {
+            return name.length();
+        }
+
+        @Override
+        public void touch() throws IOException {
+            this.touched++;
+            if (this.touched > 1) {
+                throw new IOException("touched twice");
+            }
+        }
+    }
+
+    /**
+     * 按方法名匹配，拦截器在调用前后记录切面的名称
+     */
+    private static Advisor advisor(String name, List<String> log, String... methodNames) {
+        Set<String> names = new HashSet<>(Arrays.asList(methodNames));
+        MethodInterceptor interceptor = invocation -> {
+            log.add(name + ":before");
+            try {
+                return invocation.proceed();
+            } finally {
+                log.add(name + ":after");
+            }
+        };
+        return new Advisor() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return names.contains(method.getName());
+            }
+
+            @Override
+            public MethodInterceptor getInterceptor() {
+                return interceptor;
+            }
+        };
+    }
+
+    private static <T> T proxy(T target, Advisor... advisors) {
+        ProxyClass proxyClass = ProxyClass.forClass(target.getClass(), Arrays.asList(advisors));
+        @SuppressWarnings("unchecked")
+        T proxy = (T) proxyClass.newProxy(target);
+        return proxy;
+    }
+
+    @Test
+    void classProxyReturnsPrimitivesAndVoid() {
+        List<String> log = new ArrayList<>();
+        Calculator target = new Calculator();
+        Calculator proxy = proxy(target, advisor("all", log, "add", "multiply", "half", "negate", "upper", "record"));
+
+        assertNotSame(Calculator.class, proxy.getClass());
+        assertEquals(5, proxy.add(2, 3));
+        assertEquals(6_000_000_000L, proxy.multiply(2, 3_000_000_000L));
+        assertEquals(1.5, proxy.half(3.0));
+        assertFalse(proxy.negate(true));
+        assertEquals('A', proxy.upper('a'));
+        proxy.record("x");
+        assertEquals(Collections.singletonList("x"), target.getRecords());
+        assertEquals(12, log.size());
+        // 没有拦截的方法直接调用目标对象
+        assertEquals("plain", proxy.echo("plain"));
+        assertEquals(12, log.size());
+    }
+
+    @Test
+    void interceptorResultIsUnboxedToPrimitive() {
+        MethodInterceptor increment = invocation -> (Integer) invocation.proceed() + 1;
+        Advisor advisor = new Advisor() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getName().equals("add");
+            }
+
+            @Override
+            public MethodInterceptor getInterceptor() {
+                return increment;
+            }
+        };
+        assertEquals(6, proxy(new Calculator(), advisor).add(2, 3));
+    }
+
+    @Test
+    void exceptionsPropagateUnwrapped() {
+        List<String> log = new ArrayList<>();
+        Calculator proxy = proxy(new Calculator(), advisor("tx", log, "failChecked", "failUnchecked"));
+
+        IOException checked = assertThrows(IOException.class, proxy::failChecked);
+        assertEquals("checked", checked.getMessage());
+        IllegalStateException unchecked = assertThrows(IllegalStateException.class, proxy::failUnchecked);
+        assertEquals("unchecked", unchecked.getMessage());
+        assertEquals(Arrays.asList("tx:before", "tx:after", "tx:before", "tx:after"), log);
+
+        // 没有拦截的方法直接调用目标对象，异常同样原样抛出
+        Calculator partial = proxy(new Calculator(), advisor("tx", log, "add"));
+        assertThrows(IOException.class, partial::failChecked);
+    }
+
+    @Test
+    void advisorsRunInRegistrationOrder() {
+        List<String> log = new ArrayList<>();
+        Calculator proxy = proxy(new Calculator(),
+                advisor("outer", log, "echo"), advisor("middle", log, "echo", "add"), advisor("inner", log, "echo"));
+
+        assertEquals("value", proxy.echo("value"));
+        assertEquals(Arrays.asList("outer:before", "middle:before", "inner:before", "inner:after", "middle:after", "outer:after"), log);
+
+        log.clear();
+        proxy.add(1, 1);
+        assertEquals(Arrays.asList("middle:before", "middle:after"), log);
+    }
+
+    @Test
+    void interfaceProxyForFinalClass() throws IOException {
+        List<String> log = new ArrayList<>();
+        FinalGreeting target = new FinalGreeting();
+        Greeting proxy = proxy((Greeting) target, advisor("log", log, "greet", "length", "touch"));
+
+        assertFalse(proxy instanceof FinalGreeting);
+        assertEquals("hello bob", proxy.greet("bob"));
+        assertEquals(3, proxy.length("bob"));
+        proxy.touch();
+        IOException e = assertThrows(IOException.class, proxy::touch);
+        assertEquals("touched twice", e.getMessage());
+        assertEquals(8, log.size());
+        assertTrue(proxy.toString().startsWith(FinalGreeting.class.getName()));
+    }
+
+    @Test
+    void noProxyWhenNothingMatches() {
+        assertNull(ProxyClass.forClass(Calculator.class, Collections.singletonList(advisor("none", new ArrayList<>(), "missing"))));
+    }
+
+    @Test
+    void finalClassWithoutInterfacesIsRejected() {
+        assertThrows(RuntimeException.class, () -> ProxyClass.forClass(String.class,
+                Collections.singletonList(advisor("length", new ArrayList<>(), "length"))));
+    }
+
+    @Test
+    void eachTargetGetsItsOwnDispatcher() {
+        List<String> log = new ArrayList<>();
+        ProxyClass proxyClass = ProxyClass.forClass(Calculator.class, Collections.singletonList(advisor("r", log, "record")));
+        Calculator first = new Calculator();
+        Calculator second = new Calculator();
+        Calculator firstProxy = (Calculator) proxyClass.newProxy(first);
+        Calculator secondProxy = (Calculator) proxyClass.newProxy(second);
+
+        assertSame(firstProxy.getClass(), secondProxy.getClass());
+        firstProxy.record("a");
+        secondProxy.record("b");
+        assertEquals(Collections.singletonList("a"), first.getRecords());
+        assertEquals(Collections.singletonList("b"), second.getRecords());
+    }
+}
@@ -0,0 +1,53 @@
+package com.suave.spring.beans.factory.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 创建失败后二三级缓存中不会残留失败那次暴露的早期引用
+ *
+ * @author Suave
+ * @since 2026/10/19 21:00
+ */
+class DefaultSingletonBeanRegistryTest {
+
+    @Test
+    void failedCreationDropsSingletonFactory() {
+        DefaultSingletonBeanRegistry registry = new DefaultSingletonBeanRegistry();
+        Object stale = new Object();
+        assertThrows(RuntimeException.class, () -> registry.getSingleton("bean", "bean", () -> {
+            registry.addSingletonFactory("bean", () -> stale);
+            throw new RuntimeException("boom");
+        }));
+        assertRetryDoesNotSeeEarlyReference(registry);
+    }
+
+    @Test
+    void failedCreationDropsEarlyReference() {
+        DefaultSingletonBeanRegistry registry = new DefaultSingletonBeanRegistry();
+        Object stale = new Object();
+        assertThrows(RuntimeException.class, () -> registry.getSingleton("bean", "bean", () -> {
+            registry.addSingletonFactory("bean", () -> stale);
+            // 循环依赖取走早期引用，移入二级缓存
+            assertSame(stale, registry.getSingleton("bean"));
+            throw new RuntimeException("boom");
+        }));
+        assertRetryDoesNotSeeEarlyReference(registry);
+    }
+
+    private static void assertRetryDoesNotSeeEarlyReference(DefaultSingletonBeanRegistry registry) {
+        Object fresh = new Object();
+        AtomicReference<Object> seen = new AtomicReference<>();
+        registry.getSingleton("bean", "bean", () -> {
+            seen.set(registry.getSingleton("bean"));
+            return fresh;
+        });
+        assertNull(seen.get());
+        assertSame(fresh, registry.getSingleton("bean"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.suave.spring.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * CLOCK淘汰和写入后过期
+ *
+ * @author Suave
+ * @since 2026/10/19 19:00
+ */
+class ConcurrentLruCacheTest {
+
+    @Test
+    void putKeepsNewValueWhenAllEntriesWereRead() {
+        ConcurrentLruCache cache = new ConcurrentLruCache("hot", 4, null);
+        for (int i = 0; i < 4; i++) {
+            cache.put("k" + i, i);
+        }
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, cache.get("k" + i));
+        }
+        cache.put("new", "value");
+
+        assertEquals("value", cache.get("new"));
+        assertEquals(4, cache.size());
+        assertEquals(1, cache.getStats().getEvictionCount());
+        // 所有条目都被访问过时淘汰最早写入的
+        assertNull(cache.get("k0"));
+    }
+
+    @Test
+    void evictsEntriesNotReadSinceLastCheck() {
+        ConcurrentLruCache cache = new ConcurrentLruCache("clock", 3, null);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.get("a");
+        cache.put("d", 4);
+
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(4, cache.get("d"));
+    }
+
+    @Test
+    void replacingKeyDoesNotEvict() {
+        ConcurrentLruCache cache = new ConcurrentLruCache("replace", 2, null);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("a", 3);
+
+        assertEquals(3, cache.get("a"));
+        assertEquals(2, cache.get("b"));
+        assertEquals(0, cache.getStats().getEvictionCount());
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() throws InterruptedException {
+        ConcurrentLruCache cache = new ConcurrentLruCache("ttl", 10, Duration.ofMillis(50));
+        cache.put("a", 1);
+        assertEquals(1, cache.get("a"));
+        Thread.sleep(100);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getExpiredCount());
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+    }
+}
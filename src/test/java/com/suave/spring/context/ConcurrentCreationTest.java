@@ -0,0 +1,89 @@
+package com.suave.spring.context;
+
+import com.suave.fixture.cycle.Left;
+import com.suave.fixture.cycle.LeftApi;
+import com.suave.fixture.cycle.Right;
+import com.suave.fixture.cycle.RightApi;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * 多个线程同时创建互相依赖的单例，包括通过别名（接口全类名）获取
+ *
+ * @author Suave
+ * @since 2026/10/19 12:00
+ */
+class ConcurrentCreationTest {
+
+    private static final String[] NAMES = {"left", "right", LeftApi.class.getName(), RightApi.class.getName()};
+
+    @Test
+    void crossThreadCycleThroughAliasUsesEarlyReference() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            for (int i = 0; i < 20; i++) {
+                ApplicationContext context = new ApplicationContext("classpath:cycle.properties");
+                try {
+                    // 一个线程按别名创建Left，另一个线程按名称创建Right，两者互相等待对方的创建锁
+                    CompletableFuture<Object> left = CompletableFuture.supplyAsync(() -> context.getBean(LeftApi.class.getName()));
+                    CompletableFuture<Object> right = CompletableFuture.supplyAsync(() -> context.getBean("right"));
+                    assertWired(context, (Left) left.join(), (Right) right.join());
+                } finally {
+                    context.close();
+                }
+            }
+        });
+    }
+
+    @Test
+    void concurrentLookupsShareSingletons() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            ExecutorService executor = Executors.newFixedThreadPool(16);
+            try {
+                for (int i = 0; i < 10; i++) {
+                    ApplicationContext context = new ApplicationContext("classpath:cycle.properties");
+                    try {
+                        CountDownLatch start = new CountDownLatch(1);
+                        List<Future<Object>> futures = new ArrayList<>();
+                        for (int t = 0; t < 16; t++) {
+                            String name = NAMES[(t + i) % NAMES.length];
+                            futures.add(executor.submit(() -> {
+                                start.await();
+                                return context.getBean(name);
+                            }));
+                        }
+                        start.countDown();
+                        for (Future<Object> future : futures) {
+                            future.get();
+                        }
+                        assertWired(context, (Left) context.getBean("left"), (Right) context.getBean("right"));
+                    } finally {
+                        context.close();
+                    }
+                }
+            } finally {
+                executor.shutdown();
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            }
+        });
+    }
+
+    private static void assertWired(ApplicationContext context, Left left, Right right) {
+        assertSame(left, context.getBean("left"));
+        assertSame(left, context.getBean(LeftApi.class.getName()));
+        assertSame(right, context.getBean(RightApi.class.getName()));
+        assertSame(right, left.getRight());
+        assertSame(left, right.getLeft());
+    }
+}
@@ -0,0 +1,51 @@
+package com.suave.spring.context;
+
+import com.suave.fixture.condition.Client;
+import com.suave.fixture.condition.DefaultExecutor;
+import com.suave.fixture.condition.InMemoryStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@code @ConditionalOnMissingBean}同时考虑@Bean方法注册的Bean和容器内置的dataSource
+ *
+ * @author Suave
+ * @since 2026/10/19 15:00
+ */
+class ConditionalOnMissingBeanTest {
+
+    private static ApplicationContext context;
+
+    @BeforeAll
+    static void startContext() {
+        context = new ApplicationContext("classpath:condition.properties");
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void beanMethodReturnTypeCountsAsExistingBean() {
+        assertEquals(Collections.singletonList("client"), context.getBeanNamesForType(Client.class));
+    }
+
+    @Test
+    void builtInDataSourceCountsAsExistingBean() {
+        assertEquals(Collections.singletonList("dataSource"), context.getBeanNamesForType(DataSource.class));
+        assertTrue(context.getBeanNamesForType(InMemoryStore.class).isEmpty());
+    }
+
+    @Test
+    void registersWhenTypeIsMissing() {
+        assertEquals(1, context.getBeanNamesForType(DefaultExecutor.class).size());
+    }
+}
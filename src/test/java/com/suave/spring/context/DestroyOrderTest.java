@@ -0,0 +1,30 @@
+package com.suave.spring.context;
+
+import com.suave.fixture.destroy.DestroyLog;
+import com.suave.fixture.destroy.Reporter;
+import com.suave.fixture.destroy.Storage;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 关闭容器时依赖其他Bean的单例先销毁，和创建完成的先后顺序无关
+ *
+ * @author Suave
+ * @since 2026/10/19 20:30
+ */
+class DestroyOrderTest {
+
+    @Test
+    void destroysDependentsBeforeDependencies() {
+        DestroyLog.DESTROYED.clear();
+        ApplicationContext context = new ApplicationContext("classpath:destroy.properties");
+        // Reporter在Storage初始化期间创建，比Storage先创建完成
+        assertSame(context.getBean(Storage.class), context.getBean(Reporter.class).report());
+        context.close();
+        assertEquals(Arrays.asList("reporter", "storage"), DestroyLog.DESTROYED);
+    }
+}
@@ -0,0 +1,68 @@
+package com.suave.spring.context;
+
+import com.suave.fixture.created.EagerService;
+import com.suave.fixture.created.LazyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 冻结后按名称和类型获取到的仍然是原来的单例，关闭后不再返回已经销毁的单例
+ *
+ * @author Suave
+ * @since 2026/10/19 19:30
+ */
+class FreezeTest {
+
+    private ApplicationContext context;
+
+    @BeforeEach
+    void startContext() {
+        this.context = new ApplicationContext("classpath:created.properties");
+    }
+
+    @AfterEach
+    void closeContext() {
+        this.context.close();
+    }
+
+    @Test
+    void frozenLookupsReturnExistingSingletons() {
+        EagerService eager = this.context.getBean(EagerService.class);
+        String eagerName = this.context.getBeanNamesForType(EagerService.class).get(0);
+        this.context.freeze();
+
+        assertTrue(this.context.isFrozen());
+        assertSame(eager, this.context.getBean(EagerService.class));
+        assertSame(eager, this.context.getBean(eagerName));
+        assertSame(eager, this.context.getBeanProvider(EagerService.class).getObject());
+        // 冻结时还没有创建的懒加载单例按原来的方式创建
+        LazyService lazy = this.context.getBean(LazyService.class);
+        assertSame(lazy, this.context.getBean(LazyService.class));
+        assertThrows(IllegalStateException.class, () -> this.context.refresh(Collections.emptySet()));
+    }
+
+    @Test
+    void lookupsAfterCloseFail() {
+        String eagerName = this.context.getBeanNamesForType(EagerService.class).get(0);
+        this.context.freeze();
+        this.context.close();
+
+        assertFalse(this.context.isFrozen());
+        assertThrows(IllegalStateException.class, () -> this.context.getBean(EagerService.class));
+        assertThrows(IllegalStateException.class, () -> this.context.getBean(eagerName));
+    }
+
+    @Test
+    void lookupsAfterCloseFailWithoutFreeze() {
+        this.context.close();
+        assertThrows(IllegalStateException.class, () -> this.context.getBean(EagerService.class));
+    }
+}
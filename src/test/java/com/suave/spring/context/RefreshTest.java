@@ -0,0 +1,77 @@
+package com.suave.spring.context;
+
+import com.suave.fixture.refresh.Greeter;
+import com.suave.fixture.refresh.GreetingPrototype;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 增量刷新时新的配置和注入计划只随新的单例一起生效，刷新失败时全部保持不变
+ *
+ * @author Suave
+ * @since 2026/10/19 09:00
+ */
+class RefreshTest {
+
+    private Path config;
+
+    private byte[] original;
+
+    private ApplicationContext context;
+
+    @BeforeEach
+    void startContext() throws Exception {
+        this.config = Paths.get(getClass().getClassLoader().getResource("refresh.properties").toURI());
+        this.original = Files.readAllBytes(this.config);
+        this.context = new ApplicationContext("classpath:refresh.properties");
+    }
+
+    @AfterEach
+    void restoreConfig() throws IOException {
+        this.context.close();
+        Files.write(this.config, this.original);
+    }
+
+    private void writeConfig(String greeting, String count) throws IOException {
+        String content = "scanPackage=com.suave.fixture.refresh\ngreeting=" + greeting + "\ncount=" + count + "\n";
+        Files.write(this.config, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void publishesNewValuesWithNewSingletons() throws IOException {
+        Greeter before = this.context.getBean(Greeter.class);
+        writeConfig("hi", "2");
+        this.context.refresh(Collections.emptySet());
+
+        Greeter after = this.context.getBean(Greeter.class);
+        assertNotSame(before, after);
+        assertEquals("hi", after.getGreeting());
+        assertEquals(2, after.getCount());
+        assertEquals("hi", this.context.getEnvironment().getProperty("greeting"));
+        assertEquals("hi", this.context.getBean(GreetingPrototype.class).getGreeting());
+    }
+
+    @Test
+    void failedRefreshKeepsEnvironmentAndInjectionPlans() throws IOException {
+        Greeter before = this.context.getBean(Greeter.class);
+        writeConfig("hi", "not-a-number");
+        assertThrows(RuntimeException.class, () -> this.context.refresh(Collections.emptySet()));
+
+        assertSame(before, this.context.getBean(Greeter.class));
+        assertEquals("hello", this.context.getEnvironment().getProperty("greeting"));
+        assertEquals("hello", this.context.getBean(GreetingPrototype.class).getGreeting());
+    }
+}
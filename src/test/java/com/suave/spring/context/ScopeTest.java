@@ -0,0 +1,48 @@
+package com.suave.spring.context;
+
+import com.suave.fixture.scope.Marker;
+import com.suave.fixture.scope.ThreadBean;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 自定义作用域中的Bean按实例共享，和获取时使用的BeanName无关
+ *
+ * @author Suave
+ * @since 2026/10/19 06:00
+ */
+class ScopeTest {
+
+    private static ApplicationContext context;
+
+    @BeforeAll
+    static void startContext() {
+        context = new ApplicationContext("classpath:scope.properties");
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void aliasesShareThreadScopedInstance() {
+        Object byName = context.getBean("threadBean");
+        Object byAlias = context.getBean(Marker.class.getName());
+        assertSame(byName, byAlias);
+        assertSame(byName, context.getBean(ThreadBean.class));
+    }
+
+    @Test
+    void otherThreadsGetTheirOwnInstance() {
+        Object current = context.getBean(Marker.class.getName());
+        Object other = CompletableFuture.supplyAsync(() -> context.getBean("threadBean")).join();
+        assertNotSame(current, other);
+    }
+}
@@ -0,0 +1,55 @@
+package com.suave.spring.context;
+
+import com.suave.fixture.scope.ThreadBean;
+import com.suave.spring.core.metrics.BufferingApplicationStartup;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 启动步骤只记录到容器启动完成
+ *
+ * @author Suave
+ * @since 2026/10/19 08:00
+ */
+class StartupRecordingTest {
+
+    @Test
+    void stopsRecordingAfterRefresh() throws Exception {
+        ApplicationContext context = new ApplicationContext("classpath:startup.properties");
+        try {
+            BufferingApplicationStartup startup = (BufferingApplicationStartup) context.getApplicationStartup();
+            assertFalse(startup.isRecording());
+            int recorded = startup.getRecordedSteps().size();
+            assertTrue(startup.getRecordedSteps().stream().anyMatch(step -> "context.refresh".equals(step.getName())));
+
+            // 每个线程创建一个新的作用域对象
+            for (int i = 0; i < 10; i++) {
+                Thread thread = new Thread(() -> context.getBean(ThreadBean.class));
+                thread.start();
+                thread.join();
+            }
+            assertEquals(recorded, startup.getRecordedSteps().size());
+        } finally {
+            context.close();
+        }
+    }
+
+    @Test
+    void tagsParallelInstantiationStep() {
+        ApplicationContext context = new ApplicationContext("classpath:startup-parallel.properties");
+        try {
+            BufferingApplicationStartup.BufferedStartupStep step = ((BufferingApplicationStartup) context.getApplicationStartup())
+                    .getRecordedSteps().stream()
+                    .filter(s -> "context.singletons.instantiate".equals(s.getName()))
+                    .findFirst().orElseThrow(AssertionError::new);
+            assertEquals("forkjoin", step.getTag("executor"));
+            assertTrue(Integer.parseInt(step.getTag("groupCount")) > 0);
+            assertTrue(step.getTags().containsKey("speedup"));
+        } finally {
+            context.close();
+        }
+    }
+}
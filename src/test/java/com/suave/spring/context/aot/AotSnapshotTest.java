@@ -0,0 +1,119 @@
+package com.suave.spring.context.aot;
+
+import com.suave.fixture.condition.ClientConfig;
+import com.suave.spring.beans.factory.BeanDefinition;
+import com.suave.spring.core.env.ConfigLoader;
+import com.suave.spring.core.env.Environment;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 快照写出后再读回得到同样的BeanDefinition；候选类重新编译过时快照不再适用
+ *
+ * @author Suave
+ * @since 2026/10/19 21:30
+ */
+class AotSnapshotTest {
+
+    private static final String CONFIG = "classpath:condition.properties";
+
+    private static AotSnapshot generated;
+
+    private static byte[] bytes;
+
+    private static Environment environment;
+
+    @BeforeAll
+    static void generate() throws Exception {
+        ClassLoader classLoader = AotSnapshotTest.class.getClassLoader();
+        generated = new AotSnapshotGenerator(classLoader).generate(CONFIG);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        generated.writeTo(out);
+        bytes = out.toByteArray();
+        environment = new ConfigLoader(classLoader).load(CONFIG);
+    }
+
+    @Test
+    void roundTripKeepsDefinitions() throws IOException {
+        AotSnapshot loaded = AotSnapshot.load(new SnapshotClassLoader(null, null));
+        assertNotNull(loaded);
+
+        assertFalse(generated.getBeanDefinitions().isEmpty());
+        assertEquals(describe(generated.getBeanDefinitions()), describe(loaded.getBeanDefinitions()));
+        assertTrue(describe(loaded.getBeanDefinitions()).stream().anyMatch(d -> d.contains(ClientConfig.class.getName() + "#client")));
+        assertEquals(generated.getBeanNamesByType(), loaded.getBeanNamesByType());
+        assertEquals(generated.getCreationOrder(), loaded.getCreationOrder());
+        for (BeanDefinition beanDefinition : generated.getBeanDefinitions()) {
+            String key = beanDefinition.getInstanceKey();
+            assertEquals(generated.getClassPlan(key).getDependencyBeanNames(), loaded.getClassPlan(key).getDependencyBeanNames(), key);
+        }
+        assertNull(loaded.checkContext(CONFIG, environment, getClass().getClassLoader()));
+    }
+
+    @Test
+    void changedCandidateClassIsDetected() throws IOException {
+        AotSnapshot loaded = AotSnapshot.load(new SnapshotClassLoader(null, null));
+        String resource = ClientConfig.class.getName().replace('.', '/') + ".class";
+        String mismatch = loaded.checkContext(CONFIG, environment, new SnapshotClassLoader(resource, new byte[]{1, 2, 3}));
+        assertNotNull(mismatch);
+        assertTrue(mismatch.contains("候选类"), mismatch);
+    }
+
+    @Test
+    void removedCandidateClassIsDetected() throws IOException {
+        AotSnapshot loaded = AotSnapshot.load(new SnapshotClassLoader(null, null));
+        String resource = ClientConfig.class.getName().replace('.', '/') + ".class";
+        assertNotNull(loaded.checkContext(CONFIG, environment, new SnapshotClassLoader(resource, null)));
+    }
+
+    private static List<String> describe(List<BeanDefinition> beanDefinitions) {
+        List<String> result = new ArrayList<>(beanDefinitions.size());
+        for (BeanDefinition bd : beanDefinitions) {
+            result.add(String.join("|", Arrays.asList(bd.getFactoryBeanName(), bd.getBeanClassName(), bd.getScope(),
+                    String.valueOf(bd.isLazyInit()), bd.getInstanceKey(), bd.getFactoryMethodDescriptor(),
+                    bd.getConfigurationBeanName(), bd.getInitMethodName(), bd.getDestroyMethodName())));
+        }
+        return result;
+    }
+
+    /**
+     * 从内存中提供快照文件，并可以替换或删除一个.class文件
+     */
+    private static class SnapshotClassLoader extends ClassLoader {
+
+        private final String replacedResource;
+
+        private final byte[] replacement;
+
+        SnapshotClassLoader(String replacedResource, byte[] replacement) {
+            super(AotSnapshotTest.class.getClassLoader());
+            this.replacedResource = replacedResource;
+            this.replacement = replacement;
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            if (AotSnapshot.SNAPSHOT_LOCATION.equals(name)) {
+                return new ByteArrayInputStream(bytes);
+            }
+            if (name.equals(this.replacedResource)) {
+                return this.replacement == null ? null : new ByteArrayInputStream(this.replacement);
+            }
+            return super.getResourceAsStream(name);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.suave.spring.context.event;
+
+import com.suave.spring.core.env.ConfigLoader;
+import com.suave.spring.core.env.Environment;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 异步分发时和close()并发发布的事件不会丢失
+ *
+ * @author Suave
+ * @since 2026/10/19 18:00
+ */
+class ApplicationEventMulticasterTest {
+
+    private static final int PUBLISHERS = 4;
+
+    @Test
+    void eventsPublishedWhileClosingAreDelivered() throws Exception {
+        Environment environment = new ConfigLoader(getClass().getClassLoader()).load("classpath:event.properties");
+
+        for (int round = 0; round < 200; round++) {
+            AtomicInteger delivered = new AtomicInteger();
+            ApplicationEventMulticaster multicaster = new ApplicationEventMulticaster(Collections.singletonList(
+                    new ApplicationEventMulticaster.Listener(String.class, "counter", event -> delivered.incrementAndGet())), environment);
+            AtomicInteger published = new AtomicInteger();
+            AtomicBoolean stop = new AtomicBoolean();
+            CountDownLatch started = new CountDownLatch(PUBLISHERS);
+            Thread[] publishers = new Thread[PUBLISHERS];
+            for (int i = 0; i < PUBLISHERS; i++) {
+                publishers[i] = new Thread(() -> {
+                    started.countDown();
+                    while (!stop.get()) {
+                        multicaster.multicastEvent("event");
+                        published.incrementAndGet();
+                    }
+                });
+                publishers[i].start();
+            }
+            started.await();
+            multicaster.close();
+            stop.set(true);
+            for (Thread publisher : publishers) {
+                publisher.join();
+            }
+            assertEquals(published.get(), delivered.get(), "第" + round + "轮");
+        }
+    }
+}
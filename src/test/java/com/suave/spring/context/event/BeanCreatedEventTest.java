@@ -0,0 +1,54 @@
+package com.suave.spring.context.event;
+
+import com.suave.fixture.created.CreatedBeanRecorder;
+import com.suave.fixture.created.EagerService;
+import com.suave.fixture.created.LazyService;
+import com.suave.spring.context.ApplicationContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 启动过程中创建的单例在分发器创建后补发BeanCreatedEvent，之后创建的Bean直接发布
+ *
+ * @author Suave
+ * @since 2026/10/19 19:00
+ */
+class BeanCreatedEventTest {
+
+    private ApplicationContext context;
+
+    @BeforeEach
+    void startContext() {
+        this.context = new ApplicationContext("classpath:created.properties");
+    }
+
+    @AfterEach
+    void closeContext() {
+        this.context.close();
+    }
+
+    @Test
+    void replaysEventsForEagerSingletons() {
+        List<String> beanNames = this.context.getBean(CreatedBeanRecorder.class).getBeanNames();
+        assertTrue(beanNames.contains(this.context.getBeanNamesForType(EagerService.class).get(0)), beanNames.toString());
+        assertTrue(beanNames.contains(this.context.getBeanNamesForType(CreatedBeanRecorder.class).get(0)), beanNames.toString());
+        String lazyName = this.context.getBeanNamesForType(LazyService.class).get(0);
+        assertFalse(beanNames.contains(lazyName), beanNames.toString());
+    }
+
+    @Test
+    void publishesEventsForBeansCreatedAfterStartup() {
+        List<String> beanNames = this.context.getBean(CreatedBeanRecorder.class).getBeanNames();
+        int replayed = beanNames.size();
+        this.context.getBean(LazyService.class);
+        assertEquals(replayed + 1, beanNames.size());
+        assertEquals(this.context.getBeanNamesForType(LazyService.class).get(0), beanNames.get(replayed));
+    }
+}
@@ -0,0 +1,97 @@
+package com.suave.spring.context.index;
+
+import com.suave.spring.core.io.ClassPathScanner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * 只有部分根路径有索引文件时，其他根路径仍然需要扫描
+ *
+ * @author Suave
+ * @since 2026/10/19 14:00
+ */
+class CandidateComponentsIndexTest {
+
+    private static final String PACKAGE = "com.suave.fixture";
+
+    private static final String INDEX = "com.suave.fixture.cycle.Left=com.suave.spring.annotation.Service\n"
+            + "com.suave.fixture.cycle.Right=com.suave.spring.annotation.Service\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void scansOnlyRootsWithoutIndex() throws IOException {
+        // 有索引的jar、有索引的目录和没有索引的目录
+        Path indexedJar = this.tempDir.resolve("indexed lib.jar");
+        writeJar(indexedJar, "cycle/Left", "cycle/Right");
+        Path indexedDir = this.tempDir.resolve("indexed-classes");
+        copyClasses(indexedDir, "cycle/LeftApi");
+        writeFile(indexedDir.resolve(CandidateComponentsIndex.COMPONENTS_RESOURCE_LOCATION), "");
+        Path plainDir = this.tempDir.resolve("classes");
+        copyClasses(plainDir, "scope/Marker", "scope/ThreadBean");
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{
+                indexedJar.toUri().toURL(), indexedDir.toUri().toURL(), plainDir.toUri().toURL()}, null)) {
+            CandidateComponentsIndex index = CandidateComponentsIndex.loadIndex(classLoader);
+            assertNotNull(index);
+            assertEquals(2, index.getCandidates(PACKAGE).size());
+
+            String packagePath = PACKAGE.replace('.', '/');
+            Set<String> scanned = new ClassPathScanner(classLoader).scan(PACKAGE, url -> !index.isIndexed(url, packagePath));
+            assertEquals(new HashSet<>(Arrays.asList("com.suave.fixture.scope.Marker", "com.suave.fixture.scope.ThreadBean")), scanned);
+        }
+    }
+
+    private static Path testClass(String name) {
+        return Paths.get("target/test-classes", "com/suave/fixture", name + ".class");
+    }
+
+    private static void copyClasses(Path root, String... names) throws IOException {
+        for (String name : names) {
+            Path target = root.resolve("com/suave/fixture").resolve(name + ".class");
+            Files.createDirectories(target.getParent());
+            Files.copy(testClass(name), target);
+        }
+    }
+
+    private static void writeFile(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeJar(Path jar, String... names) throws IOException {
+        try (OutputStream os = Files.newOutputStream(jar); JarOutputStream jos = new JarOutputStream(os)) {
+            // 需要目录项，ClassLoader.getResources才能找到jar中的包
+            for (String directory : new String[]{"META-INF/", "com/", "com/suave/", "com/suave/fixture/", "com/suave/fixture/cycle/"}) {
+                jos.putNextEntry(new JarEntry(directory));
+                jos.closeEntry();
+            }
+            jos.putNextEntry(new JarEntry(CandidateComponentsIndex.COMPONENTS_RESOURCE_LOCATION));
+            jos.write(INDEX.getBytes(StandardCharsets.UTF_8));
+            jos.closeEntry();
+            for (String name : names) {
+                jos.putNextEntry(new JarEntry("com/suave/fixture/" + name + ".class"));
+                jos.write(Files.readAllBytes(testClass(name)));
+                jos.closeEntry();
+            }
+        }
+    }
+}
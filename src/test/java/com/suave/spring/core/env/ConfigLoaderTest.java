@@ -0,0 +1,93 @@
+package com.suave.spring.core.env;
+
+import com.suave.spring.core.convert.TypeConverter;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * YAML缩进校验、Profile中的列表整体替换、列表绑定到数组和集合
+ *
+ * @author Suave
+ * @since 2026/10/19 07:00
+ */
+class ConfigLoaderTest {
+
+    private static Map<String, String> parse(String yaml) throws IOException {
+        Map<String, String> properties = new HashMap<>();
+        new YamlConfigParser(new BufferedReader(new StringReader(yaml)), "test.yml", properties::put).parse();
+        return properties;
+    }
+
+    @Test
+    void rejectsKeyNotAlignedWithItsMapping() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> parse("server:\n    port: 80\n  bogus: y\n"));
+        assertTrue(e.getMessage().contains("缩进"), e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> parse("name: x\n  bogus: y\n"));
+    }
+
+    @Test
+    void rejectsMisalignedSequenceItems() {
+        assertThrows(IllegalArgumentException.class, () -> parse("hosts:\n  - a\n    - b\n"));
+    }
+
+    @Test
+    void acceptsConsistentIndentation() throws IOException {
+        Map<String, String> properties = parse("server:\n  port: 80\n  tls:\n    enabled: true\nname: x\n");
+        assertEquals("80", properties.get("server.port"));
+        assertEquals("true", properties.get("server.tls.enabled"));
+        assertEquals("x", properties.get("name"));
+    }
+
+    @Test
+    void profileListReplacesBaseList() throws IOException {
+        Environment environment = new ConfigLoader(getClass().getClassLoader()).load("classpath:env/lists.yml");
+        assertEquals("d.example.com", environment.getProperty("hosts[0]"));
+        assertNull(environment.getProperty("hosts[1]"));
+        assertNull(environment.getProperty("hosts[2]"));
+        // 单个值替换列表
+        assertEquals("8080,8443", environment.getProperty("ports"));
+        assertNull(environment.getProperty("ports[0]"));
+        assertEquals("c", environment.getProperty("servers[0].host"));
+        assertNull(environment.getProperty("servers[1].host"));
+        assertEquals("10s", environment.getProperty("timeout"));
+    }
+
+    @Test
+    void bindsIndexedKeysToCollections() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("hosts[0]", "a,1");
+        properties.put("hosts[1]", "${suffix}");
+        properties.put("suffix", "b");
+        properties.put("ports", "80,443");
+        Environment environment = new Environment(properties, Collections.emptyList());
+
+        List<String> items = environment.resolveIndexedPlaceholder("${hosts}");
+        assertEquals(Arrays.asList("a,1", "b"), items);
+        TypeConverter list = TypeConverter.forType(List.class, List.class, getClass().getClassLoader());
+        assertTrue(list.isMultiValued());
+        assertEquals(Arrays.asList("a,1", "b"), list.convertAll(items));
+        TypeConverter array = TypeConverter.forType(String[].class, String[].class, getClass().getClassLoader());
+        assertArrayEquals(new String[]{"a,1", "b"}, (String[]) array.convertAll(items));
+
+        // 有单个值或者不止一个占位符时仍然按逗号分隔
+        assertNull(environment.resolveIndexedPlaceholder("${ports}"));
+        assertNull(environment.resolveIndexedPlaceholder("x${hosts}"));
+        assertFalse(TypeConverter.forType(int.class, int.class, getClass().getClassLoader()).isMultiValued());
+    }
+}
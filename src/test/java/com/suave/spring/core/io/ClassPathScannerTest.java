@@ -0,0 +1,97 @@
+package com.suave.spring.core.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * fat jar中路径带空格的嵌套jar，以及扫描完释放映射
+ *
+ * @author Suave
+ * @since 2026/10/19 17:00
+ */
+class ClassPathScannerTest {
+
+    private static final String[] CLASSES = {"com/suave/fixture/scope/Marker", "com/suave/fixture/scope/ThreadBean"};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void scansEncodedNestedJarAndReleasesMapping() throws IOException {
+        Path fatJar = this.tempDir.resolve("app dir").resolve("app.jar");
+        Files.createDirectories(fatJar.getParent());
+        try (OutputStream os = Files.newOutputStream(fatJar); JarOutputStream jos = new JarOutputStream(os)) {
+            // 嵌套的jar必须是STORED存储
+            byte[] nested = nestedJar();
+            JarEntry entry = new JarEntry("BOOT-INF/lib/my lib.jar");
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(nested.length);
+            CRC32 crc = new CRC32();
+            crc.update(nested);
+            entry.setCrc(crc.getValue());
+            jos.putNextEntry(entry);
+            jos.write(nested);
+            jos.closeEntry();
+        }
+        URL url = new URL("jar:" + fatJar.toUri().toURL() + "!/BOOT-INF/lib/my%20lib.jar!/com/suave/fixture");
+        ClassLoader classLoader = new ClassLoader(null) {
+            @Override
+            public Enumeration<URL> getResources(String name) {
+                return Collections.enumeration(Collections.singletonList(url));
+            }
+        };
+
+        Set<String> scanned = new ClassPathScanner(classLoader).scan("com.suave.fixture");
+        assertEquals(new HashSet<>(Arrays.asList("com.suave.fixture.scope.Marker", "com.suave.fixture.scope.ThreadBean")), scanned);
+
+        Path maps = Paths.get("/proc/self/maps");
+        assumeTrue(Files.isReadable(maps));
+        for (String line : Files.readAllLines(maps)) {
+            assertFalse(line.endsWith(fatJar.toString()), "映射没有释放：" + line);
+        }
+    }
+
+    @Test
+    void rejectsAccessAfterClose() throws IOException {
+        Path jar = this.tempDir.resolve("lib.jar");
+        Files.write(jar, nestedJar());
+        MappedJarFile jarFile = MappedJarFile.open(jar.toFile());
+        assertEquals(2, jarFile.findEntryNames("com/suave/fixture/", ".class").size());
+        jarFile.close();
+        assertThrows(IllegalStateException.class, () -> jarFile.findEntryNames("com/", ".class"));
+    }
+
+    private static byte[] nestedJar() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JarOutputStream jos = new JarOutputStream(bytes)) {
+            for (String name : CLASSES) {
+                jos.putNextEntry(new JarEntry(name + ".class"));
+                jos.write(Files.readAllBytes(Paths.get("target/test-classes", name + ".class")));
+                jos.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
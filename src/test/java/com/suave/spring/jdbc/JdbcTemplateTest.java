@@ -0,0 +1,71 @@
+package com.suave.spring.jdbc;
+
+import com.suave.fixture.jdbc.Account;
+import com.suave.fixture.jdbc.AccountService;
+import com.suave.spring.context.ApplicationContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 容器注册的连接池、JdbcTemplate和@Transactional，基于H2内存数据库
+ *
+ * @author Suave
+ * @since 2026/10/19 11:00
+ */
+class JdbcTemplateTest {
+
+    private static ApplicationContext context;
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startContext() {
+        context = new ApplicationContext("classpath:jdbc.properties");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void mapsColumnsToFields() {
+        List<Account> accounts = jdbcTemplate.queryForList("SELECT * FROM account ORDER BY id", Account.class);
+        assertEquals(2, accounts.size());
+        assertEquals("alice", accounts.get(0).getUserName());
+        assertEquals(2L, accounts.get(1).getId());
+    }
+
+    @Test
+    void batchUpdateWritesAllRows() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS event_log (id INT, message VARCHAR(32))");
+        int[] counts = jdbcTemplate.batchUpdate("INSERT INTO event_log VALUES (?, ?)",
+                Arrays.asList(new Object[]{1, "a"}, new Object[]{2, "b"}, new Object[]{3, "c"}), 2);
+        assertArrayEquals(new int[]{1, 1, 1}, counts);
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_log", Integer.class).intValue());
+    }
+
+    @Test
+    void transactionCommitsOrRollsBack() {
+        AccountService service = context.getBean(AccountService.class);
+        service.transfer(1, 2, 30);
+        assertEquals(70, service.findById(1).getBalance());
+        assertEquals(30, service.findById(2).getBalance());
+
+        assertThrows(IllegalStateException.class, () -> service.transfer(1, 2, 1000));
+        assertEquals(70, service.findById(1).getBalance());
+        assertEquals(30, service.findById(2).getBalance());
+
+        PooledDataSource dataSource = context.getBean(PooledDataSource.class);
+        assertEquals(dataSource.getTotalConnections(), dataSource.getIdleConnections());
+    }
+}
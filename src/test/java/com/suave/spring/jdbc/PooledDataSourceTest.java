@@ -0,0 +1,110 @@
+package com.suave.spring.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 基于H2内存数据库测试连接的借出、归还和交接
+ *
+ * @author Suave
+ * @since 2026/10/19 11:00
+ */
+class PooledDataSourceTest {
+
+    private PooledDataSource dataSource;
+
+    @BeforeEach
+    void createPool() {
+        this.dataSource = new PooledDataSource("jdbc:h2:mem:pool;DB_CLOSE_DELAY=-1", "sa", "", 2);
+    }
+
+    @AfterEach
+    void closePool() {
+        this.dataSource.close();
+    }
+
+    @Test
+    void reusesReleasedConnection() {
+        PooledConnection first = this.dataSource.borrow();
+        this.dataSource.release(first);
+        assertSame(first, this.dataSource.borrow());
+        assertEquals(1, this.dataSource.getTotalConnections());
+    }
+
+    @Test
+    void closingProxyReturnsConnection() throws SQLException {
+        Connection connection = this.dataSource.getConnection();
+        assertEquals(0, this.dataSource.getIdleConnections());
+        connection.close();
+        assertTrue(connection.isClosed());
+        assertEquals(1, this.dataSource.getIdleConnections());
+        assertThrows(SQLException.class, connection::createStatement);
+    }
+
+    @Test
+    void rollsBackUncommittedWorkOnRelease() throws SQLException {
+        PooledConnection connection = this.dataSource.borrow();
+        connection.getConnection().createStatement().execute("CREATE TABLE IF NOT EXISTS t (id INT)");
+        connection.setAutoCommit(false);
+        connection.getConnection().createStatement().execute("INSERT INTO t VALUES (1)");
+        this.dataSource.release(connection);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSource);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM t", Integer.class).intValue());
+    }
+
+    @Test
+    void neverExceedsMaximumPoolSizeUnderContention() {
+        assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+            ExecutorService executor = Executors.newFixedThreadPool(16);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 16; t++) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 500; i++) {
+                            PooledConnection connection = this.dataSource.borrow();
+                            try {
+                                assertTrue(this.dataSource.getTotalConnections() <= 2);
+                            } finally {
+                                this.dataSource.release(connection);
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            }
+        });
+        // 没有配置minimumIdle，竞争不激烈时可能只创建了一个连接，所有连接都应该归还
+        assertTrue(this.dataSource.getTotalConnections() > 0);
+        assertEquals(this.dataSource.getTotalConnections(), this.dataSource.getIdleConnections());
+        assertEquals(0, this.dataSource.getThreadsAwaitingConnection());
+    }
+
+    @Test
+    void rejectsBorrowAfterClose() {
+        this.dataSource.close();
+        assertThrows(DataAccessException.class, () -> this.dataSource.borrow());
+    }
+}
@@ -0,0 +1,107 @@
+package com.suave.spring.scheduling;
+
+import com.suave.spring.annotation.Async;
+import com.suave.spring.aop.MethodInvocation;
+import com.suave.spring.core.env.ConfigLoader;
+import com.suave.spring.core.env.Environment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 目标方法返回普通Future时，等待它完成不占用@Async线程池的线程
+ *
+ * @author Suave
+ * @since 2026/10/19 21:00
+ */
+class AsyncAdvisorTest {
+
+    private TaskExecutorRegistry executors;
+
+    private AsyncAdvisor advisor;
+
+    @BeforeEach
+    void start() throws Exception {
+        // default线程池只有一个线程
+        Environment environment = new ConfigLoader(getClass().getClassLoader()).load("classpath:scheduling.properties");
+        this.executors = new TaskExecutorRegistry(environment);
+        this.advisor = new AsyncAdvisor(this.executors, environment);
+    }
+
+    @AfterEach
+    void stop() {
+        this.executors.shutdown();
+    }
+
+    public static class Jobs {
+
+        @Async
+        public Future<String> plain() {
+            return null;
+        }
+    }
+
+    @Test
+    void pendingPlainFutureDoesNotHoldExecutorThread() throws Throwable {
+        FutureTask<String> inner = new FutureTask<>(() -> "done");
+        CompletableFuture<?> result = invoke(inner);
+
+        // 唯一的线程没有被占用，其他任务可以执行
+        CompletableFuture<String> other = this.executors.getExecutor(TaskExecutorRegistry.DEFAULT_EXECUTOR).submit(() -> "other");
+        assertEquals("other", other.get(5, TimeUnit.SECONDS));
+        assertFalse(result.isDone());
+
+        inner.run();
+        assertEquals("done", result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failedPlainFuturePropagatesCause() throws Throwable {
+        IllegalStateException failure = new IllegalStateException("失败");
+        FutureTask<String> inner = new FutureTask<>(() -> {
+            throw failure;
+        });
+        inner.run();
+        ExecutionException e = assertThrows(ExecutionException.class, () -> invoke(inner).get(5, TimeUnit.SECONDS));
+        assertSame(failure, e.getCause());
+    }
+
+    private CompletableFuture<?> invoke(Future<String> inner) throws Throwable {
+        Jobs target = new Jobs();
+        Method method = Jobs.class.getMethod("plain");
+        this.advisor.matches(method, Jobs.class);
+        return (CompletableFuture<?>) this.advisor.invoke(new MethodInvocation() {
+            @Override
+            public Method getMethod() {
+                return method;
+            }
+
+            @Override
+            public Object[] getArguments() {
+                return new Object[0];
+            }
+
+            @Override
+            public Object getThis() {
+                return target;
+            }
+
+            @Override
+            public Object proceed() {
+                return inner;
+            }
+        });
+    }
+}
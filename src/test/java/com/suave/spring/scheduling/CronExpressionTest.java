@@ -0,0 +1,71 @@
+package com.suave.spring.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 跨月、跨年、闰年，以及日和周同时限制时按或判断
+ *
+ * @author Suave
+ * @since 2026/10/19 21:00
+ */
+class CronExpressionTest {
+
+    private static ZonedDateTime time(int year, int month, int day, int hour, int minute, int second) {
+        return ZonedDateTime.of(year, month, day, hour, minute, second, 0, ZoneOffset.UTC);
+    }
+
+    @Test
+    void skipsMonthsWithoutTheDay() {
+        CronExpression cron = CronExpression.parse("0 0 0 31 * ?");
+        assertEquals(time(2026, 5, 31, 0, 0, 0), cron.next(time(2026, 4, 15, 10, 0, 0)));
+    }
+
+    @Test
+    void rollsOverToNextYear() {
+        CronExpression cron = CronExpression.parse("0 0 0 1 * ?");
+        assertEquals(time(2027, 1, 1, 0, 0, 0), cron.next(time(2026, 12, 31, 23, 59, 59)));
+        // 不包括after本身
+        assertEquals(time(2027, 2, 1, 0, 0, 0), cron.next(time(2027, 1, 1, 0, 0, 0)));
+    }
+
+    @Test
+    void findsNextLeapDay() {
+        CronExpression cron = CronExpression.parse("0 0 12 29 FEB ?");
+        assertEquals(time(2028, 2, 29, 12, 0, 0), cron.next(time(2025, 3, 1, 0, 0, 0)));
+    }
+
+    @Test
+    void dayOfMonthOrDayOfWeekWhenBothRestricted() {
+        // 2026-02-01是周日，下一个周五是2月6日，13日也是周五
+        CronExpression cron = CronExpression.parse("0 0 0 13 * FRI");
+        ZonedDateTime first = cron.next(time(2026, 2, 1, 0, 0, 0));
+        assertEquals(time(2026, 2, 6, 0, 0, 0), first);
+        assertEquals(time(2026, 2, 13, 0, 0, 0), cron.next(first));
+        assertEquals(time(2026, 2, 20, 0, 0, 0), cron.next(time(2026, 2, 13, 0, 0, 0)));
+        // 3月13日不是周五，只满足日
+        assertEquals(time(2026, 3, 13, 0, 0, 0), cron.next(time(2026, 3, 12, 0, 0, 0)));
+    }
+
+    @Test
+    void dayOfWeekOnlyWhenDayOfMonthIsWildcard() {
+        CronExpression cron = CronExpression.parse("0 30 9 ? * MON-FRI");
+        // 周日之后是周一
+        assertEquals(time(2026, 2, 2, 9, 30, 0), cron.next(time(2026, 2, 1, 12, 0, 0)));
+        // 周五之后跳过周末
+        assertEquals(time(2026, 2, 9, 9, 30, 0), cron.next(time(2026, 2, 6, 10, 0, 0)));
+    }
+
+    @Test
+    void rejectsExpressionThatNeverMatches() {
+        CronExpression cron = CronExpression.parse("0 0 0 30 2 ?");
+        assertThrows(IllegalArgumentException.class, () -> cron.next(time(2026, 1, 1, 0, 0, 0)));
+        assertThrows(IllegalArgumentException.class, () -> CronExpression.parse("0 0 0 * *"));
+        assertThrows(IllegalArgumentException.class, () -> CronExpression.parse("0 60 0 * * ?"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.suave.spring.scheduling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 超过一圈的定时按圈数到期，取消的定时不执行
+ *
+ * @author Suave
+ * @since 2026/10/19 21:00
+ */
+class HashedWheelTimerTest {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    void startTimer() {
+        // 8格，一圈8ms
+        this.timer = new HashedWheelTimer("wheel-test", TICK_NANOS, 8);
+    }
+
+    @AfterEach
+    void stopTimer() {
+        this.timer.stop();
+    }
+
+    @Test
+    void firesAfterSeveralRounds() throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(50);
+        AtomicLong firedAt = new AtomicLong();
+        CountDownLatch fired = new CountDownLatch(1);
+        this.timer.newTimeout(() -> {
+            firedAt.set(System.nanoTime());
+            fired.countDown();
+        }, deadline);
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        // 精度为一格
+        assertTrue(firedAt.get() >= deadline - TICK_NANOS, "提前了" + (deadline - firedAt.get()) + "ns");
+        assertEquals(0, this.timer.getPendingCount());
+    }
+
+    @Test
+    void firesPastDeadlineOnNextTick() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        this.timer.newTimeout(fired::countDown, System.nanoTime() - TimeUnit.SECONDS.toNanos(1));
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancelledTimeoutDoesNotFire() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        HashedWheelTimer.Timeout timeout = this.timer.newTimeout(count::incrementAndGet,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(20));
+        CountDownLatch later = new CountDownLatch(1);
+        this.timer.newTimeout(later::countDown, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(40));
+
+        assertTrue(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.cancel());
+        assertTrue(later.await(5, TimeUnit.SECONDS));
+        assertEquals(0, count.get());
+        assertEquals(0, this.timer.getPendingCount());
+    }
+
+    @Test
+    void rejectsTimeoutAfterStop() {
+        this.timer.stop();
+        assertThrows(IllegalStateException.class, () -> this.timer.newTimeout(() -> {
+        }, System.nanoTime()));
+    }
+}
@@ -0,0 +1,79 @@
+package com.suave.spring.scheduling;
+
+import com.suave.spring.core.env.ConfigLoader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 执行结束后重新计划时被取消，新的定时也要取消
+ *
+ * @author Suave
+ * @since 2026/10/19 21:00
+ */
+class ScheduledTaskTest {
+
+    private TaskExecutorRegistry executors;
+
+    private CancellingTimer timer;
+
+    @BeforeEach
+    void start() throws Exception {
+        this.executors = new TaskExecutorRegistry(new ConfigLoader(getClass().getClassLoader()).load("classpath:scheduling.properties"));
+        this.timer = new CancellingTimer();
+    }
+
+    @AfterEach
+    void stop() {
+        this.timer.stop();
+        this.executors.shutdown();
+    }
+
+    @Test
+    void cancelDuringRescheduleIsNotLost() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledTask task = new ScheduledTask("task", runs::incrementAndGet,
+                this.executors.getExecutor(TaskExecutorRegistry.DEFAULT_EXECUTOR), this.timer,
+                0, TimeUnit.MILLISECONDS.toNanos(1), null, null);
+        this.timer.target = task;
+        task.start(0);
+
+        assertTrue(this.timer.rescheduled.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertTrue(task.isCancelled());
+        assertEquals(1, runs.get());
+        assertEquals(0, this.timer.getPendingCount());
+    }
+
+    /**
+     * 在第二次添加定时（第一次执行后的重新计划）时取消任务，正好落在检查cancelled和保存新定时之间
+     */
+    private static final class CancellingTimer extends HashedWheelTimer {
+
+        final CountDownLatch rescheduled = new CountDownLatch(1);
+
+        volatile ScheduledTask target;
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CancellingTimer() {
+            super("cancel-test", TimeUnit.MILLISECONDS.toNanos(1), 8);
+        }
+
+        @Override
+        public Timeout newTimeout(Runnable task, long deadline) {
+            if (this.calls.incrementAndGet() == 2) {
+                this.target.cancel();
+                this.rescheduled.countDown();
+            }
+            return super.newTimeout(task, deadline);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.suave.spring.transaction;
+
+import com.suave.fixture.tx.AuditService;
+import com.suave.fixture.tx.LedgerService;
+import com.suave.spring.context.ApplicationContext;
+import com.suave.spring.jdbc.JdbcTemplate;
+import com.suave.spring.jdbc.PooledDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 传播方式、回滚规则以及事务结束后连接的解绑和归还，基于H2内存数据库
+ *
+ * @author Suave
+ * @since 2026/10/19 20:00
+ */
+class TransactionManagerTest {
+
+    private static ApplicationContext context;
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private static PooledDataSource dataSource;
+
+    private static LedgerService ledgerService;
+
+    private static AuditService auditService;
+
+    @BeforeAll
+    static void startContext() {
+        context = new ApplicationContext("classpath:tx.properties");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        dataSource = context.getBean(PooledDataSource.class);
+        ledgerService = context.getBean(LedgerService.class);
+        auditService = context.getBean(AuditService.class);
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @BeforeEach
+    void clearLedger() {
+        jdbcTemplate.update("DELETE FROM ledger");
+    }
+
+    @AfterEach
+    void connectionsAreReleased() {
+        assertFalse(context.getTransactionManager().isTransactionActive());
+        assertNull(dataSource.getBoundConnection());
+        assertEquals(dataSource.getTotalConnections(), dataSource.getIdleConnections());
+    }
+
+    @Test
+    void requiredJoinsOuterTransaction() {
+        ledgerService.writeAndJoin();
+
+        assertNotNull(ledgerService.getLastConnection());
+        assertSame(ledgerService.getLastConnection(), auditService.getLastConnection());
+        assertEquals(Arrays.asList("outer", "inner"), sources());
+        TransactionStats inner = context.getTransactionManager().getStats().get("AuditService.joinOuter(String)");
+        assertEquals(1, inner.getJoinedCount());
+        assertEquals(0, inner.getCommittedCount());
+    }
+
+    @Test
+    void innerFailureMarksOuterRollbackOnly() {
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> ledgerService.swallowInnerFailure());
+        assertTrue(e.getMessage().contains("只回滚"), e.getMessage());
+        assertEquals(Collections.emptyList(), sources());
+    }
+
+    @Test
+    void requiresNewSuspendsOuterTransaction() {
+        assertThrows(IllegalStateException.class, () -> ledgerService.writeInNewTransactionThenFail());
+
+        assertNotSame(ledgerService.getLastConnection(), auditService.getLastConnection());
+        // 内层事务已经提交，外层回滚
+        assertEquals(Collections.singletonList("inner"), sources());
+    }
+
+    @Test
+    void rollsBackOnRuntimeException() {
+        assertThrows(IllegalStateException.class, () -> auditService.joinOuterAndFail("alone"));
+        assertEquals(Collections.emptyList(), sources());
+    }
+
+    @Test
+    void commitsOnCheckedException() {
+        assertThrows(Exception.class, () -> ledgerService.writeThenThrowChecked());
+        assertEquals(Collections.singletonList("checked"), sources());
+    }
+
+    @Test
+    void rollsBackOnCheckedExceptionInRollbackFor() {
+        assertThrows(Exception.class, () -> ledgerService.writeThenThrowCheckedWithRollbackRule());
+        assertEquals(Collections.emptyList(), sources());
+    }
+
+    private static List<String> sources() {
+        return jdbcTemplate.queryForList("SELECT source FROM ledger", String.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.suave.spring.web;
+
+import com.suave.spring.context.ApplicationContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 处理方法失败时返回500，只输出一行错误信息，不打印堆栈
+ *
+ * @author Suave
+ * @since 2026/10/19 20:00
+ */
+class DispatcherHandlerTest {
+
+    private static ApplicationContext context;
+
+    private static DispatcherHandler handler;
+
+    @BeforeAll
+    static void startContext() {
+        context = new ApplicationContext("classpath:web.properties");
+        handler = new DispatcherHandler(context);
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void failureMapsTo500WithSingleLine() {
+        HttpRequest request = new HttpRequest(RequestMethod.GET, "/test/error", null, Collections.emptyMap(), null, false);
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        PrintStream original = System.err;
+        HttpResponse response;
+        System.setErr(new PrintStream(err, true));
+        try {
+            response = handler.dispatch(request);
+        } finally {
+            System.setErr(original);
+        }
+
+        assertEquals(500, response.getStatus());
+        assertEquals("服务器内部错误", new String(response.getBody(), StandardCharsets.UTF_8));
+        String output = new String(err.toByteArray()).trim();
+        assertEquals(1, output.split("\\R").length, output);
+        assertTrue(output.contains("GET /test/error") && output.contains("boom"), output);
+    }
+}
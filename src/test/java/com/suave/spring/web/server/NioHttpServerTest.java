@@ -0,0 +1,72 @@
+package com.suave.spring.web.server;
+
+import com.suave.spring.context.ApplicationContext;
+import com.suave.spring.web.DispatcherHandler;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 处理方法抛出Error时返回500，事件循环继续处理其他请求
+ *
+ * @author Suave
+ * @since 2026/10/19 10:00
+ */
+class NioHttpServerTest {
+
+    private static ApplicationContext context;
+
+    private static NioHttpServer server;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        context = new ApplicationContext("classpath:web.properties");
+        server = new NioHttpServer(new DispatcherHandler(context), 0);
+        server.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+        context.close();
+    }
+
+    private static HttpURLConnection get(String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + path).openConnection();
+        connection.setConnectTimeout(5000);
+        connection.setReadTimeout(5000);
+        return connection;
+    }
+
+    private static String readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[256];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            out.write(buffer, 0, n);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void errorInHandlerReturns500AndKeepsServing() throws IOException {
+        HttpURLConnection failing = get("/test/error");
+        assertEquals(500, failing.getResponseCode());
+        failing.disconnect();
+
+        HttpURLConnection ok = get("/test/ok");
+        assertEquals(200, ok.getResponseCode());
+        try (InputStream in = ok.getInputStream()) {
+            assertEquals("ok", readBody(in));
+        }
+    }
+}